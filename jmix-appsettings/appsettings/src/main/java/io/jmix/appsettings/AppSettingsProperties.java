@@ -0,0 +1,30 @@
+package io.jmix.appsettings;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.convert.DurationUnit;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@ConfigurationProperties(prefix = "jmix.appsettings")
+public class AppSettingsProperties {
+
+    /**
+     * Maximum time during which settings loaded from the database are served from memory. Settings are refreshed
+     * earlier when they are saved through DataManager on any node of the cluster, so the time limits the staleness
+     * of settings changed directly in the database. Zero disables in-memory snapshots.
+     */
+    Duration snapshotTtl;
+
+    public AppSettingsProperties(@DefaultValue("60") @DurationUnit(ChronoUnit.SECONDS) Duration snapshotTtl) {
+        this.snapshotTtl = snapshotTtl;
+    }
+
+    /**
+     * @see #snapshotTtl
+     */
+    public Duration getSnapshotTtl() {
+        return snapshotTtl;
+    }
+}
@@ -0,0 +1,33 @@
+package io.jmix.appsettings.event;
+
+import io.jmix.core.cluster.ClusterApplicationEvent;
+
+/**
+ * Event published to all nodes of the cluster when an application settings entity is changed. Nodes discard
+ * the in-memory snapshot of the settings, so the next load reads them from the database.
+ */
+public class AppSettingsChangedEvent extends ClusterApplicationEvent {
+
+    private static final long serialVersionUID = -3076282398315873455L;
+
+    protected final String entityName;
+
+    public AppSettingsChangedEvent(Object source, String entityName) {
+        super(source);
+        this.entityName = entityName;
+    }
+
+    /**
+     * @return name of the changed settings entity
+     */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    @Override
+    public String toString() {
+        return "AppSettingsChangedEvent{" +
+                "entityName='" + entityName + '\'' +
+                '}';
+    }
+}
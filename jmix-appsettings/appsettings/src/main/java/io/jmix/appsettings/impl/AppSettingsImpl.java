@@ -1,19 +1,38 @@
 package io.jmix.appsettings.impl;
 
 import io.jmix.appsettings.AppSettings;
+import io.jmix.appsettings.AppSettingsProperties;
 import io.jmix.appsettings.AppSettingsTools;
 import io.jmix.appsettings.entity.AppSettingsEntity;
+import io.jmix.appsettings.event.AppSettingsChangedEvent;
+import io.jmix.core.Entity;
+import io.jmix.core.EntitySystemStateSupport;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
 import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
 import io.jmix.core.entity.EntityValues;
+import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.metamodel.datatype.DatatypeRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves loaded settings from in-memory snapshots kept per settings entity. A snapshot is discarded after
+ * {@link AppSettingsProperties#getSnapshotTtl()} or when the settings entity is changed through DataManager
+ * on any node of the cluster, including {@link #save(AppSettingsEntity)}.
+ */
 @Component("appset_AppSettings")
 public class AppSettingsImpl implements AppSettings {
 
@@ -28,10 +47,37 @@ public class AppSettingsImpl implements AppSettings {
     @Autowired
     protected AppSettingsTools appSettingsTools;
 
+    @Autowired
+    protected AppSettingsProperties properties;
+
+    @Autowired
+    protected Metadata metadata;
+
+    @Autowired
+    protected MetadataTools metadataTools;
+
+    @Autowired
+    protected EntitySystemStateSupport entitySystemStateSupport;
+
+    @Autowired
+    protected ClusterApplicationEventPublisher clusterApplicationEventPublisher;
+
+    protected Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    protected AtomicLong snapshotVersion = new AtomicLong();
+
     @Override
     public <T extends AppSettingsEntity> T load(Class<T> clazz) {
         log.debug("load application settings entity by class [{}]", clazz);
 
+        Duration snapshotTtl = properties.getSnapshotTtl();
+        if (snapshotTtl.isZero() || snapshotTtl.isNegative()) {
+            return loadWithDefaultValues(clazz);
+        }
+
+        return copySnapshot(getSnapshot(clazz, snapshotTtl));
+    }
+
+    protected <T extends AppSettingsEntity> T loadWithDefaultValues(Class<T> clazz) {
         T settingsEntity = getAppSettingsEntity(clazz);
 
         setDefaultValuesForMissingProperties(settingsEntity, getPropertyNames(clazz));
@@ -39,6 +85,57 @@ public class AppSettingsImpl implements AppSettings {
         return settingsEntity;
     }
 
+    @SuppressWarnings("unchecked")
+    protected <T extends AppSettingsEntity> T getSnapshot(Class<T> clazz, Duration snapshotTtl) {
+        String entityName = metadata.getClass(clazz).getName();
+        long now = System.nanoTime();
+
+        Snapshot snapshot = snapshots.get(entityName);
+        if (snapshot != null && now - snapshot.expirationTime < 0) {
+            return (T) snapshot.settingsEntity;
+        }
+
+        // a snapshot loaded concurrently with a change must not replace the discarded one
+        long version = snapshotVersion.get();
+        T settingsEntity = loadWithDefaultValues(clazz);
+        if (snapshotVersion.get() == version) {
+            snapshots.put(entityName, new Snapshot(settingsEntity, now + snapshotTtl.toNanos()));
+        }
+        return settingsEntity;
+    }
+
+    /**
+     * Returns a copy of the snapshot, so changing the returned entity does not affect other callers.
+     */
+    protected <T extends AppSettingsEntity> T copySnapshot(T settingsEntity) {
+        T copy = metadataTools.copy(settingsEntity);
+        entitySystemStateSupport.copySystemState((Entity) settingsEntity, (Entity) copy);
+        return copy;
+    }
+
+    /**
+     * Discards the in-memory snapshot of the settings entity on this node.
+     *
+     * @param entityName name of the settings entity
+     */
+    public void invalidateSnapshot(String entityName) {
+        log.debug("invalidate application settings snapshot [{}]", entityName);
+        snapshotVersion.incrementAndGet();
+        snapshots.remove(entityName);
+    }
+
+    @TransactionalEventListener
+    protected void onSettingsEntityChanged(EntityChangedEvent<? extends AppSettingsEntity> event) {
+        String entityName = metadata.getClass(event.getEntityId().getEntityClass()).getName();
+        invalidateSnapshot(entityName);
+        clusterApplicationEventPublisher.publish(new AppSettingsChangedEvent(this, entityName));
+    }
+
+    @EventListener
+    protected void onAppSettingsChanged(AppSettingsChangedEvent event) {
+        invalidateSnapshot(event.getEntityName());
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T extends AppSettingsEntity> void save(T settingsEntityToSave) {
@@ -101,4 +198,14 @@ public class AppSettingsImpl implements AppSettings {
         }
     }
 
+    protected static class Snapshot {
+
+        protected final AppSettingsEntity settingsEntity;
+        protected final long expirationTime;
+
+        public Snapshot(AppSettingsEntity settingsEntity, long expirationTime) {
+            this.settingsEntity = settingsEntity;
+            this.expirationTime = expirationTime;
+        }
+    }
 }
@@ -4,10 +4,14 @@ package io.jmix.appsettings;
 import io.jmix.appsettings.test_entity.TestAppSettingsEntity;
 import io.jmix.core.Metadata;
 import io.jmix.core.UnconstrainedDataManager;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
 
 @SpringBootTest(classes = AppSettingsTestConfiguration.class)
 class AppSettingsTest {
@@ -21,6 +25,15 @@ class AppSettingsTest {
     @Autowired
     private Metadata metadata;
 
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        //remove stored settings so each test starts with default values
+        dataManager.load(TestAppSettingsEntity.class).id(1).optional().ifPresent(dataManager::remove);
+    }
+
     @Test
     void testGetDefaultValuesForAppSettings() {
         //ensure default values are returned without actual record in database
@@ -90,4 +103,26 @@ class AppSettingsTest {
         Assertions.assertEquals("access granted", loadedTestAppSettingsEntity.getTestStringValue());
     }
 
+    @Test
+    void testSettingsSnapshot() {
+        TestAppSettingsEntity testAppSettingsEntity = appSettings.load(TestAppSettingsEntity.class);
+        testAppSettingsEntity.setTestStringValue("snapshot");
+        appSettings.save(testAppSettingsEntity);
+
+        //ensure changing loaded entity does not affect the snapshot
+        testAppSettingsEntity = appSettings.load(TestAppSettingsEntity.class);
+        testAppSettingsEntity.setTestStringValue("modified");
+        Assertions.assertEquals("snapshot", appSettings.load(TestAppSettingsEntity.class).getTestStringValue());
+
+        //ensure changes made directly in database are not visible until the snapshot is discarded
+        new JdbcTemplate(dataSource).update("update TEST_APP_SETTINGS set TEST_STRING_VAL = 'changed in db'");
+        Assertions.assertEquals("snapshot", appSettings.load(TestAppSettingsEntity.class).getTestStringValue());
+
+        //ensure the snapshot is discarded when the entity is saved through DataManager
+        TestAppSettingsEntity entityToSave = dataManager.load(TestAppSettingsEntity.class).id(1).one();
+        entityToSave.setTestIntegerValue(777);
+        dataManager.save(entityToSave);
+        testAppSettingsEntity = appSettings.load(TestAppSettingsEntity.class);
+        Assertions.assertEquals(777, testAppSettingsEntity.getTestIntegerValue());
+    }
 }
@@ -20,7 +20,9 @@ import io.jmix.authserver.AuthServerConfiguration;
 import io.jmix.authserver.AuthServerProperties;
 import io.jmix.authserver.filter.AsResourceServerEventSecurityFilter;
 import io.jmix.authserver.introspection.AuthorizationServiceOpaqueTokenIntrospector;
+import io.jmix.authserver.introspection.TokenIntrospectionCache;
 import io.jmix.authserver.introspection.TokenIntrospectorRolesHelper;
+import io.jmix.authserver.introspection.TokenRevocationCacheInvalidationHandler;
 import io.jmix.authserver.roleassignment.InMemoryRegisteredClientRoleAssignmentRepository;
 import io.jmix.authserver.roleassignment.RegisteredClientRoleAssignment;
 import io.jmix.authserver.roleassignment.RegisteredClientRoleAssignmentPropertiesMapper;
@@ -40,6 +42,7 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.config.annotation.web.configurers.OAuth2AuthorizationServerConfigurer;
 import org.springframework.security.oauth2.server.authorization.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
 import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
 import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
@@ -103,9 +106,15 @@ public class AuthServerAutoConfiguration {
 
         @Bean("authsr_AuthorizationServerSecurityFilterChain")
         @Order(JmixSecurityFilterChainOrder.AUTHSERVER_AUTHORIZATION_SERVER)
-        public SecurityFilterChain authorizationServerSecurityFilterChain(HttpSecurity http)
+        public SecurityFilterChain authorizationServerSecurityFilterChain(HttpSecurity http,
+                                                                         OAuth2AuthorizationService authorizationService,
+                                                                         TokenIntrospectionCache tokenIntrospectionCache)
                 throws Exception {
             OAuth2AuthorizationServerConfiguration.applyDefaultSecurity(http);
+            http.getConfigurer(OAuth2AuthorizationServerConfigurer.class)
+                    .tokenRevocationEndpoint(revocation -> revocation
+                            .revocationResponseHandler(
+                                    new TokenRevocationCacheInvalidationHandler(authorizationService, tokenIntrospectionCache)));
             http
                     // Redirect to the login page when not authenticated from the
                     // authorization endpoint
@@ -180,8 +189,10 @@ public class AuthServerAutoConfiguration {
         @ConditionalOnMissingBean
         @Bean("authsr_OpaqueTokenIntrospector")
         public OpaqueTokenIntrospector opaqueTokenIntrospector(OAuth2AuthorizationService authorizationService,
-                                                               TokenIntrospectorRolesHelper tokenIntrospectorRolesHelper) {
-            return new AuthorizationServiceOpaqueTokenIntrospector(authorizationService, tokenIntrospectorRolesHelper);
+                                                               TokenIntrospectorRolesHelper tokenIntrospectorRolesHelper,
+                                                               TokenIntrospectionCache tokenIntrospectionCache) {
+            return new AuthorizationServiceOpaqueTokenIntrospector(authorizationService, tokenIntrospectorRolesHelper,
+                    tokenIntrospectionCache);
         }
     }
 }
@@ -16,9 +16,14 @@
 
 package io.jmix.authserver;
 
+import io.jmix.authserver.introspection.RoleAssignmentChangeCacheInvalidationListener;
+import io.jmix.authserver.introspection.TokenIntrospectionCache;
 import io.jmix.core.CoreConfiguration;
+import io.jmix.core.UnconstrainedDataManager;
 import io.jmix.core.annotation.JmixModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
@@ -27,4 +32,15 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationPropertiesScan
 @JmixModule(dependsOn = {CoreConfiguration.class})
 public class AuthServerConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.jmix.securitydata.entity.RoleAssignmentEntity")
+    public static class RoleAssignmentCacheInvalidationConfiguration {
+
+        @Bean("authsr_RoleAssignmentChangeCacheInvalidationListener")
+        public RoleAssignmentChangeCacheInvalidationListener roleAssignmentChangeCacheInvalidationListener(
+                TokenIntrospectionCache tokenIntrospectionCache, UnconstrainedDataManager dataManager) {
+            return new RoleAssignmentChangeCacheInvalidationListener(tokenIntrospectionCache, dataManager);
+        }
+    }
 }
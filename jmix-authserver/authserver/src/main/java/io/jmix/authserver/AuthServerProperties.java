@@ -19,6 +19,7 @@ package io.jmix.authserver;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -45,16 +46,31 @@ public class AuthServerProperties {
      */
     String loginPageViewName;
 
+    /**
+     * How long the result of access token introspection is cached. The result is never cached longer than
+     * the token lifetime. Zero disables the cache.
+     */
+    Duration tokenIntrospectionCacheTtl;
+
+    /**
+     * Maximum number of access tokens which introspection results are cached.
+     */
+    int tokenIntrospectionCacheMaxSize;
+
     public AuthServerProperties(
             @DefaultValue("true") boolean useDefaultConfiguration,
             @DefaultValue Map<String, JmixClient> client,
             @DefaultValue("/as-login") String loginPageUrl,
-            @DefaultValue("as-login.html") String loginPageViewName
+            @DefaultValue("as-login.html") String loginPageViewName,
+            @DefaultValue("30s") Duration tokenIntrospectionCacheTtl,
+            @DefaultValue("10000") int tokenIntrospectionCacheMaxSize
             ) {
         this.useDefaultConfiguration = useDefaultConfiguration;
         this.client = client;
         this.loginPageUrl = loginPageUrl;
         this.loginPageViewName = loginPageViewName;
+        this.tokenIntrospectionCacheTtl = tokenIntrospectionCacheTtl;
+        this.tokenIntrospectionCacheMaxSize = tokenIntrospectionCacheMaxSize;
     }
 
     public boolean isUseDefaultConfiguration() {
@@ -73,6 +89,20 @@ public class AuthServerProperties {
         return loginPageViewName;
     }
 
+    /**
+     * @see #tokenIntrospectionCacheTtl
+     */
+    public Duration getTokenIntrospectionCacheTtl() {
+        return tokenIntrospectionCacheTtl;
+    }
+
+    /**
+     * @see #tokenIntrospectionCacheMaxSize
+     */
+    public int getTokenIntrospectionCacheMaxSize() {
+        return tokenIntrospectionCacheMaxSize;
+    }
+
     /**
      * Class stores Jmix-specific settings of Authorization Server client.
      */
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.authserver.event;
+
+import io.jmix.core.cluster.ClusterApplicationEvent;
+import org.springframework.lang.Nullable;
+
+/**
+ * Event published to all nodes of the cluster when cached results of access token introspection become invalid.
+ * If neither token hash nor username is specified, all cached results are discarded.
+ *
+ * @see io.jmix.authserver.introspection.TokenIntrospectionCache
+ */
+public class TokenIntrospectionCacheInvalidatedEvent extends ClusterApplicationEvent {
+
+    private static final long serialVersionUID = 4418205953216389672L;
+
+    protected final String tokenHash;
+    protected final String username;
+
+    public TokenIntrospectionCacheInvalidatedEvent(Object source, @Nullable String tokenHash, @Nullable String username) {
+        super(source);
+        this.tokenHash = tokenHash;
+        this.username = username;
+    }
+
+    /**
+     * @return hash of the invalidated access token
+     */
+    @Nullable
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    /**
+     * @return name of the user whose tokens are invalidated
+     */
+    @Nullable
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenIntrospectionCacheInvalidatedEvent{" +
+                "tokenHash='" + tokenHash + '\'' +
+                ", username='" + username + '\'' +
+                '}';
+    }
+}
@@ -16,6 +16,7 @@
 
 package io.jmix.authserver.introspection;
 
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -39,6 +40,9 @@ import java.util.Collection;
  *     <li>For CLIENT_CREDENTIALS grant type, roles specified for the client in the properties file are used</li>
  * </ul>
  *
+ * If {@link TokenIntrospectionCache} is provided, the introspected principals are cached until the token expires
+ * or the cache entry is invalidated.
+ *
  *
  */
 public class AuthorizationServiceOpaqueTokenIntrospector implements OpaqueTokenIntrospector {
@@ -47,13 +51,28 @@ public class AuthorizationServiceOpaqueTokenIntrospector implements OpaqueTokenI
 
     private TokenIntrospectorRolesHelper introspectorRolesHelper;
 
+    private TokenIntrospectionCache introspectionCache;
+
     public AuthorizationServiceOpaqueTokenIntrospector(OAuth2AuthorizationService authorizationService, TokenIntrospectorRolesHelper introspectorRolesHelper) {
+        this(authorizationService, introspectorRolesHelper, null);
+    }
+
+    public AuthorizationServiceOpaqueTokenIntrospector(OAuth2AuthorizationService authorizationService,
+                                                       TokenIntrospectorRolesHelper introspectorRolesHelper,
+                                                       @Nullable TokenIntrospectionCache introspectionCache) {
         this.authorizationService = authorizationService;
         this.introspectorRolesHelper = introspectorRolesHelper;
+        this.introspectionCache = introspectionCache;
     }
 
     @Override
     public OAuth2AuthenticatedPrincipal introspect(String token) {
+        if (introspectionCache != null) {
+            OAuth2AuthenticatedPrincipal principal = introspectionCache.get(token);
+            if (principal != null) {
+                return principal;
+            }
+        }
         OAuth2Authorization authorization = authorizationService.findByToken(token, OAuth2TokenType.ACCESS_TOKEN);
         if (authorization == null) {
             throw new BadOpaqueTokenException("Authorization for provided access token not found");
@@ -78,6 +97,11 @@ public class AuthorizationServiceOpaqueTokenIntrospector implements OpaqueTokenI
                 throw new BadOpaqueTokenException("User " + principalName + " not found");
             }
         }
-        return new UserDetailsOAuth2AuthenticatedPrincipal(principalName, authorization.getAttributes(), authorities);
+        OAuth2AuthenticatedPrincipal principal =
+                new UserDetailsOAuth2AuthenticatedPrincipal(principalName, authorization.getAttributes(), authorities);
+        if (introspectionCache != null) {
+            introspectionCache.put(token, principal, accessToken.getToken().getExpiresAt());
+        }
+        return principal;
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.authserver.introspection;
+
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.securitydata.entity.RoleAssignmentEntity;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Discards cached introspection results of a user when roles are assigned to or unassigned from the user, so the
+ * principal does not keep obsolete authorities until the cache entry expires.
+ * <p>
+ * Registered by {@link io.jmix.authserver.AuthServerConfiguration} if the security data module is used.
+ */
+public class RoleAssignmentChangeCacheInvalidationListener {
+
+    protected TokenIntrospectionCache tokenIntrospectionCache;
+
+    protected UnconstrainedDataManager dataManager;
+
+    public RoleAssignmentChangeCacheInvalidationListener(TokenIntrospectionCache tokenIntrospectionCache,
+                                                         UnconstrainedDataManager dataManager) {
+        this.tokenIntrospectionCache = tokenIntrospectionCache;
+        this.dataManager = dataManager;
+    }
+
+    @TransactionalEventListener
+    protected void onRoleAssignmentChanged(EntityChangedEvent<RoleAssignmentEntity> event) {
+        if (!tokenIntrospectionCache.isEnabled()) {
+            return;
+        }
+
+        // deleted entity has old values of all attributes
+        if (event.getType() == EntityChangedEvent.Type.DELETED || event.getChanges().isChanged("username")) {
+            String oldUsername = event.getChanges().getOldValue("username");
+            if (oldUsername != null) {
+                tokenIntrospectionCache.invalidateUser(oldUsername);
+            }
+        }
+        if (event.getType() != EntityChangedEvent.Type.DELETED) {
+            dataManager.load(event.getEntityId()).optional()
+                    .ifPresent(roleAssignment -> tokenIntrospectionCache.invalidateUser(roleAssignment.getUsername()));
+        }
+    }
+}
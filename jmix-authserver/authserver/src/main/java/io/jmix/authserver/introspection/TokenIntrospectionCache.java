@@ -0,0 +1,193 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.authserver.introspection;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jmix.authserver.AuthServerProperties;
+import io.jmix.authserver.event.TokenIntrospectionCacheInvalidatedEvent;
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
+import io.jmix.core.security.event.AbstractUserInvalidationEvent;
+import io.jmix.security.impl.role.event.ResourceRoleModifiedEvent;
+import io.jmix.security.impl.role.event.RowLevelRoleModifiedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Bounded cache of principals built by {@link AuthorizationServiceOpaqueTokenIntrospector}. Entries are keyed by
+ * the SHA-256 hash of the access token, so token values are not kept in memory and are not sent to other nodes.
+ * <p>
+ * An entry expires at the token expiration time or after {@link AuthServerProperties#getTokenIntrospectionCacheTtl()},
+ * whichever comes first. Entries are invalidated on all cluster nodes when a token is revoked, when a user is
+ * disabled or removed and when roles are modified. Changes of user entities and role assignments are handled by
+ * {@link UserChangeCacheInvalidationListener} and {@link RoleAssignmentChangeCacheInvalidationListener}.
+ */
+@Component("authsr_TokenIntrospectionCache")
+public class TokenIntrospectionCache {
+
+    protected ClusterApplicationEventPublisher clusterEventPublisher;
+
+    protected Duration ttl;
+    protected Cache<String, CachedPrincipal> cache;
+    protected Clock clock = Clock.systemUTC();
+
+    public TokenIntrospectionCache(AuthServerProperties properties,
+                                   ClusterApplicationEventPublisher clusterEventPublisher) {
+        this.clusterEventPublisher = clusterEventPublisher;
+        this.ttl = properties.getTokenIntrospectionCacheTtl();
+        if (isEnabled()) {
+            cache = CacheBuilder.newBuilder()
+                    .maximumSize(properties.getTokenIntrospectionCacheMaxSize())
+                    .expireAfterWrite(ttl)
+                    .build();
+        }
+    }
+
+    /**
+     * @return whether introspection results are cached
+     */
+    public boolean isEnabled() {
+        return !ttl.isZero() && !ttl.isNegative();
+    }
+
+    /**
+     * Returns the cached principal of the given access token.
+     *
+     * @return principal or null if the token is not cached or has expired
+     */
+    @Nullable
+    public OAuth2AuthenticatedPrincipal get(String token) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String tokenHash = hash(token);
+        CachedPrincipal cachedPrincipal = cache.getIfPresent(tokenHash);
+        if (cachedPrincipal == null) {
+            return null;
+        }
+        if (cachedPrincipal.expiresAt != null && !clock.instant().isBefore(cachedPrincipal.expiresAt)) {
+            cache.invalidate(tokenHash);
+            return null;
+        }
+        return cachedPrincipal.principal;
+    }
+
+    /**
+     * Caches the principal of the given access token.
+     *
+     * @param expiresAt token expiration time
+     */
+    public void put(String token, OAuth2AuthenticatedPrincipal principal, @Nullable Instant expiresAt) {
+        if (isEnabled()) {
+            cache.put(hash(token), new CachedPrincipal(principal, expiresAt));
+        }
+    }
+
+    /**
+     * Discards the cached principal of the given access token on all cluster nodes.
+     */
+    public void invalidate(String token) {
+        if (isEnabled()) {
+            String tokenHash = hash(token);
+            cache.invalidate(tokenHash);
+            clusterEventPublisher.publish(new TokenIntrospectionCacheInvalidatedEvent(this, tokenHash, null));
+        }
+    }
+
+    /**
+     * Discards cached principals of the given user on all cluster nodes.
+     */
+    public void invalidateUser(String username) {
+        if (isEnabled()) {
+            invalidateUserLocally(username);
+            clusterEventPublisher.publish(new TokenIntrospectionCacheInvalidatedEvent(this, null, username));
+        }
+    }
+
+    /**
+     * Discards all cached principals on all cluster nodes.
+     */
+    public void invalidateAll() {
+        if (isEnabled()) {
+            cache.invalidateAll();
+            clusterEventPublisher.publish(new TokenIntrospectionCacheInvalidatedEvent(this, null, null));
+        }
+    }
+
+    protected void invalidateUserLocally(String username) {
+        cache.asMap().values().removeIf(cachedPrincipal -> username.equals(cachedPrincipal.principal.getName()));
+    }
+
+    @EventListener
+    protected void onTokenIntrospectionCacheInvalidated(TokenIntrospectionCacheInvalidatedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (event.getTokenHash() != null) {
+            cache.invalidate(event.getTokenHash());
+        } else if (event.getUsername() != null) {
+            invalidateUserLocally(event.getUsername());
+        } else {
+            cache.invalidateAll();
+        }
+    }
+
+    @EventListener
+    protected void onUserInvalidation(AbstractUserInvalidationEvent event) {
+        invalidateUser(event.getUsername());
+    }
+
+    @EventListener
+    protected void onResourceRoleModified(ResourceRoleModifiedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    protected void onRowLevelRoleModified(RowLevelRoleModifiedEvent event) {
+        invalidateAll();
+    }
+
+    protected String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
+    }
+
+    protected static class CachedPrincipal {
+
+        protected final OAuth2AuthenticatedPrincipal principal;
+        protected final Instant expiresAt;
+
+        protected CachedPrincipal(OAuth2AuthenticatedPrincipal principal, @Nullable Instant expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
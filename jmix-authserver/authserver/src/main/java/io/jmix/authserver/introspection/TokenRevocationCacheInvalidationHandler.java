@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.authserver.introspection;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2TokenRevocationAuthenticationToken;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+
+/**
+ * Response handler of the token revocation endpoint that discards the cached introspection result of the access
+ * token of the revoked authorization. A refresh token can be revoked as well, so the access token is obtained from
+ * the authorization.
+ */
+public class TokenRevocationCacheInvalidationHandler implements AuthenticationSuccessHandler {
+
+    private OAuth2AuthorizationService authorizationService;
+
+    private TokenIntrospectionCache tokenIntrospectionCache;
+
+    public TokenRevocationCacheInvalidationHandler(OAuth2AuthorizationService authorizationService,
+                                                   TokenIntrospectionCache tokenIntrospectionCache) {
+        this.authorizationService = authorizationService;
+        this.tokenIntrospectionCache = tokenIntrospectionCache;
+    }
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
+                                        Authentication authentication) {
+        String token = ((OAuth2TokenRevocationAuthenticationToken) authentication).getToken();
+        tokenIntrospectionCache.invalidate(token);
+
+        OAuth2Authorization authorization = authorizationService.findByToken(token, null);
+        if (authorization != null) {
+            OAuth2Authorization.Token<OAuth2AccessToken> accessToken = authorization.getAccessToken();
+            if (accessToken != null && !accessToken.getToken().getTokenValue().equals(token)) {
+                tokenIntrospectionCache.invalidate(accessToken.getToken().getTokenValue());
+            }
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.authserver.introspection;
+
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.event.EntityChangedEvent;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Discards cached introspection results of a user when the user entity is updated, e.g. its attributes used
+ * by the principal are changed. Disabled and removed users are handled by {@link TokenIntrospectionCache} itself.
+ */
+@Component("authsr_UserChangeCacheInvalidationListener")
+public class UserChangeCacheInvalidationListener {
+
+    protected TokenIntrospectionCache tokenIntrospectionCache;
+
+    protected UnconstrainedDataManager dataManager;
+
+    public UserChangeCacheInvalidationListener(TokenIntrospectionCache tokenIntrospectionCache,
+                                               UnconstrainedDataManager dataManager) {
+        this.tokenIntrospectionCache = tokenIntrospectionCache;
+        this.dataManager = dataManager;
+    }
+
+    @TransactionalEventListener
+    protected void onEntityChanged(EntityChangedEvent<?> event) {
+        if (!tokenIntrospectionCache.isEnabled()
+                || event.getType() != EntityChangedEvent.Type.UPDATED
+                || !UserDetails.class.isAssignableFrom(event.getEntityId().getEntityClass())) {
+            return;
+        }
+
+        if (event.getChanges().isChanged("username")) {
+            String oldUsername = event.getChanges().getOldValue("username");
+            if (oldUsername != null) {
+                tokenIntrospectionCache.invalidateUser(oldUsername);
+            }
+        }
+        dataManager.load(event.getEntityId()).optional()
+                .ifPresent(user -> tokenIntrospectionCache.invalidateUser(((UserDetails) user).getUsername()));
+    }
+}
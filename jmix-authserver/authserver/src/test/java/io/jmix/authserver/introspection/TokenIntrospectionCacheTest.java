@@ -0,0 +1,236 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.authserver.introspection;
+
+import io.jmix.authserver.AuthServerProperties;
+import io.jmix.authserver.event.TokenIntrospectionCacheInvalidatedEvent;
+import io.jmix.core.FluentLoader;
+import io.jmix.core.Id;
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
+import io.jmix.core.event.AttributeChanges;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.securitydata.entity.RoleAssignmentEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.oauth2.core.DefaultOAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2TokenRevocationAuthenticationToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenIntrospectionCacheTest {
+
+    static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    ClusterApplicationEventPublisher clusterEventPublisher;
+    TokenIntrospectionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clusterEventPublisher = mock(ClusterApplicationEventPublisher.class);
+        cache = createCache(clusterEventPublisher);
+    }
+
+    @Test
+    void principalIsCachedUntilTokenExpires() {
+        OAuth2AuthenticatedPrincipal principal = createPrincipal("user1");
+        cache.put("token1", principal, NOW.plusSeconds(10));
+
+        assertSame(principal, cache.get("token1"));
+        assertNull(cache.get("token2"));
+
+        cache.clock = Clock.fixed(NOW.plusSeconds(10), ZoneOffset.UTC);
+        assertNull(cache.get("token1"));
+
+        cache.clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        assertNull(cache.get("token1"), "expired entry must be discarded");
+    }
+
+    @Test
+    void cacheIsDisabledByZeroTtl() {
+        TokenIntrospectionCache disabledCache = new TokenIntrospectionCache(
+                createProperties(Duration.ZERO), clusterEventPublisher);
+
+        disabledCache.put("token1", createPrincipal("user1"), NOW.plusSeconds(10));
+
+        assertFalse(disabledCache.isEnabled());
+        assertNull(disabledCache.get("token1"));
+    }
+
+    @Test
+    void revokedRefreshTokenInvalidatesAccessTokenOfAuthorization() {
+        cache.put("access-token", createPrincipal("user1"), NOW.plusSeconds(10));
+        cache.put("other-token", createPrincipal("user1"), NOW.plusSeconds(10));
+
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                "access-token", NOW, NOW.plusSeconds(10));
+        @SuppressWarnings("unchecked")
+        OAuth2Authorization.Token<OAuth2AccessToken> authorizationToken = mock(OAuth2Authorization.Token.class);
+        when(authorizationToken.getToken()).thenReturn(accessToken);
+        OAuth2Authorization authorization = mock(OAuth2Authorization.class);
+        when(authorization.getAccessToken()).thenReturn(authorizationToken);
+        OAuth2AuthorizationService authorizationService = mock(OAuth2AuthorizationService.class);
+        when(authorizationService.findByToken("refresh-token", null)).thenReturn(authorization);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new TokenRevocationCacheInvalidationHandler(authorizationService, cache).onAuthenticationSuccess(
+                new MockHttpServletRequest(), response,
+                new OAuth2TokenRevocationAuthenticationToken("refresh-token", mock(Authentication.class), null));
+
+        assertEquals(200, response.getStatus());
+        assertNull(cache.get("access-token"));
+        assertNotNull(cache.get("other-token"));
+    }
+
+    @Test
+    void invalidationIsAppliedOnOtherNodes() {
+        TokenIntrospectionCache otherNodeCache = createCache(mock(ClusterApplicationEventPublisher.class));
+        otherNodeCache.put("token1", createPrincipal("user1"), NOW.plusSeconds(10));
+        otherNodeCache.put("token2", createPrincipal("user2"), NOW.plusSeconds(10));
+        otherNodeCache.put("token3", createPrincipal("user3"), NOW.plusSeconds(10));
+
+        cache.invalidate("token1");
+        cache.invalidateUser("user2");
+
+        ArgumentCaptor<TokenIntrospectionCacheInvalidatedEvent> captor =
+                ArgumentCaptor.forClass(TokenIntrospectionCacheInvalidatedEvent.class);
+        verify(clusterEventPublisher, times(2)).publish(captor.capture());
+        captor.getAllValues().forEach(otherNodeCache::onTokenIntrospectionCacheInvalidated);
+
+        assertNull(otherNodeCache.get("token1"));
+        assertNull(otherNodeCache.get("token2"));
+        assertNotNull(otherNodeCache.get("token3"));
+
+        otherNodeCache.onTokenIntrospectionCacheInvalidated(new TokenIntrospectionCacheInvalidatedEvent(this, null, null));
+        assertNull(otherNodeCache.get("token3"));
+    }
+
+    @Test
+    void unassignedRoleInvalidatesUser() {
+        cache.put("token1", createPrincipal("user1"), NOW.plusSeconds(10));
+        cache.put("token2", createPrincipal("user2"), NOW.plusSeconds(10));
+        RoleAssignmentChangeCacheInvalidationListener listener =
+                new RoleAssignmentChangeCacheInvalidationListener(cache, mock(UnconstrainedDataManager.class));
+
+        listener.onRoleAssignmentChanged(new EntityChangedEvent<>(this,
+                Id.of(UUID.randomUUID(), RoleAssignmentEntity.class),
+                EntityChangedEvent.Type.DELETED,
+                AttributeChanges.Builder.create().withChange("username", "user1").build(),
+                mock(MetaClass.class)));
+
+        assertNull(cache.get("token1"));
+        assertNotNull(cache.get("token2"));
+    }
+
+    @Test
+    void assignedRoleInvalidatesUser() {
+        cache.put("token1", createPrincipal("user1"), NOW.plusSeconds(10));
+        RoleAssignmentEntity roleAssignment = new RoleAssignmentEntity();
+        roleAssignment.setUsername("user1");
+        UnconstrainedDataManager dataManager = mockLoad(roleAssignment);
+        RoleAssignmentChangeCacheInvalidationListener listener =
+                new RoleAssignmentChangeCacheInvalidationListener(cache, dataManager);
+
+        listener.onRoleAssignmentChanged(new EntityChangedEvent<>(this,
+                Id.of(UUID.randomUUID(), RoleAssignmentEntity.class),
+                EntityChangedEvent.Type.CREATED,
+                AttributeChanges.Builder.create().build(),
+                mock(MetaClass.class)));
+
+        assertNull(cache.get("token1"));
+    }
+
+    @Test
+    void updatedUserIsInvalidated() {
+        cache.put("token1", createPrincipal("user1"), NOW.plusSeconds(10));
+        cache.put("token2", createPrincipal("user2"), NOW.plusSeconds(10));
+        UserDetails user = User.withUsername("user1").password("").authorities(Collections.emptyList()).build();
+        UnconstrainedDataManager dataManager = mockLoad(user);
+        UserChangeCacheInvalidationListener listener = new UserChangeCacheInvalidationListener(cache, dataManager);
+
+        listener.onEntityChanged(new EntityChangedEvent<>(this,
+                Id.of(UUID.randomUUID(), User.class),
+                EntityChangedEvent.Type.UPDATED,
+                AttributeChanges.Builder.create().withChange("enabled", true).build(),
+                mock(MetaClass.class)));
+
+        assertNull(cache.get("token1"));
+        assertNotNull(cache.get("token2"));
+    }
+
+    @Test
+    void changesOfOtherEntitiesAreIgnored() {
+        cache.put("token1", createPrincipal("user1"), NOW.plusSeconds(10));
+        UnconstrainedDataManager dataManager = mock(UnconstrainedDataManager.class);
+        UserChangeCacheInvalidationListener listener = new UserChangeCacheInvalidationListener(cache, dataManager);
+
+        listener.onEntityChanged(new EntityChangedEvent<>(this,
+                Id.of(UUID.randomUUID(), RoleAssignmentEntity.class),
+                EntityChangedEvent.Type.UPDATED,
+                AttributeChanges.Builder.create().withChange("username", "user1").build(),
+                mock(MetaClass.class)));
+
+        assertNotNull(cache.get("token1"));
+        verifyNoInteractions(dataManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    <E> UnconstrainedDataManager mockLoad(E entity) {
+        UnconstrainedDataManager dataManager = mock(UnconstrainedDataManager.class);
+        FluentLoader.ById<E> loader = mock(FluentLoader.ById.class);
+        when(loader.optional()).thenReturn(Optional.of(entity));
+        when(dataManager.load(any(Id.class))).thenReturn(loader);
+        return dataManager;
+    }
+
+    TokenIntrospectionCache createCache(ClusterApplicationEventPublisher publisher) {
+        TokenIntrospectionCache tokenIntrospectionCache =
+                new TokenIntrospectionCache(createProperties(Duration.ofMinutes(1)), publisher);
+        tokenIntrospectionCache.clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        return tokenIntrospectionCache;
+    }
+
+    AuthServerProperties createProperties(Duration ttl) {
+        return new AuthServerProperties(true, Collections.emptyMap(), "/as-login", "as-login.html", ttl, 100);
+    }
+
+    OAuth2AuthenticatedPrincipal createPrincipal(String username) {
+        return new DefaultOAuth2AuthenticatedPrincipal(username, Map.of("sub", username), Collections.emptyList());
+    }
+}
@@ -25,7 +25,9 @@ import io.jmix.core.TimeSource;
 import io.jmix.core.UuidProvider;
 import io.jmix.core.annotation.Internal;
 import io.jmix.core.common.util.Preconditions;
+import jakarta.annotation.PreDestroy;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,11 +46,11 @@ import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
 import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
-import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
@@ -57,14 +59,21 @@ import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -88,12 +97,16 @@ public class AwsFileStorage implements FileStorage {
     protected String bucket;
     protected int chunkSize;
     protected String endpointUrl;
+    protected int maxConcurrentParts = 4;
+    protected int partUploadAttempts = 3;
 
     @Autowired
     protected TimeSource timeSource;
 
     protected AtomicReference<S3Client> s3ClientReference = new AtomicReference<>();
 
+    protected volatile ExecutorService uploadExecutor;
+
     public AwsFileStorage() {
         this(DEFAULT_STORAGE_NAME);
     }
@@ -130,6 +143,8 @@ public class AwsFileStorage implements FileStorage {
             this.bucket = properties.getBucket();
             this.chunkSize = properties.getChunkSize();
             this.endpointUrl = properties.getEndpointUrl();
+            this.maxConcurrentParts = properties.getMaxConcurrentParts();
+            this.partUploadAttempts = properties.getPartUploadAttempts();
         }
     }
 
@@ -191,19 +206,26 @@ public class AwsFileStorage implements FileStorage {
         }
     }
 
+    /**
+     * Saves the stream using a multipart upload if it is larger than the chunk size. Chunks are uploaded
+     * concurrently, no more than {@link #maxConcurrentParts} at a time, so the memory used by the upload
+     * does not exceed {@code (maxConcurrentParts + 1) * chunkSize}. A failed chunk is retried up to
+     * {@link #partUploadAttempts} times before the upload is aborted.
+     */
     @Override
     public FileRef saveStream(String fileName, InputStream inputStream, Map<String, Object> parameters) {
         String fileKey = createFileKey(fileName);
         int s3ChunkSizeBytes = this.chunkSize * 1024;
-        try (BufferedInputStream bos = new BufferedInputStream(inputStream, s3ChunkSizeBytes)) {
-            S3Client s3Client = s3ClientReference.get();
-            int totalSizeBytes = bos.available();
-            Map<String, String> fileRefParameters = Maps.toMap(parameters.keySet(), key -> parameters.get(key).toString());
-            if (totalSizeBytes == 0) {
+        Map<String, String> fileRefParameters = Maps.toMap(parameters.keySet(), key -> parameters.get(key).toString());
+        S3Client s3Client = s3ClientReference.get();
+        String uploadId = null;
+        try {
+            byte[] firstChunk = readChunk(inputStream, s3ChunkSizeBytes);
+            if (firstChunk.length < s3ChunkSizeBytes) {
                 s3Client.putObject(PutObjectRequest.builder()
                         .bucket(bucket)
                         .key(fileKey)
-                        .build(), RequestBody.empty());
+                        .build(), firstChunk.length == 0 ? RequestBody.empty() : RequestBody.fromBytes(firstChunk));
                 return new FileRef(getStorageName(), fileKey, fileName, fileRefParameters);
             }
 
@@ -211,25 +233,10 @@ public class AwsFileStorage implements FileStorage {
                     .bucket(bucket)
                     .key(fileKey)
                     .build();
-            CreateMultipartUploadResponse response = s3Client.createMultipartUpload(createMultipartUploadRequest);
+            uploadId = s3Client.createMultipartUpload(createMultipartUploadRequest).uploadId();
 
-            List<CompletedPart> completedParts = new ArrayList<>();
-            for (int partNumber = 1, readBytes = 0; readBytes != totalSizeBytes; partNumber++) {
-                byte[] chunkBytes = new byte[Math.min(totalSizeBytes - readBytes, s3ChunkSizeBytes)];
-                readBytes += bos.read(chunkBytes);
-                UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
-                        .bucket(bucket)
-                        .key(fileKey)
-                        .uploadId(response.uploadId())
-                        .partNumber(partNumber)
-                        .build();
-                String eTag = s3Client.uploadPart(uploadPartRequest, RequestBody.fromBytes(chunkBytes)).eTag();
-                CompletedPart part = CompletedPart.builder()
-                        .partNumber(partNumber)
-                        .eTag(eTag)
-                        .build();
-                completedParts.add(part);
-            }
+            List<CompletedPart> completedParts = uploadParts(s3Client, fileKey, uploadId,
+                    firstChunk, inputStream, s3ChunkSizeBytes);
 
             CompletedMultipartUpload completedMultipartUpload = CompletedMultipartUpload.builder()
                     .parts(completedParts)
@@ -238,25 +245,180 @@ public class AwsFileStorage implements FileStorage {
                     CompleteMultipartUploadRequest.builder()
                             .bucket(bucket)
                             .key(fileKey)
-                            .uploadId(response.uploadId())
+                            .uploadId(uploadId)
                             .multipartUpload(completedMultipartUpload).build();
             s3Client.completeMultipartUpload(completeMultipartUploadRequest);
             return new FileRef(getStorageName(), fileKey, fileName, fileRefParameters);
         } catch (IOException | SdkException e) {
             log.error("Error saving file to S3 storage", e);
+            abortMultipartUpload(s3Client, fileKey, uploadId);
             String message = String.format("Could not save file %s.", fileName);
             throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, message);
         }
     }
 
+    protected List<CompletedPart> uploadParts(S3Client s3Client, String fileKey, String uploadId,
+                                              byte[] firstChunk, InputStream inputStream,
+                                              int chunkSizeBytes) throws IOException {
+        Semaphore inFlightParts = new Semaphore(Math.max(1, maxConcurrentParts));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Future<CompletedPart>> futures = new ArrayList<>();
+        boolean completed = false;
+        try {
+            byte[] chunk = firstChunk;
+            for (int partNumber = 1; chunk.length > 0 && failure.get() == null; partNumber++) {
+                try {
+                    inFlightParts.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Upload of " + fileKey + " has been interrupted");
+                }
+
+                int currentPartNumber = partNumber;
+                byte[] currentChunk = chunk;
+                futures.add(getUploadExecutor().submit(() -> {
+                    try {
+                        return uploadPart(s3Client, fileKey, uploadId, currentPartNumber, currentChunk);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        inFlightParts.release();
+                    }
+                }));
+
+                chunk = readChunk(inputStream, chunkSizeBytes);
+            }
+
+            List<CompletedPart> completedParts = new ArrayList<>(futures.size());
+            for (Future<CompletedPart> future : futures) {
+                completedParts.add(getCompletedPart(future, fileKey));
+            }
+            completed = true;
+            return completedParts;
+        } finally {
+            if (!completed) {
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+    }
+
+    protected CompletedPart uploadPart(S3Client s3Client, String fileKey, String uploadId,
+                                       int partNumber, byte[] chunkBytes) {
+        UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(fileKey)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .build();
+        int attempts = Math.max(1, partUploadAttempts);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                String eTag = s3Client.uploadPart(uploadPartRequest, RequestBody.fromBytes(chunkBytes)).eTag();
+                return CompletedPart.builder()
+                        .partNumber(partNumber)
+                        .eTag(eTag)
+                        .build();
+            } catch (SdkException e) {
+                if (attempt >= attempts) {
+                    throw e;
+                }
+                log.warn("Failed to upload part {} of {}, attempt {} of {}", partNumber, fileKey, attempt, attempts, e);
+            }
+        }
+    }
+
+    protected CompletedPart getCompletedPart(Future<CompletedPart> future, String fileKey) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Upload of " + fileKey + " has been interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SdkException) {
+                throw (SdkException) e.getCause();
+            }
+            throw new IOException("Unable to upload part of " + fileKey, e.getCause());
+        }
+    }
+
+    protected void abortMultipartUpload(S3Client s3Client, String fileKey, @Nullable String uploadId) {
+        if (uploadId == null) {
+            return;
+        }
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(fileKey)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (SdkException e) {
+            log.warn("Unable to abort multipart upload of {}", fileKey, e);
+        }
+    }
+
+    /**
+     * Reads bytes from the stream until the chunk is full or the stream ends.
+     *
+     * @return chunk bytes, shorter than {@code chunkSizeBytes} only if the stream has ended
+     */
+    protected byte[] readChunk(InputStream inputStream, int chunkSizeBytes) throws IOException {
+        byte[] buffer = new byte[chunkSizeBytes];
+        int readBytes = IOUtils.read(inputStream, buffer);
+        return readBytes == chunkSizeBytes ? buffer : Arrays.copyOf(buffer, readBytes);
+    }
+
+    protected ExecutorService getUploadExecutor() {
+        if (uploadExecutor == null) {
+            synchronized (this) {
+                if (uploadExecutor == null) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    uploadExecutor = Executors.newCachedThreadPool(runnable -> {
+                        Thread thread = new Thread(runnable, "awsfs-upload-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return uploadExecutor;
+    }
+
+    @PreDestroy
+    protected void shutdownUploadExecutor() {
+        if (uploadExecutor != null) {
+            uploadExecutor.shutdownNow();
+        }
+    }
+
     @Override
     public InputStream openStream(FileRef reference) {
+        return getObject(reference, null);
+    }
+
+    /**
+     * Loads a part of the file using an S3 range request.
+     */
+    @Override
+    public InputStream openStream(FileRef reference, long offset, @Nullable Long length) {
+        if (offset < 0 || (length != null && length < 0)) {
+            throw new IllegalArgumentException("Offset and length must not be negative");
+        }
+        if (length != null && length == 0) {
+            return InputStream.nullInputStream();
+        }
+        String range = "bytes=" + offset + "-" + (length != null ? String.valueOf(offset + length - 1) : "");
+        return getObject(reference, range);
+    }
+
+    protected InputStream getObject(FileRef reference, @Nullable String range) {
         InputStream is;
         try {
             S3Client s3Client = s3ClientReference.get();
             GetObjectRequest getObjectRequest = GetObjectRequest.builder()
                     .bucket(bucket)
                     .key(reference.getPath())
+                    .range(range)
                     .build();
             is = s3Client.getObject(getObjectRequest, ResponseTransformer.toInputStream());
         } catch (SdkException e) {
@@ -321,4 +483,12 @@ public class AwsFileStorage implements FileStorage {
     public void setEndpointUrl(@Nullable String endpointUrl) {
         this.endpointUrl = endpointUrl;
     }
+
+    public void setMaxConcurrentParts(int maxConcurrentParts) {
+        this.maxConcurrentParts = maxConcurrentParts;
+    }
+
+    public void setPartUploadAttempts(int partUploadAttempts) {
+        this.partUploadAttempts = partUploadAttempts;
+    }
 }
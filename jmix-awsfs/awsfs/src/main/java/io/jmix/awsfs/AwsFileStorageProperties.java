@@ -36,19 +36,34 @@ public class AwsFileStorageProperties {
      */
     String endpointUrl;
 
+    /**
+     * Maximum number of chunks of a single file uploaded concurrently. Together with {@link #chunkSize} it limits
+     * the memory used by an upload.
+     */
+    int maxConcurrentParts;
+
+    /**
+     * Number of attempts to upload a chunk before the whole upload fails.
+     */
+    int partUploadAttempts;
+
     public AwsFileStorageProperties(
             String accessKey,
             String secretAccessKey,
             String region,
             String bucket,
             @DefaultValue("8192") int chunkSize,
-            @DefaultValue("") String endpointUrl) {
+            @DefaultValue("") String endpointUrl,
+            @DefaultValue("4") int maxConcurrentParts,
+            @DefaultValue("3") int partUploadAttempts) {
         this.accessKey = accessKey;
         this.secretAccessKey = secretAccessKey;
         this.region = region;
         this.bucket = bucket;
         this.chunkSize = chunkSize;
         this.endpointUrl = endpointUrl;
+        this.maxConcurrentParts = maxConcurrentParts;
+        this.partUploadAttempts = partUploadAttempts;
     }
 
     /**
@@ -92,4 +107,18 @@ public class AwsFileStorageProperties {
     public String getEndpointUrl() {
         return endpointUrl;
     }
+
+    /**
+     * @see #maxConcurrentParts
+     */
+    public int getMaxConcurrentParts() {
+        return maxConcurrentParts;
+    }
+
+    /**
+     * @see #partUploadAttempts
+     */
+    public int getPartUploadAttempts() {
+        return partUploadAttempts;
+    }
 }
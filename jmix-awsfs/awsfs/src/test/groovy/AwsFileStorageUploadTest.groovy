@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import io.jmix.awsfs.AwsFileStorage
+import io.jmix.awsfs.AwsFileStorageConfiguration
+import io.jmix.core.CoreConfiguration
+import io.jmix.core.FileStorageException
+import io.jmix.core.TimeSource
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import test_support.AwsFileStorageTestConfiguration
+import test_support.InMemoryS3Client
+import test_support.TestContextInititalizer
+
+@ContextConfiguration(
+        classes = [CoreConfiguration, AwsFileStorageConfiguration, AwsFileStorageTestConfiguration],
+        initializers = [TestContextInititalizer]
+)
+class AwsFileStorageUploadTest extends Specification {
+
+    @Autowired
+    TimeSource timeSource
+
+    InMemoryS3Client s3Client
+    AwsFileStorage storage
+
+    void setup() {
+        s3Client = new InMemoryS3Client()
+        // 1 kB chunks
+        storage = new AwsFileStorage("s3test", "key", "secret", "us-east-1", "bucket", 1, null)
+        storage.timeSource = timeSource
+        storage.s3ClientReference.set(s3Client)
+        storage.setMaxConcurrentParts(3)
+    }
+
+    void cleanup() {
+        storage.shutdownUploadExecutor()
+    }
+
+    def "small file is saved with a single request"() {
+        byte[] content = randomBytes(100)
+
+        when:
+        def fileRef = storage.saveStream("small.bin", new ByteArrayInputStream(content))
+
+        then:
+        s3Client.uploadPartCalls == 0
+        storage.openStream(fileRef).bytes == content
+    }
+
+    def "large file is uploaded in concurrent parts"() {
+        byte[] content = randomBytes(20 * 1024 + 17)
+
+        when:
+        def fileRef = storage.saveStream("large.bin", new ByteArrayInputStream(content))
+
+        then:
+        s3Client.uploadPartCalls == 21
+        s3Client.maxUploadsInFlight <= 3
+        storage.openStream(fileRef).bytes == content
+    }
+
+    def "failed part is retried"() {
+        byte[] content = randomBytes(5 * 1024)
+        s3Client.failNextUploads(2)
+
+        when:
+        def fileRef = storage.saveStream("retry.bin", new ByteArrayInputStream(content))
+
+        then:
+        s3Client.uploadPartCalls == 7
+        storage.openStream(fileRef).bytes == content
+    }
+
+    def "upload is aborted when a part cannot be uploaded"() {
+        storage.setPartUploadAttempts(1)
+        s3Client.failNextUploads(1)
+
+        when:
+        storage.saveStream("fail.bin", new ByteArrayInputStream(randomBytes(3 * 1024)))
+
+        then:
+        thrown(FileStorageException)
+        s3Client.activeUploadsCount == 0
+    }
+
+    def "part of a file is loaded with a range request"() {
+        byte[] content = randomBytes(3000)
+        def fileRef = storage.saveStream("range.bin", new ByteArrayInputStream(content))
+
+        expect:
+        storage.openStream(fileRef, 100, 50L).bytes == Arrays.copyOfRange(content, 100, 150)
+        s3Client.lastRange == "bytes=100-149"
+        storage.openStream(fileRef, 2990, null).bytes == Arrays.copyOfRange(content, 2990, 3000)
+        s3Client.lastRange == "bytes=2990-"
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size]
+        new Random(size).nextBytes(bytes)
+        return bytes
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test_support;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-memory S3 stub supporting the operations used by {@code AwsFileStorage}.
+ */
+public class InMemoryS3Client implements S3Client {
+
+    protected final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    protected final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+
+    protected final AtomicInteger uploadsInFlight = new AtomicInteger();
+    protected final AtomicInteger maxUploadsInFlight = new AtomicInteger();
+    protected final AtomicInteger failuresToSimulate = new AtomicInteger();
+    protected final AtomicInteger uploadPartCalls = new AtomicInteger();
+
+    protected volatile String lastRange;
+
+    public void failNextUploads(int count) {
+        failuresToSimulate.set(count);
+    }
+
+    public int getMaxUploadsInFlight() {
+        return maxUploadsInFlight.get();
+    }
+
+    public int getUploadPartCalls() {
+        return uploadPartCalls.get();
+    }
+
+    public int getActiveUploadsCount() {
+        return uploads.size();
+    }
+
+    public String getLastRange() {
+        return lastRange;
+    }
+
+    @Override
+    public String serviceName() {
+        return "s3";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest putObjectRequest, RequestBody requestBody) {
+        objects.put(putObjectRequest.key(), readBody(requestBody));
+        return PutObjectResponse.builder().build();
+    }
+
+    @Override
+    public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(uploadId, new TreeMap<>());
+        return CreateMultipartUploadResponse.builder().uploadId(uploadId).build();
+    }
+
+    @Override
+    public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody requestBody) {
+        uploadPartCalls.incrementAndGet();
+        int inFlight = uploadsInFlight.incrementAndGet();
+        maxUploadsInFlight.accumulateAndGet(inFlight, Math::max);
+        try {
+            if (failuresToSimulate.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+                throw SdkClientException.create("Simulated failure of part " + request.partNumber());
+            }
+            Thread.sleep(5);
+            Map<Integer, byte[]> parts = uploads.get(request.uploadId());
+            synchronized (parts) {
+                parts.put(request.partNumber(), readBody(requestBody));
+            }
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SdkClientException.create("Interrupted", e);
+        } finally {
+            uploadsInFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        Map<Integer, byte[]> parts = uploads.remove(request.uploadId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (CompletedPart part : request.multipartUpload().parts()) {
+            out.writeBytes(parts.get(part.partNumber()));
+        }
+        objects.put(request.key(), out.toByteArray());
+        return CompleteMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+        uploads.remove(request.uploadId());
+        return AbortMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public <ReturnT> ReturnT getObject(GetObjectRequest request,
+                                       ResponseTransformer<GetObjectResponse, ReturnT> responseTransformer) {
+        byte[] content = objects.get(request.key());
+        if (content == null) {
+            throw NoSuchKeyException.builder().message("No such key: " + request.key()).build();
+        }
+        lastRange = request.range();
+        if (request.range() != null) {
+            String[] bounds = request.range().substring("bytes=".length()).split("-", -1);
+            int from = Integer.parseInt(bounds[0]);
+            int to = bounds[1].isEmpty() ? content.length - 1 : Math.min(Integer.parseInt(bounds[1]), content.length - 1);
+            content = Arrays.copyOfRange(content, from, to + 1);
+        }
+        GetObjectResponse response = GetObjectResponse.builder().contentLength((long) content.length).build();
+        try {
+            return responseTransformer.transform(response,
+                    AbortableInputStream.create(new ByteArrayInputStream(content)));
+        } catch (Exception e) {
+            throw SdkClientException.create("Unable to transform response", e);
+        }
+    }
+
+    protected byte[] readBody(RequestBody requestBody) {
+        try (InputStream inputStream = requestBody.contentStreamProvider().newStream()) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw SdkClientException.create("Unable to read request body", e);
+        }
+    }
+}
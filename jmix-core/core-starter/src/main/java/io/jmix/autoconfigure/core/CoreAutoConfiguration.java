@@ -47,8 +47,15 @@ public class CoreAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public MessageSource messageSource(JmixModules modules, Resources resources) {
-        return new JmixMessageSource(modules, resources);
+    public MessageSource messageSource(JmixModules modules, Resources resources, CoreProperties coreProperties) {
+        JmixMessageSource messageSource = new JmixMessageSource(modules, resources);
+        messageSource.setMessageTablesEnabled(coreProperties.isMessageTablesEnabled());
+        messageSource.setMessageFormatsPreparsed(coreProperties.isMessageFormatsPreparsed());
+        messageSource.setPreloadedLocales(coreProperties.getAvailableLocales());
+        if (coreProperties.getMessagesCacheDuration() != null) {
+            messageSource.setCacheMillis(coreProperties.getMessagesCacheDuration().toMillis());
+        }
+        return messageSource;
     }
 
     @Bean
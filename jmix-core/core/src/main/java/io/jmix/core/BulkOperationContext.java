@@ -0,0 +1,173 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmix.core;
+
+import io.jmix.core.constraint.AccessConstraint;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Defines a set-based operation which updates or deletes all entities matching the query by a single statement,
+ * without loading them.
+ * <p>
+ * If no values are set by {@link #setValue(String, Object)}, the matching entities are deleted, otherwise
+ * the given attributes of the matching entities are updated.
+ * <p>
+ * Usage example:
+ * <pre>
+ * dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(LogRecord.class))
+ *         .setQuery(new LoadContext.Query("select e from LogRecord e where e.createdDate &lt; :date")
+ *                 .setParameter("date", expirationDate)));
+ * </pre>
+ * Entity listeners and {@code EntityChangedEvent} are not invoked for the affected entities,
+ * {@link io.jmix.core.event.EntityBulkChangedEvent} is sent instead.
+ */
+public class BulkOperationContext implements Serializable {
+
+    private static final long serialVersionUID = -8314436612893571236L;
+
+    protected MetaClass metaClass;
+    protected LoadContext.Query query;
+    protected Map<String, Object> values = new LinkedHashMap<>();
+    protected boolean joinTransaction = true;
+    protected List<AccessConstraint<?>> accessConstraints;
+    protected Map<String, Serializable> hints;
+
+    /**
+     * @param metaClass metaclass of the affected entities
+     */
+    public BulkOperationContext(MetaClass metaClass) {
+        this.metaClass = metaClass;
+    }
+
+    public MetaClass getEntityMetaClass() {
+        return metaClass;
+    }
+
+    /**
+     * @return query selecting the affected entities, or null if all entities are affected
+     */
+    @Nullable
+    public LoadContext.Query getQuery() {
+        return query;
+    }
+
+    /**
+     * Sets the query selecting the affected entities. The query must select the root entity
+     * and may contain a condition and parameters. Sorting and paging of the query are ignored.
+     *
+     * @param query query instance
+     * @return this instance for chaining
+     */
+    public BulkOperationContext setQuery(@Nullable LoadContext.Query query) {
+        this.query = query;
+        return this;
+    }
+
+    /**
+     * @return attributes and values to be set to the affected entities
+     */
+    public Map<String, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Sets a value of the attribute of the affected entities.
+     *
+     * @param property attribute name
+     * @param value    new value
+     * @return this instance for chaining
+     */
+    public BulkOperationContext setValue(String property, @Nullable Object value) {
+        values.put(property, value);
+        return this;
+    }
+
+    /**
+     * @return true if the affected entities are deleted, false if they are updated
+     */
+    public boolean isDelete() {
+        return values.isEmpty();
+    }
+
+    /**
+     * @return custom hints which are used by the operation
+     */
+    public Map<String, Serializable> getHints() {
+        return hints == null ? Collections.emptyMap() : Collections.unmodifiableMap(hints);
+    }
+
+    /**
+     * Sets custom hint that should be used by the operation.
+     */
+    public BulkOperationContext setHint(String hintName, Serializable value) {
+        if (hints == null) {
+            hints = new HashMap<>();
+        }
+        hints.put(hintName, value);
+        return this;
+    }
+
+    /**
+     * Sets custom hints that should be used by the operation.
+     */
+    public BulkOperationContext setHints(Map<String, Serializable> hints) {
+        this.hints = hints;
+        return this;
+    }
+
+    /**
+     * Returns the list of access constraints.
+     */
+    public List<AccessConstraint<?>> getAccessConstraints() {
+        return this.accessConstraints == null ? Collections.emptyList() : this.accessConstraints;
+    }
+
+    /**
+     * Sets the list of access constraints.
+     */
+    public BulkOperationContext setAccessConstraints(List<AccessConstraint<?>> accessConstraints) {
+        this.accessConstraints = accessConstraints;
+        return this;
+    }
+
+    /**
+     * @return whether to join existing transaction or always start a new one
+     */
+    public boolean isJoinTransaction() {
+        return joinTransaction;
+    }
+
+    /**
+     * Sets whether to join existing transaction or always start a new one.
+     */
+    public BulkOperationContext setJoinTransaction(boolean joinTransaction) {
+        this.joinTransaction = joinTransaction;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkOperationContext{" +
+                "metaClass=" + metaClass +
+                ", query=" + query +
+                ", values=" + values.keySet() +
+                '}';
+    }
+}
@@ -16,6 +16,8 @@
 
 package io.jmix.core;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.Cache;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.stereotype.Component;
@@ -34,6 +36,32 @@ import java.util.function.BiConsumer;
 @Component("core_CacheOperations")
 public class CacheOperations {
 
+    @Autowired
+    protected ObjectProvider<CachePartitionProvider> cachePartitionProvider;
+
+    /**
+     * Returns the cache partition of the current user.
+     *
+     * @return partition or {@link CachePartitionProvider#DEFAULT_PARTITION} if caches are not partitioned
+     * @see CachePartitionProvider
+     */
+    public String getCurrentPartition() {
+        CachePartitionProvider provider = cachePartitionProvider.getIfUnique();
+        return provider == null ? CachePartitionProvider.DEFAULT_PARTITION : provider.getCurrentPartition();
+    }
+
+    /**
+     * Returns the key to store a value in the cache partition of the current user, so the value
+     * is not visible in other partitions.
+     *
+     * @param key key of the value
+     * @return the given key in the default partition, {@link PartitionedCacheKey} otherwise
+     */
+    public Object getPartitionedKey(Object key) {
+        String partition = getCurrentPartition();
+        return CachePartitionProvider.DEFAULT_PARTITION.equals(partition) ? key : new PartitionedCacheKey(partition, key);
+    }
+
     /**
      * Iterations over cache entries are supported for JCache and default {@link ConcurrentMapCache}.
      * @param cache
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import io.jmix.core.metamodel.model.MetaClass;
+
+/**
+ * Divides entries of application caches into partitions, e.g. by tenant. Entries cached in one partition
+ * are not visible in other partitions.
+ * <p>
+ * The framework uses a single bean of this type if it exists. If there is no such bean, all entries are
+ * cached in the {@link #DEFAULT_PARTITION}.
+ */
+public interface CachePartitionProvider {
+
+    /**
+     * Partition of entries shared by all users, e.g. when the tenant is not determined.
+     */
+    String DEFAULT_PARTITION = "";
+
+    /**
+     * Returns the partition of the current user, or {@link #DEFAULT_PARTITION}.
+     */
+    String getCurrentPartition();
+
+    /**
+     * Returns whether instances of the entity belong to partitions, so changing them affects only entries
+     * of the partition where the change is made and of the {@link #DEFAULT_PARTITION}.
+     */
+    boolean isPartitioned(MetaClass metaClass);
+}
@@ -99,6 +99,28 @@ public class CoreProperties {
      */
     boolean roundDecimalValueByFormat;
 
+    /**
+     * Whether the classpath scanner uses indexes generated by the Jmix Gradle plugin instead of reading
+     * class files. Indexes located in directories are validated and ignored if they are outdated.
+     */
+    boolean classpathScanIndexEnabled;
+
+    /**
+     * Whether messages of all modules are merged into a single table per locale to speed up message resolution.
+     */
+    boolean messageTablesEnabled;
+
+    /**
+     * Whether message formats for messages with arguments are created when the table of messages is built.
+     */
+    boolean messageFormatsPreparsed;
+
+    /**
+     * How long the loaded messages are cached. If not set, messages are cached forever. Set it in development
+     * to see changes of message files without restarting the application.
+     */
+    Duration messagesCacheDuration;
+
     public CoreProperties(
             String webHostName,
             String webPort,
@@ -118,7 +140,11 @@ public class CoreProperties {
             @DefaultValue("false") boolean legacyFetchPlanSerializationAttributeName,
             @DefaultValue("true") boolean triggerFilesEnabled,
             @DefaultValue("5000") Duration triggerFilesProcessInterval,
-            @DefaultValue("true") boolean roundDecimalValueByFormat) {
+            @DefaultValue("true") boolean roundDecimalValueByFormat,
+            @DefaultValue("true") boolean classpathScanIndexEnabled,
+            @DefaultValue("true") boolean messageTablesEnabled,
+            @DefaultValue("false") boolean messageFormatsPreparsed,
+            @Nullable Duration messagesCacheDuration) {
         this.webHostName = webHostName;
         this.webPort = webPort;
         this.confDir = confDir;
@@ -147,6 +173,10 @@ public class CoreProperties {
         this.triggerFilesEnabled = triggerFilesEnabled;
         this.triggerFilesProcessInterval = triggerFilesProcessInterval;
         this.roundDecimalValueByFormat = roundDecimalValueByFormat;
+        this.classpathScanIndexEnabled = classpathScanIndexEnabled;
+        this.messageTablesEnabled = messageTablesEnabled;
+        this.messageFormatsPreparsed = messageFormatsPreparsed;
+        this.messagesCacheDuration = messagesCacheDuration;
     }
 
     public String getWebHostName() {
@@ -249,4 +279,33 @@ public class CoreProperties {
     public boolean isRoundDecimalValueByFormat() {
         return roundDecimalValueByFormat;
     }
+
+    /**
+     * @see #classpathScanIndexEnabled
+     */
+    public boolean isClasspathScanIndexEnabled() {
+        return classpathScanIndexEnabled;
+    }
+
+    /**
+     * @see #messageTablesEnabled
+     */
+    public boolean isMessageTablesEnabled() {
+        return messageTablesEnabled;
+    }
+
+    /**
+     * @see #messageFormatsPreparsed
+     */
+    public boolean isMessageFormatsPreparsed() {
+        return messageFormatsPreparsed;
+    }
+
+    /**
+     * @see #messagesCacheDuration
+     */
+    @Nullable
+    public Duration getMessagesCacheDuration() {
+        return messagesCacheDuration;
+    }
 }
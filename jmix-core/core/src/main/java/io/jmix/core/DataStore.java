@@ -21,6 +21,7 @@ import io.jmix.core.entity.KeyValueEntity;
 import org.springframework.lang.Nullable;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Interface defining methods for CRUD operations on entities.
@@ -55,6 +56,30 @@ public interface DataStore {
      */
     List<Object> loadList(LoadContext<?> context);
 
+    /**
+     * Loads entity instances while the returned stream is consumed.
+     * <p>
+     * The stream can hold resources of the data store, e.g. a database cursor and a transaction, so it must be
+     * closed after use, preferably by a try-with-resources block, in the thread that created it.
+     * <p>
+     * The default implementation loads all instances by {@link #loadList(LoadContext)}.
+     *
+     * @return a stream of instances
+     */
+    default Stream<Object> loadStream(LoadContext<?> context) {
+        return loadList(context).stream();
+    }
+
+    /**
+     * Updates or deletes all entities matching the query of the context by a single statement.
+     *
+     * @return number of affected entities
+     * @throws UnsupportedOperationException if the data store does not support bulk operations
+     */
+    default long executeBulkOperation(BulkOperationContext context) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by data store " + getName());
+    }
+
     /**
      * Returns the number of entity instances for the given query passed in the {@link LoadContext}.
      *
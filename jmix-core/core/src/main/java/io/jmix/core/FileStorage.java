@@ -16,7 +16,13 @@
 
 package io.jmix.core;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.Map;
 
@@ -68,6 +74,68 @@ public interface FileStorage {
      */
     InputStream openStream(FileRef reference);
 
+    /**
+     * Returns an input stream to load a part of a file contents.
+     * <p>
+     * The default implementation skips {@code offset} bytes of the whole file stream. Storages that are able
+     * to read a part of a file directly should override this method.
+     *
+     * @param reference file reference
+     * @param offset    position of the first byte to read
+     * @param length    maximum number of bytes to read, or null to read until the end of the file
+     * @return input stream, must be closed after use
+     * @throws IllegalArgumentException if arguments are incorrect
+     * @throws FileStorageException     if something goes wrong
+     */
+    default InputStream openStream(FileRef reference, long offset, @Nullable Long length) {
+        if (offset < 0 || (length != null && length < 0)) {
+            throw new IllegalArgumentException("Offset and length must not be negative");
+        }
+        InputStream inputStream = openStream(reference);
+        try {
+            IOUtils.skipFully(inputStream, offset);
+        } catch (IOException e) {
+            IOUtils.closeQuietly(inputStream);
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, reference.getFileName(), e);
+        }
+        return length != null ? new BoundedInputStream(inputStream, length) : inputStream;
+    }
+
+    /**
+     * Writes a part of a file contents to the given output stream.
+     * <p>
+     * The default implementation copies the stream returned by {@link #openStream(FileRef, long, Long)}.
+     * Storages that are able to transfer data without copying it through intermediate buffers should
+     * override this method.
+     *
+     * @param reference    file reference
+     * @param offset       position of the first byte to write
+     * @param length       maximum number of bytes to write, or null to write until the end of the file
+     * @param outputStream output stream, is not closed by this method
+     * @return number of bytes written
+     * @throws IllegalArgumentException if arguments are incorrect
+     * @throws FileStorageException     if something goes wrong
+     */
+    default long transferTo(FileRef reference, long offset, @Nullable Long length, OutputStream outputStream) {
+        try (InputStream inputStream = openStream(reference, offset, length)) {
+            return IOUtils.copyLarge(inputStream, outputStream);
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, reference.getFileName(), e);
+        }
+    }
+
+    /**
+     * Returns the size of a file if the storage is able to determine it without reading the file contents.
+     *
+     * @param reference file reference
+     * @return file size in bytes, or null if it is unknown
+     * @throws IllegalArgumentException if file reference is invalid
+     */
+    @Nullable
+    default Long getFileSize(FileRef reference) {
+        return null;
+    }
+
     /**
      * Removes a file from the file storage.
      *
@@ -32,6 +32,21 @@ public interface FileTransferService {
                                   Boolean attachment,
                                   HttpServletResponse response) throws FileTransferException;
 
+    /**
+     * Writes the file to the response taking into account {@code Range} and {@code If-Range} headers of the
+     * request: if a single satisfiable byte range is requested, only this range is written with
+     * {@code 206 Partial Content} status.
+     * <p>
+     * The default implementation ignores the request and writes the whole file.
+     */
+    default void downloadAndWriteResponse(FileRef fileReference,
+                                          String fileStorageName,
+                                          Boolean attachment,
+                                          HttpServletRequest request,
+                                          HttpServletResponse response) throws FileTransferException {
+        downloadAndWriteResponse(fileReference, fileStorageName, attachment, response);
+    }
+
     ResponseEntity<FileInfoResponse> multipartFileUpload(MultipartFile file,
                                                          String name,
                                                          String fileStorageName,
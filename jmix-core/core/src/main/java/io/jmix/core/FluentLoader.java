@@ -35,6 +35,7 @@ import jakarta.persistence.TemporalType;
 import java.io.Serializable;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component("core_FluentLoader")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
@@ -569,6 +570,16 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads entities while the returned stream is consumed. The stream must be closed after use.
+         *
+         * @see UnconstrainedDataManager#loadStream(LoadContext)
+         */
+        public Stream<E> stream() {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadStream(loadContext);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
@@ -818,6 +829,16 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads entities while the returned stream is consumed. The stream must be closed after use.
+         *
+         * @see UnconstrainedDataManager#loadStream(LoadContext)
+         */
+        public Stream<E> stream() {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadStream(loadContext);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
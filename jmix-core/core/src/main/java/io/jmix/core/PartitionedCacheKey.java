@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Key of a cache entry stored in a partition other than {@link CachePartitionProvider#DEFAULT_PARTITION}.
+ *
+ * @see CacheOperations#getPartitionedKey(Object)
+ */
+public class PartitionedCacheKey implements Serializable {
+
+    private static final long serialVersionUID = 4906337563460524658L;
+
+    private final String partition;
+    private final Object key;
+
+    public PartitionedCacheKey(String partition, Object key) {
+        this.partition = partition;
+        this.key = key;
+    }
+
+    public String getPartition() {
+        return partition;
+    }
+
+    public Object getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PartitionedCacheKey that = (PartitionedCacheKey) o;
+        return partition.equals(that.partition) && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(partition, key);
+    }
+
+    @Override
+    public String toString() {
+        return partition + "/" + key;
+    }
+}
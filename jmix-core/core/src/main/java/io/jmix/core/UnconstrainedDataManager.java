@@ -20,6 +20,7 @@ import io.jmix.core.entity.KeyValueEntity;
 
 import org.springframework.lang.Nullable;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Central interface to provide CRUD functionality for entities.
@@ -52,6 +53,43 @@ public interface UnconstrainedDataManager {
      */
     <E> List<E> loadList(LoadContext<E> context);
 
+    /**
+     * Loads entity instances while the returned stream is consumed, so the whole result is never kept in memory.
+     * <p>The depth of object graphs, starting from loaded instances, defined by {@link FetchPlan}
+     * object passed in {@link LoadContext}.</p>
+     * <p>The stream holds a database cursor and a transaction bound to the thread that created it, so it must be
+     * consumed and closed in this thread, preferably by a try-with-resources block:</p>
+     * <pre>
+     * try (Stream&lt;Customer&gt; customers = dataManager.loadStream(loadContext)) {
+     *     customers.forEach(this::export);
+     * }
+     * </pre>
+     * <p>The default implementation loads all instances by {@link #loadList(LoadContext)}.</p>
+     *
+     * @param context {@link LoadContext} object, defining what and how to load
+     * @return a stream of entity instances
+     * @throws IllegalStateException if the stream is consumed or closed in another thread
+     */
+    default <E> Stream<E> loadStream(LoadContext<E> context) {
+        return loadList(context).stream();
+    }
+
+    /**
+     * Updates or deletes all entities matching the query of the context by a single statement, without loading them.
+     * <p>Row-level JPQL constraints of reading are added to the statement. Soft-deletable entities are marked
+     * as deleted if soft deletion is enabled. Entity listeners and {@code EntityChangedEvent} are not invoked,
+     * a single {@link io.jmix.core.event.EntityBulkChangedEvent} is sent instead.</p>
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}.</p>
+     *
+     * @param context {@link BulkOperationContext} object, defining the affected entities and new values
+     * @return number of affected entities
+     * @throws UnsupportedOperationException if bulk operations are not supported
+     */
+    default long executeBulkOperation(BulkOperationContext context) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by " + getClass().getName());
+    }
+
     /**
      * Returns the number of entity instances for the given query passed in the {@link LoadContext}.
      *
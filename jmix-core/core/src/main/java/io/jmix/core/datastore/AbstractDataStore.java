@@ -31,6 +31,8 @@ import java.lang.reflect.Field;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class AbstractDataStore implements DataStore {
     protected final List<DataStoreEventListener> listeners = new ArrayList<>();
@@ -42,6 +44,8 @@ public abstract class AbstractDataStore implements DataStore {
 
     private static final Logger log = LoggerFactory.getLogger(AbstractDataStore.class);
 
+    protected static final int DEFAULT_STREAM_PORTION_SIZE = 100;
+
     @Autowired
     public void setMetadata(Metadata metadata) {
         this.metadata = metadata;
@@ -160,6 +164,52 @@ public abstract class AbstractDataStore implements DataStore {
         return afterLoadEvent.getResultEntities();
     }
 
+    /**
+     * Loads entities by portions while the returned stream is consumed. The load transaction stays open
+     * until the stream is exhausted or closed. Each portion passes the same events as the result of
+     * {@link #loadList(LoadContext)} and is released by {@link #releaseStreamedEntities} before it is returned.
+     * <p>
+     * Contexts loading entities by ids are processed by {@link #loadList(LoadContext)}.
+     * <p>
+     * The load transaction is bound to the current thread, so the stream fails with {@link IllegalStateException}
+     * if it is consumed or closed in another thread.
+     */
+    @Override
+    public Stream<Object> loadStream(LoadContext<?> context) {
+        if (!context.getIds().isEmpty()) {
+            return loadList(context).stream();
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("loadStream: store={}, metaClass={}, fetchPlan={}, from selected={}, query={}",
+                    getName(), context.getEntityMetaClass(), context.getFetchPlan(),
+                    context.getPreviousQueries().isEmpty(), context.getQuery());
+        }
+
+        EventSharedState loadState = new EventSharedState();
+
+        DataStoreBeforeEntityLoadEvent beforeLoadEvent = new DataStoreBeforeEntityLoadEvent(context, loadState);
+        fireEvent(beforeLoadEvent);
+
+        if (beforeLoadEvent.loadPrevented()) {
+            return Stream.empty();
+        }
+
+        StreamedEntitiesIterator iterator;
+        Object transaction = beginLoadTransaction(context.isJoinTransaction());
+        try {
+            TransactionContextState txContextState = getTransactionContextState(context.isJoinTransaction());
+            LoadCursor cursor = openLoadCursor(context);
+            iterator = new StreamedEntitiesIterator(context, loadState, transaction, txContextState, cursor);
+        } catch (RuntimeException e) {
+            rollbackTransaction(transaction);
+            throw e;
+        }
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
     @Override
     public long getCount(LoadContext<?> context) {
         if (log.isDebugEnabled()) {
@@ -239,6 +289,31 @@ public abstract class AbstractDataStore implements DataStore {
         return context.isDiscardSaved() ? Collections.emptySet() : loadAllAfterSave(context, savedEntities);
     }
 
+    @Override
+    public long executeBulkOperation(BulkOperationContext context) {
+        log.debug("executeBulkOperation: store={}, metaClass={}, delete={}, query={}",
+                getName(), context.getEntityMetaClass(), context.isDelete(), context.getQuery());
+
+        EventSharedState eventState = new EventSharedState();
+
+        DataStoreBeforeBulkOperationEvent beforeEvent = new DataStoreBeforeBulkOperationEvent(context, eventState);
+        fireEvent(beforeEvent);
+
+        if (beforeEvent.operationPrevented()) {
+            return 0;
+        }
+
+        long count;
+        Object transaction = beginSaveTransaction(context.isJoinTransaction());
+        try {
+            count = executeBulk(context);
+            commitTransaction(transaction);
+        } finally {
+            rollbackTransaction(transaction);
+        }
+        return count;
+    }
+
     @Override
     public List<KeyValueEntity> loadValues(ValueLoadContext context) {
         Preconditions.checkNotNull(context, "context is null");
@@ -310,10 +385,53 @@ public abstract class AbstractDataStore implements DataStore {
 
     protected abstract long countAll(LoadContext<?> context);
 
+    /**
+     * Opens a cursor over the entities defined by the context for {@link #loadStream(LoadContext)}.
+     * Invoked inside the load transaction.
+     * <p>
+     * The default implementation loads all entities by {@link #loadAll(LoadContext)}, override it to read
+     * entities from the underlying storage while the cursor is iterated.
+     */
+    protected LoadCursor openLoadCursor(LoadContext<?> context) {
+        Iterator<Object> iterator = loadAll(context).iterator();
+        return new LoadCursor() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * @return number of entities read from the cursor and passed through the load events together
+     * in {@link #loadStream(LoadContext)}
+     */
+    protected int getStreamPortionSize(LoadContext<?> context) {
+        return DEFAULT_STREAM_PORTION_SIZE;
+    }
+
     protected abstract Set<Object> saveAll(SaveContext context);
 
     protected abstract Set<Object> deleteAll(SaveContext context);
 
+    /**
+     * Executes the bulk operation inside the save transaction.
+     *
+     * @return number of affected entities
+     */
+    protected long executeBulk(BulkOperationContext context) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by data store " + getName());
+    }
+
     protected abstract List<Object> loadAllValues(ValueLoadContext context);
 
     protected abstract long countAllValues(ValueLoadContext context);
@@ -336,6 +454,16 @@ public abstract class AbstractDataStore implements DataStore {
     protected void beforeLoadTransactionCommit(LoadContext<?> context, Collection<Object> entities, TransactionContextState transactionContextState) {
     }
 
+    /**
+     * Invoked for each portion of entities returned by {@link #loadStream(LoadContext)} while the load
+     * transaction is still active. Implementations should release the storage resources held by the entities,
+     * e.g. detach them from the persistence context.
+     */
+    protected void releaseStreamedEntities(LoadContext<?> context, Collection<Object> entities,
+                                           TransactionContextState transactionContextState) {
+        beforeLoadTransactionCommit(context, entities, transactionContextState);
+    }
+
     protected void beforeSaveTransactionCommit(SaveContext context, Collection<Object> savedEntities,
                                                Collection<Object> removedEntities) {
     }
@@ -518,6 +646,118 @@ public abstract class AbstractDataStore implements DataStore {
         }
     }
 
+    /**
+     * Iterator over the entities of the storage opened by {@link #openLoadCursor(LoadContext)}.
+     */
+    protected interface LoadCursor extends Iterator<Object>, AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Reads entities from the cursor by portions, fires load events for each portion and completes
+     * the load transaction when the cursor is exhausted or the iterator is closed.
+     */
+    protected class StreamedEntitiesIterator implements Iterator<Object>, AutoCloseable {
+        protected final LoadContext<?> context;
+        protected final EventSharedState loadState;
+        protected final Object transaction;
+        protected final TransactionContextState txContextState;
+        protected final LoadCursor cursor;
+        protected final int portionSize;
+        protected final Thread thread = Thread.currentThread();
+
+        protected Iterator<Object> portion = Collections.emptyIterator();
+        protected boolean closed;
+
+        public StreamedEntitiesIterator(LoadContext<?> context, EventSharedState loadState, Object transaction,
+                                        TransactionContextState txContextState, LoadCursor cursor) {
+            this.context = context;
+            this.loadState = loadState;
+            this.transaction = transaction;
+            this.txContextState = txContextState;
+            this.cursor = cursor;
+            this.portionSize = Math.max(getStreamPortionSize(context), 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkThread();
+            while (!portion.hasNext()) {
+                if (closed) {
+                    return false;
+                }
+                portion = loadPortion().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return portion.next();
+        }
+
+        protected List<Object> loadPortion() {
+            try {
+                List<Object> entities = new ArrayList<>(portionSize);
+                while (entities.size() < portionSize && cursor.hasNext()) {
+                    entities.add(cursor.next());
+                }
+                if (entities.isEmpty()) {
+                    close();
+                    return Collections.emptyList();
+                }
+
+                DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(context, entities, loadState);
+                fireEvent(loadEvent);
+
+                List<Object> resultList = loadEvent.getResultEntities();
+                releaseStreamedEntities(context, resultList, txContextState);
+
+                DataStoreAfterEntityLoadEvent afterLoadEvent = new DataStoreAfterEntityLoadEvent(context, resultList, loadState);
+                fireEvent(afterLoadEvent);
+
+                return afterLoadEvent.getResultEntities();
+            } catch (RuntimeException e) {
+                if (!closed) {
+                    closed = true;
+                    try {
+                        cursor.close();
+                    } finally {
+                        rollbackTransaction(transaction);
+                    }
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            checkThread();
+            closed = true;
+            try {
+                cursor.close();
+                commitTransaction(transaction);
+            } finally {
+                rollbackTransaction(transaction);
+            }
+        }
+
+        protected void checkThread() {
+            if (Thread.currentThread() != thread) {
+                throw new IllegalStateException("Stream of " + context.getEntityMetaClass().getName()
+                        + " entities must be consumed and closed in the thread that created it: " + thread.getName());
+            }
+        }
+    }
+
     /**
      * Designed to store and share various data during load transaction.
      * <p>
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.datastore;
+
+import io.jmix.core.BulkOperationContext;
+
+public class DataStoreBeforeBulkOperationEvent extends BaseDataStoreEvent {
+    private static final long serialVersionUID = 2871694273301593867L;
+
+    protected boolean operationPrevented;
+    protected final EventSharedState eventState;
+
+    public DataStoreBeforeBulkOperationEvent(BulkOperationContext context, EventSharedState eventState) {
+        super(context);
+        this.eventState = eventState;
+    }
+
+    public BulkOperationContext getBulkOperationContext() {
+        return (BulkOperationContext) getSource();
+    }
+
+    public EventSharedState getEventState() {
+        return eventState;
+    }
+
+    public void setOperationPrevented() {
+        this.operationPrevented = true;
+    }
+
+    public boolean operationPrevented() {
+        return operationPrevented;
+    }
+
+    @Override
+    public void sendTo(DataStoreEventListener listener) {
+        listener.beforeBulkOperation(this);
+    }
+}
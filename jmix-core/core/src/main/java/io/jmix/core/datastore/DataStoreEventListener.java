@@ -47,6 +47,9 @@ public interface DataStoreEventListener extends Ordered {
     default void beforeValueLoad(DataStoreBeforeValueLoadEvent event) {
     }
 
+    default void beforeBulkOperation(DataStoreBeforeBulkOperationEvent event) {
+    }
+
     @Override
     default int getOrder() {
         return JmixOrder.LOWEST_PRECEDENCE;
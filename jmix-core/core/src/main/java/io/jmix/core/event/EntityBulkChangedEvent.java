@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.event;
+
+import io.jmix.core.annotation.Internal;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+import java.util.Set;
+
+/**
+ * A Spring application event that is sent right after entities are updated or deleted in the data store by a bulk
+ * operation, see {@link io.jmix.core.BulkOperationContext}. A bulk operation does not load the affected entities,
+ * so {@link EntityChangedEvent} is not sent for them.
+ * <p>
+ * Like {@link EntityChangedEvent}, the event can be handled by {@code @EventListener} inside the transaction
+ * or by {@code @TransactionalEventListener} after commit:
+ * <pre>
+ * {@literal @}EventListener
+ * protected void logRecordsChanged(EntityBulkChangedEvent&lt;LogRecord&gt; event) {
+ *     //...
+ * }
+ * </pre>
+ *
+ * @param <E> entity type
+ */
+public class EntityBulkChangedEvent<E> extends ApplicationEvent implements ResolvableTypeProvider {
+
+    private EntityChangedEvent.Type type;
+    private Set<String> attributes;
+    private long count;
+    private MetaClass originalMetaClass;
+
+    /**
+     * INTERNAL.
+     */
+    @Internal
+    public EntityBulkChangedEvent(Object source, EntityChangedEvent.Type type, Set<String> attributes, long count,
+                                  MetaClass originalMetaClass) {
+        super(source);
+        this.type = type;
+        this.attributes = attributes;
+        this.count = count;
+        this.originalMetaClass = originalMetaClass;
+    }
+
+    /**
+     * Returns the event type: {@code UPDATED} or {@code DELETED}.
+     */
+    public EntityChangedEvent.Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns names of the updated attributes. For soft deletion, contains the soft deletion attributes.
+     */
+    public Set<String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Returns the number of affected entities reported by the data store.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the metaclass of the affected entities.
+     */
+    public MetaClass getEntityMetaClass() {
+        return originalMetaClass;
+    }
+
+    /**
+     * INTERNAL.
+     */
+    @Internal
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(),
+                ResolvableType.forClass(originalMetaClass.getJavaClass()));
+    }
+
+    @Override
+    public String toString() {
+        return "EntityBulkChangedEvent{" +
+                "entity=" + originalMetaClass.getName() +
+                ", type=" + type +
+                ", attributes=" + attributes +
+                ", count=" + count +
+                '}';
+    }
+}
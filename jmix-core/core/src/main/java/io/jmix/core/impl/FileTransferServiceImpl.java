@@ -19,13 +19,13 @@ package io.jmix.core.impl;
 import com.google.common.base.Strings;
 import io.jmix.core.*;
 import io.jmix.core.common.util.URLEncodeUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -40,6 +40,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.List;
 import java.util.Objects;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -57,6 +58,15 @@ public class FileTransferServiceImpl implements FileTransferService {
                                          String fileStorageName,
                                          Boolean attachment,
                                          HttpServletResponse response) throws FileTransferException {
+        downloadAndWriteResponse(fileReference, fileStorageName, attachment, null, response);
+    }
+
+    @Override
+    public void downloadAndWriteResponse(FileRef fileReference,
+                                         String fileStorageName,
+                                         Boolean attachment,
+                                         @Nullable HttpServletRequest request,
+                                         HttpServletResponse response) throws FileTransferException {
         FileStorage fileStorage = getFileStorageByNameOrDefault(fileStorageName);
 
         if (!fileStorage.fileExists(fileReference)) {
@@ -77,9 +87,35 @@ public class FileTransferServiceImpl implements FileTransferService {
             }
             response.setHeader("Content-Disposition", contentDisposition);
 
+            long offset = 0;
+            Long length = null;
+
+            Long fileSize = fileStorage.getFileSize(fileReference);
+            if (fileSize != null) {
+                String eTag = createETag(fileReference, fileSize);
+                response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+                response.setHeader(HttpHeaders.ETAG, eTag);
+
+                HttpRange range = request != null ? getRequestedRange(request, eTag) : null;
+                if (range != null) {
+                    offset = range.getRangeStart(fileSize);
+                    if (offset >= fileSize) {
+                        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize);
+                        return;
+                    }
+                    long end = range.getRangeEnd(fileSize);
+                    length = end - offset + 1;
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + end + "/" + fileSize);
+                    response.setContentLengthLong(length);
+                } else {
+                    response.setContentLengthLong(fileSize);
+                }
+            }
+
             ServletOutputStream os = response.getOutputStream();
-            InputStream is = fileStorage.openStream(fileReference);
-            IOUtils.copy(is, os);
+            fileStorage.transferTo(fileReference, offset, length, os);
             os.flush();
 
         } catch (Exception e) {
@@ -88,6 +124,43 @@ public class FileTransferServiceImpl implements FileTransferService {
         }
     }
 
+    /**
+     * Returns the byte range to write, or null if the whole file should be written: if there is no
+     * {@code Range} header, it cannot be parsed, it contains several ranges or the {@code If-Range}
+     * validator does not match the current file.
+     */
+    @Nullable
+    private HttpRange getRequestedRange(HttpServletRequest request, String eTag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.isBlank(rangeHeader)) {
+            return null;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // Last-Modified is not sent, so a date validator never matches; weak tags are not allowed in If-Range
+        if (ifRange != null && !ifRange.trim().equals(eTag)) {
+            return null;
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalid Range header '{}': {}", rangeHeader, e.getMessage());
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    /**
+     * File references point to immutable files, so the reference together with the size
+     * is a sufficient strong validator.
+     */
+    private String createETag(FileRef fileReference, long fileSize) {
+        return "\"" + Integer.toHexString(fileReference.toString().hashCode())
+                + "-" + Long.toHexString(fileSize) + "\"";
+    }
+
     private String getContentDispositionFilename(String filename) {
         String encodedFilename = rfc5987Encode(filename);
 
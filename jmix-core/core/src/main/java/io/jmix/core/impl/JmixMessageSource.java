@@ -21,17 +21,38 @@ import io.jmix.core.JmixModules;
 import io.jmix.core.LocaleResolver;
 import io.jmix.core.Resources;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.Nullable;
 
-import java.util.List;
-import java.util.ListIterator;
-import java.util.Locale;
+import java.text.MessageFormat;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class JmixMessageSource extends ReloadableResourceBundleMessageSource {
+/**
+ * Message source which loads messages from the {@code messages} bundles located in base packages of all Jmix modules.
+ * Bundles of modules that depend on other modules override messages of their dependencies.
+ * <p>
+ * By default, messages of all bundles are merged into a single table per locale, so resolving a message is a single
+ * hash lookup. The table includes messages of fallback locales and respects the override precedence of modules.
+ * If {@link #setCacheMillis(long) cache duration} is set, the table is rebuilt when it expires, and only
+ * the modified files are reloaded.
+ */
+public class JmixMessageSource extends ReloadableResourceBundleMessageSource implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(JmixMessageSource.class);
 
     private Resources resources;
 
+    protected boolean messageTablesEnabled = true;
+    protected boolean messageFormatsPreparsed;
+    protected Collection<Locale> preloadedLocales = Collections.emptyList();
+
+    protected Map<Locale, MessageTable> messageTables = new ConcurrentHashMap<>();
+
     public JmixMessageSource(JmixModules modules, Resources resources) {
         this.resources = resources;
         setDefaultEncoding("UTF-8");
@@ -55,6 +76,115 @@ public class JmixMessageSource extends ReloadableResourceBundleMessageSource {
         super.setResourceLoader(this.resources);
     }
 
+    /**
+     * Sets whether messages are resolved from the merged per-locale tables. If false, message files are looked up
+     * by the standard {@link ReloadableResourceBundleMessageSource} algorithm.
+     */
+    public void setMessageTablesEnabled(boolean messageTablesEnabled) {
+        this.messageTablesEnabled = messageTablesEnabled;
+    }
+
+    /**
+     * Sets whether {@link MessageFormat} instances for messages with arguments are created when a table is built.
+     * Otherwise, they are created on first use.
+     */
+    public void setMessageFormatsPreparsed(boolean messageFormatsPreparsed) {
+        this.messageFormatsPreparsed = messageFormatsPreparsed;
+    }
+
+    /**
+     * Sets locales which tables are built on application startup.
+     */
+    public void setPreloadedLocales(Collection<Locale> preloadedLocales) {
+        this.preloadedLocales = preloadedLocales;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (messageTablesEnabled) {
+            for (Locale locale : preloadedLocales) {
+                getMessageTable(locale);
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        if (!messageTablesEnabled) {
+            return super.resolveCodeWithoutArguments(code, locale);
+        }
+        return getMessageTable(locale).messages.get(code);
+    }
+
+    @Nullable
+    @Override
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        if (!messageTablesEnabled) {
+            return super.resolveCode(code, locale);
+        }
+        MessageTable table = getMessageTable(locale);
+        MessageFormat messageFormat = table.formats.get(code);
+        if (messageFormat == null) {
+            String message = table.messages.get(code);
+            if (message == null) {
+                return null;
+            }
+            messageFormat = table.formats.computeIfAbsent(code, c -> createMessageFormat(message, locale));
+        }
+        return messageFormat;
+    }
+
+    @Override
+    public void clearCache() {
+        super.clearCache();
+        messageTables.clear();
+    }
+
+    protected MessageTable getMessageTable(Locale locale) {
+        MessageTable table = messageTables.get(locale);
+        if (table == null || table.isExpired(getCacheMillis())) {
+            table = createMessageTable(locale);
+            messageTables.put(locale, table);
+        }
+        return table;
+    }
+
+    protected MessageTable createMessageTable(Locale locale) {
+        long startTime = System.currentTimeMillis();
+
+        Map<String, String> messages = new HashMap<>();
+        List<String> basenames = new ArrayList<>(getBasenameSet());
+        for (int i = basenames.size() - 1; i >= 0; i--) {
+            List<String> filenames = calculateAllFilenames(basenames.get(i), locale);
+            for (int j = filenames.size() - 1; j >= 0; j--) {
+                Properties properties = getProperties(filenames.get(j)).getProperties();
+                if (properties != null) {
+                    for (String name : properties.stringPropertyNames()) {
+                        messages.put(name, properties.getProperty(name));
+                    }
+                }
+            }
+        }
+
+        MessageTable table = new MessageTable(messages, startTime);
+        if (messageFormatsPreparsed) {
+            for (Map.Entry<String, String> entry : messages.entrySet()) {
+                if (entry.getValue().indexOf('{') >= 0) {
+                    try {
+                        table.formats.put(entry.getKey(), createMessageFormat(entry.getValue(), locale));
+                    } catch (IllegalArgumentException e) {
+                        log.debug("Unable to parse message {}: {}", entry.getKey(), e.getMessage());
+                    }
+                }
+            }
+        }
+
+        log.debug("Built messages table for locale {} with {} messages in {} ms",
+                locale, messages.size(), System.currentTimeMillis() - startTime);
+        return table;
+    }
+
     @Override
     protected List<String> calculateFilenamesForLocale(String basename, Locale locale) {
         List<String> result = super.calculateFilenamesForLocale(basename, locale);
@@ -63,4 +193,23 @@ public class JmixMessageSource extends ReloadableResourceBundleMessageSource {
         }
         return result;
     }
+
+    /**
+     * Immutable messages of all bundles for a locale.
+     */
+    protected static class MessageTable {
+
+        protected final Map<String, String> messages;
+        protected final Map<String, MessageFormat> formats = new ConcurrentHashMap<>();
+        protected final long timestamp;
+
+        protected MessageTable(Map<String, String> messages, long timestamp) {
+            this.messages = Collections.unmodifiableMap(messages);
+            this.timestamp = timestamp;
+        }
+
+        protected boolean isExpired(long cacheMillis) {
+            return cacheMillis >= 0 && System.currentTimeMillis() - timestamp >= cacheMillis;
+        }
+    }
 }
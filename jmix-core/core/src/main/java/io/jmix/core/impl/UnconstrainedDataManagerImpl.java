@@ -16,6 +16,7 @@
 
 package io.jmix.core.impl;
 
+import com.google.common.collect.Iterators;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.constraint.AccessConstraint;
@@ -38,6 +39,8 @@ import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.lang.Nullable;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Primary
 @Component("core_UnconstrainedDataManager")
@@ -49,6 +52,8 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
 
     protected static final AtomicLong txCount = new AtomicLong();
 
+    protected static final int STREAM_REFERENCES_PORTION_SIZE = 100;
+
     @Autowired
     protected Metadata metadata;
 
@@ -115,6 +120,27 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return entities;
     }
 
+    @Override
+    public <E> Stream<E> loadStream(LoadContext<E> context) {
+        MetaClass metaClass = getEffectiveMetaClassFromContext(context);
+        DataStore storage = dataStoreFactory.get(getStoreName(metaClass));
+
+        context.setAccessConstraints(mergeConstraints(context.getAccessConstraints()));
+
+        @SuppressWarnings("unchecked")
+        Stream<E> entities = (Stream<E>) storage.loadStream(context);
+
+        if (stores.getAdditional().isEmpty() || context.getFetchPlan() == null)
+            return entities;
+
+        // cross-datastore references are loaded for portions of entities to avoid a query per entity
+        Iterator<List<E>> portions = Iterators.partition(entities.iterator(), STREAM_REFERENCES_PORTION_SIZE);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(portions, Spliterator.ORDERED), false)
+                .peek(portion -> readCrossDataStoreReferences(portion, context.getFetchPlan(), metaClass, context.isJoinTransaction()))
+                .flatMap(List::stream)
+                .onClose(entities::close);
+    }
+
     @Override
     public long getCount(LoadContext<?> context) {
         MetaClass metaClass = getEffectiveMetaClassFromContext(context);
@@ -125,6 +151,16 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return storage.getCount(context);
     }
 
+    @Override
+    public long executeBulkOperation(BulkOperationContext context) {
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+        DataStore storage = dataStoreFactory.get(getStoreName(metaClass));
+
+        context.setAccessConstraints(mergeConstraints(context.getAccessConstraints()));
+
+        return storage.executeBulkOperation(context);
+    }
+
     @Override
     public EntitySet save(Object... entities) {
         return save(new SaveContext().saving(entities));
@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * {@link RepositoryQuery} for query methods annotated with {@link Query @Query}.
@@ -133,6 +134,9 @@ public class JmixCustomLoadQuery extends JmixAbstractQuery {
                 return new SliceImpl(hasNext ? results.subList(0, pageable.getPageSize()) : results, pageable, hasNext);
             }
         }
+        if (Stream.class.isAssignableFrom(returnType)) {
+            return loader.stream();
+        }
         return loader.list();
     }
 
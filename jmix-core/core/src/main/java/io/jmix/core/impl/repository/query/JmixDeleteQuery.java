@@ -16,9 +16,10 @@
 
 package io.jmix.core.impl.repository.query;
 
-import io.jmix.core.DataManager;
-import io.jmix.core.Metadata;
-import io.jmix.core.SaveContext;
+import io.jmix.core.*;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.repository.BulkDelete;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.parser.PartTree;
@@ -28,14 +29,48 @@ import java.util.List;
 
 public class JmixDeleteQuery extends JmixListQuery {
 
+    protected boolean bulk;
+
     public JmixDeleteQuery(DataManager dataManager, Metadata jmixMetadata, Method method, RepositoryMetadata metadata, ProjectionFactory factory, PartTree qryTree) {
         super(dataManager, jmixMetadata, method, metadata, factory, qryTree);
+        bulk = AnnotatedElementUtils.hasAnnotation(method, BulkDelete.class);
+        if (bulk && !isBulkReturnType(method.getReturnType())) {
+            throw new DevelopmentException(String.format("Method annotated with @BulkDelete should return void, long or int: %s", formatMethod(method)));
+        }
     }
 
     @Override
     public Object execute(Object[] parameters) {
+        if (bulk) {
+            return executeBulk(parameters);
+        }
         List<Object> loaded = (List<Object>) super.execute(parameters);
         dataManager.save(new SaveContext().removing(loaded).setHints(queryHints));
         return loaded;
     }
+
+    protected Object executeBulk(Object[] parameters) {
+        MetaClass metaClass = jmixMetadata.getClass(metadata.getDomainType());
+        String queryString = String.format("select e from %s e", metaClass.getName());
+
+        long count = dataManager.executeBulkOperation(new BulkOperationContext(metaClass)
+                .setQuery(new LoadContext.Query(queryString)
+                        .setCondition(conditions)
+                        .setParameters(buildNamedParametersMap(parameters)))
+                .setHints(queryHints));
+
+        Class<?> returnType = method.getReturnType();
+        if (returnType == int.class || returnType == Integer.class) {
+            return (int) count;
+        } else if (returnType == long.class || returnType == Long.class) {
+            return count;
+        }
+        return null;
+    }
+
+    protected boolean isBulkReturnType(Class<?> returnType) {
+        return returnType == void.class || returnType == Void.class
+                || returnType == long.class || returnType == Long.class
+                || returnType == int.class || returnType == Integer.class;
+    }
 }
@@ -118,6 +118,10 @@ public class JmixListQuery extends JmixStructuredQuery {
 
         }
 
+        if (Stream.class.isAssignableFrom(returnType)) {
+            return loader.stream();
+        }
+
         List<?> result = loader.list();
 
         if (returnType.isAssignableFrom(metadata.getDomainType())
@@ -174,6 +174,12 @@ public class JmixDataRepositoryImpl<T, ID> implements JmixDataRepository<T, ID>,
         deleteInternal(entities);
     }
 
+    @Override
+    public long deleteAllInBulk() {
+        return getDataManager().executeBulkOperation(
+                new BulkOperationContext(metadata.getClass(domainClass)).setHints(getHints()));
+    }
+
     protected void deleteInternal(Object... entities) {
         getDataManager().save(new SaveContext().removing(entities).setHints(getHints()));
     }
@@ -49,6 +49,10 @@ public abstract class AbstractClasspathScanner {
             throw new RuntimeException("Unable to scan package " + packageName, e);
         }
 
+        return readMetadata(resources);
+    }
+
+    protected Stream<MetadataReader> readMetadata(Resource[] resources) {
         return Arrays.stream(resources)
                 .filter(Resource::isReadable)
                 .map(resource -> {
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl.scanning;
+
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Metadata of classes located in a classpath root, generated at build time by the Jmix Gradle plugin.
+ * <p>
+ * The index is stored in the {@link #INDEX_LOCATION} file of the classpath root. The first line of the file is
+ * the {@link #HEADER}, each next line describes a class by the following tab-separated fields:
+ * <ul>
+ *     <li>class name</li>
+ *     <li>modifiers: {@code i} - interface, {@code @} - annotation, {@code a} - abstract, {@code f} - final,
+ *     {@code n} - independent (top-level or static nested) class</li>
+ *     <li>superclass name</li>
+ *     <li>enclosing class name</li>
+ *     <li>comma-separated names of implemented interfaces</li>
+ *     <li>comma-separated names of runtime-visible class annotations</li>
+ * </ul>
+ * Absent values are written as {@code -}.
+ */
+public class ClasspathScanIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/jmix/classpath-scan.idx";
+    public static final String HEADER = "#jmix-classpath-scan-index:1";
+
+    protected static final String NO_VALUE = "-";
+
+    protected List<Entry> entries;
+
+    protected ClasspathScanIndex(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Reads the index from the given resource.
+     *
+     * @return index or null if the resource has unsupported format
+     */
+    @Nullable
+    public static ClasspathScanIndex load(Resource resource) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            if (!HEADER.equals(reader.readLine())) {
+                return null;
+            }
+            List<Entry> entries = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 6) {
+                    return null;
+                }
+                entries.add(new Entry(fields[0], fields[1], value(fields[2]), value(fields[3]),
+                        values(fields[4]), values(fields[5])));
+            }
+            return new ClasspathScanIndex(entries);
+        }
+    }
+
+    @Nullable
+    protected static String value(String field) {
+        return NO_VALUE.equals(field) ? null : field;
+    }
+
+    protected static String[] values(String field) {
+        return NO_VALUE.equals(field) ? new String[0] : field.split(",");
+    }
+
+    /**
+     * @return all indexed classes
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @return indexed classes located in the given package and its subpackages
+     */
+    public List<Entry> getEntries(String packageName) {
+        String prefix = packageName + ".";
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.getClassName().startsWith(prefix)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indexed metadata of a class.
+     */
+    public static class Entry {
+
+        protected String className;
+        protected String modifiers;
+        protected String superClassName;
+        protected String enclosingClassName;
+        protected String[] interfaceNames;
+        protected Set<String> annotationTypes;
+
+        public Entry(String className, String modifiers, @Nullable String superClassName,
+                     @Nullable String enclosingClassName, String[] interfaceNames, String[] annotationTypes) {
+            this.className = className;
+            this.modifiers = modifiers;
+            this.superClassName = superClassName;
+            this.enclosingClassName = enclosingClassName;
+            this.interfaceNames = interfaceNames;
+            this.annotationTypes = new LinkedHashSet<>(Arrays.asList(annotationTypes));
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public boolean isInterface() {
+            return modifiers.indexOf('i') >= 0;
+        }
+
+        public boolean isAnnotation() {
+            return modifiers.indexOf('@') >= 0;
+        }
+
+        public boolean isAbstract() {
+            return modifiers.indexOf('a') >= 0;
+        }
+
+        public boolean isFinal() {
+            return modifiers.indexOf('f') >= 0;
+        }
+
+        public boolean isIndependent() {
+            return modifiers.indexOf('n') >= 0;
+        }
+
+        @Nullable
+        public String getSuperClassName() {
+            return superClassName;
+        }
+
+        @Nullable
+        public String getEnclosingClassName() {
+            return enclosingClassName;
+        }
+
+        public String[] getInterfaceNames() {
+            return interfaceNames.clone();
+        }
+
+        public Set<String> getAnnotationTypes() {
+            return Collections.unmodifiableSet(annotationTypes);
+        }
+
+        @Override
+        public String toString() {
+            return className;
+        }
+    }
+}
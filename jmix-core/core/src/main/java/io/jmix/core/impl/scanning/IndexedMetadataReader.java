@@ -0,0 +1,169 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl.scanning;
+
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * {@link MetadataReader} which provides the class name, modifiers, superclass, interfaces and annotation types
+ * from a {@link ClasspathScanIndex} entry. Other metadata (annotation attributes, meta-annotations, methods)
+ * is obtained by reading the class file on first access.
+ */
+public class IndexedMetadataReader implements MetadataReader {
+
+    protected ClasspathScanIndex.Entry entry;
+    protected Resource classpathRoot;
+    protected MetadataReaderFactory metadataReaderFactory;
+
+    protected AnnotationMetadata annotationMetadata = new IndexedAnnotationMetadata();
+    protected MetadataReader delegate;
+
+    public IndexedMetadataReader(ClasspathScanIndex.Entry entry, Resource classpathRoot,
+                                 MetadataReaderFactory metadataReaderFactory) {
+        this.entry = entry;
+        this.classpathRoot = classpathRoot;
+        this.metadataReaderFactory = metadataReaderFactory;
+    }
+
+    @Override
+    public Resource getResource() {
+        try {
+            return classpathRoot.createRelative(
+                    ClassUtils.convertClassNameToResourcePath(entry.getClassName()) + ClassUtils.CLASS_FILE_SUFFIX);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to resolve class file of " + entry.getClassName(), e);
+        }
+    }
+
+    @Override
+    public ClassMetadata getClassMetadata() {
+        return annotationMetadata;
+    }
+
+    @Override
+    public AnnotationMetadata getAnnotationMetadata() {
+        return annotationMetadata;
+    }
+
+    protected AnnotationMetadata getDelegateMetadata() {
+        if (delegate == null) {
+            Resource resource = getResource();
+            try {
+                delegate = metadataReaderFactory.getMetadataReader(resource);
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to read resource " + resource, e);
+            }
+        }
+        return delegate.getAnnotationMetadata();
+    }
+
+    protected class IndexedAnnotationMetadata implements AnnotationMetadata {
+
+        @Override
+        public String getClassName() {
+            return entry.getClassName();
+        }
+
+        @Override
+        public boolean isInterface() {
+            return entry.isInterface();
+        }
+
+        @Override
+        public boolean isAnnotation() {
+            return entry.isAnnotation();
+        }
+
+        @Override
+        public boolean isAbstract() {
+            return entry.isAbstract();
+        }
+
+        @Override
+        public boolean isFinal() {
+            return entry.isFinal();
+        }
+
+        @Override
+        public boolean isIndependent() {
+            return entry.isIndependent();
+        }
+
+        @Nullable
+        @Override
+        public String getEnclosingClassName() {
+            return entry.getEnclosingClassName();
+        }
+
+        @Nullable
+        @Override
+        public String getSuperClassName() {
+            return entry.getSuperClassName();
+        }
+
+        @Override
+        public String[] getInterfaceNames() {
+            return entry.getInterfaceNames();
+        }
+
+        @Override
+        public String[] getMemberClassNames() {
+            return getDelegateMetadata().getMemberClassNames();
+        }
+
+        @Override
+        public Set<String> getAnnotationTypes() {
+            return entry.getAnnotationTypes();
+        }
+
+        @Override
+        public boolean hasAnnotation(String annotationName) {
+            return entry.getAnnotationTypes().contains(annotationName);
+        }
+
+        @Override
+        public MergedAnnotations getAnnotations() {
+            return getDelegateMetadata().getAnnotations();
+        }
+
+        @Override
+        public Set<MethodMetadata> getAnnotatedMethods(String annotationName) {
+            return getDelegateMetadata().getAnnotatedMethods(annotationName);
+        }
+
+        @Override
+        public Set<MethodMetadata> getDeclaredMethods() {
+            return getDelegateMetadata().getDeclaredMethods();
+        }
+
+        @Override
+        public String toString() {
+            return entry.getClassName();
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package io.jmix.core.impl.scanning;
 
+import io.jmix.core.CoreProperties;
 import io.jmix.core.JmixModuleDescriptor;
 import io.jmix.core.JmixModules;
 import org.slf4j.Logger;
@@ -23,13 +24,25 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
 import jakarta.annotation.PostConstruct;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Scans classpath of all Jmix modules used in the application and detects classes according to
@@ -37,6 +50,11 @@ import java.util.stream.Collectors;
  * <p>
  * Detected class names are stored and available through the {@link #getClassNames(Class)} method. This method
  * accepts a {@code ClasspathScanCandidateDetector} type and returns names of classes selected by this detector.
+ * <p>
+ * If a classpath root contains the {@link ClasspathScanIndex} generated by the Jmix Gradle plugin, the detectors
+ * are applied to the indexed metadata instead of class files. Roots without the index are scanned. The index
+ * located in a directory (e.g. when running the application from IDE) is ignored if any class file in the scanned
+ * package has been added, removed or modified after the index generation.
  */
 @Component("core_JmixModulesClasspathScanner")
 public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
@@ -47,6 +65,8 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
 
     protected List<String> basePackages = Collections.emptyList();
 
+    protected boolean scanIndexEnabled = true;
+
     protected Map<Class<? extends ClasspathScanCandidateDetector>, Set<String>> detectedClasses = new HashMap<>();
 
     @Autowired
@@ -67,6 +87,11 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
                 .collect(Collectors.toList());
     }
 
+    @Autowired
+    public void setCoreProperties(CoreProperties coreProperties) {
+        scanIndexEnabled = coreProperties.isClasspathScanIndexEnabled();
+    }
+
     @PostConstruct
     protected void init() {
         log.trace("Scanning packages {} using detectors {}", basePackages, candidateDetectors);
@@ -109,6 +134,118 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
                 });
     }
 
+    @Override
+    protected Stream<MetadataReader> scanPackage(String packageName) {
+        if (!scanIndexEnabled) {
+            return super.scanPackage(packageName);
+        }
+
+        String packagePath = resolveBasePackage(packageName);
+        ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver(getResourceLoader());
+        Resource[] packageDirs;
+        try {
+            packageDirs = resourcePatternResolver.getResources(
+                    ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + packagePath);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to scan package " + packageName, e);
+        }
+
+        return Arrays.stream(packageDirs)
+                .flatMap(packageDir -> scanPackageDir(packagePath, packageDir, resourcePatternResolver));
+    }
+
+    /**
+     * Returns metadata of classes located in the package directory of a single classpath root, using the root's
+     * scan index if it exists and is up-to-date.
+     */
+    protected Stream<MetadataReader> scanPackageDir(String packagePath, Resource packageDir,
+                                                    ResourcePatternResolver resourcePatternResolver) {
+        try {
+            String packageDirUrl = packageDir.getURL().toString();
+            if (!packageDirUrl.endsWith("/")) {
+                packageDirUrl += "/";
+            }
+
+            Resource classpathRoot = new UrlResource(
+                    packageDirUrl.substring(0, packageDirUrl.length() - packagePath.length() - 1));
+            ClasspathScanIndex index = loadScanIndex(classpathRoot);
+            if (index != null) {
+                List<ClasspathScanIndex.Entry> entries = index.getEntries(
+                        ClassUtils.convertResourcePathToClassName(packagePath));
+                if (isScanIndexUpToDate(classpathRoot, packageDir, entries)) {
+                    log.debug("Using classpath scan index of {} for {}", classpathRoot, packagePath);
+                    return entries.stream()
+                            .map(entry -> new IndexedMetadataReader(entry, classpathRoot, getMetadataReaderFactory()));
+                }
+            }
+
+            return readMetadata(resourcePatternResolver.getResources(packageDirUrl + DEFAULT_CLASS_RESOURCE_PATTERN));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to scan " + packageDir, e);
+        }
+    }
+
+    @Nullable
+    protected ClasspathScanIndex loadScanIndex(Resource classpathRoot) {
+        try {
+            Resource indexResource = classpathRoot.createRelative(ClasspathScanIndex.INDEX_LOCATION);
+            if (!indexResource.exists()) {
+                return null;
+            }
+            ClasspathScanIndex index = ClasspathScanIndex.load(indexResource);
+            if (index == null) {
+                log.warn("Classpath scan index {} has unsupported format and will be ignored", indexResource);
+            }
+            return index;
+        } catch (IOException e) {
+            log.warn("Unable to read classpath scan index of {}", classpathRoot, e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks that the index matches the class files of the package if the classpath root is a directory.
+     * Indexes in JAR files are considered up-to-date, as the Gradle plugin indexes all class directories
+     * packaged to a JAR.
+     */
+    protected boolean isScanIndexUpToDate(Resource classpathRoot, Resource packageDir,
+                                          List<ClasspathScanIndex.Entry> entries) throws IOException {
+        if (!packageDir.isFile()) {
+            return true;
+        }
+
+        File indexFile = classpathRoot.createRelative(ClasspathScanIndex.INDEX_LOCATION).getFile();
+        long indexModified = indexFile.lastModified();
+
+        long classCount;
+        boolean modified;
+        try (Stream<Path> paths = Files.walk(packageDir.getFile().toPath())) {
+            List<File> classFiles = paths
+                    .filter(path -> path.toString().endsWith(ClassUtils.CLASS_FILE_SUFFIX))
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
+            classCount = classFiles.size();
+            modified = classFiles.stream().anyMatch(file -> file.lastModified() > indexModified);
+        }
+
+        if (modified || classCount != entries.size()) {
+            log.info("Classpath scan index {} is outdated, scanning classes of {}", indexFile, packageDir);
+            return false;
+        }
+
+        // the index may include classes of other directories packaged together, e.g. Kotlin classes
+        File rootDir = classpathRoot.getFile();
+        for (ClasspathScanIndex.Entry entry : entries) {
+            String classFilePath = ClassUtils.convertClassNameToResourcePath(entry.getClassName())
+                    + ClassUtils.CLASS_FILE_SUFFIX;
+            if (!new File(rootDir, classFilePath).isFile()) {
+                log.debug("Classpath scan index {} does not match classes of {}", indexFile, packageDir);
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     protected MetadataReaderFactory getMetadataReaderFactory() {
         return metadataReaderFactory;
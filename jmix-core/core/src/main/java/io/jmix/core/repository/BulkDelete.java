@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.repository;
+
+import io.jmix.core.BulkOperationContext;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a derived delete method ({@code deleteBy...}, {@code removeBy...}) of {@link JmixDataRepository} to be
+ * executed as a bulk operation: the matching entities are deleted by a single statement without loading them.
+ * <p>
+ * Entity listeners, {@code EntityChangedEvent} and {@code @OnDelete} policies are not processed for the deleted
+ * entities. The method must return {@code void} or the number of deleted entities as {@code long} or {@code int}.
+ *
+ * @see BulkOperationContext
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BulkDelete {
+}
@@ -113,4 +113,15 @@ public interface JmixDataRepository<T, ID> extends PagingAndSortingRepository<T,
      * @return a page of entities
      */
     Page<T> findAll(Pageable pageable, @Nullable FetchPlan fetchPlan);
+
+    /**
+     * Deletes all entities of the type {@code T} by a single statement without loading them.
+     * Soft-deletable entities are marked as deleted.
+     * <p>
+     * Entity listeners, {@code EntityChangedEvent} and {@code @OnDelete} policies are not processed for the deleted
+     * entities, see {@link io.jmix.core.BulkOperationContext}.
+     *
+     * @return number of deleted entities
+     */
+    long deleteAllInBulk();
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package entity_scanning
+
+import io.jmix.core.impl.scanning.ClasspathScanIndex
+import io.jmix.core.impl.scanning.EntityDetector
+import io.jmix.core.impl.scanning.JmixModulesClasspathScanner
+import org.springframework.core.env.Environment
+import org.springframework.core.env.StandardEnvironment
+import org.springframework.core.io.DefaultResourceLoader
+import org.springframework.core.io.ResourceLoader
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ClasspathScanIndexTest extends Specification {
+
+    static final String ENTITY = 'test_support.base.entity.BaseUuidEntity'
+    static final String CONFIGURATION = 'test_support.base.TestBaseConfiguration'
+
+    @TempDir
+    Path root
+
+    void setup() {
+        copyClass(ENTITY)
+        copyClass(CONFIGURATION)
+    }
+
+    def "detectors are applied to the index instead of class files"() {
+        // the index marks configuration as an entity to check that class files are not read
+        writeIndex("$ENTITY\tan\ttest_support.base.entity.BaseGenericIdEntity\t-\t-\tio.jmix.core.metamodel.annotation.JmixEntity",
+                "$CONFIGURATION\tn\tjava.lang.Object\t-\t-\tio.jmix.core.metamodel.annotation.JmixEntity")
+
+        when:
+        def scanner = createScanner(true)
+
+        then:
+        scanner.getClassNames(EntityDetector) == [ENTITY, CONFIGURATION] as Set
+    }
+
+    def "classes are scanned if the index is outdated"() {
+        writeIndex("$ENTITY\tan\ttest_support.base.entity.BaseGenericIdEntity\t-\t-\tio.jmix.core.metamodel.annotation.JmixEntity",
+                "$CONFIGURATION\tn\tjava.lang.Object\t-\t-\tio.jmix.core.metamodel.annotation.JmixEntity")
+        classFile(CONFIGURATION).toFile().setLastModified(System.currentTimeMillis() + 60_000)
+
+        when:
+        def scanner = createScanner(true)
+
+        then:
+        scanner.getClassNames(EntityDetector) == [ENTITY] as Set
+    }
+
+    def "classes are scanned if the index does not contain all classes"() {
+        writeIndex("$CONFIGURATION\tn\tjava.lang.Object\t-\t-\tio.jmix.core.metamodel.annotation.JmixEntity")
+
+        when:
+        def scanner = createScanner(true)
+
+        then:
+        scanner.getClassNames(EntityDetector) == [ENTITY] as Set
+    }
+
+    def "classes are scanned if the index of a directory contains classes of another directory"() {
+        // e.g. the index of Java classes which also includes Kotlin classes packaged to the same JAR
+        writeIndex("$ENTITY\tan\ttest_support.base.entity.BaseGenericIdEntity\t-\t-\tio.jmix.core.metamodel.annotation.JmixEntity",
+                "test_support.base.KotlinEntity\tn\tjava.lang.Object\t-\t-\tio.jmix.core.metamodel.annotation.JmixEntity")
+
+        when:
+        def scanner = createScanner(true)
+
+        then:
+        scanner.getClassNames(EntityDetector) == [ENTITY] as Set
+    }
+
+    def "classes are scanned if there is no index or it is disabled"() {
+        when:
+        def scanner = createScanner(true)
+
+        then:
+        scanner.getClassNames(EntityDetector) == [ENTITY] as Set
+
+        when:
+        writeIndex("$CONFIGURATION\tn\tjava.lang.Object\t-\t-\tio.jmix.core.metamodel.annotation.JmixEntity")
+        scanner = createScanner(false)
+
+        then:
+        scanner.getClassNames(EntityDetector) == [ENTITY] as Set
+    }
+
+    private JmixModulesClasspathScanner createScanner(boolean indexEnabled) {
+        def resourceLoader = new DefaultResourceLoader(new RootClassLoader(root.toUri().toURL(), getClass().classLoader))
+        def scanner = new TestScanner(resourceLoader)
+        scanner.metadataReaderFactory = new SimpleMetadataReaderFactory(resourceLoader)
+        scanner.basePackages = ['test_support.base']
+        scanner.candidateDetectors = [new EntityDetector()]
+        scanner.scanIndexEnabled = indexEnabled
+        scanner.init()
+        return scanner
+    }
+
+    private Path classFile(String className) {
+        return root.resolve(className.replace('.', '/') + '.class')
+    }
+
+    private void copyClass(String className) {
+        def file = classFile(className)
+        Files.createDirectories(file.parent)
+        getClass().classLoader.getResourceAsStream(className.replace('.', '/') + '.class').withCloseable {
+            Files.copy(it, file)
+        }
+        file.toFile().setLastModified(System.currentTimeMillis() - 60_000)
+    }
+
+    private void writeIndex(String... lines) {
+        def file = root.resolve(ClasspathScanIndex.INDEX_LOCATION)
+        Files.createDirectories(file.parent)
+        Files.write(file, [ClasspathScanIndex.HEADER, *lines])
+    }
+
+    /**
+     * Loads classes from the parent but finds resources only in the given root.
+     */
+    static class RootClassLoader extends URLClassLoader {
+
+        RootClassLoader(URL root, ClassLoader parent) {
+            super([root] as URL[], parent)
+        }
+
+        @Override
+        URL getResource(String name) {
+            return findResource(name)
+        }
+
+        @Override
+        Enumeration<URL> getResources(String name) throws IOException {
+            return findResources(name)
+        }
+    }
+
+    static class TestScanner extends JmixModulesClasspathScanner {
+
+        ResourceLoader resourceLoader
+
+        TestScanner(ResourceLoader resourceLoader) {
+            this.resourceLoader = resourceLoader
+        }
+
+        @Override
+        protected ResourceLoader getResourceLoader() {
+            return resourceLoader
+        }
+
+        @Override
+        protected Environment getEnvironment() {
+            return new StandardEnvironment()
+        }
+    }
+}
@@ -21,6 +21,9 @@ import test_support.addon1.TestAddon1Configuration
 
 import test_support.app.TestAppConfiguration
 import io.jmix.core.CoreConfiguration
+import io.jmix.core.JmixModules
+import io.jmix.core.Resources
+import io.jmix.core.impl.JmixMessageSource
 import org.springframework.context.MessageSource
 import org.springframework.context.support.ReloadableResourceBundleMessageSource
 import org.springframework.core.env.Environment
@@ -42,6 +45,12 @@ class MessageSourceTest extends Specification {
     @Autowired
     Environment environment
 
+    @Autowired
+    JmixModules jmixModules
+
+    @Autowired
+    Resources resources
+
     @Unroll
     def "messages in module base package"() {
         expect:
@@ -89,6 +98,85 @@ class MessageSourceTest extends Specification {
         clearMessageSourceCache()
     }
 
+    @Unroll
+    def "messages from tables are the same as from bundles"() {
+        def tablesSource = new JmixMessageSource(jmixModules, resources)
+        def bundlesSource = new JmixMessageSource(jmixModules, resources)
+        bundlesSource.messageTablesEnabled = false
+
+        expect:
+
+        tablesSource.getMessage(code, null, null, locale) == bundlesSource.getMessage(code, null, null, locale)
+
+        where:
+
+        code                                               | locale
+        'test_support.addon1.entity/TestAddon1Entity.name' | LOC_EN
+        'test_support.addon1.entity/TestAddon1Entity.name' | LOC_RU
+        'test_support.addon1.entity/messageToOverride'     | LOC_EN
+        'test_support.addon1.entity/messageToOverride'     | LOC_RU
+        'test_support.app.entity/Pet.name'                 | LOC_RU
+        'test-key1'                                        | LOC_RU
+        'unknown-key'                                      | LOC_EN
+    }
+
+    def "message table is rebuilt when cache duration expires"() {
+        def source = new JmixMessageSource(jmixModules, resources)
+        source.cacheMillis = 0
+
+        when:
+
+        File file = overrideConfigurationWith(
+            '/test_support/app/messages.properties',
+            'messageToOverrideByConf', 'conf value'
+        )
+
+        then:
+
+        source.getMessage('messageToOverrideByConf', null, LOC_EN) == 'conf value'
+
+        when:
+
+        file = overrideConfigurationWith(
+            '/test_support/app/messages.properties',
+            'messageToOverrideByConf', 'changed conf value'
+        )
+        file.setLastModified(System.currentTimeMillis() + 2000)
+
+        then:
+
+        source.getMessage('messageToOverrideByConf', null, LOC_EN) == 'changed conf value'
+
+        cleanup:
+
+        file.delete()
+        clearMessageSourceCache()
+    }
+
+    def "message formats are pre-parsed"() {
+        def source = new JmixMessageSource(jmixModules, resources)
+        source.messageFormatsPreparsed = true
+
+        File file = overrideConfigurationWith(
+            '/test_support/app/messages.properties',
+            'messageWithArguments', 'Hello, {0}'
+        )
+
+        when:
+
+        def message = source.getMessage('messageWithArguments', ['world'] as Object[], LOC_EN)
+
+        then:
+
+        message == 'Hello, world'
+        source.getMessageTable(LOC_EN).formats.containsKey('messageWithArguments')
+
+        cleanup:
+
+        file.delete()
+        clearMessageSourceCache()
+    }
+
     protected clearMessageSourceCache() {
         ((ReloadableResourceBundleMessageSource) messageSource).clearCache()
     }
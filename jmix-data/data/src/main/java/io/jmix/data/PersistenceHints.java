@@ -53,6 +53,17 @@ public class PersistenceHints {
      */
     public static final String MSSQL_RECOMPILE_HINT = "jmix.mssql.recompile";
 
+    /**
+     * Defines the number of rows fetched from the database at once and the number of entities processed together
+     * when entities are loaded as a stream, e.g. by {@code DataManager.loadStream()}.
+     * <p>Corresponds to {@code org.eclipse.persistence.config.QueryHints#JDBC_FETCH_SIZE}
+     * <p>Usage examples:
+     * <pre>
+     *    loadContext.setHint(PersistenceHints.FETCH_SIZE, 500);
+     * </pre>
+     */
+    public static final String FETCH_SIZE = "jmix.fetchSize";
+
     public static boolean isSoftDeletion(EntityManager entityManager) {
         Boolean softDeletion = (Boolean) entityManager.getProperties().get(SOFT_DELETION);
         return softDeletion == null || softDeletion;
@@ -19,6 +19,7 @@ package io.jmix.data.impl;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.CrudEntityContext;
 import io.jmix.core.constraint.AccessConstraint;
+import io.jmix.core.datastore.DataStoreBeforeBulkOperationEvent;
 import io.jmix.core.datastore.DataStoreBeforeEntityCountEvent;
 import io.jmix.core.datastore.DataStoreBeforeEntityLoadEvent;
 import io.jmix.core.datastore.DataStoreBeforeEntitySaveEvent;
@@ -121,6 +122,28 @@ public class DataStoreCrudListener implements DataStoreEventListener {
 
     }
 
+    @Override
+    public void beforeBulkOperation(DataStoreBeforeBulkOperationEvent event) {
+        BulkOperationContext context = event.getBulkOperationContext();
+
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+
+        CrudEntityContext entityContext = evaluateCrudAccess(metaClass, context.getAccessConstraints());
+
+        if (context.isDelete()) {
+            if (!entityContext.isDeletePermitted()) {
+                throw new AccessDeniedException("entity", metaClass.getName(), "delete");
+            }
+        } else if (!entityContext.isUpdatePermitted()) {
+            throw new AccessDeniedException("entity", metaClass.getName(), "update");
+        }
+
+        if (!entityContext.isReadPermitted()) {
+            log.debug("Reading entity {} is not permitted by access constraints, bulk operation is skipped", metaClass);
+            event.setOperationPrevented();
+        }
+    }
+
     @Override
     public int getOrder() {
         return JmixOrder.HIGHEST_PRECEDENCE;
@@ -28,6 +28,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.function.BiPredicate;
 
 @Component("data_DataStoreInMemoryCrudListener")
 public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
@@ -162,6 +163,25 @@ public class DataStoreInMemoryCrudListener implements DataStoreEventListener {
         }
     }
 
+    /**
+     * In-memory constraints cannot be evaluated for entities which are not loaded, so a bulk operation
+     * is denied if the entity has such constraints.
+     */
+    @Override
+    public void beforeBulkOperation(DataStoreBeforeBulkOperationEvent event) {
+        BulkOperationContext context = event.getBulkOperationContext();
+
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+
+        InMemoryCrudEntityContext crudContext = new InMemoryCrudEntityContext(metaClass, applicationContext);
+        accessManager.applyConstraints(crudContext, context.getAccessConstraints());
+
+        BiPredicate modifyPredicate = context.isDelete() ? crudContext.deletePredicate() : crudContext.updatePredicate();
+        if (crudContext.readPredicate() != null || modifyPredicate != null) {
+            throw new AccessDeniedException("entity", metaClass.getName(), context.isDelete() ? "delete" : "update");
+        }
+    }
+
     @Override
     public int getOrder() {
         return JmixOrder.HIGHEST_PRECEDENCE + 10;
@@ -18,16 +18,119 @@ package io.jmix.eclipselink;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
 
 @ConfigurationProperties(prefix = "jmix.eclipselink")
 public class EclipselinkProperties {
     boolean queryCacheEnabled;
 
-    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled) {
+    /**
+     * Maximum number of entities of the same load whose not fetched reference or collection is loaded by a single
+     * query when the property is accessed for one of them. Values less than 2 disable batch lazy loading.
+     */
+    int lazyLoadingBatchSize;
+
+    /**
+     * Maximum number of fetch group descriptions calculated for queries and fetch plans that are kept in memory
+     * to be reused by subsequent queries. 0 disables caching.
+     */
+    int fetchGroupCacheSize;
+
+    /**
+     * Time in milliseconds during which the identifiers of changed entities are collected before sending them
+     * to other cluster nodes in a single cache invalidation message. 0 sends a message for each transaction.
+     */
+    long cacheInvalidationBatchWindow;
+
+    /**
+     * Maximum number of entity identifiers sent in a single cache invalidation message.
+     */
+    int cacheInvalidationBatchMaxSize;
+
+    /**
+     * Maximum number of cached queries in a cache partition, e.g. of a tenant. When the limit is reached, the least
+     * recently used queries of the partition are discarded, so queries of other partitions are not affected.
+     * 0 means no limit.
+     */
+    int queryCachePartitionMaxSize;
+
+    /**
+     * Maximum numbers of cached queries for individual cache partitions by partition name. Override
+     * {@link #queryCachePartitionMaxSize} for the given partitions.
+     */
+    Map<String, Integer> queryCachePartitionMaxSizes;
+
+    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled,
+                                 @DefaultValue("100") int lazyLoadingBatchSize,
+                                 @DefaultValue("1000") int fetchGroupCacheSize,
+                                 @DefaultValue("50") long cacheInvalidationBatchWindow,
+                                 @DefaultValue("10000") int cacheInvalidationBatchMaxSize,
+                                 @DefaultValue("0") int queryCachePartitionMaxSize,
+                                 @Nullable Map<String, Integer> queryCachePartitionMaxSizes) {
         this.queryCacheEnabled = queryCacheEnabled;
+        this.lazyLoadingBatchSize = lazyLoadingBatchSize;
+        this.fetchGroupCacheSize = fetchGroupCacheSize;
+        this.cacheInvalidationBatchWindow = cacheInvalidationBatchWindow;
+        this.cacheInvalidationBatchMaxSize = cacheInvalidationBatchMaxSize;
+        this.queryCachePartitionMaxSize = queryCachePartitionMaxSize;
+        this.queryCachePartitionMaxSizes = queryCachePartitionMaxSizes == null
+                ? Collections.emptyMap() : queryCachePartitionMaxSizes;
     }
 
     public boolean isQueryCacheEnabled() {
         return queryCacheEnabled;
     }
+
+    /**
+     * @see #lazyLoadingBatchSize
+     */
+    public int getLazyLoadingBatchSize() {
+        return lazyLoadingBatchSize;
+    }
+
+    /**
+     * @see #fetchGroupCacheSize
+     */
+    public int getFetchGroupCacheSize() {
+        return fetchGroupCacheSize;
+    }
+
+    /**
+     * @see #cacheInvalidationBatchWindow
+     */
+    public long getCacheInvalidationBatchWindow() {
+        return cacheInvalidationBatchWindow;
+    }
+
+    /**
+     * @see #cacheInvalidationBatchMaxSize
+     */
+    public int getCacheInvalidationBatchMaxSize() {
+        return cacheInvalidationBatchMaxSize;
+    }
+
+    /**
+     * @see #queryCachePartitionMaxSize
+     */
+    public int getQueryCachePartitionMaxSize() {
+        return queryCachePartitionMaxSize;
+    }
+
+    /**
+     * @see #queryCachePartitionMaxSizes
+     */
+    public Map<String, Integer> getQueryCachePartitionMaxSizes() {
+        return queryCachePartitionMaxSizes;
+    }
+
+    /**
+     * Returns the maximum number of cached queries in the given cache partition, 0 means no limit.
+     */
+    public int getQueryCachePartitionMaxSize(String partition) {
+        Integer maxSize = queryCachePartitionMaxSizes.get(partition);
+        return maxSize != null ? maxSize : queryCachePartitionMaxSize;
+    }
 }
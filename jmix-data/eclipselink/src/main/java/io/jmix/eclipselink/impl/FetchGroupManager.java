@@ -16,6 +16,8 @@
 
 package io.jmix.eclipselink.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.metamodel.model.MetaClass;
@@ -24,6 +26,10 @@ import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.core.metamodel.model.Range;
 import io.jmix.data.QueryParser;
 import io.jmix.data.QueryTransformerFactory;
+import io.jmix.eclipselink.EclipselinkProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.jpa.JpaQuery;
@@ -33,6 +39,8 @@ import org.eclipse.persistence.queries.LoadGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
 
@@ -64,6 +72,37 @@ public class FetchGroupManager {
     @Autowired
     private FetchPlans fetchPlans;
 
+    @Autowired
+    private EclipselinkProperties properties;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Cache<FetchGroupDescriptionKey, FetchGroupDescription> descriptionCache;
+
+    @PostConstruct
+    protected void init() {
+        if (properties.getFetchGroupCacheSize() > 0) {
+            descriptionCache = CacheBuilder.newBuilder()
+                    .maximumSize(properties.getFetchGroupCacheSize())
+                    .recordStats()
+                    .build();
+            if (meterRegistry != null) {
+                GuavaCacheMetrics.monitor(meterRegistry, descriptionCache, "jmix.eclipselink.fetchGroupDescriptions");
+            }
+        }
+    }
+
+    /**
+     * Removes cached fetch group descriptions. Invoked when fetch plans are reloaded.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void clearCache() {
+        if (descriptionCache != null) {
+            descriptionCache.invalidateAll();
+        }
+    }
+
     public void setFetchPlan(JpaQuery query, String queryString, @Nullable FetchPlan fetchPlan, boolean singleResultExpected) {
         Preconditions.checkNotNullArgument(query, "query is null");
         if (fetchPlan != null) {
@@ -100,7 +139,7 @@ public class FetchGroupManager {
 
         boolean useFetchGroup = attrGroup instanceof FetchGroup;
 
-        FetchGroupDescription description = calculateFetchGroup(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+        FetchGroupDescription description = getFetchGroup(queryString, fetchPlan, singleResultExpected, useFetchGroup);
 
 //        ToDo: magical flag?
 //        if (attrGroup instanceof FetchGroup)
@@ -133,6 +172,31 @@ public class FetchGroupManager {
         }
     }
 
+    /**
+     * Returns the cached description of the fetch group for the query and fetch plan or calculates it if it is not
+     * in the cache yet.
+     *
+     * @return immutable description
+     */
+    public FetchGroupDescription getFetchGroup(String queryString,
+                                               FetchPlan fetchPlan,
+                                               boolean singleResultExpected,
+                                               boolean useFetchGroup) {
+        if (descriptionCache == null) {
+            return calculateFetchGroup(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+        }
+
+        FetchGroupDescriptionKey key = new FetchGroupDescriptionKey(
+                StringUtils.normalizeSpace(queryString), fetchPlan, singleResultExpected, useFetchGroup);
+        FetchGroupDescription description = descriptionCache.getIfPresent(key);
+        if (description == null) {
+            description = calculateFetchGroup(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+            description.makeImmutable();
+            descriptionCache.put(key, description);
+        }
+        return description;
+    }
+
     public FetchGroupDescription calculateFetchGroup(String queryString,
                                                      FetchPlan fetchPlan,
                                                      boolean singleResultExpected,
@@ -663,6 +727,40 @@ public class FetchGroupManager {
         }
     }
 
+    private static class FetchGroupDescriptionKey {
+        private final String queryString;
+        private final FetchPlan fetchPlan;
+        private final boolean singleResultExpected;
+        private final boolean useFetchGroup;
+
+        public FetchGroupDescriptionKey(String queryString, FetchPlan fetchPlan,
+                                        boolean singleResultExpected, boolean useFetchGroup) {
+            this.queryString = queryString;
+            this.fetchPlan = fetchPlan;
+            this.singleResultExpected = singleResultExpected;
+            this.useFetchGroup = useFetchGroup;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            FetchGroupDescriptionKey that = (FetchGroupDescriptionKey) o;
+
+            return singleResultExpected == that.singleResultExpected
+                    && useFetchGroup == that.useFetchGroup
+                    && queryString.equals(that.queryString)
+                    // fetch plans are compared by structure, so equal ad-hoc plans share the description
+                    && fetchPlan.equals(that.fetchPlan);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+        }
+    }
+
     private static class OccurrenceDescription {
         private final FetchPlan fetchPlan;
         private final String path;
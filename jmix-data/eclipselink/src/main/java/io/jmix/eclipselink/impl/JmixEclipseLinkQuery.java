@@ -41,6 +41,8 @@ import jakarta.persistence.*;
 import org.eclipse.persistence.config.CascadePolicy;
 import org.eclipse.persistence.config.HintValues;
 import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.config.ResultSetConcurrency;
+import org.eclipse.persistence.config.ResultSetType;
 import org.eclipse.persistence.internal.helper.ClassConstants;
 import org.eclipse.persistence.internal.helper.ConversionManager;
 import org.eclipse.persistence.internal.helper.JmixUtil;
@@ -48,6 +50,7 @@ import org.eclipse.persistence.internal.jpa.EJBQueryImpl;
 import org.eclipse.persistence.jpa.JpaQuery;
 import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.queries.ObjectLevelReadQuery;
+import org.eclipse.persistence.queries.ScrollableCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanFactory;
@@ -57,6 +60,8 @@ import java.time.ZoneId;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
 
@@ -147,6 +152,41 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
         return resultList;
     }
 
+    /**
+     * Reads the result by a forward-only database cursor while the returned stream is consumed.
+     * The query cache is not used. The stream must be closed to release the cursor.
+     */
+    @Override
+    public Stream<E> getResultStream() {
+        if (isNative) {
+            return getResultList().stream();
+        }
+
+        logQueryString();
+
+        singleResultExpected = false;
+
+        JpaQuery<E> query = getQuery();
+        preExecute(query);
+
+        query.setHint(QueryHints.SCROLLABLE_CURSOR, HintValues.TRUE);
+        query.setHint(QueryHints.RESULT_SET_TYPE, ResultSetType.ForwardOnly);
+        query.setHint(QueryHints.RESULT_SET_CONCURRENCY, ResultSetConcurrency.ReadOnly);
+
+        ScrollableCursor cursor = (ScrollableCursor) query.getSingleResult();
+        @SuppressWarnings("unchecked")
+        Iterator<E> iterator = (Iterator<E>) cursor;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .peek(item -> {
+                    if (item instanceof Entity) {
+                        for (FetchPlan fetchPlan : fetchPlans) {
+                            entityFetcher.fetch((Entity) item, fetchPlan);
+                        }
+                    }
+                })
+                .onClose(cursor::close);
+    }
+
     @Override
     public E getSingleResult() {
         logQueryString();
@@ -540,7 +580,7 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
         if (fetchPlan != null) {
             boolean useFetchGroup = fetchPlan.loadPartialEntities();
             for (FetchPlan it : fetchPlans) {
-                FetchGroupDescription description = fetchGroupMgr.calculateFetchGroup(queryString, it, singleResultExpected, useFetchGroup);
+                FetchGroupDescription description = fetchGroupMgr.getFetchGroup(queryString, it, singleResultExpected, useFetchGroup);
                 if (description.hasBatches()) {
                     useJPQLCache = false;
                     break;
@@ -819,7 +859,8 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
                         PersistenceHints.isSoftDeletion(entityManager),
                         singleResult,
                         jpaQuery,
-                        getAdditionalCriteriaParameters());
+                        getAdditionalCriteriaParameters(),
+                        queryCacheMgr.getCurrentPartition());
                 result = singleResult ? queryCacheMgr.getSingleResultFromCache(queryKey, fetchPlans) :
                         queryCacheMgr.getResultListFromCache(queryKey, fetchPlans);
                 if (result != null) {
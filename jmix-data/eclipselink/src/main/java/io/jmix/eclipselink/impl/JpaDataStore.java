@@ -22,11 +22,15 @@ import io.jmix.core.Id;
 import io.jmix.core.*;
 import io.jmix.core.datastore.AbstractDataStore;
 import io.jmix.core.entity.EntityValues;
+import io.jmix.core.event.EntityBulkChangedEvent;
 import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.data.AuditInfoProvider;
 import io.jmix.data.DataProperties;
 import io.jmix.data.PersistenceHints;
+import io.jmix.data.QueryParser;
+import io.jmix.data.QueryTransformer;
 import io.jmix.data.QueryTransformerFactory;
 import io.jmix.data.StoreAwareLocator;
 import io.jmix.data.accesscontext.ReadEntityQueryContext;
@@ -35,6 +39,7 @@ import io.jmix.data.impl.EntityChangedEventInfo;
 import io.jmix.data.impl.EntityEventManager;
 import io.jmix.data.impl.JpqlQueryBuilder;
 import io.jmix.data.impl.QueryResultsManager;
+import io.jmix.data.impl.converters.AuditConversionService;
 import io.jmix.data.persistence.DbmsSpecifics;
 import io.jmix.eclipselink.impl.lazyloading.LazyLoadingContext;
 import jakarta.persistence.*;
@@ -59,6 +64,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Stream;
 
 import static io.jmix.core.entity.EntitySystemAccess.getEntityEntry;
 import static io.jmix.core.entity.EntityValues.getValue;
@@ -119,10 +125,22 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     @Autowired
     protected FetchPlanRepository fetchPlanRepository;
 
+    @Autowired
+    protected TimeSource timeSource;
+
+    @Autowired
+    protected AuditInfoProvider auditInfoProvider;
+
+    @Autowired
+    protected AuditConversionService auditConverter;
+
     protected String storeName;
 
     protected static final AtomicLong txCount = new AtomicLong();
 
+    protected static final String BULK_ENTITY_ALIAS = "bulkEntity";
+    protected static final String BULK_PARAM_PREFIX = "bulkValue";
+
     @Override
     public String getName() {
         return storeName;
@@ -169,6 +187,52 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         }
     }
 
+    /**
+     * Opens a forward-only database cursor. Rows are fetched from the database by portions of
+     * {@link PersistenceHints#FETCH_SIZE} size.
+     */
+    @Override
+    protected LoadCursor openLoadCursor(LoadContext<?> context) {
+        queryResultsManager.savePreviousQueryResults(context);
+
+        EntityManager em = storeAwareLocator.getEntityManager(storeName);
+        em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
+
+        Query query = createQuery(em, context, false);
+        if (!context.getHints().containsKey(PersistenceHints.FETCH_SIZE)) {
+            query.setHint(PersistenceHints.FETCH_SIZE, getStreamPortionSize(context));
+        }
+
+        @SuppressWarnings("unchecked")
+        Stream<Object> resultStream = query.getResultStream();
+        Iterator<Object> iterator = resultStream.iterator();
+        return new LoadCursor() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+                resultStream.close();
+            }
+        };
+    }
+
+    @Override
+    protected int getStreamPortionSize(LoadContext<?> context) {
+        Object fetchSize = context.getHints().get(PersistenceHints.FETCH_SIZE);
+        if (fetchSize != null) {
+            return fetchSize instanceof Number ? ((Number) fetchSize).intValue() : Integer.parseInt(fetchSize.toString());
+        }
+        return super.getStreamPortionSize(context);
+    }
+
     protected List<Object> loadAllByIds(LoadContext<?> context, EntityManager em) {
         LoadContext<?> contextCopy = context.copy();
         contextCopy.setIds(Collections.emptyList());
@@ -332,6 +396,135 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         return result;
     }
 
+    @Override
+    protected long executeBulk(BulkOperationContext context) {
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+
+        EntityManager em = storeAwareLocator.getEntityManager(storeName);
+        em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
+
+        boolean softDeletion = metadataTools.isSoftDeletable(metaClass.getJavaClass())
+                && PersistenceHints.isSoftDeletion(em);
+
+        Map<String, Object> values = new LinkedHashMap<>(context.getValues());
+        if (context.isDelete() && softDeletion) {
+            values.putAll(createSoftDeletionValues(metaClass));
+        }
+
+        Query query = createBulkQuery(em, context, metaClass, values, softDeletion);
+        long count = query.executeUpdate();
+
+        applicationContext.publishEvent(new EntityBulkChangedEvent<>(this,
+                context.isDelete() ? EntityChangedEvent.Type.DELETED : EntityChangedEvent.Type.UPDATED,
+                Collections.unmodifiableSet(values.keySet()), count,
+                extendedEntities.getOriginalOrThisMetaClass(metaClass)));
+
+        return count;
+    }
+
+    /**
+     * Creates an UPDATE or DELETE statement restricted by the query of the context and by row-level
+     * read constraints. If the constrained query contains joins, the entities are selected by a subquery.
+     */
+    protected Query createBulkQuery(EntityManager em, BulkOperationContext context, MetaClass metaClass,
+                                    Map<String, Object> values, boolean softDeletion) {
+        LoadContext.Query contextQuery = context.getQuery();
+
+        JpqlQueryBuilder<JmixEclipseLinkQuery<?>> queryBuilder = jpqlQueryBuilderProvider.getObject();
+        queryBuilder.setEntityName(metaClass.getName());
+        if (contextQuery != null) {
+            queryBuilder.setQueryString(contextQuery.getQueryString())
+                    .setCondition(contextQuery.getCondition())
+                    .setQueryParameters(contextQuery.getParameters());
+        }
+
+        JmixEclipseLinkQuery<?> query = queryBuilder.getQuery(em);
+
+        ReadEntityQueryContext queryContext = new ReadEntityQueryContext(query, metaClass, queryTransformerFactory);
+        accessManager.applyConstraints(queryContext, context.getAccessConstraints());
+        query = (JmixEclipseLinkQuery<?>) queryContext.getResultQuery();
+
+        // sorting is not allowed in UPDATE and DELETE statements and in subqueries
+        QueryTransformer sortRemover = queryTransformerFactory.transformer(query.getQueryString());
+        sortRemover.removeOrderBy();
+        String queryString = sortRemover.getResult();
+
+        QueryParser parser = queryTransformerFactory.parser(queryString);
+        String alias = parser.getEntityAlias();
+        String where;
+        Matcher matcher = Pattern.compile("select\\s+(?:distinct\\s+)?" + Pattern.quote(alias)
+                        + "\\s+from\\s+" + Pattern.quote(metaClass.getName()) + "\\s+" + Pattern.quote(alias)
+                        + "(?:\\s+where\\s+(.+))?",
+                Pattern.CASE_INSENSITIVE | Pattern.DOTALL).matcher(queryString.trim());
+        if (matcher.matches()) {
+            where = matcher.group(1);
+        } else {
+            if (metadataTools.hasCompositePrimaryKey(metaClass)) {
+                throw new UnsupportedOperationException("Bulk operation with joins is not supported " +
+                        "for entities with composite primary key: " + metaClass.getName());
+            }
+            String pkName = metadataTools.getPrimaryKeyName(metaClass);
+            QueryTransformer transformer = queryTransformerFactory.transformer(queryString);
+            transformer.replaceWithSelectId(pkName);
+            alias = BULK_ENTITY_ALIAS;
+            where = String.format("%s.%s in (%s)", alias, pkName, transformer.getResult());
+        }
+
+        if (softDeletion) {
+            String deletedCondition = alias + "." + metadataTools.findDeletedDateProperty(metaClass.getJavaClass()) + " is null";
+            where = where == null ? deletedCondition : "(" + where + ") and " + deletedCondition;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        Map<String, Object> bulkParameters = new HashMap<>();
+        if (context.isDelete() && !softDeletion) {
+            sb.append("delete from ").append(metaClass.getName()).append(" ").append(alias);
+        } else {
+            sb.append("update ").append(metaClass.getName()).append(" ").append(alias).append(" set ");
+            int i = 0;
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                if (i++ > 0) {
+                    sb.append(", ");
+                }
+                sb.append(alias).append(".").append(entry.getKey()).append(" = ");
+                if (entry.getValue() == null) {
+                    // a null parameter would be turned into "is null" condition
+                    sb.append("null");
+                } else {
+                    String paramName = BULK_PARAM_PREFIX + i;
+                    sb.append(":").append(paramName);
+                    bulkParameters.put(paramName, entry.getValue());
+                }
+            }
+        }
+        if (where != null) {
+            sb.append(" where ").append(where);
+        }
+
+        query.setQueryString(sb.toString());
+        for (Map.Entry<String, Object> entry : bulkParameters.entrySet()) {
+            query.setParameter(entry.getKey(), entry.getValue());
+        }
+        return query;
+    }
+
+    protected Map<String, Object> createSoftDeletionValues(MetaClass metaClass) {
+        Map<String, Object> values = new LinkedHashMap<>();
+
+        String deletedDateProperty = metadataTools.findDeletedDateProperty(metaClass.getJavaClass());
+        if (deletedDateProperty != null) {
+            Class<?> deletedDateClass = metaClass.getProperty(deletedDateProperty).getJavaType();
+            values.put(deletedDateProperty, auditConverter.convert(timeSource.currentTimestamp(), deletedDateClass));
+        }
+
+        String deletedByProperty = metadataTools.findDeletedByProperty(metaClass.getJavaClass());
+        if (deletedByProperty != null) {
+            Class<?> deletedByClass = metaClass.getProperty(deletedByProperty).getJavaType();
+            values.put(deletedByProperty, auditConverter.convert(auditInfoProvider.getCurrentUser(), deletedByClass));
+        }
+        return values;
+    }
+
     @Override
     protected List<Object> loadAllValues(ValueLoadContext context) {
         EntityManager em = storeAwareLocator.getEntityManager(storeName);
@@ -402,6 +595,23 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         }
     }
 
+    /**
+     * Detaches streamed entities together with the references defined by the fetch plan, so the persistence
+     * context does not grow while the stream is consumed.
+     */
+    @Override
+    protected void releaseStreamedEntities(LoadContext<?> context, Collection<Object> entities,
+                                           TransactionContextState transactionContextState) {
+        if (context.isJoinTransaction()) {
+            beforeLoadTransactionCommit(context, entities, transactionContextState);
+        } else {
+            EntityManager em = storeAwareLocator.getEntityManager(storeName);
+            for (Object entity : entities) {
+                detachEntity(em, entity, context.getFetchPlan(), false);
+            }
+        }
+    }
+
     @Override
     protected void rollbackTransaction(Object transaction) {
         TransactionStatus transactionStatus = (TransactionStatus) transaction;
@@ -37,6 +37,8 @@ public class QueryHintsProcessor {
                 (query, value) -> query.setHint(org.eclipse.persistence.config.QueryHints.HINT, value));
         hintHandlers.put(PersistenceHints.MSSQL_RECOMPILE_HINT,
                 (query, value) -> query.setHint(org.eclipse.persistence.config.QueryHints.HINT, "OPTION(RECOMPILE)"));
+        hintHandlers.put(PersistenceHints.FETCH_SIZE,
+                (query, value) -> query.setHint(org.eclipse.persistence.config.QueryHints.JDBC_FETCH_SIZE, value));
     }
 
     public void applyQueryHint(JpaQuery query, String hintName, Object value) {
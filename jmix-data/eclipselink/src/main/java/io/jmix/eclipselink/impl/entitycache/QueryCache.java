@@ -17,6 +17,8 @@
 package io.jmix.eclipselink.impl.entitycache;
 
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -44,11 +46,32 @@ public interface QueryCache {
      */
     void invalidate(Set<String> typeNames);
 
+    /**
+     * Discards cached query results for metaClass names {@code typeNames} in the given cache partitions.
+     */
+    default void invalidate(Set<String> typeNames, Set<String> partitions) {
+        invalidate(typeNames);
+    }
+
     /**
      * Discards all queries results in the cache.
      */
     void invalidateAll();
 
+    /**
+     * Discards all queries results of the cache partition.
+     */
+    default void invalidatePartition(String partition) {
+        invalidateAll();
+    }
+
+    /**
+     * Returns statistics of cache partitions by partition name.
+     */
+    default Map<String, QueryCachePartitionStatistics> getPartitionStatistics() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Returns number of entries in this cache.
      */
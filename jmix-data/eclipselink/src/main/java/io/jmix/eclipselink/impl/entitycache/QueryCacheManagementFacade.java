@@ -22,6 +22,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jmx.export.annotation.*;
 import org.springframework.stereotype.Component;
 
+import java.util.stream.Collectors;
+
 @ManagedResource(description = "Manages query cache", objectName = "jmix.eclipselink:type=QueryCache")
 @Component("eclipselink_QueryCacheManagementFacade")
 public class QueryCacheManagementFacade {
@@ -40,6 +42,13 @@ public class QueryCacheManagementFacade {
         return queryCache.size();
     }
 
+    @ManagedAttribute(description = "Number of cached queries, hits, misses and evictions by cache partition")
+    public String getPartitionStatistics() {
+        return queryCache.getPartitionStatistics().entrySet().stream()
+                .map(entry -> "'" + entry.getKey() + "': " + entry.getValue())
+                .collect(Collectors.joining("\n"));
+    }
+
     @ManagedOperation(description = "Discard all cached queries")
     public String evictAll() {
         queryCacheMgr.invalidateAll();
@@ -57,4 +66,13 @@ public class QueryCacheManagementFacade {
         queryCacheMgr.invalidate(entityName);
         return "Done";
     }
+
+    @ManagedOperation(description = "Discard cached queries of cache partition")
+    @ManagedOperationParameters({
+            @ManagedOperationParameter(name = "partition", description = "Partition name, e.g. tenant id")
+    })
+    public String evictPartition(String partition) {
+        queryCacheMgr.invalidatePartition(partition);
+        return "Done";
+    }
 }
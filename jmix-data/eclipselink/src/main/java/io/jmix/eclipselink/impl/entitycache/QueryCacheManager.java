@@ -16,6 +16,9 @@
 
 package io.jmix.eclipselink.impl.entitycache;
 
+import com.google.common.collect.Sets;
+import io.jmix.core.CacheOperations;
+import io.jmix.core.CachePartitionProvider;
 import io.jmix.core.Entity;
 import io.jmix.core.FetchPlan;
 import io.jmix.core.Metadata;
@@ -28,6 +31,7 @@ import io.jmix.data.StoreAwareLocator;
 import io.jmix.eclipselink.EclipselinkProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -50,6 +54,10 @@ public class QueryCacheManager {
     protected MetadataTools metadataTools;
     @Autowired
     protected StoreAwareLocator storeAwareLocator;
+    @Autowired
+    protected CacheOperations cacheOperations;
+    @Autowired
+    protected ObjectProvider<CachePartitionProvider> cachePartitionProvider;
 
     protected static final Logger log = LoggerFactory.getLogger(QueryCacheManager.class);
 
@@ -172,19 +180,58 @@ public class QueryCacheManager {
      */
     public void invalidate(String typeName) {
         if (isEnabled()) {
-            queryCache.invalidate(typeName);
+            invalidate(Collections.singleton(typeName));
         }
     }
 
     /**
-     * Discards cached query results for metaClass names {@code typeNames}
+     * Discards cached query results for metaClass names {@code typeNames}.
+     * <p>
+     * If all the types belong to cache partitions (see {@link CachePartitionProvider#isPartitioned(MetaClass)}),
+     * only the results cached in the partition of the current user and in the default partition are discarded.
      */
     public void invalidate(Set<String> typeNames) {
         if (isEnabled()) {
             if (typeNames != null && typeNames.size() > 0) {
-                queryCache.invalidate(typeNames);
+                String partition = getCurrentPartition();
+                if (!CachePartitionProvider.DEFAULT_PARTITION.equals(partition) && isPartitioned(typeNames)) {
+                    queryCache.invalidate(typeNames,
+                            Sets.newHashSet(partition, CachePartitionProvider.DEFAULT_PARTITION));
+                } else {
+                    queryCache.invalidate(typeNames);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards all cached query results of the cache partition, e.g. of a tenant.
+     */
+    public void invalidatePartition(String partition) {
+        if (isEnabled()) {
+            queryCache.invalidatePartition(partition);
+        }
+    }
+
+    /**
+     * Returns the cache partition of the current user, used to create {@link QueryKey}.
+     */
+    public String getCurrentPartition() {
+        return cacheOperations.getCurrentPartition();
+    }
+
+    protected boolean isPartitioned(Set<String> typeNames) {
+        CachePartitionProvider provider = cachePartitionProvider.getIfUnique();
+        if (provider == null) {
+            return false;
+        }
+        for (String typeName : typeNames) {
+            MetaClass metaClass = metadata.findClass(typeName);
+            if (metaClass == null || !provider.isPartitioned(metaClass)) {
+                return false;
             }
         }
+        return true;
     }
 
     public void invalidateAll() {
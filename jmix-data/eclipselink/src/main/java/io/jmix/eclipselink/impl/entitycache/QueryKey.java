@@ -17,6 +17,7 @@
 package io.jmix.eclipselink.impl.entitycache;
 
 import com.google.common.base.MoreObjects;
+import io.jmix.core.CachePartitionProvider;
 import io.jmix.core.UuidProvider;
 
 import jakarta.persistence.Parameter;
@@ -41,6 +42,10 @@ public class QueryKey implements Serializable {
     protected final Object[] normalizedParameters;
     protected final Object[] positionalParameters;
     protected final Object[] additionalCriteriaParameters;
+    /**
+     * Cache partition of the user who executed the query, see {@link CachePartitionProvider}
+     */
+    protected final String partition;
     protected final int hashCode;
 
     //transient attributes
@@ -56,8 +61,14 @@ public class QueryKey implements Serializable {
     protected static final Pattern PARAMETER_TEMPLATE_PATTERN = Pattern.compile("(:[\\w_$]+)");
 
     public static QueryKey create(String queryString, boolean softDeletion, boolean singleResult, Query jpaQuery, Map<String, Object> additionalCriteriaParameters) {
+        return create(queryString, softDeletion, singleResult, jpaQuery, additionalCriteriaParameters,
+                CachePartitionProvider.DEFAULT_PARTITION);
+    }
+
+    public static QueryKey create(String queryString, boolean softDeletion, boolean singleResult, Query jpaQuery,
+                                  Map<String, Object> additionalCriteriaParameters, String partition) {
         return new QueryKey(queryString, jpaQuery.getFirstResult(), jpaQuery.getMaxResults(), softDeletion, singleResult,
-                getNamedParameters(jpaQuery), getPositionalParameters(jpaQuery), additionalCriteriaParameters);
+                getNamedParameters(jpaQuery), getPositionalParameters(jpaQuery), additionalCriteriaParameters, partition);
     }
 
     private static Map<String, Object> getNamedParameters(Query jpaQuery) {
@@ -103,8 +114,10 @@ public class QueryKey implements Serializable {
                        boolean softDeletion, boolean singleResult,
                        Map<String, Object> namedParameters,
                        Object[] positionalParameters,
-                       Map<String, Object> additionalCriteriaParameters) {
+                       Map<String, Object> additionalCriteriaParameters,
+                       String partition) {
         this.id = UuidProvider.createUuid();
+        this.partition = partition;
         this.originalQueryString = queryString;
         this.firstRow = firstRow;
         this.maxRows = maxRows;
@@ -163,6 +176,10 @@ public class QueryKey implements Serializable {
         return id;
     }
 
+    public String getPartition() {
+        return partition;
+    }
+
     public String printDescription() {
         return MoreObjects.toStringHelper("Query")
                 .addValue("\"" + queryString.trim() + "\"")
@@ -173,6 +190,7 @@ public class QueryKey implements Serializable {
                 .add("positionalParameters", Arrays.deepToString(positionalParameters))
                 .add("normalizedParameters", Arrays.deepToString(normalizedParameters))
                 .add("additionalCriteriaParameters", Arrays.deepToString(additionalCriteriaParameters))
+                .add("partition", partition)
                 .toString();
     }
 
@@ -191,7 +209,8 @@ public class QueryKey implements Serializable {
                 && firstRow == queryKey.firstRow
                 && maxRows == queryKey.maxRows
                 && softDeletion == queryKey.softDeletion
-                && singleResult == queryKey.singleResult;
+                && singleResult == queryKey.singleResult
+                && Objects.equals(partition, queryKey.partition);
     }
 
     protected boolean equalsParams(QueryKey queryKey) {
@@ -213,6 +232,7 @@ public class QueryKey implements Serializable {
         result = 31 * result + Integer.hashCode(maxRows);
         result = 31 * result + Boolean.hashCode(softDeletion);
         result = 31 * result + Boolean.hashCode(singleResult);
+        result = 31 * result + Objects.hashCode(partition);
         //generates hashCode for value in same way as org.eclipse.persistence.internal.identitymaps.CacheId.computeArrayHashCode()
         result = 31 * result + (positionalParameters == null ? 0 : Arrays.deepHashCode(positionalParameters));
 
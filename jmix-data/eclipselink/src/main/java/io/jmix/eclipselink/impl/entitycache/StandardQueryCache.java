@@ -18,6 +18,10 @@ package io.jmix.eclipselink.impl.entitycache;
 
 import com.google.common.collect.Sets;
 import io.jmix.core.CacheOperations;
+import io.jmix.core.CachePartitionProvider;
+import io.jmix.eclipselink.EclipselinkProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,10 +31,19 @@ import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
-import java.util.HashSet;
-import java.util.Set;
+import org.springframework.lang.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Query cache stored in the {@link #QUERY_CACHE_NAME} cache of the application {@link CacheManager}.
+ * <p>
+ * Queries are divided into partitions by {@link QueryKey#getPartition()}. Each partition tracks its hits and misses
+ * and may be limited by {@link EclipselinkProperties#getQueryCachePartitionMaxSize(String)}, so the least recently
+ * used queries of a partition are discarded without affecting other partitions.
+ */
 @Component("eclipselink_QueryCache")
 public class StandardQueryCache implements QueryCache {
 
@@ -40,6 +53,12 @@ public class StandardQueryCache implements QueryCache {
     protected CacheManager cacheManager;
     @Autowired
     protected CacheOperations cacheOperations;
+    @Autowired
+    protected EclipselinkProperties properties;
+    @Autowired(required = false)
+    protected MeterRegistry meterRegistry;
+
+    protected final ConcurrentMap<String, Partition> partitions = new ConcurrentHashMap<>();
 
     public static final String QUERY_CACHE_NAME = "jmix-eclipselink-query-cache";
 
@@ -55,42 +74,53 @@ public class StandardQueryCache implements QueryCache {
 
     @Override
     public QueryResult get(QueryKey queryKey) {
-        return queries.get(queryKey, QueryResult.class);
+        QueryResult queryResult = queries.get(queryKey, QueryResult.class);
+        getPartition(queryKey.getPartition()).recordAccess(queryKey, queryResult != null);
+        return queryResult;
     }
 
     @Override
     public void put(QueryKey queryKey, QueryResult queryResult) {
         queries.put(queryKey, queryResult);
+        for (QueryKey evictedKey : getPartition(queryKey.getPartition()).add(queryKey)) {
+            log.debug("Discard query exceeding the size of partition '{}': {}",
+                    queryKey.getPartition(), evictedKey.printDescription());
+            queries.evictIfPresent(evictedKey);
+        }
     }
 
     @Override
     public void invalidate(String typeName) {
         log.debug("Invalidate cache for type {}", typeName);
-        invalidateByTypes(Sets.newHashSet(typeName));
+        invalidateByTypes(Sets.newHashSet(typeName), null);
     }
 
     @Override
     public void invalidate(Set<String> typeNames) {
         log.debug("Invalidate cache for types {}", typeNames);
-        invalidateByTypes(typeNames);
+        invalidateByTypes(typeNames, null);
     }
 
-    protected void invalidateByTypes(Set<String> typeNames) {
+    @Override
+    public void invalidate(Set<String> typeNames, Set<String> partitions) {
+        log.debug("Invalidate cache for types {} in partitions {}", typeNames, partitions);
+        invalidateByTypes(typeNames, partitions);
+    }
+
+    protected void invalidateByTypes(Set<String> typeNames, @Nullable Set<String> partitionNames) {
         if (cacheOperations.isIterableCache(queries)) {
             Set<QueryKey> evicted = new HashSet<>();
 
             cacheOperations.<QueryKey, QueryResult>forEach(queries, (queryKey, queryResult) -> {
-                if (CollectionUtils.containsAny(queryResult.getRelatedTypes(), typeNames)) {
+                if ((partitionNames == null || partitionNames.contains(queryKey.getPartition()))
+                        && CollectionUtils.containsAny(queryResult.getRelatedTypes(), typeNames)) {
                     evicted.add(queryKey);
                 }
             });
 
-            for (QueryKey queryKey : evicted) {
-                queries.evictIfPresent(queryKey);
-
-            }
+            evict(evicted);
         } else {
-            queries.invalidate();
+            invalidateAll();
         }
     }
 
@@ -98,6 +128,33 @@ public class StandardQueryCache implements QueryCache {
     public void invalidateAll() {
         log.debug("Invalidate all cache");
         queries.invalidate();
+        partitions.values().forEach(Partition::clear);
+    }
+
+    @Override
+    public void invalidatePartition(String partition) {
+        log.debug("Invalidate cache partition '{}'", partition);
+        if (cacheOperations.isIterableCache(queries)) {
+            Set<QueryKey> evicted = new HashSet<>();
+            cacheOperations.<QueryKey, QueryResult>forEach(queries, (queryKey, queryResult) -> {
+                if (partition.equals(queryKey.getPartition())) {
+                    evicted.add(queryKey);
+                }
+            });
+            evict(evicted);
+        } else {
+            invalidateAll();
+        }
+    }
+
+    protected void evict(Collection<QueryKey> queryKeys) {
+        for (QueryKey queryKey : queryKeys) {
+            queries.evictIfPresent(queryKey);
+            Partition partition = partitions.get(queryKey.getPartition());
+            if (partition != null) {
+                partition.remove(queryKey);
+            }
+        }
     }
 
     @Override
@@ -110,4 +167,121 @@ public class StandardQueryCache implements QueryCache {
             return 0;
         }
     }
+
+    @Override
+    public Map<String, QueryCachePartitionStatistics> getPartitionStatistics() {
+        Map<String, Long> sizes = new HashMap<>();
+        if (cacheOperations.isIterableCache(queries)) {
+            cacheOperations.<QueryKey, QueryResult>forEach(queries, (queryKey, queryResult) ->
+                    sizes.merge(queryKey.getPartition(), 1L, Long::sum));
+        }
+        Map<String, QueryCachePartitionStatistics> statistics = new TreeMap<>();
+        for (Partition partition : partitions.values()) {
+            statistics.put(partition.name, new QueryCachePartitionStatistics(
+                    sizes.getOrDefault(partition.name, 0L),
+                    partition.hitCount.get(), partition.missCount.get(), partition.evictionCount.get()));
+        }
+        return statistics;
+    }
+
+    protected Partition getPartition(String name) {
+        return partitions.computeIfAbsent(name, this::createPartition);
+    }
+
+    protected Partition createPartition(String name) {
+        Partition partition = new Partition(name, properties.getQueryCachePartitionMaxSize(name));
+        if (meterRegistry != null) {
+            String tag = CachePartitionProvider.DEFAULT_PARTITION.equals(name) ? "default" : name;
+            partition.hitCounter = Counter.builder("cache.gets")
+                    .tags("cache", QUERY_CACHE_NAME, "partition", tag, "result", "hit")
+                    .register(meterRegistry);
+            partition.missCounter = Counter.builder("cache.gets")
+                    .tags("cache", QUERY_CACHE_NAME, "partition", tag, "result", "miss")
+                    .register(meterRegistry);
+            partition.evictionCounter = Counter.builder("cache.evictions")
+                    .tags("cache", QUERY_CACHE_NAME, "partition", tag)
+                    .register(meterRegistry);
+        }
+        return partition;
+    }
+
+    /**
+     * Keeps statistics of a partition and, if the partition size is limited, its queries in the order of access.
+     */
+    protected static class Partition {
+
+        protected final String name;
+        protected final int maxSize;
+        protected final LinkedHashMap<QueryKey, Boolean> queryKeys = new LinkedHashMap<>(16, 0.75f, true);
+
+        protected final AtomicLong hitCount = new AtomicLong();
+        protected final AtomicLong missCount = new AtomicLong();
+        protected final AtomicLong evictionCount = new AtomicLong();
+        protected Counter hitCounter;
+        protected Counter missCounter;
+        protected Counter evictionCounter;
+
+        public Partition(String name, int maxSize) {
+            this.name = name;
+            this.maxSize = maxSize;
+        }
+
+        public void recordAccess(QueryKey queryKey, boolean hit) {
+            if (hit) {
+                hitCount.incrementAndGet();
+                if (hitCounter != null) {
+                    hitCounter.increment();
+                }
+                if (maxSize > 0) {
+                    synchronized (queryKeys) {
+                        queryKeys.get(queryKey);
+                    }
+                }
+            } else {
+                missCount.incrementAndGet();
+                if (missCounter != null) {
+                    missCounter.increment();
+                }
+            }
+        }
+
+        /**
+         * Registers the cached query.
+         *
+         * @return queries to be discarded as exceeding the partition size
+         */
+        public List<QueryKey> add(QueryKey queryKey) {
+            if (maxSize <= 0) {
+                return Collections.emptyList();
+            }
+            List<QueryKey> evicted = new ArrayList<>();
+            synchronized (queryKeys) {
+                queryKeys.put(queryKey, Boolean.TRUE);
+                Iterator<QueryKey> iterator = queryKeys.keySet().iterator();
+                while (queryKeys.size() > maxSize && iterator.hasNext()) {
+                    evicted.add(iterator.next());
+                    iterator.remove();
+                }
+            }
+            evictionCount.addAndGet(evicted.size());
+            if (evictionCounter != null && !evicted.isEmpty()) {
+                evictionCounter.increment(evicted.size());
+            }
+            return evicted;
+        }
+
+        public void remove(QueryKey queryKey) {
+            if (maxSize > 0) {
+                synchronized (queryKeys) {
+                    queryKeys.remove(queryKey);
+                }
+            }
+        }
+
+        public void clear() {
+            synchronized (queryKeys) {
+                queryKeys.clear();
+            }
+        }
+    }
 }
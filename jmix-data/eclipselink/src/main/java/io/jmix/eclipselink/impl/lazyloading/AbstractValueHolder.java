@@ -31,6 +31,7 @@ import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
 import org.eclipse.persistence.mappings.DatabaseMapping;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.lang.Nullable;
 
 import java.io.Serializable;
 import java.rmi.server.ObjID;
@@ -47,6 +48,7 @@ public abstract class AbstractValueHolder extends UnitOfWorkValueHolder implemen
     private volatile boolean isInstantiated;
     private volatile Object value;
     private LoadOptions loadOptions;
+    private transient LazyLoadingBatch batch;
 
     public AbstractValueHolder(BeanFactory beanFactory,
                                ValueHolderInterface originalValueHolder,
@@ -285,6 +287,19 @@ public abstract class AbstractValueHolder extends UnitOfWorkValueHolder implemen
 
     protected abstract Object loadValue();
 
+    /**
+     * Sets the value loaded together with the value of another value holder of the same {@link LazyLoadingBatch}.
+     */
+    protected void setLoadedValue(Object value) {
+        synchronized (this) {
+            if (!isInstantiated) {
+                this.value = value;
+                afterLoadValue(value);
+                isInstantiated = true;
+            }
+        }
+    }
+
     protected abstract void afterLoadValue(Object value);
 
     @Override
@@ -304,6 +319,15 @@ public abstract class AbstractValueHolder extends UnitOfWorkValueHolder implemen
         return loadOptions;
     }
 
+    @Nullable
+    public LazyLoadingBatch getBatch() {
+        return batch;
+    }
+
+    public void setBatch(@Nullable LazyLoadingBatch batch) {
+        this.batch = batch;
+    }
+
     public Object getOwner() {
         return owner;
     }
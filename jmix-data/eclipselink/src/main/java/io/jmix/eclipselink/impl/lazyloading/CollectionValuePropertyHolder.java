@@ -26,6 +26,7 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import org.eclipse.persistence.indirection.ValueHolderInterface;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.lang.Nullable;
 
 import java.io.IOException;
 import java.util.*;
@@ -54,11 +55,64 @@ public class CollectionValuePropertyHolder extends AbstractValueHolder {
 
     @Override
     protected Object loadValue() {
+        LazyLoadingBatch batch = getBatch();
+        if (batch != null) {
+            List<CollectionValuePropertyHolder> valueHolders = batch.takeSiblings(this);
+            if (valueHolders.size() > 1) {
+                Object value = loadValues(valueHolders);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+
         MetaClass metaClass = getMetadata().getClass(getOwner());
 
         LoadContext<?> loadContext = createLoadContextByOwner(metaClass);
 
         Object reloadedOwner = getDataManager().load(loadContext);
+        return getValueOfReloadedOwner(reloadedOwner);
+    }
+
+    /**
+     * Reloads owners of the given value holders with a single query, sets collections of the reloaded owners to
+     * the value holders and returns the collection of this value holder. Value holders whose owners are not found
+     * are left not instantiated.
+     *
+     * @return collection of this value holder or null if its owner is not found
+     */
+    @Nullable
+    protected Object loadValues(List<CollectionValuePropertyHolder> valueHolders) {
+        MetaClass metaClass = getMetadata().getClass(getOwner());
+
+        Set<Object> ids = new LinkedHashSet<>();
+        for (CollectionValuePropertyHolder valueHolder : valueHolders) {
+            ids.add(Objects.requireNonNull(EntityValues.getId(valueHolder.getOwner())));
+        }
+
+        LoadContext<?> loadContext = createLoadContextByOwners(metaClass, ids);
+
+        Map<Object, Object> reloadedOwners = new HashMap<>();
+        for (Object reloadedOwner : getDataManager().loadList(loadContext)) {
+            reloadedOwners.put(EntityValues.getId(reloadedOwner), reloadedOwner);
+        }
+
+        Object value = null;
+        for (CollectionValuePropertyHolder valueHolder : valueHolders) {
+            Object reloadedOwner = reloadedOwners.get(EntityValues.getId(valueHolder.getOwner()));
+            if (reloadedOwner == null) {
+                continue;
+            }
+            if (valueHolder == this) {
+                value = getValueOfReloadedOwner(reloadedOwner);
+            } else {
+                valueHolder.setLoadedValue(valueHolder.getValueOfReloadedOwner(reloadedOwner));
+            }
+        }
+        return value;
+    }
+
+    protected Object getValueOfReloadedOwner(Object reloadedOwner) {
         Collection<Object> value = EntityValues.getValue(reloadedOwner, getPropertyInfo().getName());
 
         getSecurityState(getOwner()).addErasedIds(getPropertyInfo().getName(),
@@ -90,6 +144,17 @@ public class CollectionValuePropertyHolder extends AbstractValueHolder {
                 .setHints(getLoadOptions().getHints());
     }
 
+    protected LoadContext<?> createLoadContextByOwners(MetaClass metaClass, Collection<Object> ids) {
+        return new LoadContext<>(metaClass)
+                .setIds(ids)
+                .setFetchPlan(
+                        getFetchPlans().builder(metaClass.getJavaClass())
+                                .add(getPropertyInfo().getName(), builder -> builder.addFetchPlan(FetchPlan.BASE))
+                                .build())
+                .setAccessConstraints(getLoadOptions().getAccessConstraints())
+                .setHints(getLoadOptions().getHints());
+    }
+
     protected void replaceCollectionExistingReferences(Collection<Object> collection, Object entityToReplace) {
         if (collection instanceof List) {
             for (ListIterator<Object> iterator = ((List<Object>) collection).listIterator(); iterator.hasNext(); ) {
@@ -25,12 +25,14 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.Range;
 import io.jmix.data.PersistenceHints;
+import io.jmix.eclipselink.EclipselinkProperties;
 import jakarta.persistence.Basic;
 import jakarta.persistence.FetchType;
 import org.eclipse.persistence.indirection.ValueHolderInterface;
 import org.eclipse.persistence.internal.indirection.QueryBasedValueHolder;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
@@ -60,6 +62,8 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
     protected ExtendedEntities extendedEntities;
     @Autowired
     protected FetchPlans fetchPlans;
+    @Autowired
+    protected EclipselinkProperties eclipselinkProperties;
 
     @Override
     public void afterEntityLoad(DataStoreAfterEntityLoadEvent event) {
@@ -71,12 +75,24 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
         if (fetchPlan == null) {
             fetchPlan = fetchPlanRepository.getFetchPlan(metaClass, FetchPlan.LOCAL);
         }
+        LazyLoadingBatch batch = createBatch();
         for (Object entity : event.getResultEntities()) {
-            processValueHolders(entity, context, fetchPlan);
+            processValueHolders(entity, context, fetchPlan, batch);
         }
     }
 
     public void processValueHolders(Object entity, LoadContext<?> loadContext, FetchPlan fetchPlan) {
+        processValueHolders(entity, loadContext, fetchPlan, null);
+    }
+
+    /**
+     * Creates lazy loading value holders for not fetched properties of the entity and its fetched references.
+     *
+     * @param batch batch to add created value holders to, so they are loaded together with value holders of other
+     *              entities of the same load
+     */
+    public void processValueHolders(Object entity, LoadContext<?> loadContext, FetchPlan fetchPlan,
+                                    @Nullable LazyLoadingBatch batch) {
         Map<Object, Set<FetchPlan>> collectedFetchPlans = new HashMap<>();
 
         if (fetchPlan != null) {
@@ -114,12 +130,33 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
                         } else if (property.getRange().getCardinality() == Range.Cardinality.MANY_TO_ONE) {
                             processManyToOneValueHolder(entry.getKey(), property, loadOptions);
                         }
+                        if (batch != null) {
+                            addToBatch(entry.getKey(), property, batch);
+                        }
                     }
                 }
             }
         }
     }
 
+    @Nullable
+    protected LazyLoadingBatch createBatch() {
+        int batchSize = eclipselinkProperties.getLazyLoadingBatchSize();
+        return batchSize > 1 ? new LazyLoadingBatch(batchSize) : null;
+    }
+
+    protected void addToBatch(Object owner, MetaProperty property, LazyLoadingBatch batch) {
+        Object valueHolder = property.getRange().getCardinality().isMany()
+                ? getCollectionValueHolder(owner, property.getName())
+                : getSingleValueHolder(owner, property.getName());
+        if (valueHolder instanceof CollectionValuePropertyHolder || valueHolder instanceof SingleValueOwningPropertyHolder) {
+            AbstractValueHolder casted = (AbstractValueHolder) valueHolder;
+            if (casted.getBatch() == null && !casted.isInstantiated()) {
+                batch.add(casted);
+            }
+        }
+    }
+
     /**
      * Restores SOFT_DELETION hint state if value has been forcefully set in single value property holder
      */
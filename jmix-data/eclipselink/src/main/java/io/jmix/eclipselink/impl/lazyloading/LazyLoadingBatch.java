@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.eclipselink.impl.lazyloading;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Groups lazy loading value holders created for entities of the same load. The first access to a property of an entity
+ * loads the property for other entities of the group too, so a loop over loaded entities does not execute a query
+ * for each entity.
+ */
+public class LazyLoadingBatch {
+
+    protected final int batchSize;
+    protected final Map<String, List<WeakReference<AbstractValueHolder>>> valueHolders = new HashMap<>();
+
+    /**
+     * @param batchSize maximum number of value holders loaded together
+     */
+    public LazyLoadingBatch(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public synchronized void add(AbstractValueHolder valueHolder) {
+        valueHolders.computeIfAbsent(getKey(valueHolder), key -> new ArrayList<>())
+                .add(new WeakReference<>(valueHolder));
+        valueHolder.setBatch(this);
+    }
+
+    /**
+     * Removes from the batch and returns not instantiated value holders of the same property of entities of the same
+     * class, having the same load options as the given value holder. The given value holder is the first element of
+     * the returned list.
+     */
+    public synchronized <T extends AbstractValueHolder> List<T> takeSiblings(T valueHolder) {
+        List<T> siblings = new ArrayList<>();
+        siblings.add(valueHolder);
+
+        List<WeakReference<AbstractValueHolder>> references = valueHolders.get(getKey(valueHolder));
+        if (references == null) {
+            return siblings;
+        }
+        for (Iterator<WeakReference<AbstractValueHolder>> iterator = references.iterator(); iterator.hasNext(); ) {
+            AbstractValueHolder sibling = iterator.next().get();
+            if (sibling == null || sibling == valueHolder || sibling.isInstantiated()) {
+                iterator.remove();
+            } else if (siblings.size() < batchSize
+                    && sibling.getClass() == valueHolder.getClass()
+                    && hasSameLoadOptions(sibling, valueHolder)) {
+                //noinspection unchecked
+                siblings.add((T) sibling);
+                iterator.remove();
+            }
+        }
+        if (references.isEmpty()) {
+            valueHolders.remove(getKey(valueHolder));
+        }
+        return siblings;
+    }
+
+    protected String getKey(AbstractValueHolder valueHolder) {
+        return valueHolder.getOwner().getClass().getName() + "." + valueHolder.getPropertyInfo().getName();
+    }
+
+    protected boolean hasSameLoadOptions(AbstractValueHolder valueHolder1, AbstractValueHolder valueHolder2) {
+        LoadOptions loadOptions1 = valueHolder1.getLoadOptions();
+        LoadOptions loadOptions2 = valueHolder2.getLoadOptions();
+        return loadOptions1.getHints().equals(loadOptions2.getHints())
+                && loadOptions1.getAccessConstraints().equals(loadOptions2.getAccessConstraints());
+    }
+}
@@ -18,6 +18,7 @@ package io.jmix.eclipselink.impl.lazyloading;
 
 import io.jmix.core.LoadContext;
 import io.jmix.core.UuidProvider;
+import io.jmix.core.entity.EntityValues;
 import io.jmix.core.impl.SerializationContext;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
@@ -26,7 +27,7 @@ import org.eclipse.persistence.indirection.ValueHolderInterface;
 import org.springframework.beans.factory.BeanFactory;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.*;
 
 import static io.jmix.core.entity.EntitySystemAccess.getSecurityState;
 
@@ -49,6 +50,14 @@ public class SingleValueOwningPropertyHolder extends AbstractSingleValueHolder {
     }
 
     protected Object loadValue() {
+        LazyLoadingBatch batch = getBatch();
+        if (batch != null) {
+            List<SingleValueOwningPropertyHolder> valueHolders = batch.takeSiblings(this);
+            if (valueHolders.size() > 1) {
+                return loadValues(valueHolders);
+            }
+        }
+
         MetaClass metaClass = getMetadata().getClass(getPropertyInfo().getJavaType());
         LoadOptions loadOptions = getLoadOptions();
 
@@ -67,6 +76,46 @@ public class SingleValueOwningPropertyHolder extends AbstractSingleValueHolder {
         return value;
     }
 
+    /**
+     * Loads values of the given value holders with a single query, sets them to the value holders
+     * and returns the value of this value holder.
+     */
+    protected Object loadValues(List<SingleValueOwningPropertyHolder> valueHolders) {
+        MetaClass metaClass = getMetadata().getClass(getPropertyInfo().getJavaType());
+        LoadOptions loadOptions = getLoadOptions();
+
+        Set<Object> ids = new LinkedHashSet<>();
+        for (SingleValueOwningPropertyHolder valueHolder : valueHolders) {
+            ids.add(valueHolder.getEntityId());
+        }
+
+        LoadContext<?> loadContext = new LoadContext<>(metaClass)
+                .setIds(ids)
+                .setHint(PersistenceHints.SOFT_DELETION, false)
+                .setHints(loadOptions.getHints())
+                .setAccessConstraints(loadOptions.getAccessConstraints());
+
+        Map<Object, Object> loadedValues = new HashMap<>();
+        for (Object loadedValue : getDataManager().loadList(loadContext)) {
+            loadedValues.put(EntityValues.getId(loadedValue), loadedValue);
+        }
+
+        Object value = null;
+        for (SingleValueOwningPropertyHolder valueHolder : valueHolders) {
+            Object entityId = valueHolder.getEntityId();
+            Object loadedValue = loadedValues.get(entityId);
+            if (loadedValue == null) {
+                getSecurityState(valueHolder.getOwner()).addErasedId(getPropertyInfo().getName(), entityId);
+            }
+            if (valueHolder == this) {
+                value = loadedValue;
+            } else {
+                valueHolder.setLoadedValue(loadedValue);
+            }
+        }
+        return value;
+    }
+
     protected Object convertId(Object entityId, MetaClass metaClass) {
         MetaProperty primaryKeyProperty = getMetadataTools().getPrimaryKeyProperty(metaClass);
         if (primaryKeyProperty != null && UUID.class.equals(primaryKeyProperty.getJavaType())) {
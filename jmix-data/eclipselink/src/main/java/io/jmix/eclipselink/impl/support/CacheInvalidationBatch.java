@@ -0,0 +1,186 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.eclipselink.impl.support;
+
+import io.jmix.core.impl.StandardSerialization;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Identifiers of cached entities to be invalidated on other cluster nodes, grouped by entity name.
+ * An entity may be present without identifiers if only query caches for it should be invalidated, e.g. when
+ * its instances have been created.
+ * <p>
+ * The batch is encoded as the entity name followed by the packed list of its identifiers. UUID, Long, Integer
+ * and String identifiers are written in binary form, other identifiers (e.g. embedded ids) are serialized.
+ */
+public class CacheInvalidationBatch {
+
+    protected static final byte FORMAT_VERSION = 1;
+
+    protected static final byte ID_UUID = 1;
+    protected static final byte ID_LONG = 2;
+    protected static final byte ID_INTEGER = 3;
+    protected static final byte ID_STRING = 4;
+    protected static final byte ID_SERIALIZED = 5;
+
+    protected Map<String, Set<Object>> ids = new LinkedHashMap<>();
+    protected int size;
+
+    /**
+     * Adds the identifier of an entity to the batch.
+     *
+     * @param entityName name of the entity metaclass
+     * @param id         entity identifier
+     */
+    public void add(String entityName, Object id) {
+        if (ids.computeIfAbsent(entityName, name -> new LinkedHashSet<>()).add(id)) {
+            size++;
+        }
+    }
+
+    /**
+     * Adds the entity to the batch without identifiers, so only query caches for it are invalidated.
+     *
+     * @param entityName name of the entity metaclass
+     */
+    public void addType(String entityName) {
+        ids.computeIfAbsent(entityName, name -> new LinkedHashSet<>());
+    }
+
+    /**
+     * Adds all entities and identifiers of the other batch to this one.
+     */
+    public void addAll(CacheInvalidationBatch batch) {
+        batch.ids.forEach((entityName, entityIds) -> {
+            addType(entityName);
+            for (Object id : entityIds) {
+                add(entityName, id);
+            }
+        });
+    }
+
+    /**
+     * @return identifiers grouped by entity name
+     */
+    public Map<String, Set<Object>> getIds() {
+        return Collections.unmodifiableMap(ids);
+    }
+
+    /**
+     * @return total number of identifiers in the batch
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return ids.isEmpty();
+    }
+
+    public byte[] encode(StandardSerialization serialization) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(ids.size());
+            for (Map.Entry<String, Set<Object>> entry : ids.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (Object id : entry.getValue()) {
+                    writeId(out, id, serialization);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode cache invalidation batch", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static CacheInvalidationBatch decode(byte[] bytes, StandardSerialization serialization) {
+        CacheInvalidationBatch batch = new CacheInvalidationBatch();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported cache invalidation batch format: " + version);
+            }
+            int typeCount = in.readInt();
+            for (int i = 0; i < typeCount; i++) {
+                String entityName = in.readUTF();
+                batch.addType(entityName);
+                int idCount = in.readInt();
+                for (int j = 0; j < idCount; j++) {
+                    batch.add(entityName, readId(in, serialization));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to decode cache invalidation batch", e);
+        }
+        return batch;
+    }
+
+    protected static void writeId(DataOutputStream out, Object id, StandardSerialization serialization)
+            throws IOException {
+        if (id instanceof UUID) {
+            out.writeByte(ID_UUID);
+            out.writeLong(((UUID) id).getMostSignificantBits());
+            out.writeLong(((UUID) id).getLeastSignificantBits());
+        } else if (id instanceof Long) {
+            out.writeByte(ID_LONG);
+            out.writeLong((Long) id);
+        } else if (id instanceof Integer) {
+            out.writeByte(ID_INTEGER);
+            out.writeInt((Integer) id);
+        } else if (id instanceof String) {
+            out.writeByte(ID_STRING);
+            out.writeUTF((String) id);
+        } else {
+            byte[] serialized = serialization.serialize(id);
+            out.writeByte(ID_SERIALIZED);
+            out.writeInt(serialized.length);
+            out.write(serialized);
+        }
+    }
+
+    protected static Object readId(DataInputStream in, StandardSerialization serialization) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case ID_UUID:
+                return new UUID(in.readLong(), in.readLong());
+            case ID_LONG:
+                return in.readLong();
+            case ID_INTEGER:
+                return in.readInt();
+            case ID_STRING:
+                return in.readUTF();
+            case ID_SERIALIZED:
+                byte[] serialized = new byte[in.readInt()];
+                in.readFully(serialized);
+                return serialization.deserialize(serialized);
+            default:
+                throw new IllegalStateException("Unsupported identifier type in cache invalidation batch: " + type);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidationBatch{" +
+                "entities=" + ids.keySet() +
+                ", size=" + size +
+                '}';
+    }
+}
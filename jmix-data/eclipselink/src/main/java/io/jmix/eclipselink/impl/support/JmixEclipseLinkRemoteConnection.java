@@ -21,27 +21,53 @@ import io.jmix.core.Metadata;
 import io.jmix.core.common.util.ReflectionHelper;
 import io.jmix.core.impl.StandardSerialization;
 import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.eclipselink.EclipselinkProperties;
 import io.jmix.eclipselink.impl.entitycache.QueryCacheManager;
 import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
 import org.eclipse.persistence.internal.sessions.coordination.broadcast.BroadcastRemoteConnection;
+import org.eclipse.persistence.sessions.IdentityMapAccessor;
+import org.eclipse.persistence.sessions.Session;
 import org.eclipse.persistence.sessions.coordination.MergeChangeSetCommand;
 import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Sends EclipseLink cache coordination commands to other cluster nodes through the channel provided by
+ * {@link EclipseLinkChannelSupplier}.
+ * <p>
+ * As entities are cached with the {@code INVALIDATE_CHANGED_OBJECTS} coordination type, change sets of committed
+ * transactions are sent as {@link CacheInvalidationBatch}es containing only identifiers of changed and deleted
+ * entities. Batches of transactions committed within {@link EclipselinkProperties#getCacheInvalidationBatchWindow()}
+ * are coalesced into a single message, and the receiving node invalidates all entities of the message in one pass.
+ * Other commands are sent serialized.
+ */
 @Component("eclipselink_JmixEclipseLinkRemoteConnection")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
 public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
 
+    private static final Logger log = LoggerFactory.getLogger(JmixEclipseLinkRemoteConnection.class);
+
+    /**
+     * Header of messages containing an encoded {@link CacheInvalidationBatch} instead of a serialized command.
+     */
+    public static final String INVALIDATION_BATCH_HEADER = "jmix.eclipselink.invalidationBatch";
+
     @Autowired
     protected Metadata metadata;
     @Autowired
@@ -52,6 +78,12 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
     protected EclipseLinkChannelSupplier channelSupplier;
     @Autowired
     protected StandardSerialization serialization;
+    @Autowired
+    protected EclipselinkProperties properties;
+
+    protected final Object pendingBatchLock = new Object();
+    protected CacheInvalidationBatch pendingBatch;
+    protected ScheduledExecutorService batchExecutor;
 
     public JmixEclipseLinkRemoteConnection(RemoteCommandManager rcm) {
         super(rcm);
@@ -63,6 +95,13 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
             rcm.logDebug("creating_broadcast_connection", getInfo());
             try {
                 channelSupplier.get().subscribe(this::onMessage);
+                if (properties.getCacheInvalidationBatchWindow() > 0) {
+                    batchExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "jmix-eclipselink-cache-invalidation");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
                 rcm.logDebug("broadcast_connection_created", getInfo());
             } catch (RuntimeException ex) {
                 rcm.logDebug("failed_to_create_broadcast_connection", getInfo());
@@ -88,8 +127,13 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
         }
 
         if (channelSupplier != null) {
-            Message<?> message = MessageBuilder.withPayload(serialization.serialize(command)).build();
-            channelSupplier.get().send(message);
+            CacheInvalidationBatch batch = createInvalidationBatch(command);
+            if (batch != null) {
+                enqueueInvalidationBatch(batch);
+            } else {
+                Message<?> message = MessageBuilder.withPayload(serialization.serialize(command)).build();
+                channelSupplier.get().send(message);
+            }
         }
 
         if (debugInfo != null) {
@@ -104,6 +148,11 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
             logDebugOnReceiveMessage(null);
         }
 
+        if (Boolean.TRUE.equals(message.getHeaders().get(INVALIDATION_BATCH_HEADER))) {
+            applyInvalidationBatch(CacheInvalidationBatch.decode((byte[]) message.getPayload(), serialization));
+            return;
+        }
+
         Object command = serialization.deserialize((byte[]) message.getPayload());
         if (queryCacheManager.isEnabled()) {
             invalidateQueryCache(command);
@@ -118,6 +167,11 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
 
     @Override
     protected void closeInternal() {
+        if (batchExecutor != null) {
+            batchExecutor.shutdownNow();
+            batchExecutor = null;
+        }
+        flushInvalidationBatch();
     }
 
     @Override
@@ -147,4 +201,124 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
             }
         }
     }
+
+    /**
+     * Converts the change set of a committed transaction to the identifiers of entities to be invalidated.
+     *
+     * @return batch or null if the command must be sent as is
+     */
+    @Nullable
+    protected CacheInvalidationBatch createInvalidationBatch(Object command) {
+        if (!(command instanceof MergeChangeSetCommand)) {
+            return null;
+        }
+        UnitOfWorkChangeSet changeSet = ((MergeChangeSetCommand) command).getChangeSet(null);
+        if (changeSet == null) {
+            return null;
+        }
+        List<ObjectChangeSet> objectChangeSets = new ArrayList<>();
+        if (changeSet.getAllChangeSets() != null) {
+            objectChangeSets.addAll(changeSet.getAllChangeSets().values());
+        }
+        if (changeSet.getDeletedObjects() != null) {
+            objectChangeSets.addAll(changeSet.getDeletedObjects().values());
+        }
+
+        CacheInvalidationBatch batch = new CacheInvalidationBatch();
+        for (ObjectChangeSet objectChangeSet : objectChangeSets) {
+            if (objectChangeSet.getClassName() == null) {
+                return null;
+            }
+            MetaClass metaClass = metadata.findClass(ReflectionHelper.getClass(objectChangeSet.getClassName()));
+            if (metaClass == null) {
+                return null;
+            }
+            if (objectChangeSet.isNew()) {
+                // new instances are not cached on other nodes, but queries for the entity can return them now
+                batch.addType(metaClass.getName());
+                continue;
+            }
+            if (objectChangeSet.getId() == null) {
+                return null;
+            }
+            batch.add(metaClass.getName(), objectChangeSet.getId());
+        }
+        return batch;
+    }
+
+    /**
+     * Adds the batch to the pending one which is sent when the batch window expires or the maximum batch size
+     * is reached.
+     */
+    protected void enqueueInvalidationBatch(CacheInvalidationBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        boolean flush;
+        synchronized (pendingBatchLock) {
+            if (pendingBatch == null) {
+                pendingBatch = batch;
+                if (batchExecutor != null) {
+                    batchExecutor.schedule(this::flushInvalidationBatch,
+                            properties.getCacheInvalidationBatchWindow(), TimeUnit.MILLISECONDS);
+                }
+            } else {
+                pendingBatch.addAll(batch);
+            }
+            flush = batchExecutor == null || pendingBatch.size() >= properties.getCacheInvalidationBatchMaxSize();
+        }
+        if (flush) {
+            flushInvalidationBatch();
+        }
+    }
+
+    /**
+     * Sends the pending batch to other cluster nodes.
+     */
+    protected void flushInvalidationBatch() {
+        CacheInvalidationBatch batch;
+        synchronized (pendingBatchLock) {
+            batch = pendingBatch;
+            pendingBatch = null;
+        }
+        if (batch == null || batch.isEmpty() || channelSupplier == null) {
+            return;
+        }
+        try {
+            Message<?> message = MessageBuilder.withPayload(batch.encode(serialization))
+                    .setHeader(INVALIDATION_BATCH_HEADER, true)
+                    .build();
+            channelSupplier.get().send(message);
+        } catch (RuntimeException e) {
+            log.error("Unable to send {}", batch, e);
+        }
+    }
+
+    /**
+     * Invalidates cached entities and query cache entries of all entities of the received batch.
+     */
+    protected void applyInvalidationBatch(CacheInvalidationBatch batch) {
+        Set<String> typeNames = new HashSet<>();
+        batch.getIds().forEach((entityName, ids) -> {
+            MetaClass metaClass = metadata.findClass(entityName);
+            if (metaClass == null) {
+                log.debug("Unknown entity {} in cache invalidation batch", entityName);
+                return;
+            }
+            if (!ids.isEmpty()) {
+                invalidateObjects(metaClass.getJavaClass(), ids);
+            }
+            typeNames.add(extendedEntities.getOriginalOrThisMetaClass(metaClass).getName());
+        });
+        if (queryCacheManager.isEnabled()) {
+            queryCacheManager.invalidate(typeNames);
+        }
+    }
+
+    protected void invalidateObjects(Class<?> entityClass, Collection<Object> ids) {
+        IdentityMapAccessor identityMapAccessor = ((Session) rcm.getCommandProcessor()).getIdentityMapAccessor();
+        for (Object id : ids) {
+            identityMapAccessor.invalidateObject(id, entityClass, false);
+        }
+    }
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cache_coordination
+
+import io.jmix.core.ExtendedEntities
+import io.jmix.core.Metadata
+import io.jmix.core.impl.StandardSerialization
+import io.jmix.eclipselink.EclipselinkProperties
+import io.jmix.eclipselink.impl.entitycache.QueryCacheManager
+import io.jmix.eclipselink.impl.support.CacheInvalidationBatch
+import io.jmix.eclipselink.impl.support.EclipseLinkChannelSupplier
+import io.jmix.eclipselink.impl.support.JmixEclipseLinkRemoteConnection
+import org.eclipse.persistence.sessions.coordination.CommandProcessor
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.messaging.MessageHandler
+import org.springframework.messaging.support.ExecutorSubscribableChannel
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+
+/**
+ * Loopback cluster of several connections sharing an in-JVM channel.
+ */
+class ClusterCacheInvalidationTest extends DataSpec {
+
+    @Autowired
+    Metadata metadata
+    @Autowired
+    ExtendedEntities extendedEntities
+    @Autowired
+    QueryCacheManager queryCacheManager
+    @Autowired
+    StandardSerialization serialization
+
+    ExecutorSubscribableChannel channel
+    List<TestNode> nodes = []
+    int messageCount
+    long messageBytes
+
+    void setup() {
+        channel = new ExecutorSubscribableChannel()
+        channel.subscribe({ message ->
+            messageCount++
+            messageBytes += ((byte[]) message.payload).length
+        } as MessageHandler)
+    }
+
+    void cleanup() {
+        nodes.each { it.closeInternal() }
+    }
+
+    def "batch is encoded compactly and decoded back"() {
+        def batch = new CacheInvalidationBatch()
+        def uuids = (1..1000).collect { UUID.randomUUID() }
+        uuids.each { batch.add('sales_Customer', it) }
+        batch.add('test_LongIdEntity', 10L)
+        batch.add('test_IntIdEntity', 20)
+        batch.add('test_StringIdEntity', 'abc')
+        batch.add('test_OtherIdEntity', new BigDecimal('1.5'))
+        batch.add('sales_Customer', uuids[0])
+
+        when:
+        def bytes = batch.encode(serialization)
+        def decoded = CacheInvalidationBatch.decode(bytes, serialization)
+
+        then:
+        batch.size() == 1004
+        decoded.size() == 1004
+        decoded.ids == batch.ids
+        decoded.ids['sales_Customer'][0] == uuids[0]
+        bytes.length < 1000 * 17 + 500
+    }
+
+    def "transactions committed within the window are sent to all nodes by a single message"() {
+        def sender = createNode(60_000, 10_000)
+        def receivers = (1..3).collect { createNode(60_000, 10_000) }
+
+        def customerIds = (1..1000).collect { UUID.randomUUID() }
+        def orderIds = (1..100).collect { UUID.randomUUID() }
+
+        when:
+        customerIds.collate(10).eachWithIndex { ids, i ->
+            def batch = new CacheInvalidationBatch()
+            ids.each { batch.add('sales_Customer', it) }
+            batch.add('sales_Order', orderIds[i])
+            sender.enqueueInvalidationBatch(batch)
+        }
+
+        then:
+        messageCount == 0
+
+        when:
+        long sendTime = System.nanoTime()
+        sender.flushInvalidationBatch()
+
+        then:
+        messageCount == 1
+        receivers.every { it.invalidated[Customer] == customerIds as Set }
+        receivers.every { it.invalidated[Order] == orderIds as Set }
+        receivers.every { it.applyCount == 1 }
+
+        // UUID ids are packed to 17 bytes each, entity names are written once
+        messageBytes < (customerIds.size() + orderIds.size()) * 17 + 100
+        receivers.every { (it.applyTime - sendTime) / 1_000_000 < 1000 }
+    }
+
+    def "query caches are invalidated on other nodes when entities are only created"() {
+        def sender = createNode(0, 10_000)
+        def receiver = createNode(0, 10_000)
+        def receiverQueryCache = new TestQueryCacheManager()
+        receiver.queryCacheManager = receiverQueryCache
+
+        def batch = new CacheInvalidationBatch()
+        batch.addType('sales_Customer')
+
+        when:
+        sender.enqueueInvalidationBatch(batch)
+
+        then:
+        !batch.isEmpty()
+        batch.size() == 0
+        messageCount == 1
+        receiver.applyCount == 1
+        receiver.invalidated.isEmpty()
+        receiverQueryCache.invalidatedTypes == ['sales_Customer'] as Set
+    }
+
+    def "entities without ids are kept when the batch is merged and encoded"() {
+        def batch = new CacheInvalidationBatch()
+        batch.add('sales_Customer', UUID.randomUUID())
+        def other = new CacheInvalidationBatch()
+        other.addType('sales_Order')
+        batch.addAll(other)
+
+        when:
+        def decoded = CacheInvalidationBatch.decode(batch.encode(serialization), serialization)
+
+        then:
+        decoded.size() == 1
+        decoded.ids.keySet() == ['sales_Customer', 'sales_Order'] as Set
+        decoded.ids['sales_Order'].isEmpty()
+    }
+
+    def "batch is sent when the maximum size is reached"() {
+        def sender = createNode(60_000, 100)
+        def receiver = createNode(60_000, 100)
+
+        when:
+        25.times {
+            def batch = new CacheInvalidationBatch()
+            10.times { batch.add('sales_Customer', UUID.randomUUID()) }
+            sender.enqueueInvalidationBatch(batch)
+        }
+
+        then:
+        messageCount == 2
+        receiver.invalidated[Customer].size() == 200
+
+        when:
+        sender.closeInternal()
+
+        then:
+        messageCount == 3
+        receiver.invalidated[Customer].size() == 250
+    }
+
+    def "each transaction is sent immediately if the window is not set"() {
+        def sender = createNode(0, 10_000)
+        def receiver = createNode(0, 10_000)
+
+        when:
+        5.times {
+            def batch = new CacheInvalidationBatch()
+            batch.add('sales_Customer', UUID.randomUUID())
+            sender.enqueueInvalidationBatch(batch)
+        }
+        sender.enqueueInvalidationBatch(new CacheInvalidationBatch())
+
+        then:
+        messageCount == 5
+        receiver.applyCount == 5
+    }
+
+    TestNode createNode(long batchWindow, int batchMaxSize) {
+        def node = new TestNode(new RemoteCommandManager(Stub(CommandProcessor)))
+        node.metadata = metadata
+        node.extendedEntities = extendedEntities
+        node.queryCacheManager = queryCacheManager
+        node.serialization = serialization
+        node.properties = new EclipselinkProperties(true, 100, 1000, batchWindow, batchMaxSize, 0, null)
+        node.channelSupplier = { channel } as EclipseLinkChannelSupplier
+        node.init()
+        nodes << node
+        return node
+    }
+
+    static class TestQueryCacheManager extends QueryCacheManager {
+
+        Set<String> invalidatedTypes = []
+
+        @Override
+        boolean isEnabled() {
+            return true
+        }
+
+        @Override
+        void invalidate(Set<String> typeNames) {
+            invalidatedTypes.addAll(typeNames)
+        }
+    }
+
+    static class TestNode extends JmixEclipseLinkRemoteConnection {
+
+        Map<Class<?>, Set<Object>> invalidated = [:]
+        int applyCount
+        long applyTime
+
+        TestNode(RemoteCommandManager rcm) {
+            super(rcm)
+        }
+
+        @Override
+        protected void applyInvalidationBatch(CacheInvalidationBatch batch) {
+            super.applyInvalidationBatch(batch)
+            applyCount++
+            applyTime = System.nanoTime()
+        }
+
+        @Override
+        protected void invalidateObjects(Class<?> entityClass, Collection<Object> ids) {
+            invalidated.computeIfAbsent(entityClass, { new HashSet<>() }).addAll(ids)
+        }
+    }
+}
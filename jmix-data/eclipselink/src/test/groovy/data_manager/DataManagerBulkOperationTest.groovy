@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.BulkOperationContext
+import io.jmix.core.DataManager
+import io.jmix.core.LoadContext
+import io.jmix.core.Metadata
+import io.jmix.core.event.EntityChangedEvent
+import io.jmix.core.querycondition.PropertyCondition
+import io.jmix.data.PersistenceHints
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Status
+import test_support.listeners.TestBulkChangedEventListener
+
+class DataManagerBulkOperationTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    Metadata metadata
+    @Autowired
+    TestBulkChangedEventListener bulkChangedEventListener
+
+    void setup() {
+        bulkChangedEventListener.clear()
+
+        ['a1', 'a2', 'b1'].each { name ->
+            def customer = dataManager.create(Customer)
+            customer.name = name
+            dataManager.save(customer)
+        }
+    }
+
+    def "bulk update changes matching entities"() {
+        when:
+        def count = dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(Customer))
+                .setQuery(new LoadContext.Query('select e from sales_Customer e where e.name like :name')
+                        .setParameter('name', 'a%'))
+                .setValue('status', Status.OK))
+
+        then:
+        count == 2
+        dataManager.load(Customer).all().list()
+                .collectEntries { [it.name, it.status] } == [a1: Status.OK, a2: Status.OK, b1: null]
+        bulkChangedEventListener.events.last().type == EntityChangedEvent.Type.UPDATED
+        bulkChangedEventListener.events.last().attributes == ['status'] as Set
+        bulkChangedEventListener.events.last().count == 2
+    }
+
+    def "bulk delete of soft-deletable entities marks them deleted"() {
+        when:
+        def count = dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(Customer))
+                .setQuery(new LoadContext.Query('select e from sales_Customer e')
+                        .setCondition(PropertyCondition.equal('name', 'b1'))))
+
+        then:
+        count == 1
+        dataManager.load(Customer).all().list()*.name.sort() == ['a1', 'a2']
+
+        def deleted = dataManager.load(Customer).query('e.name = ?1', 'b1')
+                .hint(PersistenceHints.SOFT_DELETION, false)
+                .one()
+        deleted.deleteTs != null
+        bulkChangedEventListener.events.last().type == EntityChangedEvent.Type.DELETED
+    }
+
+    def "sorting of the query is not added to the bulk statement"() {
+        when:
+        def count = dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(Customer))
+                .setQuery(new LoadContext.Query('select e from sales_Customer e where e.name like :name order by e.name')
+                        .setParameter('name', 'a%'))
+                .setValue('status', Status.OK))
+
+        then:
+        count == 2
+        bulkChangedEventListener.events.size() == 1
+    }
+
+    def "bulk delete without soft deletion removes entities"() {
+        when:
+        def count = dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(Customer))
+                .setHint(PersistenceHints.SOFT_DELETION, false))
+
+        then:
+        count == 3
+        dataManager.load(Customer).all().hint(PersistenceHints.SOFT_DELETION, false).list().isEmpty()
+    }
+}
@@ -26,6 +26,7 @@ import test_support.entity.sales.Customer
 import test_support.entity.sales.Status
 
 import jakarta.persistence.TemporalType
+import java.util.stream.Collectors
 
 class FluentLoaderTest extends DataSpec {
     @Autowired
@@ -34,6 +35,8 @@ class FluentLoaderTest extends DataSpec {
     private FetchPlanRepository viewRepository
     @Autowired
     private Metadata metadata
+    @Autowired
+    private EntityStates entityStates
 
     private FetchPlan baseFP
     private Customer customer, customer2
@@ -427,4 +430,40 @@ class FluentLoaderTest extends DataSpec {
         loadContext.query.parameters['_p10'] == 'v10'
         loadContext.query.parameters['_p11'] == 'v11'
     }
+
+    def "test stream"() {
+        List<Customer> customers
+
+        when:
+
+        def stream = dataManager.load(Customer)
+                .query('select c from sales_Customer c order by c.name')
+                .hint(PersistenceHints.FETCH_SIZE, 1)
+                .stream()
+        try {
+            customers = stream.collect(Collectors.toList())
+        } finally {
+            stream.close()
+        }
+
+        then:
+
+        customers == [customer2, customer]
+        customers.every { entityStates.isDetached(it) }
+
+        when:
+
+        stream = dataManager.load(Customer)
+                .condition(PropertyCondition.equal('name', 'Smith'))
+                .stream()
+        try {
+            customers = stream.collect(Collectors.toList())
+        } finally {
+            stream.close()
+        }
+
+        then:
+
+        customers == [customer]
+    }
 }
@@ -212,4 +212,37 @@ class FetchGroupManagerTest extends DataSpec {
         entityStates.isLoaded(order.orderLines[0], 'product')
         entityStates.isLoaded(order.orderLines[0].product, 'quantity')
     }
+
+    def "fetch group description is cached for equal query and fetch plan"() {
+        def fetchPlan = fetchPlans.builder(Order)
+                .addFetchPlan(FetchPlan.BASE)
+                .add('customer', FetchPlan.BASE)
+                .build()
+        def sameFetchPlan = fetchPlans.builder(Order)
+                .addFetchPlan(FetchPlan.BASE)
+                .add('customer', FetchPlan.BASE)
+                .build()
+
+        when:
+        def description = fetchGroupManager.getFetchGroup('select o from sales_Order o', fetchPlan, false, true)
+
+        then:
+        description.immutable
+        description.hints['o.customer'] == QueryHints.LEFT_FETCH
+        fetchGroupManager.getFetchGroup('select o  from\n sales_Order o', sameFetchPlan, false, true).is(description)
+        !fetchGroupManager.getFetchGroup('select o from sales_Order o', fetchPlan, true, true).is(description)
+        !fetchGroupManager.getFetchGroup('select o from sales_Order o', fetchPlan, false, false).is(description)
+
+        when:
+        description.addAttribute('number')
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        fetchGroupManager.clearCache()
+
+        then:
+        !fetchGroupManager.getFetchGroup('select o from sales_Order o', fetchPlan, false, true).is(description)
+    }
 }
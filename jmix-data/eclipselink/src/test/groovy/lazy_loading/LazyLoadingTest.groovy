@@ -17,6 +17,8 @@
 package lazy_loading
 
 import io.jmix.core.*
+import io.jmix.eclipselink.impl.lazyloading.AbstractValueHolder
+import io.jmix.eclipselink.impl.lazyloading.ValueHoldersSupport
 import org.springframework.beans.factory.annotation.Autowired
 import test_support.DataSpec
 import test_support.entity.entity_extension.Address
@@ -303,6 +305,58 @@ class LazyLoadingTest extends DataSpec {
         jdbc.update("delete from TEST_LL_B")
     }
 
+    def "Lazy properties of entities of the same load are loaded together"() {
+        setup:
+        OneToManyEntity oneToManyEntity1 = dataManager.create(OneToManyEntity)
+        oneToManyEntity1.name = "One 1"
+        OneToManyEntity oneToManyEntity2 = dataManager.create(OneToManyEntity)
+        oneToManyEntity2.name = "One 2"
+
+        ManyToOneEntity manyToOneEntity1 = dataManager.create(ManyToOneEntity)
+        manyToOneEntity1.name = "Many 1"
+        manyToOneEntity1.oneToManyEntity = oneToManyEntity1
+        ManyToOneEntity manyToOneEntity2 = dataManager.create(ManyToOneEntity)
+        manyToOneEntity2.name = "Many 2"
+        manyToOneEntity2.oneToManyEntity = oneToManyEntity2
+        ManyToOneEntity manyToOneEntity3 = dataManager.create(ManyToOneEntity)
+        manyToOneEntity3.name = "Many 3"
+        manyToOneEntity3.oneToManyEntity = oneToManyEntity1
+
+        dataManager.save(oneToManyEntity1, oneToManyEntity2, manyToOneEntity1, manyToOneEntity2, manyToOneEntity3)
+
+        when: "reference of the first loaded entity is accessed"
+        List<ManyToOneEntity> manyToOneEntities = dataManager.load(ManyToOneEntity)
+                .ids(manyToOneEntity1.id, manyToOneEntity2.id, manyToOneEntity3.id)
+                .fetchPlan(FetchPlan.LOCAL)
+                .list()
+                .sort { it.name }
+        def firstReference = manyToOneEntities[0].oneToManyEntity
+
+        then: "references of other entities are loaded too"
+        firstReference == oneToManyEntity1
+        ((AbstractValueHolder) ValueHoldersSupport.getSingleValueHolder(manyToOneEntities[1], "oneToManyEntity")).isInstantiated()
+        ((AbstractValueHolder) ValueHoldersSupport.getSingleValueHolder(manyToOneEntities[2], "oneToManyEntity")).isInstantiated()
+        manyToOneEntities[1].oneToManyEntity == oneToManyEntity2
+        manyToOneEntities[2].oneToManyEntity.is(firstReference)
+
+        when: "collection of the first loaded entity is accessed"
+        List<OneToManyEntity> oneToManyEntities = dataManager.load(OneToManyEntity)
+                .ids(oneToManyEntity1.id, oneToManyEntity2.id)
+                .fetchPlan(FetchPlan.LOCAL)
+                .list()
+                .sort { it.name }
+        def firstCollection = oneToManyEntities[0].manyToOneEntities
+
+        then: "collections of other entities are loaded too"
+        firstCollection.size() == 2
+        ((AbstractValueHolder) ValueHoldersSupport.getCollectionValueHolder(oneToManyEntities[1], "manyToOneEntities")).isInstantiated()
+        oneToManyEntities[1].manyToOneEntities == [manyToOneEntity2]
+
+        cleanup:
+        jdbc.update("delete from TEST_MANY_TO_ONE_ENTITY")
+        jdbc.update("delete from TEST_ONE_TO_MANY_ENTITY")
+    }
+
     boolean checkManyToManyDuplicate(ManyToManySecondEntity entity) {
         boolean contains = false
         for (ManyToManySecondEntity lazyLoadedEntity : entity.manyToManyFirstEntities.iterator().next().manyToManySecondEntities) {
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package query_cache
+
+import io.jmix.core.CacheOperations
+import io.jmix.eclipselink.EclipselinkProperties
+import io.jmix.eclipselink.impl.entitycache.QueryKey
+import io.jmix.eclipselink.impl.entitycache.QueryResult
+import io.jmix.eclipselink.impl.entitycache.StandardQueryCache
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager
+import spock.lang.Specification
+
+class QueryCachePartitionTest extends Specification {
+
+    StandardQueryCache queryCache
+    SimpleMeterRegistry meterRegistry
+
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry()
+        queryCache = new StandardQueryCache()
+        queryCache.cacheManager = new ConcurrentMapCacheManager(StandardQueryCache.QUERY_CACHE_NAME)
+        queryCache.cacheOperations = new CacheOperations()
+        queryCache.properties = new EclipselinkProperties(true, 100, 1000, 50, 10000, 2, [big: 3])
+        queryCache.meterRegistry = meterRegistry
+        queryCache.init()
+    }
+
+    def "query cached in one partition is not visible in another"() {
+        when:
+        queryCache.put(key('select e from sales_Customer e', 'a'), result('sales_Customer'))
+
+        then:
+        queryCache.get(key('select e from sales_Customer e', 'a')) != null
+        queryCache.get(key('select e from sales_Customer e', 'b')) == null
+        queryCache.get(key('select e from sales_Customer e', '')) == null
+    }
+
+    def "least recently used queries are discarded when partition exceeds its size"() {
+        queryCache.put(key('q1', 'b'), result('sales_Customer'))
+
+        when:
+        queryCache.put(key('q1', 'a'), result('sales_Customer'))
+        queryCache.put(key('q2', 'a'), result('sales_Customer'))
+        queryCache.get(key('q1', 'a'))
+        queryCache.put(key('q3', 'a'), result('sales_Customer'))
+
+        (1..3).each { queryCache.put(key("q$it", 'big'), result('sales_Customer')) }
+
+        then:
+        queryCache.get(key('q1', 'a')) != null
+        queryCache.get(key('q2', 'a')) == null
+        queryCache.get(key('q3', 'a')) != null
+        queryCache.get(key('q1', 'b')) != null
+        (1..3).every { queryCache.get(key("q$it", 'big')) != null }
+
+        def statistics = queryCache.partitionStatistics
+        statistics['a'].size == 2
+        statistics['a'].evictionCount == 1
+        statistics['b'].size == 1
+        statistics['big'].size == 3
+        statistics['big'].evictionCount == 0
+    }
+
+    def "invalidation in partitions does not affect other partitions"() {
+        queryCache.put(key('q1', 'a'), result('sales_Customer'))
+        queryCache.put(key('q1', 'b'), result('sales_Customer'))
+        queryCache.put(key('q1', ''), result('sales_Customer'))
+        queryCache.put(key('q2', 'a'), result('sales_Order'))
+
+        when:
+        queryCache.invalidate(['sales_Customer'] as Set, ['a', ''] as Set)
+
+        then:
+        queryCache.get(key('q1', 'a')) == null
+        queryCache.get(key('q1', '')) == null
+        queryCache.get(key('q1', 'b')) != null
+        queryCache.get(key('q2', 'a')) != null
+
+        when:
+        queryCache.invalidatePartition('a')
+
+        then:
+        queryCache.get(key('q2', 'a')) == null
+        queryCache.get(key('q1', 'b')) != null
+    }
+
+    def "hits and misses are counted by partition"() {
+        queryCache.put(key('q1', 'a'), result('sales_Customer'))
+
+        when:
+        queryCache.get(key('q1', 'a'))
+        queryCache.get(key('q1', 'a'))
+        queryCache.get(key('q2', 'a'))
+        queryCache.get(key('q1', 'b'))
+
+        then:
+        queryCache.partitionStatistics['a'].hitCount == 2
+        queryCache.partitionStatistics['a'].missCount == 1
+        queryCache.partitionStatistics['b'].hitCount == 0
+        queryCache.partitionStatistics['b'].missCount == 1
+        meterRegistry.get('cache.gets').tags('partition', 'a', 'result', 'hit').counter().count() == 2
+        meterRegistry.get('cache.gets').tags('partition', 'b', 'result', 'miss').counter().count() == 1
+    }
+
+    private static QueryKey key(String queryString, String partition) {
+        return new QueryKey(queryString, 0, 0, false, false, null, null, [:], partition)
+    }
+
+    private static QueryResult result(String type) {
+        return new QueryResult([UUID.randomUUID()], type, [type] as Set)
+    }
+}
@@ -38,6 +38,16 @@ public interface EmailDataProvider {
      */
     void updateStatus(SendingMessage sendingMessage, SendingStatus status);
 
+    /**
+     * Update status for specified messages. Implementations may update all messages at once.
+     *
+     * @param sendingMessages messages
+     * @param status new status
+     */
+    default void updateStatus(List<SendingMessage> sendingMessages, SendingStatus status) {
+        sendingMessages.forEach(sendingMessage -> updateStatus(sendingMessage, status));
+    }
+
     /**
      * Loads content text for given message.
      *
@@ -19,6 +19,10 @@ package io.jmix.email;
 import io.jmix.email.entity.SendingMessage;
 
 import jakarta.mail.MessagingException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Adapter to javax.mail email sending API.
  * <br>
@@ -34,4 +38,25 @@ public interface EmailSender {
      * @throws MessagingException if delivery fails
      */
     void sendEmail(SendingMessage sendingMessage) throws MessagingException;
-}
\ No newline at end of file
+
+    /**
+     * Sends several emails. Implementations may reuse SMTP connections between the messages.
+     * Message body and attachments' content must be loaded from file storage.
+     * <br>
+     * The default implementation sends messages one by one using {@link #sendEmail(SendingMessage)}.
+     *
+     * @param sendingMessages messages to send
+     * @return exceptions of the messages that have not been sent, empty map if all messages are sent
+     */
+    default Map<SendingMessage, Exception> sendEmails(List<SendingMessage> sendingMessages) {
+        Map<SendingMessage, Exception> failedMessages = new LinkedHashMap<>();
+        for (SendingMessage sendingMessage : sendingMessages) {
+            try {
+                sendEmail(sendingMessage);
+            } catch (Exception e) {
+                failedMessages.put(sendingMessage, e);
+            }
+        }
+        return failedMessages;
+    }
+}
@@ -18,6 +18,7 @@ package io.jmix.email;
 
 import io.jmix.email.entity.SendingAttachment;
 import io.jmix.email.entity.SendingMessage;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
@@ -118,6 +119,18 @@ public class EmailerProperties {
      */
     boolean cleanFileStorage;
 
+    /**
+     * Whether queued messages are sent in batches, each batch over a single SMTP connection,
+     * instead of opening a connection for every message.
+     */
+    boolean batchSendingEnabled;
+
+    /**
+     * Maximum number of messages sent over a single SMTP connection when {@link #batchSendingEnabled} is true.
+     */
+    @Positive
+    int maxMessagesPerConnection;
+
     public EmailerProperties(@DefaultValue("DoNotReply@localhost") String fromAddress,
                              @DefaultValue("2") int scheduledSendingDelayCallCount,
                              @DefaultValue("100") int messageQueueCapacity,
@@ -131,7 +144,9 @@ public class EmailerProperties {
                              @DefaultValue("0") int maxAgeOfImportantMessages,
                              @DefaultValue("0") int maxAgeOfNonImportantMessages,
                              @DefaultValue("0 0 0 * * ?") String emailCleaningCron,
-                             @DefaultValue("false") boolean cleanFileStorage) {
+                             @DefaultValue("false") boolean cleanFileStorage,
+                             @DefaultValue("false") boolean batchSendingEnabled,
+                             @DefaultValue("50") int maxMessagesPerConnection) {
         this.fromAddress = fromAddress;
         this.scheduledSendingDelayCallCount = scheduledSendingDelayCallCount;
         this.messageQueueCapacity = messageQueueCapacity;
@@ -146,6 +161,8 @@ public class EmailerProperties {
         this.maxAgeOfNonImportantMessages = maxAgeOfNonImportantMessages;
         this.emailCleaningCron = emailCleaningCron;
         this.cleanFileStorage = cleanFileStorage;
+        this.batchSendingEnabled = batchSendingEnabled;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
     }
 
     /**
@@ -259,4 +276,18 @@ public class EmailerProperties {
     public boolean getCleanFileStorage() {
         return cleanFileStorage;
     }
+
+    /**
+     * @see #batchSendingEnabled
+     */
+    public boolean isBatchSendingEnabled() {
+        return batchSendingEnabled;
+    }
+
+    /**
+     * @see #maxMessagesPerConnection
+     */
+    public int getMaxMessagesPerConnection() {
+        return maxMessagesPerConnection;
+    }
 }
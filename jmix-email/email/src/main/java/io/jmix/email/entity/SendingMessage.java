@@ -150,6 +150,9 @@ public class SendingMessage implements Serializable {
     @Column(name = "IMPORTANT")
     protected Boolean important = false;
 
+    @Column(name = "CLAIM_TOKEN")
+    protected UUID claimToken;
+
     @PrePersist
     protected void initLastAttemptTime() {
         if (getStatus() != null && getStatus() == SendingStatus.QUEUE && getAttemptsMade() == 0) {
@@ -166,6 +169,17 @@ public class SendingMessage implements Serializable {
         this.important = important;
     }
 
+    /**
+     * @return token of the last poll of the queue that claimed the message for sending
+     */
+    public UUID getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(UUID claimToken) {
+        this.claimToken = claimToken;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -16,6 +16,7 @@
 
 package io.jmix.email.impl;
 
+import com.google.common.collect.Lists;
 import io.jmix.core.*;
 import io.jmix.data.PersistenceHints;
 import io.jmix.data.impl.EntityEventManager;
@@ -39,17 +40,24 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Component("email_EmailDataProvider")
 public class EmailDataProviderImpl implements EmailDataProvider {
 
     protected static final String BODY_FILE_EXTENSION = "txt";
 
+    protected static final int STATUS_UPDATE_BATCH_SIZE = 500;
+
     private static final Logger log = LoggerFactory.getLogger(EmailDataProviderImpl.class);
 
     @Autowired
@@ -83,57 +91,144 @@ public class EmailDataProviderImpl implements EmailDataProvider {
         transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
+    /**
+     * Claims queued messages and loads them. Messages are claimed by set-based updates to
+     * {@link SendingStatus#SENDING} that re-check the queue conditions and mark the rows with a token unique to
+     * this poll, so when several nodes poll the queue concurrently, every message is claimed and sent by only one
+     * of them. The claimed messages are then loaded by the token.
+     */
     @Override
     public List<SendingMessage> loadEmailsToSend() {
         Date sendTimeoutTime = DateUtils.addSeconds(timeSource.currentTimestamp(), -emailerProperties.getSendingTimeoutSec());
 
-        List<SendingMessage> emailsToSend = new ArrayList<>();
         FetchPlan fetchPlan = fetchPlanRepository.getFetchPlan(SendingMessage.class, "sendingMessage.loadFromQueue");
-        transaction.executeWithoutResult(status -> {
-            List<SendingMessage> resList = entityManager.createQuery(
-                    "select sm from email_SendingMessage sm" +
+        List<SendingMessage> emailsToSend = transaction.execute(status -> {
+            List<UUID> candidateIds = entityManager.createQuery(
+                    "select sm.id from email_SendingMessage sm" +
                             " where sm.status = :statusQueue or (sm.status = :statusSending and sm.updateTs < :time)" +
-                            " order by sm.createTs",
-                    SendingMessage.class)
+                            " order by sm.createTs", UUID.class)
                     .setParameter("statusQueue", SendingStatus.QUEUE.getId())
                     .setParameter("time", sendTimeoutTime)
                     .setParameter("statusSending", SendingStatus.SENDING.getId())
-                    .setHint(PersistenceHints.FETCH_PLAN, fetchPlan)
                     .setMaxResults(emailerProperties.getMessageQueueCapacity())
                     .getResultList();
+            if (candidateIds.isEmpty()) {
+                return new ArrayList<SendingMessage>();
+            }
 
-            resList.forEach(msg -> {
-                    msg.setStatus(SendingStatus.SENDING);
-                    emailsToSend.add(msg);
-            });
+            UUID claimToken = UUID.randomUUID();
+            if (claimMessages(candidateIds, claimToken, sendTimeoutTime) == 0) {
+                return new ArrayList<SendingMessage>();
+            }
+
+            return entityManager.createQuery(
+                    "select sm from email_SendingMessage sm where sm.claimToken = :claimToken order by sm.createTs",
+                    SendingMessage.class)
+                    .setParameter("claimToken", claimToken)
+                    .setHint(PersistenceHints.FETCH_PLAN, fetchPlan)
+                    .getResultList();
         });
 
-        emailsToSend.forEach(this::loadBodyAndAttachments);
+        if (emailsToSend == null) {
+            return new ArrayList<>();
+        }
+
+        loadBodiesAndAttachments(emailsToSend);
 
         return emailsToSend;
     }
 
+    /**
+     * Moves the candidate messages to {@link SendingStatus#SENDING} status with one update per chunk of ids. The
+     * update re-checks that a message is still queued or its sending has timed out, so messages claimed by another
+     * node in between are skipped. Claimed messages are marked with the given token.
+     *
+     * @param candidateIds    ids of the messages selected from the queue
+     * @param claimToken      token identifying messages claimed by this poll
+     * @param sendTimeoutTime messages in {@link SendingStatus#SENDING} status updated before this time are claimed again
+     * @return number of successfully claimed messages
+     */
+    protected int claimMessages(List<UUID> candidateIds, UUID claimToken, Date sendTimeoutTime) {
+        Date now = timeSource.currentTimestamp();
+        int claimed = 0;
+        for (List<UUID> idsChunk : Lists.partition(candidateIds, STATUS_UPDATE_BATCH_SIZE)) {
+            claimed += entityManager.createQuery(
+                    "update email_SendingMessage sm set sm.status = :statusSending, sm.claimToken = :claimToken," +
+                            " sm.updateTs = :updateTs, sm.version = sm.version + 1" +
+                            " where sm.id in :ids" +
+                            " and (sm.status = :statusQueue or (sm.status = :statusSending and sm.updateTs < :time))")
+                    .setParameter("statusSending", SendingStatus.SENDING.getId())
+                    .setParameter("claimToken", claimToken)
+                    .setParameter("updateTs", now)
+                    .setParameter("ids", idsChunk)
+                    .setParameter("statusQueue", SendingStatus.QUEUE.getId())
+                    .setParameter("time", sendTimeoutTime)
+                    .executeUpdate();
+        }
+        log.trace("Claimed {} of {} queued messages", claimed, candidateIds.size());
+        return claimed;
+    }
+
     @Override
     public void updateStatus(SendingMessage sendingMessage, SendingStatus status) {
         try {
-            transaction.executeWithoutResult(transactionStatus -> {
-                SendingMessage msg = entityManager.merge(sendingMessage);
-
-                msg.setAttemptsMade(msg.getAttemptsMade() + 1);
-                msg.setStatus(status);
+            transaction.executeWithoutResult(transactionStatus -> mergeStatus(sendingMessage, status));
+        } catch (Exception e) {
+            log.error(buildErrorMessage(status), sendingMessage.getAddress(), e);
+        }
+    }
 
-                if(status == SendingStatus.QUEUE && shouldMarkNotSent(msg)) {
-                    msg.setStatus(SendingStatus.NOT_SENT);
-                }
+    /**
+     * Updates status of all messages in a single transaction. Successfully sent messages are updated by
+     * bulk JPQL statements, other statuses require checking attempts limit and deadline of every message.
+     */
+    @Override
+    public void updateStatus(List<SendingMessage> sendingMessages, SendingStatus status) {
+        if (sendingMessages.isEmpty()) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(transactionStatus -> {
                 if (status == SendingStatus.SENT) {
-                    msg.setDateSent(timeSource.currentTimestamp());
-                }
-                if (emailerProperties.isUseFileStorage()) {
-                    msg.setContentText(null);
+                    List<UUID> ids = sendingMessages.stream()
+                            .map(SendingMessage::getId)
+                            .collect(Collectors.toList());
+                    Date now = timeSource.currentTimestamp();
+                    for (List<UUID> idsChunk : Lists.partition(ids, STATUS_UPDATE_BATCH_SIZE)) {
+                        entityManager.createQuery(
+                                "update email_SendingMessage sm set sm.status = :status, sm.dateSent = :dateSent," +
+                                        " sm.updateTs = :updateTs, sm.attemptsMade = sm.attemptsMade + 1," +
+                                        " sm.version = sm.version + 1" +
+                                        " where sm.id in :ids")
+                                .setParameter("status", SendingStatus.SENT.getId())
+                                .setParameter("dateSent", now)
+                                .setParameter("updateTs", now)
+                                .setParameter("ids", idsChunk)
+                                .executeUpdate();
+                    }
+                } else {
+                    sendingMessages.forEach(sendingMessage -> mergeStatus(sendingMessage, status));
                 }
             });
         } catch (Exception e) {
-            log.error(buildErrorMessage(status), sendingMessage.getAddress(), e);
+            log.error("Error updating status of {} messages to {}", sendingMessages.size(), status, e);
+        }
+    }
+
+    protected void mergeStatus(SendingMessage sendingMessage, SendingStatus status) {
+        SendingMessage msg = entityManager.merge(sendingMessage);
+
+        msg.setAttemptsMade(msg.getAttemptsMade() + 1);
+        msg.setStatus(status);
+
+        if (status == SendingStatus.QUEUE && shouldMarkNotSent(msg)) {
+            msg.setStatus(SendingStatus.NOT_SENT);
+        }
+        if (status == SendingStatus.SENT) {
+            msg.setDateSent(timeSource.currentTimestamp());
+        }
+        if (emailerProperties.isUseFileStorage()) {
+            msg.setContentText(null);
         }
     }
 
@@ -231,17 +326,32 @@ public class EmailDataProviderImpl implements EmailDataProvider {
         return res;
     }
 
+    /**
+     * Loads bodies and attachment contents of the messages from file storage. Every distinct file is read once,
+     * so attachments shared by several messages of the batch (e.g. a mailing) do not hit the storage repeatedly.
+     */
+    protected void loadBodiesAndAttachments(List<SendingMessage> messages) {
+        Map<FileRef, byte[]> loadedFiles = new HashMap<>();
+        for (SendingMessage message : messages) {
+            loadBodyAndAttachments(message, loadedFiles);
+        }
+    }
+
     protected void loadBodyAndAttachments(SendingMessage message) {
+        loadBodyAndAttachments(message, new HashMap<>());
+    }
+
+    protected void loadBodyAndAttachments(SendingMessage message, Map<FileRef, byte[]> loadedFiles) {
         try {
             if (message.getContentTextFile() != null) {
-                byte[] bodyContent = IOUtils.toByteArray(getFileStorage().openStream(message.getContentTextFile()));
+                byte[] bodyContent = loadFile(message.getContentTextFile(), loadedFiles);
                 String body = bodyTextFromByteArray(bodyContent);
                 message.setContentText(body);
             }
 
             for (SendingAttachment attachment : message.getAttachments()) {
                 if (attachment.getContentFile() != null) {
-                    byte[] content = IOUtils.toByteArray(getFileStorage().openStream(attachment.getContentFile()));
+                    byte[] content = loadFile(attachment.getContentFile(), loadedFiles);
                     attachment.setContent(content);
                 }
             }
@@ -250,6 +360,17 @@ public class EmailDataProviderImpl implements EmailDataProvider {
         }
     }
 
+    protected byte[] loadFile(FileRef fileRef, Map<FileRef, byte[]> loadedFiles) throws IOException {
+        byte[] content = loadedFiles.get(fileRef);
+        if (content == null) {
+            try (InputStream inputStream = getFileStorage().openStream(fileRef)) {
+                content = IOUtils.toByteArray(inputStream);
+            }
+            loadedFiles.put(fileRef, content);
+        }
+        return content;
+    }
+
     protected void persistSendingMessage(SendingMessage message, MessagePersistingContext context) {
         boolean useFileStorage = emailerProperties.isUseFileStorage();
 
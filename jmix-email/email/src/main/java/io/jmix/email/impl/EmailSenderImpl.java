@@ -18,11 +18,13 @@ package io.jmix.email.impl;
 
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
 import io.jmix.core.CoreProperties;
 import io.jmix.core.FileTypesHelper;
 import io.jmix.core.TimeSource;
 import io.jmix.email.EmailHeader;
 import io.jmix.email.EmailSender;
+import io.jmix.email.EmailerProperties;
 import io.jmix.email.entity.SendingAttachment;
 import io.jmix.email.entity.SendingMessage;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -31,6 +33,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Component;
 
@@ -43,6 +47,10 @@ import jakarta.mail.internet.*;
 import java.io.*;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component("email_EmailSender")
 public class EmailSenderImpl implements EmailSender {
@@ -61,6 +69,9 @@ public class EmailSenderImpl implements EmailSender {
     @Autowired
     protected MeterRegistry meterRegistry;
 
+    @Autowired
+    protected EmailerProperties emailerProperties;
+
     @Override
     public void sendEmail(SendingMessage sendingMessage) throws MessagingException {
         MimeMessage msg = createMimeMessage(sendingMessage);
@@ -72,6 +83,53 @@ public class EmailSenderImpl implements EmailSender {
         log.info("Email '{}' to '{}' has been sent successfully", msg.getSubject(), sendingMessage.getAddress());
     }
 
+    /**
+     * Sends messages in chunks of {@link EmailerProperties#getMaxMessagesPerConnection()}, each chunk over a single
+     * SMTP connection. If the connection is dropped in the middle of a chunk, {@link JavaMailSender} reconnects
+     * before sending the next message; messages rejected by the server are reported without interrupting the chunk.
+     */
+    @Override
+    public Map<SendingMessage, Exception> sendEmails(List<SendingMessage> sendingMessages) {
+        Map<SendingMessage, Exception> failedMessages = new LinkedHashMap<>();
+        Map<MimeMessage, SendingMessage> mimeMessages = new LinkedHashMap<>();
+        for (SendingMessage sendingMessage : sendingMessages) {
+            try {
+                mimeMessages.put(createMimeMessage(sendingMessage), sendingMessage);
+            } catch (Exception e) {
+                failedMessages.put(sendingMessage, e);
+            }
+        }
+
+        int chunkSize = emailerProperties.getMaxMessagesPerConnection();
+        for (List<MimeMessage> chunk : Lists.partition(new ArrayList<>(mimeMessages.keySet()), chunkSize)) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                mailSender.send(chunk.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                Map<Object, Exception> chunkFailures = e.getFailedMessages();
+                if (chunkFailures.isEmpty()) {
+                    chunk.forEach(mimeMessage -> failedMessages.put(mimeMessages.get(mimeMessage), e));
+                } else {
+                    chunkFailures.forEach((mimeMessage, exception) -> {
+                        SendingMessage sendingMessage = mimeMessages.get(mimeMessage);
+                        if (sendingMessage != null) {
+                            failedMessages.put(sendingMessage, exception instanceof MailException
+                                    ? exception
+                                    : new MailSendException("Failed to send message", exception));
+                        }
+                    });
+                }
+            } catch (MailException e) {
+                chunk.forEach(mimeMessage -> failedMessages.put(mimeMessages.get(mimeMessage), e));
+            }
+            sample.stop(meterRegistry.timer("jmix.EmailSender.sendBatch"));
+        }
+
+        log.info("{} of {} emails have been sent successfully",
+                sendingMessages.size() - failedMessages.size(), sendingMessages.size());
+        return failedMessages;
+    }
+
     protected MimeMessage createMimeMessage(SendingMessage sendingMessage) throws MessagingException {
         MimeMessage msg = mailSender.createMimeMessage();
         assignRecipient(Message.RecipientType.TO, sendingMessage.getAddress(), msg);
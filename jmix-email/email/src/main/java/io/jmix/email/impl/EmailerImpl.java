@@ -16,6 +16,7 @@
 package io.jmix.email.impl;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import io.jmix.core.Metadata;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.security.SystemAuthenticator;
@@ -189,6 +190,47 @@ public class EmailerImpl implements Emailer {
         }
     }
 
+    /**
+     * Sends the messages using {@link EmailSender#sendEmails(List)} and updates their statuses in bulk.
+     */
+    protected void sendSendingMessages(List<SendingMessage> sendingMessages) {
+        List<SendingMessage> messagesToSend = new ArrayList<>(sendingMessages.size());
+        List<SendingMessage> invalidMessages = new ArrayList<>();
+        for (SendingMessage sendingMessage : sendingMessages) {
+            if (sendingMessage.getAddress() == null || sendingMessage.getSubject() == null
+                    || sendingMessage.getContentText() == null || sendingMessage.getFrom() == null) {
+                log.warn("Unable to send email '{}' to '{}': address, subject, body or from address is null",
+                        sendingMessage.getSubject(), sendingMessage.getAddress());
+                invalidMessages.add(sendingMessage);
+            } else {
+                messagesToSend.add(sendingMessage);
+            }
+        }
+
+        Map<SendingMessage, Exception> failedMessages = emailSender.sendEmails(messagesToSend);
+
+        List<SendingMessage> sentMessages = new ArrayList<>(messagesToSend.size());
+        List<SendingMessage> messagesToRetry = new ArrayList<>();
+        List<SendingMessage> notSentMessages = new ArrayList<>(invalidMessages);
+        for (SendingMessage sendingMessage : messagesToSend) {
+            Exception e = failedMessages.get(sendingMessage);
+            if (e == null) {
+                sentMessages.add(sendingMessage);
+            } else {
+                log.warn("Unable to send email to '{}'", sendingMessage.getAddress(), e);
+                if (isNeedToRetry(e)) {
+                    messagesToRetry.add(sendingMessage);
+                } else {
+                    notSentMessages.add(sendingMessage);
+                }
+            }
+        }
+
+        emailDataProvider.updateStatus(sentMessages, SendingStatus.SENT);
+        emailDataProvider.updateStatus(messagesToRetry, SendingStatus.QUEUE);
+        emailDataProvider.updateStatus(notSentMessages, SendingStatus.NOT_SENT);
+    }
+
     protected void persistAndSendEmail(EmailInfo emailInfo) throws EmailException {
         Objects.requireNonNull(emailInfo.getAddresses(), "addresses are null");
         Objects.requireNonNull(emailInfo.getSubject(), "subject is null");
@@ -281,7 +323,12 @@ public class EmailerImpl implements Emailer {
         List<SendingMessage> messagesToSend = emailDataProvider.loadEmailsToSend();
         log.trace("Found {} messages to be sent", messagesToSend.size());
 
-        messagesToSend.forEach(this::submitExecutorTask);
+        if (emailerProperties.isBatchSendingEnabled()) {
+            Lists.partition(messagesToSend, emailerProperties.getMaxMessagesPerConnection())
+                    .forEach(this::submitBatchExecutorTask);
+        } else {
+            messagesToSend.forEach(this::submitExecutorTask);
+        }
 
         if (messagesToSend.isEmpty()) {
             return "";
@@ -304,6 +351,20 @@ public class EmailerImpl implements Emailer {
         }
     }
 
+    protected void submitBatchExecutorTask(List<SendingMessage> messages) {
+        try {
+            Runnable mailSendTask = applicationContext.getBean(EmailBatchSendTask.class, new ArrayList<>(messages));
+            mailSendTaskExecutor.execute(mailSendTask);
+        } catch (RejectedExecutionException e) {
+            emailDataProvider.updateStatus(messages, SendingStatus.QUEUE);
+        } catch (Exception e) {
+            log.error("Exception while sending batch of {} emails: ", messages.size(), e);
+
+            SendingStatus newStatus = isNeedToRetry(e) ? SendingStatus.QUEUE : SendingStatus.NOT_SENT;
+            emailDataProvider.updateStatus(messages, newStatus);
+        }
+    }
+
     protected String getContentBodyType(SendingMessage sendingMessage) {
         String bodyContentType;
         String text = sendingMessage.getContentText();
@@ -42,7 +42,16 @@ import jakarta.mail.internet.MimeMultipart;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -439,6 +448,134 @@ public class EmailerTest {
         assertEquals(2, sendingMsg.getAttemptsLimit().intValue());
     }
 
+    @Test
+    public void testQueuedMessagesClaimedOnce() throws Exception {
+        testMailSender.clearBuffer();
+
+        List<SendingMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            EmailInfo myInfo = EmailInfoBuilder.create()
+                    .setAddresses("recipient" + i + "@example.com")
+                    .setSubject("Test " + i)
+                    .setBody("Test Email Body")
+                    .build();
+            messages.add(emailer.sendEmailAsync(myInfo));
+        }
+
+        List<SendingMessage> claimed = emailDataProvider.loadEmailsToSend();
+        assertEquals(3, claimed.size());
+        for (SendingMessage message : claimed) {
+            assertTrue(messages.contains(message));
+            assertEquals(SendingStatus.SENDING, message.getStatus());
+            assertEquals(SendingStatus.SENDING, reload(message).getStatus());
+        }
+
+        // already claimed messages are not returned to another poller
+        assertTrue(emailDataProvider.loadEmailsToSend().isEmpty());
+
+        emailDataProvider.updateStatus(claimed, SendingStatus.SENT);
+        for (SendingMessage message : messages) {
+            assertEquals(SendingStatus.SENT, reload(message).getStatus());
+        }
+    }
+
+    @Test
+    public void testQueuedMessagesClaimedOnceByConcurrentPollers() throws Exception {
+        testMailSender.clearBuffer();
+
+        List<SendingMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            EmailInfo myInfo = EmailInfoBuilder.create()
+                    .setAddresses("recipient" + i + "@example.com")
+                    .setSubject("Test " + i)
+                    .setBody("Test Email Body")
+                    .build();
+            messages.add(emailer.sendEmailAsync(myInfo));
+        }
+
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<List<SendingMessage>>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(executor.submit(() -> {
+                    barrier.await(10, TimeUnit.SECONDS);
+                    return emailDataProvider.loadEmailsToSend();
+                }));
+            }
+
+            Set<SendingMessage> claimed = new HashSet<>();
+            List<SendingMessage> allClaimed = new ArrayList<>();
+            for (Future<List<SendingMessage>> result : results) {
+                List<SendingMessage> pollerMessages = result.get(30, TimeUnit.SECONDS);
+                for (SendingMessage message : pollerMessages) {
+                    assertTrue(claimed.add(message), "Message claimed by both pollers: " + message.getId());
+                }
+                allClaimed.addAll(pollerMessages);
+            }
+            assertTrue(claimed.containsAll(messages));
+
+            emailDataProvider.updateStatus(allClaimed, SendingStatus.SENT);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBatchSending() throws Exception {
+        EmailerConfigPropertiesAccess.setBatchSendingEnabled(emailerProperties, true);
+        EmailerConfigPropertiesAccess.setMaxMessagesPerConnection(emailerProperties, 2);
+        testMailSender.clearBuffer();
+        try {
+            List<SendingMessage> messages = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                EmailInfo myInfo = EmailInfoBuilder.create()
+                        .setAddresses("recipient" + i + "@example.com")
+                        .setSubject("Test " + i)
+                        .setBody("Test Email Body")
+                        .build();
+                messages.add(emailer.sendEmailAsync(myInfo));
+            }
+
+            emailer.processQueuedEmails();
+
+            assertEquals(5, testMailSender.getBufferSize());
+            assertEquals(3, testMailSender.getSendCallCount());
+            for (SendingMessage message : messages) {
+                SendingMessage sendingMsg = reload(message);
+                assertEquals(SendingStatus.SENT, sendingMsg.getStatus());
+                assertNotNull(sendingMsg.getDateSent());
+                assertEquals(1, sendingMsg.getAttemptsMade().intValue());
+            }
+        } finally {
+            EmailerConfigPropertiesAccess.setBatchSendingEnabled(emailerProperties, false);
+        }
+    }
+
+    @Test
+    public void testBatchSendingFail() throws Exception {
+        EmailerConfigPropertiesAccess.setBatchSendingEnabled(emailerProperties, true);
+        testMailSender.clearBuffer();
+        testMailSender.failPlease();
+        try {
+            EmailInfo myInfo = EmailInfoBuilder.create()
+                    .setAddresses("recipient@example.com")
+                    .setSubject("Test")
+                    .setBody("Test Email Body")
+                    .build();
+            SendingMessage message = emailer.sendEmailAsync(myInfo, 2, getDeadlineWhichDoesntMatter());
+
+            emailer.processQueuedEmails();
+
+            SendingMessage sendingMsg = reload(message);
+            assertEquals(SendingStatus.QUEUE, sendingMsg.getStatus());
+            assertEquals(1, sendingMsg.getAttemptsMade().intValue());
+        } finally {
+            testMailSender.workNormallyPlease();
+            EmailerConfigPropertiesAccess.setBatchSendingEnabled(emailerProperties, false);
+        }
+    }
+
     @Test
     public void testSeveralRecipients() throws Exception {
         doTestSeveralRecipients(false);
@@ -25,6 +25,7 @@ import org.springframework.stereotype.Component;
 
 import jakarta.mail.internet.MimeMessage;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -36,10 +37,20 @@ import java.util.List;
 public class TestMailSender extends JavaMailSenderImpl {
     private List<MimeMessage> myMessages = new ArrayList<>();
 
+    private int sendCallCount;
+
     private boolean mustFail;
 
     public void clearBuffer() {
         myMessages.clear();
+        sendCallCount = 0;
+    }
+
+    /**
+     * @return number of send operations, i.e. SMTP connections a real sender would open
+     */
+    public int getSendCallCount() {
+        return sendCallCount;
     }
 
     public int getBufferSize() {
@@ -58,9 +69,19 @@ public class TestMailSender extends JavaMailSenderImpl {
         if (mustFail) {
             throw new MailSendException("Smtp server not available");
         }
+        sendCallCount++;
         myMessages.add(mimeMessage);
     }
 
+    @Override
+    public void send(MimeMessage... mimeMessages) throws MailException {
+        if (mustFail) {
+            throw new MailSendException("Smtp server not available");
+        }
+        sendCallCount++;
+        myMessages.addAll(Arrays.asList(mimeMessages));
+    }
+
     public boolean isEmpty() {
         return myMessages.isEmpty();
     }
@@ -27,6 +27,8 @@ import io.jmix.reports.entity.ReportInputParameter;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * That interface provides converting email template {@link EmailTemplate} with report parameters
@@ -87,6 +89,38 @@ public interface EmailTemplates {
     EmailInfo generateEmail(String emailTemplateCode, Collection<ReportWithParams> params)
             throws TemplateNotFoundException, ReportParameterTypeChangedException;
 
+    /**
+     * That method creates {@link EmailInfo} for each map of recipient parameters from the stream.
+     * The template and its reports are prepared once, the emails are rendered in parallel with concurrency
+     * limited by {@link EmailTemplatesProperties#getBulkGenerationConcurrency()}.
+     * The consumer is invoked in the calling thread in the order of the parameter maps, e.g. to set
+     * recipient addresses and send the email with {@link io.jmix.email.Emailer#sendEmailAsync(EmailInfo)}.
+     * Generation stops on the first failed email and the exception is thrown to the caller.
+     *
+     * @param emailTemplate   {@link EmailTemplate} entity containing body and attachments reports
+     * @param recipientParams stream of maps containing parameters for all included reports, one map per email
+     * @param emailConsumer   consumer receiving each map of parameters together with the generated email
+     * @throws TemplateNotFoundException If emailTemplate does not contain reports or null
+     * @throws ReportParameterTypeChangedException If parameter type of inputParameter does not equal to type saved in parameterValue.
+     */
+    void generateEmails(EmailTemplate emailTemplate, Stream<Map<String, Object>> recipientParams,
+                        BiConsumer<Map<String, Object>, EmailInfo> emailConsumer)
+            throws TemplateNotFoundException, ReportParameterTypeChangedException;
+
+    /**
+     * That method creates {@link EmailInfo} for each map of recipient parameters by template with unique string code.
+     *
+     * @param emailTemplateCode unique string code of email template
+     * @param recipientParams   stream of maps containing parameters for all included reports, one map per email
+     * @param emailConsumer     consumer receiving each map of parameters together with the generated email
+     * @throws TemplateNotFoundException If emailTemplate does not contain reports or null
+     * @throws ReportParameterTypeChangedException If parameter type of inputParameter does not equal to type saved in parameterValue.
+     * @see #generateEmails(EmailTemplate, Stream, BiConsumer)
+     */
+    void generateEmails(String emailTemplateCode, Stream<Map<String, Object>> recipientParams,
+                        BiConsumer<Map<String, Object>, EmailInfo> emailConsumer)
+            throws TemplateNotFoundException, ReportParameterTypeChangedException;
+
     /**
      * That method checks that the report input parameter did not change own parameter type
      *
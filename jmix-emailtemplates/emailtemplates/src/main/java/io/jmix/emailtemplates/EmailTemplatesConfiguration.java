@@ -19,12 +19,14 @@ package io.jmix.emailtemplates;
 import io.jmix.core.annotation.JmixModule;
 import io.jmix.data.DataConfiguration;
 import io.jmix.reports.ReportsConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 
 @Configuration
 @ComponentScan
+@ConfigurationPropertiesScan
 @JmixModule(dependsOn = {DataConfiguration.class, ReportsConfiguration.class})
 @PropertySource(name = "io.jmix.emailtemplates", value = "classpath:/io/jmix/emailtemplates/module.properties")
 public class EmailTemplatesConfiguration {
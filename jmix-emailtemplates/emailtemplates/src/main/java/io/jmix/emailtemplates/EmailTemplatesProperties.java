@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.emailtemplates;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "jmix.emailtemplates")
+public class EmailTemplatesProperties {
+
+    /**
+     * Maximum number of emails rendered in parallel by
+     * {@link EmailTemplates#generateEmails(io.jmix.emailtemplates.entity.EmailTemplate, java.util.stream.Stream, java.util.function.BiConsumer)}.
+     */
+    @Positive
+    int bulkGenerationConcurrency;
+
+    public EmailTemplatesProperties(@DefaultValue("4") int bulkGenerationConcurrency) {
+        this.bulkGenerationConcurrency = bulkGenerationConcurrency;
+    }
+
+    /**
+     * @see #bulkGenerationConcurrency
+     */
+    public int getBulkGenerationConcurrency() {
+        return bulkGenerationConcurrency;
+    }
+}
@@ -17,14 +17,17 @@
 package io.jmix.emailtemplates.impl;
 
 import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jmix.reports.yarg.reporting.ReportOutputDocument;
 import io.jmix.core.*;
 import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.security.SecurityContextHelper;
 import io.jmix.email.EmailAttachment;
 import io.jmix.email.EmailInfo;
 import io.jmix.email.EmailInfoBuilder;
 import io.jmix.emailtemplates.EmailTemplateBuilder;
 import io.jmix.emailtemplates.EmailTemplates;
+import io.jmix.emailtemplates.EmailTemplatesProperties;
 import io.jmix.emailtemplates.TemplateConverter;
 import io.jmix.emailtemplates.TemplateParametersExtractor;
 import io.jmix.emailtemplates.dto.ReportWithParams;
@@ -33,6 +36,7 @@ import io.jmix.emailtemplates.exception.ReportParameterTypeChangedException;
 import io.jmix.emailtemplates.exception.TemplateNotFoundException;
 import io.jmix.reports.entity.Report;
 import io.jmix.reports.entity.ReportInputParameter;
+import io.jmix.reports.entity.ReportTemplate;
 import io.jmix.reports.runner.ReportRunContext;
 import io.jmix.reports.runner.ReportRunner;
 import org.apache.commons.collections4.CollectionUtils;
@@ -43,11 +47,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -82,6 +94,9 @@ public class EmailTemplatesImpl implements EmailTemplates {
     @Autowired
     protected Metadata metadata;
 
+    @Autowired
+    protected EmailTemplatesProperties emailTemplatesProperties;
+
     @Override
     public EmailInfo generateEmail(EmailTemplate emailTemplate, Collection<ReportWithParams> params)
             throws TemplateNotFoundException, ReportParameterTypeChangedException {
@@ -192,6 +207,178 @@ public class EmailTemplatesImpl implements EmailTemplates {
         return generateEmail(emailTemplate, params);
     }
 
+    @Override
+    public void generateEmails(EmailTemplate emailTemplate, Stream<Map<String, Object>> recipientParams,
+                               BiConsumer<Map<String, Object>, EmailInfo> emailConsumer)
+            throws TemplateNotFoundException, ReportParameterTypeChangedException {
+        if (emailTemplate == null) {
+            throw new TemplateNotFoundException(messages.getMessage(EmailTemplates.class, "nullTemplate"));
+        }
+        PreparedEmailTemplate preparedTemplate = prepareEmailTemplate(emailTemplate);
+
+        Iterator<Map<String, Object>> iterator = recipientParams.iterator();
+        if (!iterator.hasNext()) {
+            return;
+        }
+        // the first email is generated in the calling thread to load the reports and templates
+        // once, the next emails reuse them
+        Map<String, Object> firstParams = iterator.next();
+        emailConsumer.accept(firstParams, generateEmail(preparedTemplate, firstParams));
+        if (!iterator.hasNext()) {
+            return;
+        }
+
+        int concurrency = emailTemplatesProperties.getBulkGenerationConcurrency();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency,
+                new ThreadFactoryBuilder().setNameFormat("email-generation-%d").setDaemon(true).build());
+        Authentication authentication = SecurityContextHelper.getAuthentication();
+        Deque<PendingEmail> pendingEmails = new ArrayDeque<>();
+        try {
+            while (iterator.hasNext()) {
+                Map<String, Object> params = iterator.next();
+                Future<EmailInfo> future = executor.submit(() -> {
+                    SecurityContextHelper.setAuthentication(authentication);
+                    try {
+                        return generateEmail(preparedTemplate, params);
+                    } finally {
+                        SecurityContextHelper.setAuthentication(null);
+                    }
+                });
+                pendingEmails.add(new PendingEmail(params, future));
+                // limit the number of rendered emails held in memory if the consumer is slower than rendering
+                if (pendingEmails.size() >= concurrency * 2) {
+                    acceptEmail(pendingEmails.poll(), emailConsumer);
+                }
+            }
+            while (!pendingEmails.isEmpty()) {
+                acceptEmail(pendingEmails.poll(), emailConsumer);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void generateEmails(String emailTemplateCode, Stream<Map<String, Object>> recipientParams,
+                               BiConsumer<Map<String, Object>, EmailInfo> emailConsumer)
+            throws TemplateNotFoundException, ReportParameterTypeChangedException {
+        EmailTemplate emailTemplate = getEmailTemplateByCode(emailTemplateCode);
+        generateEmails(emailTemplate, recipientParams, emailConsumer);
+    }
+
+    protected void acceptEmail(PendingEmail pendingEmail, BiConsumer<Map<String, Object>, EmailInfo> emailConsumer) {
+        EmailInfo emailInfo;
+        try {
+            emailInfo = pendingEmail.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Email generation has been interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Unable to generate email", e.getCause());
+        }
+        emailConsumer.accept(pendingEmail.params, emailInfo);
+    }
+
+    /**
+     * Resolves default parameter values of the template reports and loads attached files, so they are not
+     * processed again for every generated email.
+     */
+    protected PreparedEmailTemplate prepareEmailTemplate(EmailTemplate emailTemplate)
+            throws ReportParameterTypeChangedException {
+        Report bodyReport = emailTemplate.getReport();
+        if (bodyReport == null && emailTemplate instanceof JsonEmailTemplate) {
+            bodyReport = templateConverter.convertToReport((JsonEmailTemplate) emailTemplate);
+        }
+        List<Report> parameterReports = new ArrayList<>();
+        parameterReports.add(bodyReport);
+        List<TemplateReport> attachedTemplateReports = emailTemplate.getAttachedTemplateReports() != null
+                ? emailTemplate.getAttachedTemplateReports()
+                : Collections.emptyList();
+        for (TemplateReport templateReport : attachedTemplateReports) {
+            parameterReports.add(templateReport.getReport());
+        }
+
+        PreparedEmailTemplate preparedTemplate = new PreparedEmailTemplate(emailTemplate);
+        TemplateReport bodyTemplateReport = emailTemplate.getEmailBodyReport();
+        if (bodyTemplateReport != null) {
+            preparedTemplate.body = prepareReport(bodyTemplateReport, parameterReports);
+        }
+        for (TemplateReport templateReport : attachedTemplateReports) {
+            preparedTemplate.attachments.add(prepareReport(templateReport, parameterReports));
+        }
+        preparedTemplate.fileAttachments.addAll(createFilesAttachments(emailTemplate.getAttachedFiles()));
+        return preparedTemplate;
+    }
+
+    protected PreparedReport prepareReport(TemplateReport templateReport, List<Report> parameterReports)
+            throws ReportParameterTypeChangedException {
+        ReportWithParams reportWithParams = parametersExtractor.getReportDefaultValues(templateReport.getReport(),
+                templateReport.getParameterValues());
+        PreparedReport preparedReport = new PreparedReport(templateReport.getName(), reportWithParams.getReport(),
+                reportWithParams.getParams());
+        // the parameters passed to the email are applied to the report in the same way as in generateEmail
+        boolean hasExternalParams = parameterReports.stream()
+                .anyMatch(report -> report != null && report.equals(templateReport.getReport()));
+        if (hasExternalParams) {
+            for (ReportInputParameter parameter : templateReport.getReport().getInputParameters()) {
+                preparedReport.parameterAliases.add(parameter.getAlias());
+            }
+        }
+        return preparedReport;
+    }
+
+    protected EmailInfo generateEmail(PreparedEmailTemplate preparedTemplate, Map<String, Object> params) {
+        EmailTemplate emailTemplate = preparedTemplate.emailTemplate;
+
+        String body = "";
+        String subject = "";
+        if (preparedTemplate.body != null && preparedTemplate.body.report != null) {
+            ReportOutputDocument outputDocument = runReport(preparedTemplate.body, params);
+            body = new String(outputDocument.getContent(), UTF_8);
+            subject = outputDocument.getDocumentName();
+        }
+        EmailInfo emailInfo = EmailInfoBuilder.create()
+                .setSubject(Boolean.TRUE.equals(emailTemplate.getUseReportSubject()) ? subject : emailTemplate.getSubject())
+                .setBody(body)
+                .setBodyContentType(EmailInfo.HTML_CONTENT_TYPE)
+                .build();
+
+        List<EmailAttachment> templateAttachments = new ArrayList<>();
+        for (PreparedReport attachment : preparedTemplate.attachments) {
+            ReportOutputDocument outputDocument = runReport(attachment, params);
+            templateAttachments.add(new EmailAttachment(outputDocument.getContent(),
+                    getAttachmentFileName(attachment.name, outputDocument)));
+        }
+        templateAttachments.addAll(preparedTemplate.fileAttachments);
+
+        emailInfo.setAddresses(emailTemplate.getTo());
+        emailInfo.setCc(emailTemplate.getCc());
+        emailInfo.setBcc(emailTemplate.getBcc());
+        emailInfo.setFrom(emailTemplate.getFrom());
+        emailInfo.setAttachments(templateAttachments);
+        return emailInfo;
+    }
+
+    protected ReportOutputDocument runReport(PreparedReport preparedReport, Map<String, Object> params) {
+        Map<String, Object> reportParams = new HashMap<>(preparedReport.defaultParams);
+        if (MapUtils.isNotEmpty(params)) {
+            for (String alias : preparedReport.parameterAliases) {
+                reportParams.put(alias, params.get(alias));
+            }
+        }
+        ReportRunContext context = new ReportRunContext(preparedReport.report)
+                .setReportTemplate(preparedReport.template)
+                .setParams(reportParams);
+        ReportOutputDocument outputDocument = reportRunner.run(context);
+        // keep the report and template loaded by the runner to avoid reloading them for the next emails
+        preparedReport.report = context.getReport();
+        preparedReport.template = context.getReportTemplate();
+        return outputDocument;
+    }
+
     protected EmailTemplate getEmailTemplateByCode(String emailTemplateCode) throws TemplateNotFoundException {
         EmailTemplate emailTemplate = dataManager.load(EmailTemplate.class)
                 .query("select e from emltmp_EmailTemplate e where e.code = :code")
@@ -269,6 +456,10 @@ public class EmailTemplatesImpl implements EmailTemplates {
 
     protected EmailAttachment createEmailAttachment(String templateName, ReportWithParams reportWithParams) {
         ReportOutputDocument outputDocument = reportRunner.run(new ReportRunContext(reportWithParams.getReport()).setParams(reportWithParams.getParams()));
+        return new EmailAttachment(outputDocument.getContent(), getAttachmentFileName(templateName, outputDocument));
+    }
+
+    protected String getAttachmentFileName(@Nullable String templateName, ReportOutputDocument outputDocument) {
         String fileName = outputDocument.getDocumentName();
         if (StringUtils.isNotBlank(templateName)) {
             String extension = Files.getFileExtension(templateName);
@@ -281,7 +472,7 @@ public class EmailTemplatesImpl implements EmailTemplates {
                 fileName = templateName;
             }
         }
-        return new EmailAttachment(outputDocument.getContent(), fileName);
+        return fileName;
     }
 
     protected ReportWithParams createParamsMapForReport(Report report, Map<String, Object> params) {
@@ -295,4 +486,39 @@ public class EmailTemplatesImpl implements EmailTemplates {
         }
         return reportWithParams;
     }
+
+    protected static class PreparedEmailTemplate {
+        protected final EmailTemplate emailTemplate;
+        protected PreparedReport body;
+        protected final List<PreparedReport> attachments = new ArrayList<>();
+        protected final List<EmailAttachment> fileAttachments = new ArrayList<>();
+
+        protected PreparedEmailTemplate(EmailTemplate emailTemplate) {
+            this.emailTemplate = emailTemplate;
+        }
+    }
+
+    protected static class PreparedReport {
+        protected final String name;
+        protected final Map<String, Object> defaultParams;
+        protected final List<String> parameterAliases = new ArrayList<>();
+        protected volatile Report report;
+        protected volatile ReportTemplate template;
+
+        protected PreparedReport(String name, Report report, Map<String, Object> defaultParams) {
+            this.name = name;
+            this.report = report;
+            this.defaultParams = defaultParams;
+        }
+    }
+
+    protected static class PendingEmail {
+        protected final Map<String, Object> params;
+        protected final Future<EmailInfo> future;
+
+        protected PendingEmail(Map<String, Object> params, Future<EmailInfo> future) {
+            this.params = params;
+            this.future = future;
+        }
+    }
 }
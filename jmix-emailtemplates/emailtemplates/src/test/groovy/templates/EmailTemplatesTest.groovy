@@ -133,6 +133,31 @@ class EmailTemplatesTest extends Specification {
 
     }
 
+    def "emails are generated for each map of parameters in order"() {
+        EmailTemplate template = metadata.create(JsonEmailTemplate)
+        template.setName("Test")
+        template.setCode("Test")
+        template.setHtml("\${paramValue}")
+        template.setSubject("Subject")
+        template.setTo("address1")
+        template.setReport(initReport(template))
+        template.setEmailBodyReport(initTemplateReport(template))
+
+        def recipientParams = (1..20).collect { ["paramValue": "Value " + it] as Map<String, Object> }
+        def generated = []
+
+        when:
+        delegate.generateEmails(template, recipientParams.stream(), { params, emailInfo ->
+            generated << [params.paramValue, emailInfo]
+        })
+
+        then:
+        generated.size() == 20
+        generated.every { it[1].body == it[0] }
+        generated.collect { it[0] } == recipientParams.collect { it.paramValue }
+        generated.every { it[1].subject == "Subject" && it[1].addresses == "address1" }
+    }
+
     protected Report initReport(JsonEmailTemplate template) {
         return templateConverter.convertToReport(template)
     }
@@ -24,6 +24,7 @@ import io.jmix.flowui.data.BindingState;
 import io.jmix.flowui.model.CollectionContainer;
 
 import org.springframework.lang.Nullable;
+import java.util.*;
 import java.util.stream.Stream;
 
 public class ContainerTreeDataGridItems<E> extends ContainerDataGridItems<E>
@@ -32,6 +33,18 @@ public class ContainerTreeDataGridItems<E> extends ContainerDataGridItems<E>
     protected final String hierarchyProperty;
     protected final boolean showOrphans;
 
+    /**
+     * Children of items in the order of the container, by parent item. Built on first access
+     * and updated on collection changes. {@code null} if the index should be rebuilt.
+     */
+    protected Map<E, List<E>> childrenIndex;
+    /**
+     * Parent items by item as they were when the item was added to {@link #childrenIndex}.
+     */
+    protected Map<E, E> parentIndex;
+    protected List<E> rootItems;
+    protected Map<E, Integer> levelCache;
+
     public ContainerTreeDataGridItems(CollectionContainer<E> container,
                                       String hierarchyProperty) {
         this(container, hierarchyProperty, true);
@@ -69,29 +82,17 @@ public class ContainerTreeDataGridItems<E> extends ContainerDataGridItems<E>
 
     public Stream<E> getChildren(@Nullable E item) {
         if (item == null) {
-            // root items
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                        return parentItem == null
-                                || (showOrphans && container.getItemOrNull(EntityValues.getId(parentItem)) == null);
-                    });
-        } else {
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                        return parentItem != null && parentItem.equals(item);
-                    });
+            return getRootItems().stream();
         }
+
+        List<E> children = getChildrenIndex().get(item);
+        return children == null ? Stream.empty() : children.stream();
     }
 
     @Override
     public boolean hasChildren(E item) {
-        return container.getItems().stream()
-                .anyMatch(it -> {
-                    E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                    return parentItem != null && parentItem.equals(item);
-                });
+        List<E> children = getChildrenIndex().get(item);
+        return children != null && !children.isEmpty();
     }
 
     public int getLevel(E item) {
@@ -99,15 +100,195 @@ public class ContainerTreeDataGridItems<E> extends ContainerDataGridItems<E>
             throw new IllegalArgumentException("Data provider doesn't contain the item passed to the method");
         }
 
-        int level = 0;
+        if (levelCache == null) {
+            levelCache = new HashMap<>();
+        }
+
+        // go up until an item with known level, then assign levels on the way back
+        List<E> path = new ArrayList<>();
+        int level = -1;
         E currentItem = item;
-        while ((currentItem = getParent(currentItem)) != null) {
-            ++level;
+        while (currentItem != null) {
+            Integer cachedLevel = levelCache.get(currentItem);
+            if (cachedLevel != null) {
+                level = cachedLevel;
+                break;
+            }
+            path.add(currentItem);
+            currentItem = getParent(currentItem);
+        }
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            levelCache.put(path.get(i), ++level);
         }
 
         return level;
     }
 
+    @Override
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> event) {
+        updateHierarchyIndex(event);
+
+        super.containerCollectionChanged(event);
+    }
+
+    @Override
+    protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> event) {
+        if (hierarchyProperty.equals(event.getProperty())) {
+            // the item is moved to another parent, its position among new siblings depends on the container order
+            resetHierarchyIndex();
+        }
+
+        super.containerItemPropertyChanged(event);
+    }
+
+    protected Map<E, List<E>> getChildrenIndex() {
+        if (childrenIndex == null) {
+            childrenIndex = new HashMap<>();
+            parentIndex = new HashMap<>();
+            for (E item : container.getItems()) {
+                addToHierarchyIndex(item);
+            }
+        }
+        return childrenIndex;
+    }
+
+    protected List<E> getRootItems() {
+        if (rootItems == null) {
+            List<E> roots = new ArrayList<>();
+            for (E item : container.getItems()) {
+                E parentItem = getParent(item);
+                if (parentItem == null
+                        || (showOrphans && container.getItemOrNull(EntityValues.getId(parentItem)) == null)) {
+                    roots.add(item);
+                }
+            }
+            rootItems = roots;
+        }
+        return rootItems;
+    }
+
+    protected void updateHierarchyIndex(CollectionContainer.CollectionChangeEvent<E> event) {
+        // a removed or added parent may change the set of orphans, so roots and levels are always recalculated
+        rootItems = null;
+        levelCache = null;
+
+        if (childrenIndex == null) {
+            return;
+        }
+
+        switch (event.getChangeType()) {
+            case ADD_ITEMS:
+                if (isAppendedToEnd(event.getChanges())) {
+                    for (E item : event.getChanges()) {
+                        addToHierarchyIndex(item);
+                    }
+                } else {
+                    resetHierarchyIndex();
+                }
+                break;
+            case REMOVE_ITEMS:
+                for (E item : event.getChanges()) {
+                    removeFromHierarchyIndex(item);
+                }
+                break;
+            case SET_ITEM:
+                for (E item : event.getChanges()) {
+                    if (!replaceInHierarchyIndex(item)) {
+                        resetHierarchyIndex();
+                        break;
+                    }
+                }
+                break;
+            default:
+                resetHierarchyIndex();
+        }
+    }
+
+    protected void resetHierarchyIndex() {
+        childrenIndex = null;
+        parentIndex = null;
+        rootItems = null;
+        levelCache = null;
+    }
+
+    /**
+     * @return true if the given items are the last items of the container, so appending them
+     * to the children lists keeps the container order
+     */
+    protected boolean isAppendedToEnd(Collection<? extends E> addedItems) {
+        List<E> items = container.getItems();
+        int index = items.size() - addedItems.size();
+        if (index < 0) {
+            return false;
+        }
+        for (E addedItem : addedItems) {
+            if (items.get(index++) != addedItem) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected void addToHierarchyIndex(E item) {
+        E parentItem = getParent(item);
+        parentIndex.put(item, parentItem);
+        if (parentItem != null) {
+            childrenIndex.computeIfAbsent(parentItem, key -> new ArrayList<>()).add(item);
+        }
+    }
+
+    protected void removeFromHierarchyIndex(E item) {
+        if (!parentIndex.containsKey(item)) {
+            return;
+        }
+
+        E parentItem = parentIndex.remove(item);
+        if (parentItem != null) {
+            List<E> siblings = childrenIndex.get(parentItem);
+            if (siblings != null) {
+                siblings.remove(item);
+                if (siblings.isEmpty()) {
+                    childrenIndex.remove(parentItem);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces an instance of the item in place if it has the same parent.
+     *
+     * @return false if the item cannot be replaced and the index should be rebuilt
+     */
+    protected boolean replaceInHierarchyIndex(E item) {
+        if (!parentIndex.containsKey(item)) {
+            return false;
+        }
+
+        E parentItem = getParent(item);
+        E prevParentItem = parentIndex.remove(item);
+        if (!Objects.equals(parentItem, prevParentItem)) {
+            return false;
+        }
+
+        parentIndex.put(item, parentItem);
+        if (parentItem != null) {
+            List<E> siblings = childrenIndex.get(parentItem);
+            int index = siblings == null ? -1 : siblings.indexOf(item);
+            if (index < 0) {
+                return false;
+            }
+            siblings.set(index, item);
+        }
+
+        // children of the item reference its previous instance which is equal to the new one
+        List<E> children = childrenIndex.remove(item);
+        if (children != null) {
+            childrenIndex.put(item, children);
+        }
+        return true;
+    }
+
     @Nullable
     protected E getParent(E item) {
         Preconditions.checkNotNullArgument(item);
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_components
+
+import io.jmix.flowui.data.grid.ContainerTreeDataGridItems
+import io.jmix.flowui.model.CollectionContainer
+import io.jmix.flowui.model.DataComponents
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.entity.sec.Group
+import test_support.spec.DataContextSpec
+
+class ContainerTreeDataGridItemsTest extends DataContextSpec {
+
+    @Autowired
+    DataComponents dataComponents
+
+    CollectionContainer<Group> container
+    Group root, child1, child2, grandChild
+
+    @Override
+    void setup() {
+        root = group('root', null)
+        child1 = group('child1', root)
+        child2 = group('child2', root)
+        grandChild = group('grandChild', child1)
+
+        container = dataComponents.createCollectionContainer(Group)
+        container.setItems([root, child1, child2, grandChild])
+    }
+
+    def "children, levels and roots are resolved from the index"() {
+        def items = new ContainerTreeDataGridItems<Group>(container, 'parent')
+
+        expect:
+        items.getChildren(null).toList() == [root]
+        items.getChildren(root).toList() == [child1, child2]
+        items.getChildren(child1).toList() == [grandChild]
+        items.hasChildren(root)
+        !items.hasChildren(child2)
+        items.getLevel(root) == 0
+        items.getLevel(grandChild) == 2
+    }
+
+    def "index is updated on collection changes"() {
+        def items = new ContainerTreeDataGridItems<Group>(container, 'parent')
+        items.getChildren(root).toList()
+
+        when:
+        def child3 = group('child3', root)
+        container.getMutableItems().add(child3)
+
+        then:
+        items.getChildren(root).toList() == [child1, child2, child3]
+
+        when:
+        def child0 = group('child0', root)
+        container.getMutableItems().add(1, child0)
+
+        then:
+        items.getChildren(root).toList() == [child0, child1, child2, child3]
+
+        when:
+        container.getMutableItems().remove(child2)
+
+        then:
+        items.getChildren(root).toList() == [child0, child1, child3]
+
+        when:
+        def copy = group('child1-copy', root)
+        copy.id = child1.id
+        container.replaceItem(copy)
+
+        then:
+        items.getChildren(root).toList()[1].is(copy)
+        items.getChildren(copy).toList() == [grandChild]
+    }
+
+    def "index is updated when an item is moved to another parent"() {
+        def items = new ContainerTreeDataGridItems<Group>(container, 'parent')
+
+        expect:
+        items.getLevel(grandChild) == 2
+
+        when:
+        grandChild.parent = child2
+
+        then:
+        items.getChildren(child1).toList() == []
+        items.getChildren(child2).toList() == [grandChild]
+        items.getLevel(grandChild) == 2
+
+        when:
+        grandChild.parent = root
+
+        then:
+        items.getChildren(root).toList() == [child1, child2, grandChild]
+        items.getLevel(grandChild) == 1
+    }
+
+    def "orphans become roots when their parent is removed"() {
+        def withOrphans = new ContainerTreeDataGridItems<Group>(container, 'parent', true)
+        def withoutOrphans = new ContainerTreeDataGridItems<Group>(container, 'parent', false)
+        withOrphans.getChildren(null).toList()
+        withoutOrphans.getChildren(null).toList()
+
+        when:
+        container.getMutableItems().remove(root)
+
+        then:
+        withOrphans.getChildren(null).toList() == [child1, child2]
+        withOrphans.getChildren(child1).toList() == [grandChild]
+        withoutOrphans.getChildren(null).toList() == []
+    }
+
+    private Group group(String name, Group parent) {
+        def group = metadata.create(Group)
+        group.name = name
+        group.parent = parent
+        return group
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.gradle
+
+import org.gradle.api.Action
+import org.gradle.api.Project
+import org.gradle.api.Task
+import org.gradle.api.tasks.SourceSet
+
+/**
+ * Generates the classpath scan index of all classes output directories of a source set, e.g. Java and Kotlin ones,
+ * because they are packaged to the same JAR. The index is written to the Java classes directory, or to the first
+ * existing one, and removed from other directories so the JAR contains a single index.
+ */
+class ClasspathScanIndexAction implements Action<Task> {
+
+    private String sourceSetName
+
+    ClasspathScanIndexAction(String sourceSetName) {
+        this.sourceSetName = sourceSetName
+    }
+
+    @Override
+    void execute(Task task) {
+        Project project = task.getProject()
+        SourceSet sourceSet = project.sourceSets.findByName(sourceSetName)
+
+        List<File> classesDirs = sourceSet.output.classesDirs.files.findAll { it.exists() }.toList()
+        if (classesDirs.isEmpty()) {
+            return
+        }
+
+        File javaClassesDir = sourceSet.java.destinationDirectory.get().getAsFile()
+        File indexDir = classesDirs.contains(javaClassesDir) ? javaClassesDir : classesDirs[0]
+        classesDirs.findAll { it != indexDir }.each {
+            new File(it, ClasspathScanIndexGenerator.INDEX_LOCATION).delete()
+        }
+
+        int count = new ClasspathScanIndexGenerator().generate(classesDirs, indexDir)
+        project.logger.info("Generated classpath scan index of $count classes in $project for source set '$sourceSetName'")
+    }
+}
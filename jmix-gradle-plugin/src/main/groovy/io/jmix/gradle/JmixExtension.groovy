@@ -40,6 +40,12 @@ class JmixExtension {
      */
     boolean useBom = true
 
+    /**
+     * If true, the index of compiled classes is generated to avoid reading class files
+     * when scanning the classpath on application startup.
+     */
+    boolean classpathScanIndex = true
+
     /**
      * Defines entities enhancing parameters.
      */
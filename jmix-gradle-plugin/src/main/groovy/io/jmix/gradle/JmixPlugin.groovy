@@ -85,6 +85,21 @@ class JmixPlugin implements Plugin<Project> {
                 project.tasks.findByName('testClasses').doLast({ EnhancingAction.copyGeneratedFiles(project, 'test') })
             }
 
+            /**
+             * Registered after EnhancingAction to index the enhanced classes.
+             */
+            if (project.jmix.classpathScanIndex) {
+                if (javaPlugin) {
+                    project.tasks.findByName('compileJava').doLast(new ClasspathScanIndexAction('main'))
+                    project.tasks.findByName('compileTestJava').doLast(new ClasspathScanIndexAction('test'))
+                }
+
+                if (kotlinPlugin) {
+                    project.tasks.findByName('compileKotlin').doLast(new ClasspathScanIndexAction('main'))
+                    project.tasks.findByName('compileTestKotlin').doLast(new ClasspathScanIndexAction('test'))
+                }
+            }
+
             if (isJmixApp(project)) {
                 def configurations = project.configurations.collect()
 
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.gradle;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.InnerClassesAttribute;
+import javassist.bytecode.annotation.Annotation;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Generates the index of compiled classes which is used by {@code JmixModulesClasspathScanner} at runtime
+ * instead of reading class files. The index format is described in {@code io.jmix.core.impl.scanning.ClasspathScanIndex}.
+ */
+public class ClasspathScanIndexGenerator {
+
+    public static final String INDEX_LOCATION = "META-INF/jmix/classpath-scan.idx";
+    public static final String HEADER = "#jmix-classpath-scan-index:1";
+
+    private static final String NO_VALUE = "-";
+
+    /**
+     * Writes the index of all classes located in the given directory to the {@link #INDEX_LOCATION} file
+     * of this directory.
+     *
+     * @return number of indexed classes
+     */
+    public int generate(File classesDir) throws IOException {
+        return generate(Collections.singletonList(classesDir), classesDir);
+    }
+
+    /**
+     * Writes the index of all classes located in the given directories to the {@link #INDEX_LOCATION} file
+     * of {@code indexDir}. The directories are expected to be packaged together, e.g. Java and Kotlin outputs
+     * of a source set. If a class is located in several directories, the first one is indexed.
+     *
+     * @return number of indexed classes
+     */
+    public int generate(Collection<File> classesDirs, File indexDir) throws IOException {
+        Map<Path, Path> classFiles = new TreeMap<>();
+        for (File classesDir : classesDirs) {
+            if (!classesDir.isDirectory()) {
+                continue;
+            }
+            Path rootPath = classesDir.toPath();
+            try (Stream<Path> paths = Files.walk(rootPath)) {
+                paths.filter(path -> path.toString().endsWith(".class"))
+                        .filter(path -> !rootPath.relativize(path).startsWith("META-INF"))
+                        .forEach(path -> classFiles.putIfAbsent(rootPath.relativize(path), path));
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (Path classFile : classFiles.values()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(classFile)))) {
+                lines.add(describeClass(new ClassFile(in)));
+            }
+        }
+
+        Path indexFile = indexDir.toPath().resolve(INDEX_LOCATION);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, lines, StandardCharsets.UTF_8);
+        return classFiles.size();
+    }
+
+    private String describeClass(ClassFile classFile) {
+        String className = classFile.getName();
+        int accessFlags = classFile.getAccessFlags();
+
+        StringBuilder modifiers = new StringBuilder();
+        if (classFile.isInterface()) {
+            modifiers.append('i');
+        }
+        if ((accessFlags & AccessFlag.ANNOTATION) != 0) {
+            modifiers.append('@');
+        }
+        if (classFile.isAbstract()) {
+            modifiers.append('a');
+        }
+        if (classFile.isFinal()) {
+            modifiers.append('f');
+        }
+
+        String enclosingClassName = null;
+        boolean independent = true;
+        InnerClassesAttribute innerClasses = (InnerClassesAttribute) classFile.getAttribute(InnerClassesAttribute.tag);
+        if (innerClasses != null) {
+            for (int i = 0; i < innerClasses.tableLength(); i++) {
+                if (className.equals(innerClasses.innerClass(i)) && innerClasses.outerClass(i) != null) {
+                    enclosingClassName = innerClasses.outerClass(i);
+                    independent = (innerClasses.accessFlags(i) & AccessFlag.STATIC) != 0;
+                }
+            }
+        }
+        if (independent) {
+            modifiers.append('n');
+        }
+
+        String superClassName = classFile.isInterface() || "java.lang.Object".equals(className)
+                ? null
+                : classFile.getSuperclass();
+
+        List<String> annotationTypes = new ArrayList<>();
+        AnnotationsAttribute annotations = (AnnotationsAttribute) classFile.getAttribute(AnnotationsAttribute.visibleTag);
+        if (annotations != null) {
+            for (Annotation annotation : annotations.getAnnotations()) {
+                annotationTypes.add(annotation.getTypeName());
+            }
+        }
+
+        return String.join("\t",
+                className,
+                modifiers.length() == 0 ? NO_VALUE : modifiers.toString(),
+                value(superClassName),
+                value(enclosingClassName),
+                values(classFile.getInterfaces()),
+                values(annotationTypes.toArray(new String[0])));
+    }
+
+    private String value(String value) {
+        return value == null ? NO_VALUE : value;
+    }
+
+    private String values(String[] values) {
+        return values.length == 0 ? NO_VALUE : String.join(",", values);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.gradle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClasspathScanIndexGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void indexesClassesOfSeveralOutputDirectories() throws IOException {
+        File javaClassesDir = tempDir.resolve("classes/java/main").toFile();
+        File kotlinClassesDir = tempDir.resolve("classes/kotlin/main").toFile();
+        copyClass(ClasspathScanIndexGenerator.class, javaClassesDir);
+        copyClass(ClasspathScanIndexGeneratorTest.class, kotlinClassesDir);
+        // a class located in both directories is indexed once
+        copyClass(ClasspathScanIndexGenerator.class, kotlinClassesDir);
+
+        int count = new ClasspathScanIndexGenerator().generate(Arrays.asList(javaClassesDir, kotlinClassesDir),
+                javaClassesDir);
+
+        assertEquals(2, count);
+        assertEquals(List.of(ClasspathScanIndexGenerator.class.getName(), ClasspathScanIndexGeneratorTest.class.getName()),
+                readIndexedClassNames(javaClassesDir));
+        assertFalse(new File(kotlinClassesDir, ClasspathScanIndexGenerator.INDEX_LOCATION).exists());
+    }
+
+    @Test
+    void indexesSingleDirectory() throws IOException {
+        File classesDir = tempDir.resolve("classes/java/main").toFile();
+        copyClass(ClasspathScanIndexGenerator.class, classesDir);
+
+        int count = new ClasspathScanIndexGenerator().generate(classesDir);
+
+        assertEquals(1, count);
+        assertEquals(List.of(ClasspathScanIndexGenerator.class.getName()), readIndexedClassNames(classesDir));
+    }
+
+    private List<String> readIndexedClassNames(File indexDir) throws IOException {
+        List<String> lines = Files.readAllLines(
+                indexDir.toPath().resolve(ClasspathScanIndexGenerator.INDEX_LOCATION), StandardCharsets.UTF_8);
+        assertEquals(ClasspathScanIndexGenerator.HEADER, lines.get(0));
+        return lines.stream()
+                .skip(1)
+                .map(line -> line.substring(0, line.indexOf('\t')))
+                .collect(Collectors.toList());
+    }
+
+    private void copyClass(Class<?> aClass, File classesDir) throws IOException {
+        String classFilePath = aClass.getName().replace('.', '/') + ".class";
+        Path target = classesDir.toPath().resolve(classFilePath);
+        Files.createDirectories(target.getParent());
+        try (InputStream in = aClass.getClassLoader().getResourceAsStream(classFilePath)) {
+            assertNotNull(in);
+            Files.copy(in, target);
+        }
+    }
+}
@@ -138,6 +138,22 @@ public class LdapProperties {
      */
     List<String> standardAuthenticationUsers;
 
+    /**
+     * Number of entries requested from the LDAP server in a single page while searching for users to synchronize.
+     */
+    int synchronizationPageSize;
+
+    /**
+     * Number of users saved in a single transaction during synchronization.
+     */
+    int synchronizationBatchSize;
+
+    /**
+     * LDAP attribute containing the last modification mark of an entry, e.g. modifyTimestamp or uSNChanged
+     * for Active Directory. Used to synchronize only users changed since the previous synchronization.
+     */
+    String synchronizationChangeAttribute;
+
     public LdapProperties(@DefaultValue("true") boolean enabled,
                           @DefaultValue("app") String userDetailsSource,
                           List<String> urls,
@@ -159,7 +175,10 @@ public class LdapProperties {
                           @DefaultValue("true") Boolean synchronizeUserOnLogin,
                           @Nullable List<String> defaultRoles,
                           @DefaultValue({"admin", "system"}) List<String> standardAuthenticationUsers,
-                          String managerReferral) {
+                          String managerReferral,
+                          @DefaultValue("500") int synchronizationPageSize,
+                          @DefaultValue("100") int synchronizationBatchSize,
+                          @DefaultValue("modifyTimestamp") String synchronizationChangeAttribute) {
         this.enabled = enabled;
         this.userDetailsSource = userDetailsSource;
         this.urls = urls;
@@ -182,6 +201,9 @@ public class LdapProperties {
         this.defaultRoles = defaultRoles == null ? Collections.emptyList() : defaultRoles;
         this.standardAuthenticationUsers = standardAuthenticationUsers;
         this.managerReferral = managerReferral;
+        this.synchronizationPageSize = synchronizationPageSize;
+        this.synchronizationBatchSize = synchronizationBatchSize;
+        this.synchronizationChangeAttribute = synchronizationChangeAttribute;
     }
 
     public boolean isEnabled() {
@@ -271,5 +293,16 @@ public class LdapProperties {
     public String getManagerReferral() {
         return managerReferral;
     }
-}
 
+    public int getSynchronizationPageSize() {
+        return synchronizationPageSize;
+    }
+
+    public int getSynchronizationBatchSize() {
+        return synchronizationBatchSize;
+    }
+
+    public String getSynchronizationChangeAttribute() {
+        return synchronizationChangeAttribute;
+    }
+}
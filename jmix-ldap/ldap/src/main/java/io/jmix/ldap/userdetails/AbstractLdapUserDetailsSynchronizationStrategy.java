@@ -32,11 +32,12 @@ import org.springframework.ldap.core.DirContextOperations;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Set;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -67,50 +68,26 @@ public abstract class AbstractLdapUserDetailsSynchronizationStrategy<T extends U
     @Autowired
     protected RoleGrantedAuthorityUtils roleGrantedAuthorityUtils;
 
+    /**
+     * Users of the batch being synchronized by {@link #synchronizeUsersDetails(List)}.
+     */
+    protected final ThreadLocal<Map<String, T>> batchUsers = new ThreadLocal<>();
+
     @Override
-    @SuppressWarnings("unchecked")
     public UserDetails synchronizeUserDetails(DirContextOperations ctx, String username,
                                               Collection<? extends GrantedAuthority> authorities) {
-        T jmixUserDetails;
-        try {
-            jmixUserDetails = (T) userRepository.loadUserByUsername(username);
-        } catch (UsernameNotFoundException e) {
-            log.info("User with login {} wasn't found in user repository", username);
-            jmixUserDetails = createUserDetails(username, ctx);
-        }
+        T jmixUserDetails = loadUserDetails(username, ctx);
 
         //copy ldap attributes to UserDetails
         mapUserDetailsAttributes(jmixUserDetails, ctx);
 
         SaveContext saveContext = new SaveContext();
         if (ldapProperties.getSynchronizeRoleAssignments()) {
-            Set<GrantedAuthority> grantedAuthorities = authoritiesMapper.mapAuthorities(authorities);
-
             List<RoleAssignmentEntity> existingRoleAssignments = dataManager.load(RoleAssignmentEntity.class)
                     .query("select e from sec_RoleAssignmentEntity e where e.username = :username")
                     .parameter("username", username)
                     .list();
-            Set<String> existingRoleAssignmentCodes = existingRoleAssignments.stream()
-                    .map(RoleAssignmentEntity::getRoleCode)
-                    .collect(Collectors.toSet());
-
-            Collection<RoleAssignmentEntity> grantedRoleAssignments = buildRoleAssignments(grantedAuthorities, username);
-            Set<String> grantedRoleAssignmentsCodes = grantedRoleAssignments.stream()
-                    .map(RoleAssignmentEntity::getRoleCode)
-                    .collect(Collectors.toSet());
-
-            //remove only existing role assignments that should not be granted
-            List<RoleAssignmentEntity> roleAssignmentsToRemove = existingRoleAssignments.stream()
-                    .filter(roleAssignmentEntity -> !grantedRoleAssignmentsCodes.contains(roleAssignmentEntity.getRoleCode()))
-                    .collect(Collectors.toList());
-
-            //create only non-existing assignments
-            List<RoleAssignmentEntity> roleAssignmentsToCreate = grantedRoleAssignments.stream()
-                    .filter(roleAssignmentEntity -> !existingRoleAssignmentCodes.contains(roleAssignmentEntity.getRoleCode()))
-                    .collect(Collectors.toList());
-
-            saveContext.removing(roleAssignmentsToRemove);
-            saveContext.saving(roleAssignmentsToCreate);
+            addRoleAssignmentChanges(saveContext, username, authorities, existingRoleAssignments);
         }
         saveContext.saving(jmixUserDetails);
 
@@ -120,6 +97,168 @@ public abstract class AbstractLdapUserDetailsSynchronizationStrategy<T extends U
         return jmixUserDetails;
     }
 
+    /**
+     * Synchronizes the users of the batch loading existing users and their role assignments with a query each
+     * and saving all changes in a single transaction. If the transaction fails, users are saved one by one,
+     * so that only the failed users are skipped.
+     * <p>
+     * Users are obtained by {@link #loadUserDetails(String, DirContextOperations)}, which returns users preloaded
+     * by {@link #loadUsersDetails(Collection)}. If {@link #synchronizeUserDetails(DirContextOperations, String, Collection)}
+     * is overridden, it is invoked for each user instead.
+     */
+    @Override
+    public List<UserDetails> synchronizeUsersDetails(List<LdapUserSynchronizationData> users) {
+        if (users.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (isSynchronizeUserDetailsOverridden()) {
+            return synchronizeUsersOneByOne(users);
+        }
+
+        List<String> usernames = users.stream()
+                .map(LdapUserSynchronizationData::getUsername)
+                .collect(Collectors.toList());
+
+        Map<String, List<RoleAssignmentEntity>> existingRoleAssignments = Collections.emptyMap();
+        if (ldapProperties.getSynchronizeRoleAssignments()) {
+            existingRoleAssignments = dataManager.load(RoleAssignmentEntity.class)
+                    .query("select e from sec_RoleAssignmentEntity e where e.username in :usernames")
+                    .parameter("usernames", usernames)
+                    .list()
+                    .stream()
+                    .collect(Collectors.groupingBy(RoleAssignmentEntity::getUsername));
+        }
+
+        Map<T, SaveContext> userSaveContexts = new LinkedHashMap<>();
+        batchUsers.set(loadUsersDetails(usernames));
+        try {
+            for (LdapUserSynchronizationData user : users) {
+                try {
+                    T jmixUserDetails = loadUserDetails(user.getUsername(), user.getCtx());
+                    mapUserDetailsAttributes(jmixUserDetails, user.getCtx());
+
+                    SaveContext saveContext = new SaveContext().setDiscardSaved(true);
+                    if (ldapProperties.getSynchronizeRoleAssignments()) {
+                        addRoleAssignmentChanges(saveContext, user.getUsername(), user.getAuthorities(),
+                                existingRoleAssignments.getOrDefault(user.getUsername(), Collections.emptyList()));
+                    }
+                    saveContext.saving(jmixUserDetails);
+                    userSaveContexts.put(jmixUserDetails, saveContext);
+                } catch (RuntimeException e) {
+                    log.error("Unable to synchronize LDAP user {}", user.getUsername(), e);
+                }
+            }
+        } finally {
+            batchUsers.remove();
+        }
+
+        SaveContext batchSaveContext = new SaveContext().setDiscardSaved(true);
+        for (SaveContext saveContext : userSaveContexts.values()) {
+            batchSaveContext.saving(saveContext.getEntitiesToSave());
+            batchSaveContext.removing(saveContext.getEntitiesToRemove());
+        }
+        try {
+            dataManager.save(batchSaveContext);
+            return new ArrayList<>(userSaveContexts.keySet());
+        } catch (RuntimeException e) {
+            log.warn("Unable to save the batch of {} LDAP users, saving them one by one", userSaveContexts.size(), e);
+        }
+
+        List<UserDetails> result = new ArrayList<>(userSaveContexts.size());
+        for (Map.Entry<T, SaveContext> entry : userSaveContexts.entrySet()) {
+            try {
+                dataManager.save(entry.getValue());
+                result.add(entry.getKey());
+            } catch (RuntimeException e) {
+                log.error("Unable to synchronize LDAP user {}", entry.getKey().getUsername(), e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Synchronizes users by {@link #synchronizeUserDetails(DirContextOperations, String, Collection)} skipping
+     * the failed ones.
+     */
+    protected List<UserDetails> synchronizeUsersOneByOne(List<LdapUserSynchronizationData> users) {
+        List<UserDetails> result = new ArrayList<>(users.size());
+        for (LdapUserSynchronizationData user : users) {
+            try {
+                result.add(synchronizeUserDetails(user.getCtx(), user.getUsername(), user.getAuthorities()));
+            } catch (RuntimeException e) {
+                log.error("Unable to synchronize LDAP user {}", user.getUsername(), e);
+            }
+        }
+        return result;
+    }
+
+    protected boolean isSynchronizeUserDetailsOverridden() {
+        Method method = ReflectionUtils.findMethod(ClassUtils.getUserClass(getClass()), "synchronizeUserDetails",
+                DirContextOperations.class, String.class, Collection.class);
+        return method != null && method.getDeclaringClass() != AbstractLdapUserDetailsSynchronizationStrategy.class;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T loadUserDetails(String username, DirContextOperations ctx) {
+        Map<String, T> users = batchUsers.get();
+        if (users != null && users.containsKey(username)) {
+            return users.get(username);
+        }
+        try {
+            return (T) userRepository.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            log.info("User with login {} wasn't found in user repository", username);
+            return createUserDetails(username, ctx);
+        }
+    }
+
+    /**
+     * Loads existing users with the given usernames by a single query. The users are returned by
+     * {@link #loadUserDetails(String, DirContextOperations)} during synchronization of a batch.
+     *
+     * @return users by username
+     */
+    protected Map<String, T> loadUsersDetails(Collection<String> usernames) {
+        return dataManager.load(getUserClass())
+                .query("e.username in :usernames")
+                .parameter("usernames", usernames)
+                .list()
+                .stream()
+                .collect(Collectors.toMap(UserDetails::getUsername, Function.identity(), (user1, user2) -> user1));
+    }
+
+    /**
+     * Adds to the save context only the difference between existing role assignments of the user
+     * and the ones defined by the granted authorities.
+     */
+    protected void addRoleAssignmentChanges(SaveContext saveContext, String username,
+                                            Collection<? extends GrantedAuthority> authorities,
+                                            List<RoleAssignmentEntity> existingRoleAssignments) {
+        Set<GrantedAuthority> grantedAuthorities = authoritiesMapper.mapAuthorities(authorities);
+
+        Set<String> existingRoleAssignmentCodes = existingRoleAssignments.stream()
+                .map(RoleAssignmentEntity::getRoleCode)
+                .collect(Collectors.toSet());
+
+        Collection<RoleAssignmentEntity> grantedRoleAssignments = buildRoleAssignments(grantedAuthorities, username);
+        Set<String> grantedRoleAssignmentsCodes = grantedRoleAssignments.stream()
+                .map(RoleAssignmentEntity::getRoleCode)
+                .collect(Collectors.toSet());
+
+        //remove only existing role assignments that should not be granted
+        List<RoleAssignmentEntity> roleAssignmentsToRemove = existingRoleAssignments.stream()
+                .filter(roleAssignmentEntity -> !grantedRoleAssignmentsCodes.contains(roleAssignmentEntity.getRoleCode()))
+                .collect(Collectors.toList());
+
+        //create only non-existing assignments
+        List<RoleAssignmentEntity> roleAssignmentsToCreate = grantedRoleAssignments.stream()
+                .filter(roleAssignmentEntity -> !existingRoleAssignmentCodes.contains(roleAssignmentEntity.getRoleCode()))
+                .collect(Collectors.toList());
+
+        saveContext.removing(roleAssignmentsToRemove);
+        saveContext.saving(roleAssignmentsToCreate);
+    }
+
     protected Collection<RoleAssignmentEntity> buildRoleAssignments(Collection<GrantedAuthority> grantedAuthorities,
                                                                     String username) {
         List<RoleAssignmentEntity> roleAssignmentEntities = new ArrayList<>();
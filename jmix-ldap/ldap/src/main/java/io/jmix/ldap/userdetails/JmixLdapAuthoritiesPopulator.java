@@ -16,26 +16,61 @@
 
 package io.jmix.ldap.userdetails;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.ldap.core.ContextMapper;
 import org.springframework.ldap.core.ContextSource;
 import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.ldap.filter.EqualsFilter;
+import org.springframework.ldap.filter.Filter;
+import org.springframework.ldap.filter.OrFilter;
+import org.springframework.ldap.support.LdapUtils;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.ldap.SpringSecurityLdapTemplate;
 import org.springframework.security.ldap.userdetails.DefaultLdapAuthoritiesPopulator;
 
-import java.util.Set;
+import javax.naming.directory.SearchControls;
+import javax.naming.ldap.LdapName;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Extension of the default strategy for obtaining user role information from the directory. In case there is an implementation
  * of {@link LdapUserAdditionalRoleProvider} interface it delegates fetching extra user roles to this implementation.
+ * <p>
+ * Group memberships of several users are obtained by a single search if the group search filter is a simple
+ * equality filter like {@code (member={0})} or {@code (memberUid={1})}.
  *
  * @see LdapUserAdditionalRoleProvider
  */
-public class JmixLdapAuthoritiesPopulator extends DefaultLdapAuthoritiesPopulator {
+public class JmixLdapAuthoritiesPopulator extends DefaultLdapAuthoritiesPopulator implements LdapBatchAuthoritiesPopulator {
+
+    private static final Logger log = LoggerFactory.getLogger(JmixLdapAuthoritiesPopulator.class);
+
+    protected static final Pattern MEMBER_FILTER_PATTERN = Pattern.compile("\\(\\s*([\\w.;-]+)\\s*=\\s*\\{([01])}\\s*\\)");
 
     protected LdapUserAdditionalRoleProvider ldapUserAdditionalRoleProvider;
 
+    protected final SpringSecurityLdapTemplate groupSearchTemplate;
+    protected final String groupSearchBase;
+    protected String groupSearchFilter = "(member={0})";
+    protected String groupRoleAttribute = "cn";
+    protected String rolePrefix = "ROLE_";
+    protected boolean convertToUpperCase = true;
+    protected boolean searchSubtree = false;
+
+    /**
+     * Group membership roles of the users processed by {@link #getGrantedAuthorities(Map)} by usernames.
+     */
+    protected final ThreadLocal<Map<String, Set<GrantedAuthority>>> batchGroupMembershipRoles = new ThreadLocal<>();
+
     public JmixLdapAuthoritiesPopulator(ContextSource contextSource, String groupSearchBase) {
         super(contextSource, groupSearchBase);
+        this.groupSearchTemplate = new SpringSecurityLdapTemplate(contextSource);
+        this.groupSearchBase = groupSearchBase;
     }
 
     @Autowired(required = false)
@@ -52,4 +87,125 @@ public class JmixLdapAuthoritiesPopulator extends DefaultLdapAuthoritiesPopulato
         return super.getAdditionalRoles(user, username);
     }
 
+    /**
+     * Obtains group membership roles of all given users by a single search and then populates authorities
+     * of each user as {@link #getGrantedAuthorities(DirContextOperations, String)} does.
+     */
+    @Override
+    public Map<String, Collection<? extends GrantedAuthority>> getGrantedAuthorities(Map<String, DirContextOperations> users) {
+        batchGroupMembershipRoles.set(searchGroupMembershipRoles(users));
+        try {
+            Map<String, Collection<? extends GrantedAuthority>> result = new HashMap<>();
+            for (Map.Entry<String, DirContextOperations> entry : users.entrySet()) {
+                result.put(entry.getKey(), getGrantedAuthorities(entry.getValue(), entry.getKey()));
+            }
+            return result;
+        } finally {
+            batchGroupMembershipRoles.remove();
+        }
+    }
+
+    @Override
+    public Set<GrantedAuthority> getGroupMembershipRoles(String userDn, String username) {
+        Map<String, Set<GrantedAuthority>> batchRoles = batchGroupMembershipRoles.get();
+        if (batchRoles != null && batchRoles.containsKey(username)) {
+            return batchRoles.get(username);
+        }
+        return super.getGroupMembershipRoles(userDn, username);
+    }
+
+    /**
+     * Searches groups having any of the given users as a member.
+     *
+     * @return group membership roles by username, or an empty map if the group search filter cannot be
+     * applied to several users at once
+     */
+    protected Map<String, Set<GrantedAuthority>> searchGroupMembershipRoles(Map<String, DirContextOperations> users) {
+        Matcher matcher = MEMBER_FILTER_PATTERN.matcher(groupSearchFilter.trim());
+        if (users.isEmpty() || groupSearchBase == null || !matcher.matches()) {
+            return Collections.emptyMap();
+        }
+        String memberAttribute = matcher.group(1);
+        boolean matchByDn = "0".equals(matcher.group(2));
+
+        Map<Object, String> usernamesByMember = new HashMap<>();
+        OrFilter filter = new OrFilter();
+        Map<String, Set<GrantedAuthority>> result = new HashMap<>();
+        for (Map.Entry<String, DirContextOperations> entry : users.entrySet()) {
+            String member = matchByDn ? entry.getValue().getNameInNamespace() : entry.getKey();
+            usernamesByMember.put(getMemberKey(member, matchByDn), entry.getKey());
+            filter.or(new EqualsFilter(memberAttribute, member));
+            result.put(entry.getKey(), new HashSet<>());
+        }
+
+        log.debug("Searching groups of {} users", users.size());
+        for (DirContextOperations group : searchGroups(filter, memberAttribute)) {
+            String[] roles = group.getStringAttributes(groupRoleAttribute);
+            String[] members = group.getStringAttributes(memberAttribute);
+            if (roles == null || members == null) {
+                continue;
+            }
+            for (String member : members) {
+                String username = usernamesByMember.get(getMemberKey(member, matchByDn));
+                if (username != null) {
+                    for (String role : roles) {
+                        result.get(username).add(createGroupAuthority(role));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    protected List<DirContextOperations> searchGroups(Filter filter, String memberAttribute) {
+        SearchControls searchControls = new SearchControls();
+        searchControls.setSearchScope(searchSubtree ? SearchControls.SUBTREE_SCOPE : SearchControls.ONELEVEL_SCOPE);
+        searchControls.setReturningAttributes(new String[]{groupRoleAttribute, memberAttribute});
+        return groupSearchTemplate.search(groupSearchBase, filter.encode(), searchControls,
+                (ContextMapper<DirContextOperations>) ctx -> (DirContextOperations) ctx);
+    }
+
+    protected Object getMemberKey(String member, boolean dn) {
+        return dn ? LdapUtils.newLdapName(member) : member;
+    }
+
+    protected GrantedAuthority createGroupAuthority(String role) {
+        return new SimpleGrantedAuthority(rolePrefix + (convertToUpperCase ? role.toUpperCase(Locale.ROOT) : role));
+    }
+
+    @Override
+    public void setGroupSearchFilter(String groupSearchFilter) {
+        super.setGroupSearchFilter(groupSearchFilter);
+        this.groupSearchFilter = groupSearchFilter;
+    }
+
+    @Override
+    public void setGroupRoleAttribute(String groupRoleAttribute) {
+        super.setGroupRoleAttribute(groupRoleAttribute);
+        this.groupRoleAttribute = groupRoleAttribute;
+    }
+
+    @Override
+    public void setRolePrefix(String rolePrefix) {
+        super.setRolePrefix(rolePrefix);
+        this.rolePrefix = rolePrefix;
+    }
+
+    @Override
+    public void setConvertToUpperCase(boolean convertToUpperCase) {
+        super.setConvertToUpperCase(convertToUpperCase);
+        this.convertToUpperCase = convertToUpperCase;
+    }
+
+    @Override
+    public void setSearchSubtree(boolean searchSubtree) {
+        super.setSearchSubtree(searchSubtree);
+        this.searchSubtree = searchSubtree;
+    }
+
+    @Override
+    public void setIgnorePartialResultException(boolean ignore) {
+        super.setIgnorePartialResultException(ignore);
+        groupSearchTemplate.setIgnorePartialResultException(ignore);
+    }
 }
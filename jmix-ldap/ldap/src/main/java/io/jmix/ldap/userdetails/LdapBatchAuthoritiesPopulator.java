@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.ldap.userdetails;
+
+import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.ldap.userdetails.LdapAuthoritiesPopulator;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * {@link LdapAuthoritiesPopulator} able to obtain authorities of several users at once, e.g. by a single search
+ * of their groups. Used by {@link LdapUserSynchronizationManager} to populate authorities of a synchronized batch.
+ */
+public interface LdapBatchAuthoritiesPopulator extends LdapAuthoritiesPopulator {
+
+    /**
+     * Obtains authorities of the given users.
+     *
+     * @param users LDAP entries of the users by their usernames
+     * @return authorities by username
+     */
+    Map<String, Collection<? extends GrantedAuthority>> getGrantedAuthorities(Map<String, DirContextOperations> users);
+}
@@ -20,9 +20,26 @@ import org.springframework.ldap.core.DirContextOperations;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public interface LdapUserDetailsSynchronizationStrategy {
     UserDetails synchronizeUserDetails(DirContextOperations ctx, String username,
                                        Collection<? extends GrantedAuthority> authorities);
+
+    /**
+     * Synchronizes a batch of LDAP users. The default implementation synchronizes users one by one,
+     * implementations may override it to load and save the users of the batch together.
+     *
+     * @param users LDAP entries of the users with their authorities
+     * @return synchronized user details
+     */
+    default List<UserDetails> synchronizeUsersDetails(List<LdapUserSynchronizationData> users) {
+        List<UserDetails> result = new ArrayList<>(users.size());
+        for (LdapUserSynchronizationData user : users) {
+            result.add(synchronizeUserDetails(user.getCtx(), user.getUsername(), user.getAuthorities()));
+        }
+        return result;
+    }
 }
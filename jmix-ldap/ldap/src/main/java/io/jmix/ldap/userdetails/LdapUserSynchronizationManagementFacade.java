@@ -32,4 +32,10 @@ public class LdapUserSynchronizationManagementFacade {
         ldapUserSynchronizationManager.synchronizeUsersFromGroup();
         return "Synchronized successfully";
     }
+
+    @ManagedOperation(description = "Synchronizes LDAP users from the predefined LDAP group changed since the previous synchronization")
+    public String synchronizeChangedUsersFromGroup() {
+        ldapUserSynchronizationManager.synchronizeChangedUsersFromGroup();
+        return "Synchronized successfully";
+    }
 }
@@ -20,16 +20,29 @@ import io.jmix.ldap.LdapProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.ldap.control.PagedResultsDirContextProcessor;
+import org.springframework.ldap.core.ContextMapper;
 import org.springframework.ldap.core.DirContextOperations;
 import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.core.support.SingleContextSource;
+import org.springframework.ldap.filter.AndFilter;
+import org.springframework.ldap.filter.EqualsFilter;
+import org.springframework.ldap.filter.Filter;
+import org.springframework.ldap.filter.GreaterThanOrEqualsFilter;
+import org.springframework.ldap.filter.OrFilter;
+import org.springframework.ldap.filter.PresentFilter;
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.ldap.LdapUtils;
 import org.springframework.security.ldap.search.LdapUserSearch;
 import org.springframework.security.ldap.userdetails.LdapAuthoritiesPopulator;
 
 import javax.naming.NamingException;
-import java.util.Collection;
-import java.util.Collections;
+import javax.naming.directory.SearchControls;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
+import java.util.*;
+import java.util.function.Consumer;
 
 public class LdapUserSynchronizationManager {
 
@@ -47,8 +60,28 @@ public class LdapUserSynchronizationManager {
 
     protected String usernameAttribute = "uid";
 
+    protected String userSearchBase = "";
+
+    protected int pageSize = 500;
+
+    protected int batchSize = 100;
+
+    protected String changeAttribute = "modifyTimestamp";
+
+    protected int memberFilterChunkSize = 100;
+
     protected LdapAuthoritiesPopulator authoritiesPopulator;
 
+    /**
+     * The greatest value of the {@link #changeAttribute} among users read by the last synchronization.
+     */
+    protected volatile String lastChangeMark;
+
+    /**
+     * Group members at the moment of the last synchronization.
+     */
+    protected volatile Set<LdapName> lastGroupMembers = Collections.emptySet();
+
     @Autowired(required = false)
     public void setSynchronizationStrategy(LdapUserDetailsSynchronizationStrategy synchronizationStrategy) {
         this.synchronizationStrategy = synchronizationStrategy;
@@ -59,6 +92,10 @@ public class LdapUserSynchronizationManager {
         this.groupDn = ldapProperties.getGroupForSynchronization();
         this.memberAttribute = ldapProperties.getMemberAttribute();
         this.usernameAttribute = ldapProperties.getUsernameAttribute();
+        this.userSearchBase = ldapProperties.getUserSearchBase();
+        this.pageSize = ldapProperties.getSynchronizationPageSize();
+        this.batchSize = ldapProperties.getSynchronizationBatchSize();
+        this.changeAttribute = ldapProperties.getSynchronizationChangeAttribute();
     }
 
     @Autowired
@@ -68,12 +105,31 @@ public class LdapUserSynchronizationManager {
 
     /**
      * Obtains LDAP users from the given group and synchronize them using the {@link #synchronizationStrategy}.
+     * <p>
+     * Group members are read with paged searches under the user search base and synchronized in batches.
      *
      * @throws IllegalArgumentException when LDAP group for synchronization is not set or
      *                                  group does not contain any users.
      * @throws IllegalStateException    when LdapUserDetailsSynchronizationStrategy bean is not found.
      */
-    public void synchronizeUsersFromGroup() {
+    public synchronized void synchronizeUsersFromGroup() {
+        synchronizeUsersFromGroup(null);
+    }
+
+    /**
+     * Synchronizes only users from the given group whose entries have changed since the previous synchronization
+     * according to the {@link #changeAttribute}, and users added to the group since then. If there was no
+     * previous synchronization or the directory does not provide the change attribute, all users are synchronized.
+     *
+     * @throws IllegalArgumentException when LDAP group for synchronization is not set or
+     *                                  group does not contain any users.
+     * @throws IllegalStateException    when LdapUserDetailsSynchronizationStrategy bean is not found.
+     */
+    public synchronized void synchronizeChangedUsersFromGroup() {
+        synchronizeUsersFromGroup(lastChangeMark);
+    }
+
+    protected void synchronizeUsersFromGroup(@Nullable String changedSince) {
         if (groupDn == null) {
             throw new IllegalArgumentException("LDAP group for synchronization is not set in application properties");
         }
@@ -81,24 +137,191 @@ public class LdapUserSynchronizationManager {
             throw new IllegalStateException("LdapUserDetailsSynchronizationStrategy bean is not found");
         }
 
-        String groupRelativeDn = getRelativeDn(groupDn);
-        DirContextOperations groupDirContextOperations = ldapTemplate.lookupContext(groupRelativeDn);
-        String[] groupMembers = groupDirContextOperations.getStringAttributes(memberAttribute);
-
-        if (groupMembers == null || groupMembers.length == 0) {
+        Set<LdapName> groupMembers = loadGroupMembers();
+        if (groupMembers.isEmpty()) {
             throw new IllegalArgumentException("No users found in the group: " + groupDn);
+        }
+
+        Map<String, DirContextOperations> batch = new LinkedHashMap<>();
+        Set<LdapName> foundMembers = new HashSet<>();
+        Consumer<DirContextOperations> memberConsumer = ctx -> {
+            LdapName dn = getDn(ctx);
+            // the filter matches members by RDN only, so entries with the same RDN elsewhere are skipped
+            if (groupMembers.contains(dn) && foundMembers.add(dn)) {
+                addToBatch(batch, ctx);
+            }
+        };
+
+        Set<LdapName> requiredMembers;
+        String changeMark;
+        if (changedSince == null) {
+            requiredMembers = groupMembers;
+            changeMark = searchMembers(groupMembers, null, memberConsumer);
         } else {
-            for (String userDn : groupMembers) {
-                String relativeName = getRelativeDn(userDn);
-                DirContextOperations dirContextOperations = ldapTemplate.lookupContext(relativeName);
-                String username = dirContextOperations.getStringAttribute(usernameAttribute);
-                Collection<? extends GrantedAuthority> authorities = Collections.emptyList();
-                if (authoritiesPopulator != null) {
-                    authorities = authoritiesPopulator.getGrantedAuthorities(dirContextOperations, username);
+            // membership changes are not reflected in the user entries, so new members are always synchronized
+            requiredMembers = new HashSet<>(groupMembers);
+            requiredMembers.removeAll(lastGroupMembers);
+            changeMark = getGreaterChangeMark(
+                    searchMembers(groupMembers, changedSince, memberConsumer),
+                    searchMembers(requiredMembers, null, memberConsumer));
+        }
+
+        // members missing in the search results are looked up one by one, e.g. the ones outside the search base
+        for (LdapName userDn : requiredMembers) {
+            if (!foundMembers.contains(userDn)) {
+                DirContextOperations ctx = ldapTemplate.lookupContext(getRelativeDn(userDn.toString()));
+                addToBatch(batch, ctx);
+            }
+        }
+        synchronizeBatch(batch);
+
+        lastGroupMembers = groupMembers;
+        lastChangeMark = changeMark != null ? changeMark : changedSince;
+    }
+
+    protected Set<LdapName> loadGroupMembers() {
+        DirContextOperations groupDirContextOperations = ldapTemplate.lookupContext(getRelativeDn(groupDn));
+        String[] members = groupDirContextOperations.getStringAttributes(memberAttribute);
+        Set<LdapName> groupMembers = new HashSet<>();
+        if (members != null) {
+            for (String member : members) {
+                groupMembers.add(org.springframework.ldap.support.LdapUtils.newLdapName(member));
+            }
+        }
+        return groupMembers;
+    }
+
+    /**
+     * Searches the given group members under the user search base. Members are matched by their RDNs
+     * in chunks of {@link #memberFilterChunkSize}, so that only group members are read from the directory.
+     *
+     * @param changedSince if not null, only entries with {@link #changeAttribute} not less than the value are found
+     * @return the greatest value of the {@link #changeAttribute} among the found entries
+     */
+    @Nullable
+    protected String searchMembers(Collection<LdapName> members, @Nullable String changedSince,
+                                   Consumer<DirContextOperations> userConsumer) {
+        String changeMark = null;
+        List<LdapName> chunk = new ArrayList<>();
+        Iterator<LdapName> iterator = members.iterator();
+        while (iterator.hasNext()) {
+            LdapName member = iterator.next();
+            if (!member.isEmpty()) {
+                chunk.add(member);
+            }
+            if (!chunk.isEmpty() && (chunk.size() >= memberFilterChunkSize || !iterator.hasNext())) {
+                AndFilter filter = new AndFilter();
+                filter.and(new PresentFilter(usernameAttribute));
+                filter.and(createMembersFilter(chunk));
+                if (changedSince != null) {
+                    filter.and(new GreaterThanOrEqualsFilter(changeAttribute, changedSince));
                 }
-                synchronizationStrategy.synchronizeUserDetails(dirContextOperations, username, authorities);
+                changeMark = getGreaterChangeMark(changeMark, searchUsers(filter, userConsumer));
+                chunk.clear();
             }
         }
+        return changeMark;
+    }
+
+    protected Filter createMembersFilter(List<LdapName> members) {
+        OrFilter filter = new OrFilter();
+        for (LdapName member : members) {
+            Rdn rdn = member.getRdn(member.size() - 1);
+            filter.or(new EqualsFilter(rdn.getType(), String.valueOf(rdn.getValue())));
+        }
+        return filter;
+    }
+
+    /**
+     * Performs a paged search of users under the user search base passing found entries to the consumer.
+     *
+     * @return the greatest value of the {@link #changeAttribute} among the found entries
+     */
+    @Nullable
+    protected String searchUsers(Filter filter, Consumer<DirContextOperations> userConsumer) {
+        SearchControls searchControls = new SearchControls();
+        searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        // the change attribute is operational in most directories and is not returned by default
+        searchControls.setReturningAttributes(new String[]{"*", changeAttribute});
+
+        return SingleContextSource.doWithSingleContext(ldapTemplate.getContextSource(), operations -> {
+            String changeMark = null;
+            PagedResultsDirContextProcessor processor = new PagedResultsDirContextProcessor(pageSize);
+            do {
+                List<DirContextOperations> page = operations.search(userSearchBase, filter.encode(), searchControls,
+                        (ContextMapper<DirContextOperations>) ctx -> (DirContextOperations) ctx, processor);
+                for (DirContextOperations ctx : page) {
+                    changeMark = getGreaterChangeMark(changeMark, ctx.getStringAttribute(changeAttribute));
+                    userConsumer.accept(ctx);
+                }
+            } while (processor.hasMore());
+            return changeMark;
+        });
+    }
+
+    @Nullable
+    protected String getGreaterChangeMark(@Nullable String mark1, @Nullable String mark2) {
+        if (mark1 == null || mark2 == null) {
+            return mark1 != null ? mark1 : mark2;
+        }
+        int result;
+        try {
+            // uSNChanged and similar attributes are numbers
+            result = Long.compare(Long.parseLong(mark1), Long.parseLong(mark2));
+        } catch (NumberFormatException e) {
+            // generalized time values of the same directory have the same format and are compared as strings
+            result = mark1.compareTo(mark2);
+        }
+        return result >= 0 ? mark1 : mark2;
+    }
+
+    protected void addToBatch(Map<String, DirContextOperations> batch, DirContextOperations ctx) {
+        batch.put(ctx.getStringAttribute(usernameAttribute), ctx);
+        if (batch.size() >= batchSize) {
+            synchronizeBatch(batch);
+        }
+    }
+
+    /**
+     * Synchronizes users of the batch with their authorities obtained by {@link #loadAuthorities(Map)}.
+     */
+    protected void synchronizeBatch(Map<String, DirContextOperations> batch) {
+        if (!batch.isEmpty()) {
+            log.debug("Synchronizing {} LDAP users", batch.size());
+            Map<String, Collection<? extends GrantedAuthority>> authorities = loadAuthorities(batch);
+            List<LdapUserSynchronizationData> users = new ArrayList<>(batch.size());
+            for (Map.Entry<String, DirContextOperations> entry : batch.entrySet()) {
+                users.add(new LdapUserSynchronizationData(entry.getValue(), entry.getKey(),
+                        authorities.getOrDefault(entry.getKey(), Collections.emptyList())));
+            }
+            synchronizationStrategy.synchronizeUsersDetails(users);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Obtains authorities of the batch users. If the {@link #authoritiesPopulator} supports it, the authorities
+     * are obtained for all users at once, otherwise one by one.
+     *
+     * @param batch LDAP entries of the users by usernames
+     * @return authorities by username
+     */
+    protected Map<String, Collection<? extends GrantedAuthority>> loadAuthorities(Map<String, DirContextOperations> batch) {
+        if (authoritiesPopulator == null) {
+            return Collections.emptyMap();
+        }
+        if (authoritiesPopulator instanceof LdapBatchAuthoritiesPopulator) {
+            return ((LdapBatchAuthoritiesPopulator) authoritiesPopulator).getGrantedAuthorities(batch);
+        }
+        Map<String, Collection<? extends GrantedAuthority>> result = new HashMap<>();
+        for (Map.Entry<String, DirContextOperations> entry : batch.entrySet()) {
+            result.put(entry.getKey(), authoritiesPopulator.getGrantedAuthorities(entry.getValue(), entry.getKey()));
+        }
+        return result;
+    }
+
+    protected LdapName getDn(DirContextOperations ctx) {
+        return org.springframework.ldap.support.LdapUtils.newLdapName(ctx.getNameInNamespace());
     }
 
     /**
@@ -127,4 +350,24 @@ public class LdapUserSynchronizationManager {
     public void setUsernameAttribute(String usernameAttribute) {
         this.usernameAttribute = usernameAttribute;
     }
+
+    public void setUserSearchBase(String userSearchBase) {
+        this.userSearchBase = userSearchBase;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setChangeAttribute(String changeAttribute) {
+        this.changeAttribute = changeAttribute;
+    }
+
+    public void setMemberFilterChunkSize(int memberFilterChunkSize) {
+        this.memberFilterChunkSize = memberFilterChunkSize;
+    }
 }
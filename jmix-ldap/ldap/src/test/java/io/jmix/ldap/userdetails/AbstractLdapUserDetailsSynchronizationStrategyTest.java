@@ -0,0 +1,223 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.ldap.userdetails;
+
+import io.jmix.core.FluentLoader;
+import io.jmix.core.SaveContext;
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.security.UserRepository;
+import io.jmix.ldap.LdapProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ldap.core.DirContextAdapter;
+import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AbstractLdapUserDetailsSynchronizationStrategyTest {
+
+    UnconstrainedDataManager dataManager;
+    List<TestUser> storedUsers;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        dataManager = mock(UnconstrainedDataManager.class);
+        storedUsers = new ArrayList<>();
+        FluentLoader<TestUser> loader = mock(FluentLoader.class);
+        FluentLoader.ByQuery<TestUser> query = mock(FluentLoader.ByQuery.class);
+        when(dataManager.load(TestUser.class)).thenReturn(loader);
+        when(loader.query(anyString())).thenReturn(query);
+        when(query.parameter(anyString(), any())).thenReturn(query);
+        when(query.list()).thenAnswer(invocation -> new ArrayList<>(storedUsers));
+    }
+
+    @Test
+    void batchIsLoadedByQueryAndSavedTogether() {
+        storedUsers.add(new TestUser("john"));
+        TestStrategy strategy = createStrategy(new TestStrategy());
+
+        List<UserDetails> result = strategy.synchronizeUsersDetails(List.of(createData("john"), createData("jane")));
+
+        assertEquals(List.of("john", "jane"), getUsernames(result));
+        assertSame(storedUsers.get(0), result.get(0));
+        assertEquals("john@company.com", ((TestUser) result.get(0)).getEmail());
+        // the overridden hook is used for both the loaded and the new user
+        assertEquals(List.of("john", "jane"), strategy.loadedUsernames);
+        verify(strategy.userRepository).loadUserByUsername("jane");
+        verify(strategy.userRepository, never()).loadUserByUsername("john");
+
+        ArgumentCaptor<SaveContext> captor = ArgumentCaptor.forClass(SaveContext.class);
+        verify(dataManager).save(captor.capture());
+        assertEquals(new HashSet<>(result), new HashSet<>(captor.getValue().getEntitiesToSave()));
+    }
+
+    @Test
+    void failedUsersAreSkipped() {
+        doAnswer(invocation -> {
+            SaveContext saveContext = invocation.getArgument(0);
+            if (saveContext.getEntitiesToSave().stream().anyMatch(user -> "broken".equals(((TestUser) user).getUsername()))) {
+                throw new IllegalStateException("Unable to save");
+            }
+            return null;
+        }).when(dataManager).save(any(SaveContext.class));
+        TestStrategy strategy = createStrategy(new TestStrategy());
+
+        List<UserDetails> result = strategy.synchronizeUsersDetails(
+                List.of(createData("john"), createData("broken"), createData("unmapped"), createData("jane")));
+
+        assertEquals(List.of("john", "jane"), getUsernames(result));
+        // the whole batch, then each user
+        verify(dataManager, times(4)).save(any(SaveContext.class));
+    }
+
+    @Test
+    void overriddenSynchronizeUserDetailsIsCalledForEachUser() {
+        List<String> synchronizedUsernames = new ArrayList<>();
+        TestStrategy strategy = createStrategy(new TestStrategy() {
+            @Override
+            public UserDetails synchronizeUserDetails(DirContextOperations ctx, String username,
+                                                      Collection<? extends GrantedAuthority> authorities) {
+                if ("unmapped".equals(username)) {
+                    throw new IllegalStateException("Unable to synchronize");
+                }
+                synchronizedUsernames.add(username);
+                return new TestUser(username);
+            }
+        });
+
+        List<UserDetails> result = strategy.synchronizeUsersDetails(
+                List.of(createData("john"), createData("unmapped"), createData("jane")));
+
+        assertEquals(List.of("john", "jane"), getUsernames(result));
+        assertEquals(List.of("john", "jane"), synchronizedUsernames);
+        verify(dataManager, never()).save(any(SaveContext.class));
+    }
+
+    <S extends TestStrategy> S createStrategy(S strategy) {
+        strategy.dataManager = dataManager;
+        strategy.userRepository = mock(UserRepository.class);
+        when(strategy.userRepository.loadUserByUsername(anyString())).thenThrow(new UsernameNotFoundException(""));
+        strategy.ldapProperties = mock(LdapProperties.class);
+        when(strategy.ldapProperties.getSynchronizeRoleAssignments()).thenReturn(false);
+        return strategy;
+    }
+
+    LdapUserSynchronizationData createData(String username) {
+        DirContextAdapter ctx = new DirContextAdapter("uid=" + username + ",ou=people,dc=company,dc=com");
+        ctx.setAttributeValue("uid", username);
+        ctx.setAttributeValue("mail", username + "@company.com");
+        return new LdapUserSynchronizationData(ctx, username, Collections.emptyList());
+    }
+
+    List<String> getUsernames(List<UserDetails> users) {
+        return users.stream().map(UserDetails::getUsername).collect(Collectors.toList());
+    }
+
+    static class TestStrategy extends AbstractLdapUserDetailsSynchronizationStrategy<TestUser> {
+
+        List<String> loadedUsernames = new ArrayList<>();
+
+        @Override
+        protected Class<TestUser> getUserClass() {
+            return TestUser.class;
+        }
+
+        @Override
+        protected TestUser loadUserDetails(String username, DirContextOperations ctx) {
+            loadedUsernames.add(username);
+            return super.loadUserDetails(username, ctx);
+        }
+
+        @Override
+        protected TestUser createUserDetails(String username, DirContextOperations ctx) {
+            return new TestUser(username);
+        }
+
+        @Override
+        protected void mapUserDetailsAttributes(TestUser userDetails, DirContextOperations ctx) {
+            if ("unmapped".equals(userDetails.getUsername())) {
+                throw new IllegalStateException("Unable to map attributes");
+            }
+            userDetails.setEmail(ctx.getStringAttribute("mail"));
+        }
+    }
+
+    static class TestUser implements UserDetails {
+
+        private final String username;
+        private String email;
+
+        TestUser(String username) {
+            this.username = username;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        @Override
+        public Collection<? extends GrantedAuthority> getAuthorities() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public String getPassword() {
+            return null;
+        }
+
+        @Override
+        public String getUsername() {
+            return username;
+        }
+
+        @Override
+        public boolean isAccountNonExpired() {
+            return true;
+        }
+
+        @Override
+        public boolean isAccountNonLocked() {
+            return true;
+        }
+
+        @Override
+        public boolean isCredentialsNonExpired() {
+            return true;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+    }
+}
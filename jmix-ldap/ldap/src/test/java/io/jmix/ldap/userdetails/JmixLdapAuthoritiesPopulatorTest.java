@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.ldap.userdetails;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ldap.core.ContextSource;
+import org.springframework.ldap.core.DirContextAdapter;
+import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.ldap.filter.Filter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class JmixLdapAuthoritiesPopulatorTest {
+
+    @Test
+    void groupsOfAllUsersAreObtainedBySingleSearch() {
+        TestPopulator populator = new TestPopulator();
+        populator.setGroupSearchFilter("(uniqueMember={0})");
+        populator.groups.add(createGroup("admins", "uniqueMember", "uid=john,ou=people,dc=company,dc=com"));
+        populator.groups.add(createGroup("users", "uniqueMember",
+                "UID=john,ou=people,dc=company,dc=com", "uid=jane,ou=people,dc=company,dc=com"));
+
+        Map<String, Collection<? extends GrantedAuthority>> authorities = populator.getGrantedAuthorities(
+                createUsers("john", "jane", "jack"));
+
+        assertEquals(1, populator.filters.size());
+        assertEquals("(|(uniqueMember=uid=john,ou=people,dc=company,dc=com)" +
+                        "(uniqueMember=uid=jane,ou=people,dc=company,dc=com)" +
+                        "(uniqueMember=uid=jack,ou=people,dc=company,dc=com))",
+                populator.filters.get(0));
+        assertEquals(Set.of("ROLE_ADMINS", "ROLE_USERS"), getRoles(authorities.get("john")));
+        assertEquals(Set.of("ROLE_USERS"), getRoles(authorities.get("jane")));
+        assertEquals(Set.of(), getRoles(authorities.get("jack")));
+    }
+
+    @Test
+    void groupsAreMatchedByUsername() {
+        TestPopulator populator = new TestPopulator();
+        populator.setGroupSearchFilter("(memberUid={1})");
+        populator.setRolePrefix("");
+        populator.setConvertToUpperCase(false);
+        populator.groups.add(createGroup("admins", "memberUid", "john"));
+
+        Map<String, Collection<? extends GrantedAuthority>> authorities = populator.getGrantedAuthorities(
+                createUsers("john", "jane"));
+
+        assertEquals(List.of("(|(memberUid=john)(memberUid=jane))"), populator.filters);
+        assertEquals(Set.of("admins"), getRoles(authorities.get("john")));
+        assertEquals(Set.of(), getRoles(authorities.get("jane")));
+    }
+
+    @Test
+    void complexFilterIsAppliedToEachUser() {
+        List<String> searchedUsernames = new ArrayList<>();
+        TestPopulator populator = new TestPopulator() {
+            @Override
+            public Set<GrantedAuthority> getGroupMembershipRoles(String userDn, String username) {
+                Map<String, Set<GrantedAuthority>> batchRoles = batchGroupMembershipRoles.get();
+                if (batchRoles != null && batchRoles.containsKey(username)) {
+                    return super.getGroupMembershipRoles(userDn, username);
+                }
+                // the default implementation performs a separate search for the user
+                searchedUsernames.add(username);
+                return Collections.emptySet();
+            }
+        };
+        populator.setGroupSearchFilter("(&(objectClass=groupOfNames)(member={0}))");
+
+        Map<String, Collection<? extends GrantedAuthority>> authorities = populator.getGrantedAuthorities(
+                createUsers("john", "jane"));
+
+        assertEquals(List.of(), populator.filters);
+        assertEquals(List.of("john", "jane"), searchedUsernames);
+        assertEquals(Set.of("john", "jane"), authorities.keySet());
+    }
+
+    Map<String, DirContextOperations> createUsers(String... usernames) {
+        Map<String, DirContextOperations> users = new LinkedHashMap<>();
+        for (String username : usernames) {
+            users.put(username, new DirContextAdapter("uid=" + username + ",ou=people,dc=company,dc=com"));
+        }
+        return users;
+    }
+
+    DirContextOperations createGroup(String name, String memberAttribute, String... members) {
+        DirContextAdapter group = new DirContextAdapter("cn=" + name + ",ou=groups,dc=company,dc=com");
+        group.setAttributeValue("cn", name);
+        group.setAttributeValues(memberAttribute, members);
+        return group;
+    }
+
+    Set<String> getRoles(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+    }
+
+    static class TestPopulator extends JmixLdapAuthoritiesPopulator {
+
+        List<DirContextOperations> groups = new ArrayList<>();
+        List<String> filters = new ArrayList<>();
+
+        TestPopulator() {
+            super(mock(ContextSource.class), "ou=groups");
+        }
+
+        @Override
+        protected List<DirContextOperations> searchGroups(Filter filter, String memberAttribute) {
+            filters.add(filter.encode());
+            return groups;
+        }
+    }
+}
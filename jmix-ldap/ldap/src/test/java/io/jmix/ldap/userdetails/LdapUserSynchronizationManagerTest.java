@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.ldap.userdetails;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ldap.core.DirContextAdapter;
+import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.ldap.userdetails.LdapAuthoritiesPopulator;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LdapUserSynchronizationManagerTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void authoritiesAreObtainedOncePerBatch() {
+        LdapBatchAuthoritiesPopulator populator = mock(LdapBatchAuthoritiesPopulator.class);
+        Map<String, Collection<? extends GrantedAuthority>> authorities = new HashMap<>();
+        authorities.put("john", List.of(new SimpleGrantedAuthority("ROLE_ADMINS")));
+        when(populator.getGrantedAuthorities(anyMap())).thenReturn(authorities);
+        LdapUserDetailsSynchronizationStrategy strategy = mock(LdapUserDetailsSynchronizationStrategy.class);
+
+        LdapUserSynchronizationManager manager = new LdapUserSynchronizationManager();
+        manager.setAuthoritiesPopulator(populator);
+        manager.setSynchronizationStrategy(strategy);
+        manager.setBatchSize(2);
+
+        Map<String, DirContextOperations> batch = new LinkedHashMap<>();
+        manager.addToBatch(batch, createUser("john"));
+        manager.addToBatch(batch, createUser("jane"));
+
+        verify(populator).getGrantedAuthorities(anyMap());
+        verify(populator, never()).getGrantedAuthorities(any(DirContextOperations.class), anyString());
+        assertTrue(batch.isEmpty());
+
+        ArgumentCaptor<List<LdapUserSynchronizationData>> captor = ArgumentCaptor.forClass(List.class);
+        verify(strategy).synchronizeUsersDetails(captor.capture());
+        List<LdapUserSynchronizationData> users = captor.getValue();
+        assertEquals(2, users.size());
+        assertEquals("john", users.get(0).getUsername());
+        assertEquals(authorities.get("john"), users.get(0).getAuthorities());
+        assertEquals("jane", users.get(1).getUsername());
+        assertTrue(users.get(1).getAuthorities().isEmpty());
+    }
+
+    @Test
+    void authoritiesAreObtainedPerUserWithoutBatchSupport() {
+        LdapAuthoritiesPopulator populator = mock(LdapAuthoritiesPopulator.class);
+        LdapUserDetailsSynchronizationStrategy strategy = mock(LdapUserDetailsSynchronizationStrategy.class);
+
+        LdapUserSynchronizationManager manager = new LdapUserSynchronizationManager();
+        manager.setAuthoritiesPopulator(populator);
+        manager.setSynchronizationStrategy(strategy);
+
+        Map<String, DirContextOperations> batch = new LinkedHashMap<>();
+        manager.addToBatch(batch, createUser("john"));
+        manager.addToBatch(batch, createUser("jane"));
+        manager.synchronizeBatch(batch);
+
+        verify(populator).getGrantedAuthorities(any(), eq("john"));
+        verify(populator).getGrantedAuthorities(any(), eq("jane"));
+        verify(strategy).synchronizeUsersDetails(anyList());
+    }
+
+    DirContextOperations createUser(String username) {
+        DirContextAdapter ctx = new DirContextAdapter("uid=" + username + ",ou=people,dc=company,dc=com");
+        ctx.setAttributeValue("uid", username);
+        return ctx;
+    }
+}
@@ -17,6 +17,7 @@
 package io.jmix.localfs;
 
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jmix.core.CoreProperties;
 import io.jmix.core.FileRef;
@@ -25,31 +26,45 @@ import io.jmix.core.FileStorageException;
 import io.jmix.core.TimeSource;
 import io.jmix.core.UuidProvider;
 import io.jmix.core.annotation.Internal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
 
-import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.*;
 
 @Internal
 @Component("locfs_FileStorage")
@@ -59,6 +74,9 @@ public class LocalFileStorage implements FileStorage {
 
     public static final String DEFAULT_STORAGE_NAME = "fs";
 
+    protected static final int REPLICATION_CHUNK_SIZE = 1024 * 1024;
+    protected static final String REPLICA_TEMP_SUFFIX = ".replica";
+
     protected String storageName;
     protected String storageDir;
 
@@ -71,10 +89,17 @@ public class LocalFileStorage implements FileStorage {
     @Autowired
     protected TimeSource timeSource;
 
+    @Autowired(required = false)
+    protected MeterRegistry meterRegistry;
+
     protected boolean isImmutableFileStorage;
 
-    protected ExecutorService writeExecutor = Executors.newFixedThreadPool(5,
-            new ThreadFactoryBuilder().setNameFormat("FileStorageWriter-%d").build());
+    protected volatile ExecutorService writeExecutor;
+
+    @Nullable
+    protected volatile RateLimiter replicationRateLimiter;
+
+    protected final AtomicInteger replicationBacklog = new AtomicInteger();
 
     protected volatile Path[] storageRoots;
 
@@ -98,6 +123,16 @@ public class LocalFileStorage implements FileStorage {
         this.storageDir = storageDir;
     }
 
+    @PostConstruct
+    protected void registerMetrics() {
+        if (meterRegistry != null) {
+            Gauge.builder("jmix.localfs.replication.backlog", replicationBacklog, AtomicInteger::get)
+                    .description("Number of files waiting to be copied to secondary storage directories")
+                    .tag("storage", storageName)
+                    .register(meterRegistry);
+        }
+    }
+
     @Override
     public String getStorageName() {
         return storageName;
@@ -162,9 +197,12 @@ public class LocalFileStorage implements FileStorage {
         checkFileExists(path);
 
         long size;
-        try (OutputStream outputStream = Files.newOutputStream(path, CREATE_NEW)) {
+        long checksum;
+        try (CheckedOutputStream outputStream = new CheckedOutputStream(
+                Files.newOutputStream(path, CREATE_NEW), new CRC32())) {
             size = IOUtils.copyLarge(inputStream, outputStream);
             outputStream.flush();
+            checksum = outputStream.getChecksum().getValue();
 //            writeLog(path, false);
         } catch (IOException e) {
             FileUtils.deleteQuietly(path.toFile());
@@ -180,11 +218,14 @@ public class LocalFileStorage implements FileStorage {
 
             Path pathCopy = roots[i].resolve(relativePath);
 
-            writeExecutor.submit(() -> {
+            replicationBacklog.incrementAndGet();
+            getWriteExecutor().submit(() -> {
                 try {
-                    FileUtils.copyFile(path.toFile(), pathCopy.toFile(), true);
+                    replicate(path, pathCopy, checksum);
                 } catch (Exception e) {
                     log.error("Error saving {} into {} : {}", fileRef.getFileName(), pathCopy, e.getMessage());
+                } finally {
+                    replicationBacklog.decrementAndGet();
                 }
             });
         }
@@ -192,6 +233,84 @@ public class LocalFileStorage implements FileStorage {
         return size;
     }
 
+    /**
+     * Copies a file saved to the primary storage directory to a secondary one. The copy is written to a temporary
+     * file, verified against the checksum calculated when saving the original and then atomically moved in place,
+     * so readers never see a partially copied file.
+     */
+    protected void replicate(Path source, Path target, long checksum) throws IOException {
+        Path parent = target.getParent();
+        if (parent == null) {
+            throw new IOException("Invalid storage path: " + target);
+        }
+        Files.createDirectories(parent);
+
+        Path tempFile = parent.resolve(target.getFileName() + REPLICA_TEMP_SUFFIX);
+        try {
+            try (FileChannel in = FileChannel.open(source, READ);
+                 FileChannel out = FileChannel.open(tempFile, CREATE, TRUNCATE_EXISTING, WRITE)) {
+                RateLimiter rateLimiter = replicationRateLimiter;
+                long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    long count = Math.min(REPLICATION_CHUNK_SIZE, size - position);
+                    if (rateLimiter != null) {
+                        rateLimiter.acquire((int) count);
+                    }
+                    long transferred = in.transferTo(position, count, out);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                }
+                out.force(false);
+            }
+
+            if (properties.isReplicationChecksumEnabled()) {
+                long copyChecksum = calculateChecksum(tempFile);
+                if (copyChecksum != checksum) {
+                    throw new IOException(String.format("Checksum mismatch for %s: expected %x, actual %x",
+                            target, checksum, copyChecksum));
+                }
+            }
+
+            Files.setLastModifiedTime(tempFile, Files.getLastModifiedTime(source));
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    protected long calculateChecksum(Path path) throws IOException {
+        try (CheckedInputStream inputStream = new CheckedInputStream(Files.newInputStream(path), new CRC32())) {
+            IOUtils.consume(inputStream);
+            return inputStream.getChecksum().getValue();
+        }
+    }
+
+    protected ExecutorService getWriteExecutor() {
+        if (writeExecutor == null) {
+            synchronized (this) {
+                if (writeExecutor == null) {
+                    long bytesPerSecond = properties.getReplicationBytesPerSecond();
+                    if (bytesPerSecond > 0) {
+                        replicationRateLimiter = RateLimiter.create(bytesPerSecond);
+                    }
+                    writeExecutor = Executors.newFixedThreadPool(properties.getReplicationThreads(),
+                            new ThreadFactoryBuilder().setNameFormat("FileStorageWriter-%d").build());
+                }
+            }
+        }
+        return writeExecutor;
+    }
+
+    /**
+     * @return number of saved files that are not copied to secondary storage directories yet
+     */
+    public int getReplicationBacklog() {
+        return replicationBacklog.get();
+    }
+
     @Override
     public FileRef saveStream(String fileName, InputStream inputStream, Map<String, Object> parameters) {
         Path relativePath = createRelativeFilePath(fileName);
@@ -226,6 +345,7 @@ public class LocalFileStorage implements FileStorage {
 
             try {
                 inputStream = Files.newInputStream(path);
+                break;
             } catch (IOException e) {
                 log.error("Error opening input stream for " + path, e);
             }
@@ -238,6 +358,96 @@ public class LocalFileStorage implements FileStorage {
         }
     }
 
+    @Override
+    public InputStream openStream(FileRef reference, long offset, @Nullable Long length) {
+        checkRange(offset, length);
+        Path path = getExistingFilePath(reference);
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, READ);
+            channel.position(offset);
+            InputStream inputStream = Channels.newInputStream(channel);
+            return length != null ? new BoundedInputStream(inputStream, length) : inputStream;
+        } catch (IOException e) {
+            IOUtils.closeQuietly(channel);
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, reference.getFileName(), e);
+        }
+    }
+
+    /**
+     * Transfers the file contents using {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+     * If the output stream is a {@link FileOutputStream}, data is moved by the operating system directly to
+     * its file channel. Other streams, e.g. servlet output streams, are wrapped in a channel which writes
+     * the data through an intermediate buffer.
+     */
+    @Override
+    public long transferTo(FileRef reference, long offset, @Nullable Long length, OutputStream outputStream) {
+        checkRange(offset, length);
+        Path path = getExistingFilePath(reference);
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            long end = length != null ? Math.min(channel.size(), offset + length) : channel.size();
+            // the target channel is not closed as it would close the output stream
+            WritableByteChannel target = outputStream instanceof FileOutputStream
+                    ? ((FileOutputStream) outputStream).getChannel()
+                    : Channels.newChannel(outputStream);
+            long position = offset;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            return Math.max(0, position - offset);
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, reference.getFileName(), e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Long getFileSize(FileRef reference) {
+        Path path = findFilePath(reference);
+        if (path == null) {
+            return null;
+        }
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            log.debug("Cannot determine size of {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return path of the file in the first storage directory containing it, or null if the file is not found
+     */
+    @Nullable
+    protected Path findFilePath(FileRef reference) {
+        Path relativePath = getRelativePath(reference.getPath());
+        for (Path root : getStorageRoots()) {
+            Path path = root.resolve(relativePath);
+            if (Files.exists(path)) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    protected Path getExistingFilePath(FileRef reference) {
+        Path path = findFilePath(reference);
+        if (path == null) {
+            throw new FileStorageException(FileStorageException.Type.FILE_NOT_FOUND, reference.toString());
+        }
+        return path;
+    }
+
+    protected void checkRange(long offset, @Nullable Long length) {
+        if (offset < 0 || (length != null && length < 0)) {
+            throw new IllegalArgumentException("Offset and length must not be negative");
+        }
+    }
+
     @Override
     public void removeFile(FileRef reference) {
         Path[] roots = getStorageRoots();
@@ -342,7 +552,9 @@ public class LocalFileStorage implements FileStorage {
 
     @PreDestroy
     protected void stopWriteExecutor() {
-        writeExecutor.shutdown();
+        if (writeExecutor != null) {
+            writeExecutor.shutdown();
+        }
     }
 
 }
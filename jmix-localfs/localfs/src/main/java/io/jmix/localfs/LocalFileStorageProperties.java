@@ -17,6 +17,7 @@
 package io.jmix.localfs;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "jmix.localfs")
 public class LocalFileStorageProperties {
@@ -26,9 +27,31 @@ public class LocalFileStorageProperties {
      */
     String storageDir;
 
+    /**
+     * Number of threads copying saved files to secondary storage directories.
+     */
+    int replicationThreads;
+
+    /**
+     * Maximum total rate (bytes per second) of copying files to secondary storage directories,
+     * so that replication does not saturate disks used by the primary storage. Zero means no limit.
+     */
+    long replicationBytesPerSecond;
+
+    /**
+     * Whether to verify the checksum of a file copied to a secondary storage directory before making it visible.
+     */
+    boolean replicationChecksumEnabled;
+
     public LocalFileStorageProperties(
-            String storageDir) {
+            String storageDir,
+            @DefaultValue("5") int replicationThreads,
+            @DefaultValue("0") long replicationBytesPerSecond,
+            @DefaultValue("true") boolean replicationChecksumEnabled) {
         this.storageDir = storageDir;
+        this.replicationThreads = replicationThreads;
+        this.replicationBytesPerSecond = replicationBytesPerSecond;
+        this.replicationChecksumEnabled = replicationChecksumEnabled;
     }
 
     /**
@@ -37,4 +60,25 @@ public class LocalFileStorageProperties {
     public String getStorageDir() {
         return storageDir;
     }
+
+    /**
+     * @see #replicationThreads
+     */
+    public int getReplicationThreads() {
+        return replicationThreads;
+    }
+
+    /**
+     * @see #replicationBytesPerSecond
+     */
+    public long getReplicationBytesPerSecond() {
+        return replicationBytesPerSecond;
+    }
+
+    /**
+     * @see #replicationChecksumEnabled
+     */
+    public boolean isReplicationChecksumEnabled() {
+        return replicationChecksumEnabled;
+    }
 }
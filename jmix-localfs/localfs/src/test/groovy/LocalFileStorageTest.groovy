@@ -18,14 +18,20 @@
 import io.jmix.core.FileRef
 import io.jmix.core.FileStorage
 import io.jmix.core.CoreConfiguration
+import io.jmix.localfs.LocalFileStorage
 import io.jmix.localfs.LocalFileStorageConfiguration
 import org.apache.commons.io.IOUtils
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Qualifier
 import org.springframework.test.context.ContextConfiguration
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
 import test_support.LocalFileStorageTestConfiguration
 import test_support.TestContextInititalizer
 
+import java.nio.file.Files
+import java.nio.file.Paths
+
 @ContextConfiguration(
         classes = [CoreConfiguration, LocalFileStorageConfiguration, LocalFileStorageTestConfiguration],
         initializers = [TestContextInititalizer]
@@ -35,6 +41,10 @@ class LocalFileStorageTest extends Specification {
     @Autowired
     private FileStorage fileStorage
 
+    @Autowired
+    @Qualifier("replicatedFileStorage")
+    private LocalFileStorage replicatedFileStorage
+
     def "write/load data using file storage"() {
         byte[] a = 'Test output'.getBytes()
         FileRef fileRef = fileStorage.saveStream("test.txt", new ByteArrayInputStream(a))
@@ -47,6 +57,46 @@ class LocalFileStorageTest extends Specification {
         fileStorage.removeFile(fileRef)
     }
 
+    def "read a part of a file"() {
+        byte[] a = '0123456789'.getBytes()
+        FileRef fileRef = fileStorage.saveStream("test.txt", new ByteArrayInputStream(a))
+
+        expect:
+        fileStorage.getFileSize(fileRef) == 10L
+        IOUtils.toByteArray(fileStorage.openStream(fileRef, 2, 3L)) == '234'.getBytes()
+        IOUtils.toByteArray(fileStorage.openStream(fileRef, 7, null)) == '789'.getBytes()
+
+        def out = new ByteArrayOutputStream()
+        fileStorage.transferTo(fileRef, 5, 100L, out) == 5L
+        out.toByteArray() == '56789'.getBytes()
+
+        def targetFile = File.createTempFile("transfer", ".txt")
+        new FileOutputStream(targetFile).withCloseable { fileStorage.transferTo(fileRef, 2, 3L, it) } == 3L
+        targetFile.bytes == '234'.getBytes()
+
+        cleanup:
+        fileStorage.removeFile(fileRef)
+        targetFile?.delete()
+    }
+
+    def "file is replicated to secondary storage directory"() {
+        byte[] a = 'Replicated output'.getBytes()
+
+        when:
+        FileRef fileRef = replicatedFileStorage.saveStream("test.txt", new ByteArrayInputStream(a))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert replicatedFileStorage.getReplicationBacklog() == 0
+            def copy = Paths.get(System.getProperty("user.dir"), "build/test-home/replicated/secondary", fileRef.getPath())
+            assert Files.exists(copy)
+            assert Files.readAllBytes(copy) == a
+        }
+
+        cleanup:
+        replicatedFileStorage.removeFile(fileRef)
+    }
+
     def "FileRef format"() {
         when: "FileRef as URI string"
         def fileRefString = 'fs://2021/01/25/60680137-5d4a-69a0-999e-526acf141308.png?name=1.txt&testParam=foo'
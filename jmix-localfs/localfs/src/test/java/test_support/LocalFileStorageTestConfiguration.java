@@ -39,6 +39,12 @@ public class LocalFileStorageTestConfiguration {
         return new LocalFileStorage("testFs");
     }
 
+    @Bean
+    LocalFileStorage replicatedFileStorage() {
+        String baseDir = System.getProperty("user.dir") + "/build/test-home/replicated";
+        return new LocalFileStorage("replicatedFs", baseDir + "/primary," + baseDir + "/secondary");
+    }
+
     @Bean
     public CacheManager cacheManager() {
         return new ConcurrentMapCacheManager();
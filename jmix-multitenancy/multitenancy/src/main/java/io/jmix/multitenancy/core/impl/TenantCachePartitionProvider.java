@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.multitenancy.core.impl;
+
+import io.jmix.core.CachePartitionProvider;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.multitenancy.core.TenantEntityOperation;
+import io.jmix.multitenancy.core.TenantProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Divides application caches into partitions by the tenant of the current user. Users without a tenant
+ * use the default partition.
+ */
+@Component("mten_TenantCachePartitionProvider")
+public class TenantCachePartitionProvider implements CachePartitionProvider {
+
+    private final TenantProvider tenantProvider;
+    private final TenantEntityOperation tenantEntityOperation;
+
+    public TenantCachePartitionProvider(TenantProvider tenantProvider,
+                                        TenantEntityOperation tenantEntityOperation) {
+        this.tenantProvider = tenantProvider;
+        this.tenantEntityOperation = tenantEntityOperation;
+    }
+
+    @Override
+    public String getCurrentPartition() {
+        String tenantId = tenantProvider.getCurrentUserTenantId();
+        return TenantProvider.NO_TENANT.equals(tenantId) ? DEFAULT_PARTITION : tenantId;
+    }
+
+    /**
+     * Returns true if the entity has a tenant property, so it is visible only to users of the same tenant
+     * and to users without a tenant.
+     */
+    @Override
+    public boolean isPartitioned(MetaClass metaClass) {
+        return tenantEntityOperation.findTenantProperty(metaClass.getJavaClass()) != null;
+    }
+}
@@ -0,0 +1,16 @@
+package io.jmix.oidc.user;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Interface to be implemented by the user entity that stores the hash of OpenID claims used for the last
+ * synchronization of the user. If the claims received on login have the same hash,
+ * {@link io.jmix.oidc.usermapper.SynchronizingOidcUserMapper} does not update the user in the database.
+ */
+public interface HasOidcClaimsHash {
+
+    @Nullable
+    String getOidcClaimsHash();
+
+    void setOidcClaimsHash(@Nullable String oidcClaimsHash);
+}
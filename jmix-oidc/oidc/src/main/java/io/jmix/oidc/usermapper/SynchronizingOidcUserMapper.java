@@ -1,28 +1,41 @@
 package io.jmix.oidc.usermapper;
 
 import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
+import io.jmix.core.EntityStates;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
 import io.jmix.core.SaveContext;
 import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.security.UserRepository;
 import io.jmix.data.PersistenceHints;
 import io.jmix.oidc.claimsmapper.ClaimsRolesMapper;
+import io.jmix.oidc.user.HasOidcClaimsHash;
 import io.jmix.oidc.user.JmixOidcUser;
 import io.jmix.security.role.RoleGrantedAuthorityUtils;
 import io.jmix.security.role.assignment.RoleAssignmentRoleType;
 import io.jmix.securitydata.entity.RoleAssignmentEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 
 /**
  * Implementation of the {@link OidcUserMapper} that not only maps the external user object to the persistent user
  * entity, but also stores the user and optionally their role assignment to the database.
+ * <p>
+ * Only changes are written to the database: the user is saved if it is new or if its persistent attributes differ
+ * from the stored ones, and only missing role assignments are added and only obsolete ones are removed. If the user
+ * entity implements {@link HasOidcClaimsHash} and the claims have not changed since the previous login, the user is
+ * not saved at all. So the login of a user whose claims and roles have not changed does not write to the database.
  *
  * @param <T>
  */
@@ -41,6 +54,27 @@ public abstract class SynchronizingOidcUserMapper<T extends JmixOidcUser> extend
 
     protected RoleGrantedAuthorityUtils roleGrantedAuthorityUtils;
 
+    /**
+     * Claims which values change on each login and are not included in the claims hash.
+     */
+    protected Set<String> volatileClaims = Set.of("iat", "exp", "nbf", "auth_time", "nonce", "at_hash", "c_hash",
+            "jti", "sid", "session_state");
+
+    /**
+     * Persistent attributes of the user loaded from the database in {@link #toJmixUser(OidcUser)}, passed to
+     * {@link #saveJmixUserAndRoleAssignments(OidcUser, JmixOidcUser)} by the current thread.
+     */
+    protected final ThreadLocal<Map<String, Object>> storedUserAttributes = new ThreadLocal<>();
+
+    @Autowired
+    protected Metadata metadata;
+
+    @Autowired
+    protected MetadataTools metadataTools;
+
+    @Autowired
+    protected EntityStates entityStates;
+
     public SynchronizingOidcUserMapper(UnconstrainedDataManager dataManager,
                                        UserRepository userRepository,
                                        ClaimsRolesMapper claimsRolesMapper,
@@ -83,35 +117,161 @@ public abstract class SynchronizingOidcUserMapper<T extends JmixOidcUser> extend
     }
 
     @Override
-    protected void performAdditionalModifications(OidcUser oidcUser, T jmixUser) {
-        super.performAdditionalModifications(oidcUser, jmixUser);
-        saveJmixUserAndRoleAssignments(oidcUser, jmixUser);
+    public T toJmixUser(OidcUser oidcUser) {
+        T jmixUser = initJmixUser(oidcUser);
+        Map<String, Object> storedAttributes = entityStates.isNew(jmixUser) ? null : getPersistentAttributes(jmixUser);
+        populateUserAttributes(oidcUser, jmixUser);
+        populateUserAuthorities(oidcUser, jmixUser);
+        performAdditionalModifications(oidcUser, jmixUser);
+        storedUserAttributes.set(storedAttributes);
+        try {
+            saveJmixUserAndRoleAssignments(oidcUser, jmixUser);
+        } finally {
+            storedUserAttributes.remove();
+        }
+        return jmixUser;
     }
 
+    /**
+     * Saves the user and role assignments. Delegates to
+     * {@link #saveJmixUserAndRoleAssignments(OidcUser, JmixOidcUser, Map)} with the persistent attributes of the user
+     * loaded in {@link #toJmixUser(OidcUser)}, so the user is always saved if this method is called from elsewhere.
+     */
     protected void saveJmixUserAndRoleAssignments(OidcUser oidcUser, T jmixUser) {
+        saveJmixUserAndRoleAssignments(oidcUser, jmixUser, storedUserAttributes.get());
+    }
+
+    /**
+     * Saves the user if it has been changed and synchronizes role assignments if needed.
+     *
+     * @param storedAttributes values of persistent attributes of the user loaded from the database,
+     *                         or null if the user is new or its state is unknown
+     */
+    protected void saveJmixUserAndRoleAssignments(OidcUser oidcUser, T jmixUser,
+                                                  @Nullable Map<String, Object> storedAttributes) {
         SaveContext saveContext = new SaveContext();
+        String username = getOidcUserUsername(oidcUser);
+
+        if (isUserChanged(oidcUser, jmixUser, storedAttributes)) {
+            if (jmixUser instanceof HasOidcClaimsHash) {
+                ((HasOidcClaimsHash) jmixUser).setOidcClaimsHash(calculateClaimsHash(oidcUser));
+            }
+            saveContext.saving(jmixUser);
+        }
 
         if (synchronizeRoleAssignments) {
-            String username = getOidcUserUsername(oidcUser);
-            //disable soft-deletion to completely remove role assignment records from the database
-            saveContext.setHint(PersistenceHints.SOFT_DELETION, false);
             List<RoleAssignmentEntity> existingRoleAssignmentEntities = dataManager.load(RoleAssignmentEntity.class)
                     .query("select e from sec_RoleAssignmentEntity e where e.username = :username")
                     .parameter("username", username)
                     .list();
-            //todo do not remove all assignments but only assignments missing in new user authorities
-            saveContext.removing(existingRoleAssignmentEntities);
 
-            Collection<RoleAssignmentEntity> newRoleAssignmentEntities = buildRoleAssignmentEntities(username, jmixUser.getAuthorities());
-            saveContext.saving(newRoleAssignmentEntities);
+            Map<String, RoleAssignmentEntity> newRoleAssignmentEntities = new LinkedHashMap<>();
+            for (RoleAssignmentEntity roleAssignmentEntity : buildRoleAssignmentEntities(username, jmixUser.getAuthorities())) {
+                newRoleAssignmentEntities.putIfAbsent(getRoleAssignmentKey(roleAssignmentEntity), roleAssignmentEntity);
+            }
+
+            Set<String> existingKeys = new HashSet<>();
+            for (RoleAssignmentEntity roleAssignmentEntity : existingRoleAssignmentEntities) {
+                String key = getRoleAssignmentKey(roleAssignmentEntity);
+                if (!newRoleAssignmentEntities.containsKey(key) || !existingKeys.add(key)) {
+                    saveContext.removing(roleAssignmentEntity);
+                }
+            }
+            newRoleAssignmentEntities.forEach((key, roleAssignmentEntity) -> {
+                if (!existingKeys.contains(key)) {
+                    saveContext.saving(roleAssignmentEntity);
+                }
+            });
+
+            if (!saveContext.getEntitiesToRemove().isEmpty()) {
+                //disable soft-deletion to completely remove role assignment records from the database
+                saveContext.setHint(PersistenceHints.SOFT_DELETION, false);
+            }
         }
 
-        saveContext.saving(jmixUser);
+        if (saveContext.getEntitiesToSave().isEmpty() && saveContext.getEntitiesToRemove().isEmpty()) {
+            log.debug("User {} is up to date", username);
+            return;
+        }
 
         //persist user details and roles if needed
         dataManager.save(saveContext);
     }
 
+    /**
+     * Checks whether the user must be saved to the database.
+     *
+     * @param storedAttributes values of persistent attributes of the user loaded from the database,
+     *                         or null if the user is new or its state is unknown
+     */
+    protected boolean isUserChanged(OidcUser oidcUser, T jmixUser, @Nullable Map<String, Object> storedAttributes) {
+        if (storedAttributes == null) {
+            return true;
+        }
+        if (jmixUser instanceof HasOidcClaimsHash) {
+            // the user is saved when claims change in order to store the new hash
+            return !Objects.equals(((HasOidcClaimsHash) jmixUser).getOidcClaimsHash(), calculateClaimsHash(oidcUser));
+        }
+        return !storedAttributes.equals(getPersistentAttributes(jmixUser));
+    }
+
+    /**
+     * Returns values of loaded persistent non-reference attributes of the user.
+     */
+    protected Map<String, Object> getPersistentAttributes(T jmixUser) {
+        Map<String, Object> attributes = new HashMap<>();
+        for (MetaProperty metaProperty : metadata.getClass(jmixUser).getProperties()) {
+            if (!metaProperty.getRange().isClass()
+                    && metadataTools.isJpa(metaProperty)
+                    && entityStates.isLoaded(jmixUser, metaProperty.getName())) {
+                attributes.put(metaProperty.getName(), EntityValues.getValue(jmixUser, metaProperty.getName()));
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Calculates the hash of claims excluding {@link #volatileClaims}.
+     */
+    protected String calculateClaimsHash(OidcUser oidcUser) {
+        Map<String, Object> claims = new HashMap<>(oidcUser.getClaims());
+        claims.keySet().removeAll(volatileClaims);
+        Object canonicalClaims = canonicalizeClaimValue(claims);
+        return Hashing.sha256().hashString(String.valueOf(canonicalClaims), StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Converts the claim value to a form which string representation does not depend on the order of map entries
+     * and set elements: maps are sorted by keys and sets are sorted by string representations of their elements,
+     * recursively.
+     */
+    @Nullable
+    protected Object canonicalizeClaimValue(@Nullable Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> canonicalMap = new TreeMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                canonicalMap.put(String.valueOf(entry.getKey()), canonicalizeClaimValue(entry.getValue()));
+            }
+            return canonicalMap;
+        }
+        if (value instanceof Collection || value instanceof Object[]) {
+            Collection<?> collection = value instanceof Object[] ? Arrays.asList((Object[]) value) : (Collection<?>) value;
+            List<Object> canonicalList = new ArrayList<>(collection.size());
+            for (Object element : collection) {
+                canonicalList.add(canonicalizeClaimValue(element));
+            }
+            if (value instanceof Set) {
+                canonicalList.sort(Comparator.comparing(String::valueOf));
+            }
+            return canonicalList;
+        }
+        return value;
+    }
+
+    protected String getRoleAssignmentKey(RoleAssignmentEntity roleAssignmentEntity) {
+        return roleAssignmentEntity.getRoleType() + ":" + roleAssignmentEntity.getRoleCode();
+    }
+
     protected Collection<RoleAssignmentEntity> buildRoleAssignmentEntities(String username, Collection<? extends GrantedAuthority> grantedAuthorities) {
         List<RoleAssignmentEntity> roleAssignmentEntities = new ArrayList<>();
         String defaultRolePrefix = roleGrantedAuthorityUtils.getDefaultRolePrefix();
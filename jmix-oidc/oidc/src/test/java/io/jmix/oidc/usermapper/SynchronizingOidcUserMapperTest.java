@@ -0,0 +1,357 @@
+package io.jmix.oidc.usermapper;
+
+import io.jmix.core.Entity;
+import io.jmix.core.EntityEntry;
+import io.jmix.core.EntityStates;
+import io.jmix.core.FluentLoader;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.SaveContext;
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.entity.NoIdEntityEntry;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.metamodel.model.Range;
+import io.jmix.core.security.UserRepository;
+import io.jmix.oidc.claimsmapper.ClaimsRolesMapper;
+import io.jmix.oidc.user.DefaultJmixOidcUser;
+import io.jmix.oidc.user.HasOidcClaimsHash;
+import io.jmix.security.role.RoleGrantedAuthorityUtils;
+import io.jmix.security.role.assignment.RoleAssignmentRoleType;
+import io.jmix.securitydata.entity.RoleAssignmentEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SynchronizingOidcUserMapperTest {
+
+    UnconstrainedDataManager dataManager;
+    UserRepository userRepository;
+    ClaimsRolesMapper claimsRolesMapper;
+    RoleGrantedAuthorityUtils roleGrantedAuthorityUtils;
+    MetaClass metaClass;
+    FluentLoader.ByQuery<RoleAssignmentEntity> roleAssignmentsQuery;
+
+    TestUserMapper userMapper;
+    TestUser storedUser;
+    List<RoleAssignmentEntity> storedRoleAssignments;
+    List<GrantedAuthority> mappedAuthorities;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        dataManager = mock(UnconstrainedDataManager.class);
+        userRepository = mock(UserRepository.class);
+        claimsRolesMapper = mock(ClaimsRolesMapper.class);
+        roleGrantedAuthorityUtils = mock(RoleGrantedAuthorityUtils.class);
+        when(roleGrantedAuthorityUtils.getDefaultRolePrefix()).thenReturn("ROLE_");
+        when(roleGrantedAuthorityUtils.getDefaultRowLevelRolePrefix()).thenReturn("ROW_LEVEL_ROLE_");
+
+        userMapper = new TestUserMapper(dataManager, userRepository, claimsRolesMapper, roleGrantedAuthorityUtils);
+        userMapper.setSynchronizeRoleAssignments(true);
+        userMapper.metadata = mock(Metadata.class);
+        userMapper.metadataTools = mock(MetadataTools.class);
+        userMapper.entityStates = mock(EntityStates.class);
+        metaClass = mock(MetaClass.class);
+        when(metaClass.getProperties()).thenReturn(Collections.emptyList());
+        when(userMapper.metadata.getClass(any(Object.class))).thenReturn(metaClass);
+
+        storedRoleAssignments = new ArrayList<>();
+        FluentLoader<RoleAssignmentEntity> loader = mock(FluentLoader.class);
+        roleAssignmentsQuery = mock(FluentLoader.ByQuery.class);
+        when(dataManager.load(RoleAssignmentEntity.class)).thenReturn(loader);
+        when(loader.query(anyString())).thenReturn(roleAssignmentsQuery);
+        when(roleAssignmentsQuery.parameter(anyString(), any())).thenReturn(roleAssignmentsQuery);
+        when(roleAssignmentsQuery.list()).thenAnswer(invocation -> new ArrayList<>(storedRoleAssignments));
+        when(dataManager.create(RoleAssignmentEntity.class)).thenAnswer(invocation -> new RoleAssignmentEntity());
+
+        mappedAuthorities = new ArrayList<>();
+        when(claimsRolesMapper.toGrantedAuthorities(anyMap())).thenAnswer(invocation -> mappedAuthorities);
+    }
+
+    @Test
+    void unchangedUserIsNotSaved() {
+        OidcUser oidcUser = createOidcUser("user1@company.com", Instant.now());
+        storeUser(oidcUser, "system-full-access");
+
+        OidcUser nextLoginOidcUser = createOidcUser("user1@company.com", Instant.now().plusSeconds(60));
+        TestUser user = userMapper.toJmixUser(nextLoginOidcUser);
+
+        assertSame(storedUser, user);
+        verify(dataManager, never()).save(any(SaveContext.class));
+    }
+
+    @Test
+    void userIsSavedWhenClaimsChange() {
+        storeUser(createOidcUser("user1@company.com", Instant.now()), "system-full-access");
+        String storedHash = storedUser.getOidcClaimsHash();
+
+        TestUser user = userMapper.toJmixUser(createOidcUser("user1@example.com", Instant.now()));
+
+        SaveContext saveContext = captureSaveContext();
+        assertEquals(Set.of(user), saveContext.getEntitiesToSave());
+        assertTrue(saveContext.getEntitiesToRemove().isEmpty());
+        assertEquals("user1@example.com", user.getEmail());
+        assertNotEquals(storedHash, user.getOidcClaimsHash());
+    }
+
+    @Test
+    void onlyChangedRoleAssignmentsAreSaved() {
+        OidcUser oidcUser = createOidcUser("user1@company.com", Instant.now());
+        storeUser(oidcUser, "system-full-access", "ui-minimal");
+
+        setMappedRoles("ui-minimal", "reports");
+        userMapper.toJmixUser(oidcUser);
+
+        SaveContext saveContext = captureSaveContext();
+        assertEquals(Set.of("reports"), getRoleCodes(saveContext.getEntitiesToSave()));
+        assertEquals(Set.of("system-full-access"), getRoleCodes(saveContext.getEntitiesToRemove()));
+    }
+
+    @Test
+    void claimsHashDoesNotDependOnOrderOfNestedClaims() {
+        Map<String, Object> address1 = new LinkedHashMap<>();
+        address1.put("country", "US");
+        address1.put("locality", "Boston");
+        Map<String, Object> address2 = new LinkedHashMap<>();
+        address2.put("locality", "Boston");
+        address2.put("country", "US");
+
+        Set<String> groups1 = new LinkedHashSet<>(List.of("admins", "users"));
+        Set<String> groups2 = new LinkedHashSet<>(List.of("users", "admins"));
+
+        String hash1 = userMapper.calculateClaimsHash(createOidcUser(Map.of("address", address1, "groups", groups1)));
+        String hash2 = userMapper.calculateClaimsHash(createOidcUser(Map.of("address", address2, "groups", groups2)));
+        String hash3 = userMapper.calculateClaimsHash(createOidcUser(Map.of("address", address1, "groups", Set.of("users"))));
+
+        assertEquals(hash1, hash2);
+        assertNotEquals(hash1, hash3);
+    }
+
+    @Test
+    void overriddenSaveMethodIsCalled() {
+        OidcUser oidcUser = createOidcUser("user1@company.com", Instant.now());
+        storeUser(oidcUser, "system-full-access");
+
+        userMapper.toJmixUser(oidcUser);
+
+        assertEquals(1, userMapper.saveCount);
+    }
+
+    @Test
+    void unchangedUserWithoutClaimsHashIsNotSaved() {
+        TestPlainUserMapper plainUserMapper = createPlainUserMapper();
+        OidcUser oidcUser = createOidcUser("user1@company.com", Instant.now());
+        TestPlainUser storedPlainUser = storePlainUser(oidcUser);
+
+        OidcUser nextLoginOidcUser = createOidcUser("user1@company.com", Instant.now().plusSeconds(60));
+        TestPlainUser user = plainUserMapper.toJmixUser(nextLoginOidcUser);
+
+        assertSame(storedPlainUser, user);
+        verify(dataManager, never()).save(any(SaveContext.class));
+    }
+
+    @Test
+    void userWithoutClaimsHashIsSavedWhenMappedAttributeChanges() {
+        TestPlainUserMapper plainUserMapper = createPlainUserMapper();
+        storePlainUser(createOidcUser("user1@company.com", Instant.now()));
+
+        TestPlainUser user = plainUserMapper.toJmixUser(createOidcUser("user1@example.com", Instant.now()));
+
+        SaveContext saveContext = captureSaveContext();
+        assertEquals(Set.of(user), saveContext.getEntitiesToSave());
+        assertTrue(saveContext.getEntitiesToRemove().isEmpty());
+        assertEquals("user1@example.com", user.getEmail());
+    }
+
+    TestPlainUserMapper createPlainUserMapper() {
+        TestPlainUserMapper plainUserMapper = new TestPlainUserMapper(dataManager, userRepository, claimsRolesMapper,
+                roleGrantedAuthorityUtils);
+        plainUserMapper.setSynchronizeRoleAssignments(true);
+        plainUserMapper.metadata = userMapper.metadata;
+        plainUserMapper.metadataTools = userMapper.metadataTools;
+        plainUserMapper.entityStates = userMapper.entityStates;
+
+        MetaProperty emailProperty = mock(MetaProperty.class);
+        Range range = mock(Range.class);
+        when(range.isClass()).thenReturn(false);
+        when(emailProperty.getRange()).thenReturn(range);
+        when(emailProperty.getName()).thenReturn("email");
+        when(metaClass.getProperties()).thenReturn(List.of(emailProperty));
+        when(plainUserMapper.metadataTools.isJpa(emailProperty)).thenReturn(true);
+        when(plainUserMapper.entityStates.isLoaded(any(), eq("email"))).thenReturn(true);
+        return plainUserMapper;
+    }
+
+    TestPlainUser storePlainUser(OidcUser oidcUser) {
+        TestPlainUser plainUser = new TestPlainUser();
+        plainUser.setDelegate(oidcUser);
+        plainUser.setEmail(oidcUser.getEmail());
+        when(userRepository.loadUserByUsername("user1")).thenReturn(plainUser);
+
+        RoleAssignmentEntity roleAssignment = new RoleAssignmentEntity();
+        roleAssignment.setUsername("user1");
+        roleAssignment.setRoleCode("system-full-access");
+        roleAssignment.setRoleType(RoleAssignmentRoleType.RESOURCE);
+        storedRoleAssignments.add(roleAssignment);
+        setMappedRoles("system-full-access");
+        return plainUser;
+    }
+
+    void storeUser(OidcUser oidcUser, String... roleCodes) {
+        storedUser = new TestUser();
+        storedUser.setDelegate(oidcUser);
+        storedUser.setEmail(oidcUser.getEmail());
+        storedUser.setOidcClaimsHash(userMapper.calculateClaimsHash(oidcUser));
+        when(userRepository.loadUserByUsername("user1")).thenReturn(storedUser);
+
+        for (String roleCode : roleCodes) {
+            RoleAssignmentEntity roleAssignment = new RoleAssignmentEntity();
+            roleAssignment.setUsername("user1");
+            roleAssignment.setRoleCode(roleCode);
+            roleAssignment.setRoleType(RoleAssignmentRoleType.RESOURCE);
+            storedRoleAssignments.add(roleAssignment);
+        }
+        setMappedRoles(roleCodes);
+    }
+
+    void setMappedRoles(String... roleCodes) {
+        mappedAuthorities.clear();
+        for (String roleCode : roleCodes) {
+            mappedAuthorities.add(new SimpleGrantedAuthority("ROLE_" + roleCode));
+        }
+    }
+
+    SaveContext captureSaveContext() {
+        ArgumentCaptor<SaveContext> captor = ArgumentCaptor.forClass(SaveContext.class);
+        verify(dataManager).save(captor.capture());
+        return captor.getValue();
+    }
+
+    Set<String> getRoleCodes(Collection<Object> entities) {
+        return entities.stream()
+                .filter(entity -> entity instanceof RoleAssignmentEntity)
+                .map(entity -> ((RoleAssignmentEntity) entity).getRoleCode())
+                .collect(Collectors.toSet());
+    }
+
+    OidcUser createOidcUser(String email, Instant issuedAt) {
+        return createOidcUser(Map.of("email", email, "iat", issuedAt));
+    }
+
+    OidcUser createOidcUser(Map<String, Object> claims) {
+        OidcIdToken idToken = OidcIdToken.withTokenValue("token")
+                .subject("user1")
+                .claims(tokenClaims -> tokenClaims.putAll(claims))
+                .build();
+        return new DefaultOidcUser(Collections.emptyList(), idToken);
+    }
+
+    static class TestUser extends DefaultJmixOidcUser implements HasOidcClaimsHash {
+
+        private String email;
+        private String oidcClaimsHash;
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        @Override
+        public String getOidcClaimsHash() {
+            return oidcClaimsHash;
+        }
+
+        @Override
+        public void setOidcClaimsHash(String oidcClaimsHash) {
+            this.oidcClaimsHash = oidcClaimsHash;
+        }
+    }
+
+    /**
+     * User entity without claims hash, changes are detected by comparing its persistent attributes. The class is
+     * public because attribute values are read by generated accessors.
+     */
+    public static class TestPlainUser extends DefaultJmixOidcUser implements Entity {
+
+        private final EntityEntry entityEntry = new NoIdEntityEntry(this);
+        private String email;
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        @Override
+        public EntityEntry __getEntityEntry() {
+            return entityEntry;
+        }
+    }
+
+    static class TestPlainUserMapper extends SynchronizingOidcUserMapper<TestPlainUser> {
+
+        TestPlainUserMapper(UnconstrainedDataManager dataManager,
+                            UserRepository userRepository,
+                            ClaimsRolesMapper claimsRolesMapper,
+                            RoleGrantedAuthorityUtils roleGrantedAuthorityUtils) {
+            super(dataManager, userRepository, claimsRolesMapper, roleGrantedAuthorityUtils);
+        }
+
+        @Override
+        protected Class<TestPlainUser> getApplicationUserClass() {
+            return TestPlainUser.class;
+        }
+
+        @Override
+        protected void populateUserAttributes(OidcUser oidcUser, TestPlainUser jmixUser) {
+            jmixUser.setEmail(oidcUser.getEmail());
+        }
+    }
+
+    static class TestUserMapper extends SynchronizingOidcUserMapper<TestUser> {
+
+        int saveCount;
+
+        TestUserMapper(UnconstrainedDataManager dataManager,
+                       UserRepository userRepository,
+                       ClaimsRolesMapper claimsRolesMapper,
+                       RoleGrantedAuthorityUtils roleGrantedAuthorityUtils) {
+            super(dataManager, userRepository, claimsRolesMapper, roleGrantedAuthorityUtils);
+        }
+
+        @Override
+        protected Class<TestUser> getApplicationUserClass() {
+            return TestUser.class;
+        }
+
+        @Override
+        protected void populateUserAttributes(OidcUser oidcUser, TestUser jmixUser) {
+            jmixUser.setEmail(oidcUser.getEmail());
+        }
+
+        @Override
+        protected void saveJmixUserAndRoleAssignments(OidcUser oidcUser, TestUser jmixUser) {
+            saveCount++;
+            super.saveJmixUserAndRoleAssignments(oidcUser, jmixUser);
+        }
+    }
+}
@@ -18,14 +18,21 @@ package io.jmix.autoconfigure.pessimisticlock;
 
 import io.jmix.core.CoreConfiguration;
 import io.jmix.pessimisticlock.LockManager;
+import io.jmix.pessimisticlock.LockStore;
 import io.jmix.pessimisticlock.PessimisticLockConfiguration;
+import io.jmix.pessimisticlock.impl.InMemoryLockStore;
+import io.jmix.pessimisticlock.impl.JdbcLockStore;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 
 import javax.cache.Cache;
 import javax.cache.configuration.MutableConfiguration;
+import javax.sql.DataSource;
 
 @AutoConfiguration
 @Import({CoreConfiguration.class, PessimisticLockConfiguration.class})
@@ -42,4 +49,19 @@ public class PessimisticLockAutoConfiguration {
             }
         };
     }
+
+    @Bean("pslock_LockStore")
+    @ConditionalOnMissingBean(LockStore.class)
+    @ConditionalOnProperty(name = "jmix.pslock.lock-store", havingValue = "in-memory")
+    LockStore inMemoryLockStore() {
+        return new InMemoryLockStore();
+    }
+
+    @Bean("pslock_LockStore")
+    @ConditionalOnMissingBean(LockStore.class)
+    @ConditionalOnClass(name = "org.springframework.jdbc.core.JdbcTemplate")
+    @ConditionalOnProperty(name = "jmix.pslock.lock-store", havingValue = "jdbc")
+    LockStore jdbcLockStore(DataSource dataSource) {
+        return new JdbcLockStore(dataSource);
+    }
 }
@@ -21,6 +21,7 @@ import io.jmix.pessimisticlock.entity.LockNotSupported;
 import org.springframework.lang.Nullable;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface LockManager {
 
@@ -49,6 +50,33 @@ public interface LockManager {
     @Nullable
     LockInfo lock(Object entity);
 
+    /**
+     * Try to lock several objects of the same type at once.
+     * <p>
+     * Either all objects are locked or none of them: if some objects are already locked by someone,
+     * the locks acquired by this call are released.
+     *
+     * @param name locking object name
+     * @param ids  locking object IDs
+     * @return - empty list in case of successful lock,<br>
+     * - list with a single {@link LockNotSupported} instance in case of locking is not configured for this object,<br>
+     * - list of {@link LockInfo} instances of the objects that are already locked by someone
+     */
+    List<LockInfo> lockAll(String name, Collection<String> ids);
+
+    /**
+     * Try to lock several entities at once.
+     * <p>
+     * Either all entities are locked or none of them: if some entities are already locked by someone,
+     * the locks acquired by this call are released.
+     *
+     * @param entities entity instances, possibly of different types
+     * @return - empty list in case of successful lock,<br>
+     * - list with a single {@link LockNotSupported} instance in case of locking is not configured for some entity,<br>
+     * - list of {@link LockInfo} instances of the entities that are already locked by someone
+     */
+    List<LockInfo> lockAll(Collection<?> entities);
+
     /**
      * Unlock an arbitrary object.
      *
@@ -64,6 +92,21 @@ public interface LockManager {
      */
     void unlock(Object entity);
 
+    /**
+     * Unlock several objects of the same type at once.
+     *
+     * @param name locking object name
+     * @param ids  locking object IDs
+     */
+    void unlockAll(String name, Collection<String> ids);
+
+    /**
+     * Unlock several entities at once.
+     *
+     * @param entities entity instances, possibly of different types
+     */
+    void unlockAll(Collection<?> entities);
+
     /**
      * Get locking status for particular object
      *
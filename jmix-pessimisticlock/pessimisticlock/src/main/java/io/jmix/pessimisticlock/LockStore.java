@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pessimisticlock;
+
+import io.jmix.pessimisticlock.entity.LockInfo;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage of pessimistic locks used by {@link LockManager}.
+ * <p>
+ * Locks are identified by a pair of {@link LockInfo#getObjectType()} and {@link LockInfo#getObjectId()}.
+ * Implementations must perform {@link #putIfAbsent(LockInfo)} and {@link #remove(LockInfo)} atomically,
+ * so that concurrent attempts to lock the same object result in a single owner.
+ * <p>
+ * To use a custom implementation, register it as a Spring bean.
+ */
+public interface LockStore {
+
+    /**
+     * @param name locking object name
+     * @param id   locking object ID
+     * @return current lock of the object or null if the object is not locked
+     */
+    @Nullable
+    LockInfo get(String name, String id);
+
+    /**
+     * Atomically stores the lock if the object is not locked yet.
+     *
+     * @param lockInfo lock to store
+     * @return null if the lock has been stored, or the existing lock of the object otherwise
+     */
+    @Nullable
+    LockInfo putIfAbsent(LockInfo lockInfo);
+
+    /**
+     * Stores the locks of several objects. Each lock is stored atomically as in {@link #putIfAbsent(LockInfo)},
+     * but the whole operation is not atomic: locks that do not conflict are stored even if others do.
+     *
+     * @param lockInfos locks to store
+     * @return existing locks that prevented storing some of the given locks, empty list if all locks are stored
+     */
+    List<LockInfo> putAllIfAbsent(Collection<LockInfo> lockInfos);
+
+    /**
+     * Atomically removes the lock only if the object is still locked by exactly the given lock,
+     * i.e. the stored lock has the same {@link LockInfo#getId()}.
+     *
+     * @param lockInfo expected lock
+     * @return true if the lock has been removed
+     */
+    boolean remove(LockInfo lockInfo);
+
+    /**
+     * Removes the lock of the object regardless of its owner.
+     *
+     * @param name locking object name
+     * @param id   locking object ID
+     * @return true if the object was locked
+     */
+    boolean remove(String name, String id);
+
+    /**
+     * Removes the locks of several objects of the same type regardless of their owners.
+     *
+     * @param name locking object name
+     * @param ids  locking object IDs
+     */
+    void removeAll(String name, Collection<String> ids);
+
+    /**
+     * @return true if the store can enumerate its locks, see {@link #getAll()}
+     */
+    boolean isIterable();
+
+    /**
+     * @return all current locks, or an empty collection if the store is not {@link #isIterable() iterable}
+     */
+    Collection<LockInfo> getAll();
+}
@@ -32,10 +32,27 @@ public class PessimisticLockProperties {
      */
     boolean useDefaultQuartzConfiguration;
 
+    /**
+     * Storage of locks: {@code cache} (default) keeps locks in the {@code jmix-locks-cache} cache,
+     * {@code in-memory} keeps locks in a local map, {@code jdbc} keeps locks in the {@code PSLOCK_LOCK} table
+     * of the main data source and shares them between cluster nodes.
+     */
+    String lockStore;
+
+    /**
+     * Whether expired locks are removed by a background thread scheduled according to the shortest lock timeout,
+     * in addition to (or instead of) the Quartz job.
+     */
+    boolean expirationSweeperEnabled;
+
     public PessimisticLockProperties(@DefaultValue("0 * * * * ?") String expirationCron,
-                           @DefaultValue("true") boolean useDefaultQuartzConfiguration) {
+                           @DefaultValue("true") boolean useDefaultQuartzConfiguration,
+                           @DefaultValue("cache") String lockStore,
+                           @DefaultValue("false") boolean expirationSweeperEnabled) {
         this.expirationCron = expirationCron;
         this.useDefaultQuartzConfiguration = useDefaultQuartzConfiguration;
+        this.lockStore = lockStore;
+        this.expirationSweeperEnabled = expirationSweeperEnabled;
     }
 
     /**
@@ -51,4 +68,18 @@ public class PessimisticLockProperties {
     public boolean isUseDefaultQuartzConfiguration() {
         return useDefaultQuartzConfiguration;
     }
-}
\ No newline at end of file
+
+    /**
+     * @see #lockStore
+     */
+    public String getLockStore() {
+        return lockStore;
+    }
+
+    /**
+     * @see #expirationSweeperEnabled
+     */
+    public boolean isExpirationSweeperEnabled() {
+        return expirationSweeperEnabled;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pessimisticlock.impl;
+
+import io.jmix.core.CacheOperations;
+import io.jmix.pessimisticlock.LockStore;
+import io.jmix.pessimisticlock.entity.LockInfo;
+import io.jmix.pessimisticlock.impl.LockManagerImpl.LockKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import javax.cache.processor.EntryProcessor;
+import javax.cache.processor.MutableEntry;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link LockStore} keeping locks in the {@link io.jmix.pessimisticlock.LockManager#LOCKS_CACHE_NAME} Spring cache.
+ * <p>
+ * Locks are shared between cluster nodes if the cache provider is distributed (e.g. Hazelcast through JCache).
+ * Atomicity of {@link #putIfAbsent(LockInfo)} relies on {@link Cache#putIfAbsent(Object, Object)} of the provider,
+ * removal of a particular lock compares lock ids and is atomic for JCache and
+ * {@link java.util.concurrent.ConcurrentMap} based caches, including ones storing values by copy.
+ */
+public class CacheLockStore implements LockStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheLockStore.class);
+
+    protected final Cache cache;
+    protected final CacheOperations cacheOperations;
+
+    public CacheLockStore(Cache cache, CacheOperations cacheOperations) {
+        this.cache = cache;
+        this.cacheOperations = cacheOperations;
+    }
+
+    @Nullable
+    @Override
+    public LockInfo get(String name, String id) {
+        return cache.get(new LockKey(name, id), LockInfo.class);
+    }
+
+    @Nullable
+    @Override
+    public LockInfo putIfAbsent(LockInfo lockInfo) {
+        Cache.ValueWrapper existing = cache.putIfAbsent(keyOf(lockInfo), lockInfo);
+        return existing != null ? (LockInfo) existing.get() : null;
+    }
+
+    @Override
+    public List<LockInfo> putAllIfAbsent(Collection<LockInfo> lockInfos) {
+        List<LockInfo> conflicts = new ArrayList<>();
+        for (LockInfo lockInfo : lockInfos) {
+            LockInfo existing = putIfAbsent(lockInfo);
+            if (existing != null) {
+                conflicts.add(existing);
+            }
+        }
+        return conflicts;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean remove(LockInfo lockInfo) {
+        LockKey key = keyOf(lockInfo);
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof javax.cache.Cache) {
+            // the entry is compared by lock id inside the cache, stored values may be copies
+            return Boolean.TRUE.equals(((javax.cache.Cache<Object, Object>) nativeCache)
+                    .invoke(key, new RemoveLockProcessor(lockInfo.getId())));
+        }
+
+        // take the stored value first: it may be a serialized copy which is removed only if it is still the same
+        Object storedValue = nativeCache instanceof ConcurrentMap
+                ? ((ConcurrentMap<Object, Object>) nativeCache).get(key)
+                : null;
+        LockInfo current = cache.get(key, LockInfo.class);
+        if (current == null || !Objects.equals(current.getId(), lockInfo.getId())) {
+            return false;
+        }
+
+        if (nativeCache instanceof ConcurrentMap) {
+            return storedValue != null && ((ConcurrentMap<Object, Object>) nativeCache).remove(key, storedValue);
+        } else {
+            log.trace("Conditional removal is not supported by cache provider, evicting {}", key);
+            return cache.evictIfPresent(key);
+        }
+    }
+
+    @Override
+    public boolean remove(String name, String id) {
+        return cache.evictIfPresent(new LockKey(name, id));
+    }
+
+    @Override
+    public void removeAll(String name, Collection<String> ids) {
+        for (String id : ids) {
+            cache.evict(new LockKey(name, id));
+        }
+    }
+
+    @Override
+    public boolean isIterable() {
+        return cacheOperations.isIterableCache(cache);
+    }
+
+    @Override
+    public Collection<LockInfo> getAll() {
+        if (!isIterable()) {
+            return Collections.emptyList();
+        }
+        return cacheOperations.getValues(cache);
+    }
+
+    protected LockKey keyOf(LockInfo lockInfo) {
+        return new LockKey(lockInfo.getObjectType(), lockInfo.getObjectId());
+    }
+
+    /**
+     * Removes the JCache entry if it contains the lock with the given id.
+     */
+    protected static class RemoveLockProcessor implements EntryProcessor<Object, Object, Boolean>, Serializable {
+
+        private static final long serialVersionUID = 5362195047734816412L;
+
+        protected final UUID lockId;
+
+        public RemoveLockProcessor(UUID lockId) {
+            this.lockId = lockId;
+        }
+
+        @Override
+        public Boolean process(MutableEntry<Object, Object> entry, Object... arguments) {
+            if (entry.exists()
+                    && entry.getValue() instanceof LockInfo
+                    && Objects.equals(((LockInfo) entry.getValue()).getId(), lockId)) {
+                entry.remove();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pessimisticlock.impl;
+
+import io.jmix.pessimisticlock.LockStore;
+import io.jmix.pessimisticlock.entity.LockInfo;
+import io.jmix.pessimisticlock.impl.LockManagerImpl.LockKey;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link LockStore} keeping locks in a local map. Locks are not shared between cluster nodes.
+ */
+public class InMemoryLockStore implements LockStore {
+
+    protected final ConcurrentMap<LockKey, LockInfo> locks = new ConcurrentHashMap<>();
+
+    @Nullable
+    @Override
+    public LockInfo get(String name, String id) {
+        return locks.get(new LockKey(name, id));
+    }
+
+    @Nullable
+    @Override
+    public LockInfo putIfAbsent(LockInfo lockInfo) {
+        return locks.putIfAbsent(keyOf(lockInfo), lockInfo);
+    }
+
+    @Override
+    public List<LockInfo> putAllIfAbsent(Collection<LockInfo> lockInfos) {
+        List<LockInfo> conflicts = new ArrayList<>();
+        for (LockInfo lockInfo : lockInfos) {
+            LockInfo existing = locks.putIfAbsent(keyOf(lockInfo), lockInfo);
+            if (existing != null) {
+                conflicts.add(existing);
+            }
+        }
+        return conflicts;
+    }
+
+    @Override
+    public boolean remove(LockInfo lockInfo) {
+        LockKey key = keyOf(lockInfo);
+        LockInfo current = locks.get(key);
+        return current != null
+                && Objects.equals(current.getId(), lockInfo.getId())
+                && locks.remove(key, current);
+    }
+
+    @Override
+    public boolean remove(String name, String id) {
+        return locks.remove(new LockKey(name, id)) != null;
+    }
+
+    @Override
+    public void removeAll(String name, Collection<String> ids) {
+        for (String id : ids) {
+            locks.remove(new LockKey(name, id));
+        }
+    }
+
+    @Override
+    public boolean isIterable() {
+        return true;
+    }
+
+    @Override
+    public Collection<LockInfo> getAll() {
+        return new ArrayList<>(locks.values());
+    }
+
+    protected LockKey keyOf(LockInfo lockInfo) {
+        return new LockKey(lockInfo.getObjectType(), lockInfo.getObjectId());
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pessimisticlock.impl;
+
+import com.google.common.collect.Lists;
+import io.jmix.pessimisticlock.LockStore;
+import io.jmix.pessimisticlock.entity.LockInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * {@link LockStore} keeping locks in the {@code PSLOCK_LOCK} database table, so that locks are shared between
+ * cluster nodes without any additional infrastructure.
+ * <p>
+ * Atomicity is provided by the primary key of the table: a lock is acquired by inserting a row,
+ * and a conflicting insert fails with a duplicate key error. Modifications are executed in separate
+ * transactions, so that such error does not abort the current application transaction (as it happens on
+ * some databases, e.g. PostgreSQL), and locks become visible to other cluster nodes immediately.
+ * <p>
+ * The table is created by {@code io/jmix/pessimisticlock/liquibase/changelog.xml}.
+ */
+public class JdbcLockStore implements LockStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcLockStore.class);
+
+    protected static final String TABLE = "PSLOCK_LOCK";
+    protected static final String COLUMNS = "NAME, OBJECT_ID, LOCK_ID, USERNAME, LOCK_SINCE";
+
+    protected static final int MAX_INSERT_ATTEMPTS = 3;
+
+    protected final JdbcTemplate jdbcTemplate;
+    protected final TransactionTemplate transactionTemplate;
+
+    protected int batchSize = 500;
+
+    protected final RowMapper<LockInfo> rowMapper = (rs, rowNum) -> {
+        LockInfo lockInfo = new LockInfo(rs.getString("USERNAME"), rs.getString("NAME"),
+                rs.getString("OBJECT_ID"), new Date(rs.getTimestamp("LOCK_SINCE").getTime()));
+        lockInfo.setId(UUID.fromString(rs.getString("LOCK_ID")));
+        return lockInfo;
+    };
+
+    public JdbcLockStore(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Sets the maximum number of object IDs passed in a single {@code IN} clause or insert batch.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Nullable
+    @Override
+    public LockInfo get(String name, String id) {
+        List<LockInfo> list = jdbcTemplate.query(
+                "select " + COLUMNS + " from " + TABLE + " where NAME = ? and OBJECT_ID = ?",
+                rowMapper, name, id);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    @Nullable
+    @Override
+    public LockInfo putIfAbsent(LockInfo lockInfo) {
+        for (int attempt = 0; attempt < MAX_INSERT_ATTEMPTS; attempt++) {
+            try {
+                insert(lockInfo);
+                return null;
+            } catch (DuplicateKeyException e) {
+                LockInfo existing = get(lockInfo.getObjectType(), lockInfo.getObjectId());
+                if (existing != null) {
+                    return existing;
+                }
+                // the conflicting lock has been removed concurrently, try again
+                log.trace("Lock {} disappeared after conflict, retrying", lockInfo);
+            }
+        }
+        throw new IllegalStateException("Unable to store lock " + lockInfo + " due to concurrent modifications");
+    }
+
+    @Override
+    public List<LockInfo> putAllIfAbsent(Collection<LockInfo> lockInfos) {
+        List<LockInfo> conflicts = new ArrayList<>();
+
+        Map<String, List<LockInfo>> byName = lockInfos.stream()
+                .collect(Collectors.groupingBy(LockInfo::getObjectType, LinkedHashMap::new, Collectors.toList()));
+        for (Map.Entry<String, List<LockInfo>> entry : byName.entrySet()) {
+            for (List<LockInfo> chunk : Lists.partition(entry.getValue(), batchSize)) {
+                putChunkIfAbsent(entry.getKey(), chunk, conflicts);
+            }
+        }
+        return conflicts;
+    }
+
+    protected void putChunkIfAbsent(String name, List<LockInfo> chunk, List<LockInfo> conflicts) {
+        List<String> ids = chunk.stream().map(LockInfo::getObjectId).collect(Collectors.toList());
+        Map<String, LockInfo> existing = loadAll(name, ids);
+        conflicts.addAll(existing.values());
+
+        List<LockInfo> toInsert = chunk.stream()
+                .filter(lockInfo -> !existing.containsKey(lockInfo.getObjectId()))
+                .collect(Collectors.toList());
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "insert into " + TABLE + " (" + COLUMNS + ") values (?, ?, ?, ?, ?)",
+                    toInsert, toInsert.size(), (ps, lockInfo) -> {
+                        ps.setString(1, lockInfo.getObjectType());
+                        ps.setString(2, lockInfo.getObjectId());
+                        ps.setString(3, lockInfo.getId().toString());
+                        ps.setString(4, lockInfo.getUsername());
+                        ps.setTimestamp(5, new Timestamp(lockInfo.getSince().getTime()));
+                    }));
+        } catch (DuplicateKeyException e) {
+            // somebody has locked some of the objects in between, fall back to inserting one by one
+            log.debug("Batch lock of {} conflicted with concurrent locks, inserting one by one", name);
+            for (LockInfo lockInfo : toInsert) {
+                LockInfo current = putIfAbsent(lockInfo);
+                if (current != null && !Objects.equals(current.getId(), lockInfo.getId())) {
+                    conflicts.add(current);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(LockInfo lockInfo) {
+        return update("delete from " + TABLE + " where NAME = ? and OBJECT_ID = ? and LOCK_ID = ?",
+                lockInfo.getObjectType(), lockInfo.getObjectId(), lockInfo.getId().toString()) > 0;
+    }
+
+    @Override
+    public boolean remove(String name, String id) {
+        return update("delete from " + TABLE + " where NAME = ? and OBJECT_ID = ?", name, id) > 0;
+    }
+
+    @Override
+    public void removeAll(String name, Collection<String> ids) {
+        for (List<String> chunk : Lists.partition(new ArrayList<>(ids), batchSize)) {
+            List<Object> params = new ArrayList<>(chunk.size() + 1);
+            params.add(name);
+            params.addAll(chunk);
+            update("delete from " + TABLE + " where NAME = ? and OBJECT_ID in (" + placeholders(chunk.size()) + ")",
+                    params.toArray());
+        }
+    }
+
+    @Override
+    public boolean isIterable() {
+        return true;
+    }
+
+    @Override
+    public Collection<LockInfo> getAll() {
+        return jdbcTemplate.query("select " + COLUMNS + " from " + TABLE, rowMapper);
+    }
+
+    protected void insert(LockInfo lockInfo) {
+        update("insert into " + TABLE + " (" + COLUMNS + ") values (?, ?, ?, ?, ?)",
+                lockInfo.getObjectType(), lockInfo.getObjectId(), lockInfo.getId().toString(),
+                lockInfo.getUsername(), new Timestamp(lockInfo.getSince().getTime()));
+    }
+
+    /**
+     * Executes the statement in a new transaction, suspending the current one if any.
+     */
+    protected int update(String sql, Object... args) {
+        Integer count = transactionTemplate.execute(status -> jdbcTemplate.update(sql, args));
+        return count == null ? 0 : count;
+    }
+
+    protected Map<String, LockInfo> loadAll(String name, List<String> ids) {
+        List<Object> params = new ArrayList<>(ids.size() + 1);
+        params.add(name);
+        params.addAll(ids);
+        List<LockInfo> list = jdbcTemplate.query(
+                "select " + COLUMNS + " from " + TABLE
+                        + " where NAME = ? and OBJECT_ID in (" + placeholders(ids.size()) + ")",
+                rowMapper, params.toArray());
+
+        Map<String, LockInfo> result = new HashMap<>();
+        for (LockInfo lockInfo : list) {
+            result.put(lockInfo.getObjectId(), lockInfo);
+        }
+        return result;
+    }
+
+    protected String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pessimisticlock.impl;
+
+import io.jmix.pessimisticlock.PessimisticLockProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes expired locks in background if {@link PessimisticLockProperties#isExpirationSweeperEnabled()}.
+ * <p>
+ * The sweep interval is a half of the shortest lock timeout defined by the lock descriptors,
+ * so an expired lock stays in the store for no longer than half of its timeout. The interval is recalculated
+ * after each sweep to take into account {@link LockManagerImpl#reloadConfiguration()}.
+ */
+@Component("pslock_LockExpirationSweeper")
+public class LockExpirationSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(LockExpirationSweeper.class);
+
+    protected static final long MIN_INTERVAL_MS = 1000;
+    protected static final long MAX_INTERVAL_MS = 60_000;
+
+    protected final LockManagerImpl lockManager;
+    protected final PessimisticLockProperties properties;
+
+    protected ScheduledExecutorService executor;
+
+    public LockExpirationSweeper(LockManagerImpl lockManager, PessimisticLockProperties properties) {
+        this.lockManager = lockManager;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    protected void init() {
+        if (!properties.isExpirationSweeperEnabled()) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pslock-expiration-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleNext();
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    protected void scheduleNext() {
+        long interval = getIntervalMs();
+        log.trace("Next lock expiration sweep in {} ms", interval);
+        executor.schedule(this::sweep, interval, TimeUnit.MILLISECONDS);
+    }
+
+    protected void sweep() {
+        try {
+            lockManager.expireLocks();
+        } catch (Exception e) {
+            log.error("Error expiring locks", e);
+        } finally {
+            if (!executor.isShutdown()) {
+                scheduleNext();
+            }
+        }
+    }
+
+    protected long getIntervalMs() {
+        Integer minTimeoutSec = lockManager.getMinTimeoutSec();
+        if (minTimeoutSec == null) {
+            return MAX_INTERVAL_MS;
+        }
+        return Math.max(MIN_INTERVAL_MS, Math.min(MAX_INTERVAL_MS, minTimeoutSec * 1000L / 2));
+    }
+}
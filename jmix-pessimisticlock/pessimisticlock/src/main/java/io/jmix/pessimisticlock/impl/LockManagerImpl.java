@@ -23,12 +23,14 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.pessimisticlock.LockDescriptorProvider;
 import io.jmix.pessimisticlock.LockManager;
+import io.jmix.pessimisticlock.LockStore;
 import io.jmix.pessimisticlock.entity.LockDescriptor;
 import io.jmix.pessimisticlock.entity.LockInfo;
 import io.jmix.pessimisticlock.entity.LockNotSupported;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.lang.Nullable;
@@ -51,12 +53,15 @@ public class LockManagerImpl implements LockManager {
     protected final CurrentAuthentication currentAuthentication;
     protected final CacheManager cacheManager;
     protected final CacheOperations cacheOperations;
+    protected final ObjectProvider<LockStore> lockStoreProvider;
     protected List<LockDescriptorProvider> lockDescriptorProviders;
 
     protected volatile Map<String, LockDescriptor> config;
 
     protected Cache locks;
 
+    protected LockStore lockStore;
+
     public LockManagerImpl(ExtendedEntities extendedEntities,
                            Metadata metadata,
                            MetadataTools metadataTools,
@@ -64,6 +69,7 @@ public class LockManagerImpl implements LockManager {
                            CurrentAuthentication currentAuthentication,
                            CacheManager cacheManager,
                            CacheOperations cacheOperations,
+                           ObjectProvider<LockStore> lockStoreProvider,
                            List<LockDescriptorProvider> lockDescriptorProviders) {
         this.extendedEntities = extendedEntities;
         this.metadata = metadata;
@@ -72,15 +78,21 @@ public class LockManagerImpl implements LockManager {
         this.currentAuthentication = currentAuthentication;
         this.cacheManager = cacheManager;
         this.cacheOperations = cacheOperations;
+        this.lockStoreProvider = lockStoreProvider;
         this.lockDescriptorProviders = lockDescriptorProviders;
     }
 
     @PostConstruct
     protected void init() {
-        locks = cacheManager.getCache(LOCKS_CACHE_NAME);
-        if (locks == null) {
-            throw new IllegalStateException(String.format("Unable to find cache: %s", LOCKS_CACHE_NAME));
+        lockStore = lockStoreProvider.getIfAvailable();
+        if (lockStore == null) {
+            locks = cacheManager.getCache(LOCKS_CACHE_NAME);
+            if (locks == null) {
+                throw new IllegalStateException(String.format("Unable to find cache: %s", LOCKS_CACHE_NAME));
+            }
+            lockStore = new CacheLockStore(locks, cacheOperations);
         }
+        log.debug("Using lock store {}", lockStore.getClass().getName());
     }
 
     protected Map<String, LockDescriptor> getConfig() {
@@ -99,6 +111,13 @@ public class LockManagerImpl implements LockManager {
         return config;
     }
 
+    /**
+     * @return store that keeps the current locks
+     */
+    public LockStore getLockStore() {
+        return lockStore;
+    }
+
     @Override
     public LockInfo lock(String name, String id) {
         LockDescriptor ld = getConfig().get(name);
@@ -106,19 +125,14 @@ public class LockManagerImpl implements LockManager {
             return new LockNotSupported();
         }
 
-        LockKey key = new LockKey(name, id);
-
-        LockInfo lockInfo = locks.get(key, LockInfo.class);
-        if (lockInfo != null) {
-            log.debug("Already locked: {}", lockInfo);
-            return lockInfo;
+        LockInfo lockInfo = createLockInfo(name, id);
+        LockInfo existing = tryLock(lockInfo, ld);
+        if (existing != null) {
+            log.debug("Already locked: {}", existing);
+            return existing;
         }
 
-        UserDetails user = currentAuthentication.getUser();
-        lockInfo = new LockInfo(user.getUsername(), name, id, timeSource.currentTimestamp());
-        locks.put(key, lockInfo);
         log.debug("Locked {}/{}", name, id);
-
         return null;
     }
 
@@ -127,15 +141,130 @@ public class LockManagerImpl implements LockManager {
     public LockInfo lock(Object entity) {
         Preconditions.checkNotNullArgument(entity, "entity is null");
 
+        return lock(getLockName(entity), EntityValues.getId(entity).toString());
+    }
+
+    @Override
+    public List<LockInfo> lockAll(String name, Collection<String> ids) {
+        Preconditions.checkNotNullArgument(ids, "ids is null");
+
+        List<LockInfo> acquired = new ArrayList<>();
+        List<LockInfo> conflicts = lockAll(name, ids, acquired);
+        if (!conflicts.isEmpty()) {
+            releaseAll(acquired);
+        }
+        return conflicts;
+    }
+
+    @Override
+    public List<LockInfo> lockAll(Collection<?> entities) {
+        Preconditions.checkNotNullArgument(entities, "entities is null");
+
+        List<LockInfo> acquired = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : groupIdsByLockName(entities).entrySet()) {
+            List<LockInfo> conflicts = lockAll(entry.getKey(), entry.getValue(), acquired);
+            if (!conflicts.isEmpty()) {
+                releaseAll(acquired);
+                return conflicts;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Locks the objects and adds successfully stored locks to the {@code acquired} list.
+     *
+     * @return locks preventing from locking some objects, empty list if all objects are locked
+     */
+    protected List<LockInfo> lockAll(String name, Collection<String> ids, List<LockInfo> acquired) {
+        LockDescriptor ld = getConfig().get(name);
+        if (ld == null) {
+            return Collections.singletonList(new LockNotSupported());
+        }
+
+        Map<String, LockInfo> lockInfos = new LinkedHashMap<>();
+        for (String id : ids) {
+            lockInfos.computeIfAbsent(id, key -> createLockInfo(name, key));
+        }
+
+        List<LockInfo> conflicts = new ArrayList<>();
+        Set<String> conflictIds = new HashSet<>();
+        for (LockInfo existing : lockStore.putAllIfAbsent(lockInfos.values())) {
+            LockInfo lockInfo = lockInfos.get(existing.getObjectId());
+            if (isExpired(existing, ld) && lockStore.remove(existing)) {
+                log.debug("Lock {} expired", existing);
+                existing = lockStore.putIfAbsent(lockInfo);
+            }
+            if (existing != null) {
+                conflicts.add(existing);
+                conflictIds.add(lockInfo.getObjectId());
+            }
+        }
+
+        for (LockInfo lockInfo : lockInfos.values()) {
+            if (!conflictIds.contains(lockInfo.getObjectId())) {
+                acquired.add(lockInfo);
+            }
+        }
+
+        if (conflicts.isEmpty()) {
+            log.debug("Locked {} objects of {}", lockInfos.size(), name);
+        } else {
+            log.debug("Unable to lock {} objects of {}, already locked: {}", lockInfos.size(), name, conflicts);
+        }
+        return conflicts;
+    }
+
+    protected void releaseAll(List<LockInfo> acquired) {
+        for (LockInfo lockInfo : acquired) {
+            lockStore.remove(lockInfo);
+        }
+        acquired.clear();
+    }
+
+    @Nullable
+    protected LockInfo tryLock(LockInfo lockInfo, LockDescriptor ld) {
+        LockInfo existing = lockStore.putIfAbsent(lockInfo);
+        if (existing != null && isExpired(existing, ld) && lockStore.remove(existing)) {
+            log.debug("Lock {} expired", existing);
+            existing = lockStore.putIfAbsent(lockInfo);
+        }
+        return existing;
+    }
+
+    protected LockInfo createLockInfo(String name, String id) {
+        UserDetails user = currentAuthentication.getUser();
+        return new LockInfo(user.getUsername(), name, id, timeSource.currentTimestamp());
+    }
+
+    protected boolean isExpired(LockInfo lockInfo, LockDescriptor ld) {
+        Integer timeoutSec = ld.getTimeoutSec();
+        if (timeoutSec == null || timeoutSec <= 0) {
+            return false;
+        }
+        Date since = lockInfo.getSince();
+        return since.getTime() + timeoutSec * 1000L < timeSource.currentTimestamp().getTime();
+    }
+
+    protected String getLockName(Object entity) {
         MetaClass metaClass = metadata.getClass(entity);
         MetaClass originalMetaClass = extendedEntities.getOriginalOrThisMetaClass(metaClass);
+        return originalMetaClass.getName();
+    }
 
-        return lock(originalMetaClass.getName(), EntityValues.getId(entity).toString());
+    protected Map<String, List<String>> groupIdsByLockName(Collection<?> entities) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            Preconditions.checkNotNullArgument(entity, "entity is null");
+            result.computeIfAbsent(getLockName(entity), name -> new ArrayList<>())
+                    .add(EntityValues.getId(entity).toString());
+        }
+        return result;
     }
 
     @Override
     public void unlock(String name, String id) {
-        if (locks.evictIfPresent(new LockKey(name, id))) {
+        if (lockStore.remove(name, id)) {
             log.debug("Unlocked {}/{}", name, id);
         }
     }
@@ -144,10 +273,22 @@ public class LockManagerImpl implements LockManager {
     public void unlock(Object entity) {
         Preconditions.checkNotNullArgument(entity, "entity is null");
 
-        MetaClass metaClass = metadata.getClass(entity);
-        MetaClass originalMetaClass = extendedEntities.getOriginalOrThisMetaClass(metaClass);
+        unlock(getLockName(entity), EntityValues.getId(entity).toString());
+    }
+
+    @Override
+    public void unlockAll(String name, Collection<String> ids) {
+        Preconditions.checkNotNullArgument(ids, "ids is null");
 
-        unlock(originalMetaClass.getName(), EntityValues.getId(entity).toString());
+        lockStore.removeAll(name, ids);
+        log.debug("Unlocked {} objects of {}", ids.size(), name);
+    }
+
+    @Override
+    public void unlockAll(Collection<?> entities) {
+        Preconditions.checkNotNullArgument(entities, "entities is null");
+
+        groupIdsByLockName(entities).forEach(this::unlockAll);
     }
 
     @Override
@@ -157,50 +298,61 @@ public class LockManagerImpl implements LockManager {
             return new LockNotSupported();
         }
 
-        return locks.get(new LockKey(name, id), LockInfo.class);
+        LockInfo lockInfo = lockStore.get(name, id);
+        if (lockInfo != null && isExpired(lockInfo, ld)) {
+            log.debug("Lock {} expired", lockInfo);
+            lockStore.remove(lockInfo);
+            return null;
+        }
+        return lockInfo;
     }
 
     @Override
     public Collection<LockInfo> getCurrentLocks() {
-        if (cacheOperations.isIterableCache(locks)) {
-            return cacheOperations.getValues(locks);
+        if (lockStore.isIterable()) {
+            return lockStore.getAll();
         } else {
-            log.debug("Current locks list operation is unsupported by cache provider");
+            log.debug("Current locks list operation is unsupported by lock store");
             return Collections.emptyList();
         }
     }
 
     @Override
     public void expireLocks() {
-        if (cacheOperations.isIterableCache(locks)) {
+        if (lockStore.isIterable()) {
             log.trace("Start expiring locks operation");
-            Collection<LockKey> keys = cacheOperations.getKeys(locks);
-            for (LockKey key : keys) {
-                LockInfo lockInfo = locks.get(key, LockInfo.class);
-                if (lockInfo != null) {
-                    LockDescriptor ld = getConfig().get(key.name);
-                    if (ld == null) {
-                        log.debug("Lock {}/{} configuration not found, remove it", key.name, key.id);
-                        locks.evict(key);
-                    } else {
-                        Integer timeoutSec = ld.getTimeoutSec();
-                        if (timeoutSec != null && timeoutSec > 0) {
-                            Date since = lockInfo.getSince();
-                            if (since.getTime() + timeoutSec * 1000 < timeSource.currentTimestamp().getTime()) {
-                                log.debug("Lock {}/{} expired", key.name, key.id);
-                                locks.evict(key);
-                            }
-                        }
+            for (LockInfo lockInfo : lockStore.getAll()) {
+                LockDescriptor ld = getConfig().get(lockInfo.getObjectType());
+                if (ld == null) {
+                    log.debug("Lock {}/{} configuration not found, remove it",
+                            lockInfo.getObjectType(), lockInfo.getObjectId());
+                    lockStore.remove(lockInfo);
+                } else if (isExpired(lockInfo, ld)) {
+                    if (lockStore.remove(lockInfo)) {
+                        log.debug("Lock {}/{} expired", lockInfo.getObjectType(), lockInfo.getObjectId());
                     }
-                } else {
-                    log.trace("Lock info not found for key '{}'", key);
                 }
             }
         } else {
-            log.debug("Expiring locks operation is unsupported by cache provider");
+            log.debug("Expiring locks operation is unsupported by lock store");
         }
     }
 
+    /**
+     * @return the shortest positive lock timeout among the configured lock descriptors, or null if locks never expire
+     */
+    @Nullable
+    public Integer getMinTimeoutSec() {
+        Integer result = null;
+        for (LockDescriptor ld : getConfig().values()) {
+            Integer timeoutSec = ld.getTimeoutSec();
+            if (timeoutSec != null && timeoutSec > 0 && (result == null || timeoutSec < result)) {
+                result = timeoutSec;
+            }
+        }
+        return result;
+    }
+
     @Override
     public void reloadConfiguration() {
         config = null;
@@ -212,11 +364,19 @@ public class LockManagerImpl implements LockManager {
         private final String name;
         private final String id;
 
-        private LockKey(String name, String id) {
+        LockKey(String name, String id) {
             this.name = name;
             this.id = id;
         }
 
+        public String getName() {
+            return name;
+        }
+
+        public String getId() {
+            return id;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pessimisticlock
+
+import io.jmix.core.CacheOperations
+import io.jmix.pessimisticlock.entity.LockInfo
+import io.jmix.pessimisticlock.impl.CacheLockStore
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager
+import spock.lang.Specification
+
+class CacheLockStoreTest extends Specification {
+
+    CacheLockStore store
+
+    void setup() {
+        // store-by-value cache returns copies of locks, like distributed JCache providers
+        def cacheManager = new ConcurrentMapCacheManager()
+        cacheManager.storeByValue = true
+        store = new CacheLockStore(cacheManager.getCache("locks"), new CacheOperations())
+    }
+
+    def "lock read from the store can be removed"() {
+        def lock = new LockInfo("admin", "test", "1", new Date(System.currentTimeMillis() - 300_000))
+        store.putIfAbsent(lock)
+
+        when:
+        def stored = store.get("test", "1")
+
+        then:
+        !stored.is(lock)
+        store.remove(stored)
+        store.get("test", "1") == null
+        store.putIfAbsent(new LockInfo("user", "test", "1", new Date())) == null
+    }
+
+    def "remove only the expected lock"() {
+        def first = new LockInfo("admin", "test", "1", new Date())
+        def other = new LockInfo("user", "test", "1", new Date())
+        store.putIfAbsent(first)
+
+        expect:
+        !store.remove(other)
+        store.get("test", "1").id == first.id
+        store.remove(first)
+        store.get("test", "1") == null
+    }
+
+    def "acquired locks are released after a partial bulk lock"() {
+        def conflicting = new LockInfo("user", "test", "3", new Date())
+        store.putIfAbsent(conflicting)
+        def locks = (1..5).collect { new LockInfo("admin", "test", it.toString(), new Date()) }
+
+        when:
+        def conflicts = store.putAllIfAbsent(locks)
+        locks.findAll { it.objectId != "3" }.each { store.remove(it) }
+
+        then:
+        conflicts*.id == [conflicting.id]
+        (1..5).findAll { it != 3 }.every { store.get("test", it.toString()) == null }
+        store.get("test", "3").id == conflicting.id
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pessimisticlock
+
+import io.jmix.pessimisticlock.entity.LockInfo
+import io.jmix.pessimisticlock.impl.JdbcLockStore
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.datasource.DataSourceTransactionManager
+import org.springframework.jdbc.datasource.DriverManagerDataSource
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class JdbcLockStoreTest extends Specification {
+
+    JdbcLockStore store
+    JdbcTemplate jdbcTemplate
+    TransactionTemplate transactionTemplate
+
+    void setup() {
+        def dataSource = new DriverManagerDataSource("jdbc:hsqldb:mem:pslock", "sa", "")
+        jdbcTemplate = new JdbcTemplate(dataSource)
+        jdbcTemplate.execute("create table PSLOCK_LOCK (NAME varchar(255) not null, OBJECT_ID varchar(255) not null, " +
+                "LOCK_ID varchar(36) not null, USERNAME varchar(255), LOCK_SINCE timestamp not null, " +
+                "primary key (NAME, OBJECT_ID))")
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+        store = new JdbcLockStore(dataSource)
+        store.setBatchSize(3)
+    }
+
+    void cleanup() {
+        jdbcTemplate.execute("drop table PSLOCK_LOCK")
+    }
+
+    def "put if absent returns existing lock"() {
+        def first = new LockInfo("admin", "test", "1", new Date())
+        def second = new LockInfo("user", "test", "1", new Date())
+
+        expect:
+        store.putIfAbsent(first) == null
+        store.putIfAbsent(second).id == first.id
+        store.get("test", "1").username == "admin"
+    }
+
+    def "remove only the expected lock"() {
+        def first = new LockInfo("admin", "test", "1", new Date())
+        def stale = new LockInfo("user", "test", "1", new Date())
+        store.putIfAbsent(first)
+
+        expect:
+        !store.remove(stale)
+        store.get("test", "1") != null
+        store.remove(first)
+        store.get("test", "1") == null
+    }
+
+    def "put all returns conflicts and stores the rest"() {
+        store.putIfAbsent(new LockInfo("user", "test", "4", new Date()))
+        def locks = (1..7).collect { new LockInfo("admin", "test", it.toString(), new Date()) }
+
+        when:
+        def conflicts = store.putAllIfAbsent(locks)
+
+        then:
+        conflicts*.objectId == ["4"]
+        conflicts[0].username == "user"
+        store.getAll().size() == 7
+
+        when:
+        store.removeAll("test", (1..7).collect { it.toString() })
+
+        then:
+        store.getAll().isEmpty()
+    }
+
+    def "locks are stored independently of the current transaction"() {
+        def first = new LockInfo("admin", "test", "1", new Date())
+        def second = new LockInfo("user", "test", "1", new Date())
+        store.putIfAbsent(first)
+
+        when:
+        LockInfo conflict = null
+        transactionTemplate.executeWithoutResult { status ->
+            conflict = store.putIfAbsent(second)
+            store.putAllIfAbsent([new LockInfo("user", "test", "2", new Date())])
+            // the current transaction is still usable after the conflict
+            jdbcTemplate.queryForObject("select count(*) from PSLOCK_LOCK", Integer)
+            status.setRollbackOnly()
+        }
+
+        then:
+        conflict.id == first.id
+        store.get("test", "2") != null
+    }
+
+    def "concurrent lock attempts result in a single owner"() {
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def results = executor.invokeAll((1..8).collect { n ->
+            ({ store.putIfAbsent(new LockInfo("user" + n, "test", "1", new Date())) } as Callable<LockInfo>)
+        })*.get()
+
+        then:
+        results.count { it == null } == 1
+
+        cleanup:
+        executor.shutdown()
+    }
+}
@@ -21,6 +21,7 @@ import io.jmix.core.Metadata
 import io.jmix.core.security.SystemAuthenticator
 import io.jmix.pessimisticlock.LockManager
 import io.jmix.pessimisticlock.entity.LockInfo
+import io.jmix.pessimisticlock.entity.LockNotSupported
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.test.context.ContextConfiguration
 import spock.lang.Specification
@@ -92,4 +93,88 @@ class LockManagerTest extends Specification {
         then:
         assertNull(lockInfo)
     }
+
+    def "Test bulk entity lock"() {
+        LockableParentEntity first = metadata.create(LockableParentEntity.class)
+        LockableParentEntity second = metadata.create(LockableParentEntity.class)
+        LockableChildEntity child = metadata.create(LockableChildEntity.class)
+
+        when:
+        List<LockInfo> conflicts = lockManager.lockAll([first, second, child])
+        then:
+        conflicts.isEmpty()
+        assertNotNull(lockManager.getLockInfo("pslock_LockableParentEntity", second.getId().toString()))
+        assertNotNull(lockManager.getLockInfo("pslock_LockableChildEntity", child.getId().toString()))
+
+        when:
+        lockManager.unlockAll([first, second, child])
+        then:
+        assertNull(lockManager.getLockInfo("pslock_LockableParentEntity", first.getId().toString()))
+        assertNull(lockManager.getLockInfo("pslock_LockableChildEntity", child.getId().toString()))
+    }
+
+    def "Test bulk lock is released if some objects are already locked"() {
+        List<String> ids = (1..10).collect { UUID.randomUUID().toString() }
+        lockManager.lock("pslock_LockableParentEntity", ids[5])
+
+        when:
+        List<LockInfo> conflicts = lockManager.lockAll("pslock_LockableParentEntity", ids)
+        then:
+        conflicts.size() == 1
+        conflicts[0].objectId == ids[5]
+        assertNull(lockManager.getLockInfo("pslock_LockableParentEntity", ids[0]))
+        assertNull(lockManager.getLockInfo("pslock_LockableParentEntity", ids[9]))
+
+        when:
+        lockManager.unlock("pslock_LockableParentEntity", ids[5])
+        conflicts = lockManager.lockAll("pslock_LockableParentEntity", ids)
+        then:
+        conflicts.isEmpty()
+
+        cleanup:
+        lockManager.unlockAll("pslock_LockableParentEntity", ids)
+    }
+
+    def "Test expired lock is evicted"() {
+        LockableParentEntity entity = metadata.create(LockableParentEntity.class)
+        String id = entity.getId().toString()
+        def expired = new LockInfo("other", "pslock_LockableParentEntity", id,
+                new Date(System.currentTimeMillis() - 300_000))
+        lockManager.lockStore.putIfAbsent(expired)
+
+        when:
+        LockInfo lockInfo = lockManager.lock(entity)
+        then:
+        assertNull(lockInfo)
+        lockManager.getLockInfo("pslock_LockableParentEntity", id).id != expired.id
+
+        cleanup:
+        lockManager.unlock(entity)
+    }
+
+    def "Test bulk entity lock is rolled back if objects of another type are locked"() {
+        LockableParentEntity first = metadata.create(LockableParentEntity.class)
+        LockableParentEntity second = metadata.create(LockableParentEntity.class)
+        LockableChildEntity child = metadata.create(LockableChildEntity.class)
+        lockManager.lock(child)
+
+        when:
+        List<LockInfo> conflicts = lockManager.lockAll([first, second, child])
+        then:
+        conflicts.size() == 1
+        conflicts[0].objectId == child.getId().toString()
+        assertNull(lockManager.getLockInfo("pslock_LockableParentEntity", first.getId().toString()))
+        assertNull(lockManager.getLockInfo("pslock_LockableParentEntity", second.getId().toString()))
+
+        cleanup:
+        lockManager.unlock(child)
+    }
+
+    def "Test bulk lock of not supported object"() {
+        when:
+        List<LockInfo> conflicts = lockManager.lockAll("unknown", ["1", "2"])
+        then:
+        conflicts.size() == 1
+        conflicts[0] instanceof LockNotSupported
+    }
 }
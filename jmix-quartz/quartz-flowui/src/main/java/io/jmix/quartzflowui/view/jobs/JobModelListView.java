@@ -16,10 +16,11 @@
 
 package io.jmix.quartzflowui.view.jobs;
 
-import com.google.common.base.Strings;
 import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.data.renderer.TextRenderer;
 import com.vaadin.flow.router.Route;
+import io.jmix.core.DataLoadContext;
+import io.jmix.core.LoadContext;
 import io.jmix.core.MessageTools;
 import io.jmix.flowui.Notifications;
 import io.jmix.flowui.component.grid.DataGrid;
@@ -28,11 +29,13 @@ import io.jmix.flowui.component.select.JmixSelect;
 import io.jmix.flowui.component.textfield.TypedTextField;
 import io.jmix.flowui.kit.action.ActionPerformedEvent;
 import io.jmix.flowui.model.CollectionContainer;
+import io.jmix.flowui.model.CollectionLoader;
 import io.jmix.flowui.util.RemoveOperation;
 import io.jmix.flowui.view.*;
 import io.jmix.quartz.model.JobModel;
 import io.jmix.quartz.model.JobSource;
 import io.jmix.quartz.model.JobState;
+import io.jmix.quartz.service.JobModelFilter;
 import io.jmix.quartz.util.ScheduleDescriptionProvider;
 import io.jmix.quartz.service.QuartzService;
 import org.apache.commons.collections4.CollectionUtils;
@@ -41,10 +44,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.text.SimpleDateFormat;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import static java.util.Comparator.*;
-import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
 
 @Route(value = "quartz/jobmodels", layout = DefaultMainViewParent.class)
 @ViewController("quartz_JobModel.list")
@@ -66,6 +65,8 @@ public class JobModelListView extends StandardListView<JobModel> {
 
     @ViewComponent
     protected CollectionContainer<JobModel> jobModelsDc;
+    @ViewComponent
+    protected CollectionLoader<JobModel> jobModelsDl;
 
     @Autowired
     protected RemoveOperation removeOperation;
@@ -121,21 +122,33 @@ public class JobModelListView extends StandardListView<JobModel> {
 
 
     protected List<JobModel> loadJobsData() {
-        List<JobModel> jobs = quartzService.getAllJobs().stream()
-                .filter(jobModel -> (Strings.isNullOrEmpty(nameFilter.getTypedValue())
-                        || containsIgnoreCase(jobModel.getJobName(), nameFilter.getTypedValue()))
-                        && (Strings.isNullOrEmpty(classFilter.getTypedValue())
-                        || containsIgnoreCase(jobModel.getJobClass(), classFilter.getTypedValue()))
-                        && (Strings.isNullOrEmpty(groupFilter.getTypedValue())
-                        || containsIgnoreCase(jobModel.getJobGroup(), groupFilter.getTypedValue()))
-                        && (jobStateFilter.getValue() == null
-                        || jobStateFilter.getValue().equals(jobModel.getJobState())))
-                .sorted(comparing(JobModel::getJobState, nullsLast(naturalOrder()))
-                        .thenComparing(JobModel::getJobName))
-                .collect(Collectors.toList());
-
-        jobModelsDc.setItems(jobs);
-        return jobs;
+        jobModelsDl.load();
+        return jobModelsDc.getItems();
+    }
+
+    @Install(to = "jobModelsDl", target = Target.DATA_LOADER)
+    protected List<JobModel> jobModelsDlLoadDelegate(LoadContext<JobModel> loadContext) {
+        JobModelFilter filter = createJobModelFilter();
+        LoadContext.Query query = loadContext.getQuery();
+        if (query != null) {
+            filter.setFirstResult(query.getFirstResult())
+                    .setMaxResults(query.getMaxResults())
+                    .setSort(query.getSort());
+        }
+        return quartzService.loadJobs(filter);
+    }
+
+    @Install(to = "pagination", subject = "totalCountDelegate")
+    protected Integer paginationTotalCountDelegate(DataLoadContext dataLoadContext) {
+        return quartzService.getJobsCount(createJobModelFilter());
+    }
+
+    protected JobModelFilter createJobModelFilter() {
+        return new JobModelFilter()
+                .setJobName(nameFilter.getTypedValue())
+                .setJobClass(classFilter.getTypedValue())
+                .setJobGroup(groupFilter.getTypedValue())
+                .setJobState(jobStateFilter.getValue());
     }
 
     @Install(to = "jobModelsTable.executeNow", subject = "enabledRule")
@@ -252,6 +265,7 @@ public class JobModelListView extends StandardListView<JobModel> {
     }
 
     protected void onFilterFieldValueChange(ComponentEvent<?> event) {
+        jobModelsDl.setFirstResult(0);
         loadJobsData();
     }
 }
@@ -0,0 +1,95 @@
+package io.jmix.quartz.service;
+
+import io.jmix.core.Sort;
+import io.jmix.quartz.model.JobModel;
+import io.jmix.quartz.model.JobState;
+import org.springframework.lang.Nullable;
+
+/**
+ * Conditions, sorting and paging used by {@link QuartzService#loadJobs(JobModelFilter)} to select jobs.
+ * String conditions are matched as case-insensitive substrings.
+ */
+public class JobModelFilter {
+
+    protected String jobName;
+    protected String jobGroup;
+    protected String jobClass;
+    protected JobState jobState;
+    protected Sort sort;
+    protected int firstResult;
+    protected int maxResults;
+
+    @Nullable
+    public String getJobName() {
+        return jobName;
+    }
+
+    public JobModelFilter setJobName(@Nullable String jobName) {
+        this.jobName = jobName;
+        return this;
+    }
+
+    @Nullable
+    public String getJobGroup() {
+        return jobGroup;
+    }
+
+    public JobModelFilter setJobGroup(@Nullable String jobGroup) {
+        this.jobGroup = jobGroup;
+        return this;
+    }
+
+    @Nullable
+    public String getJobClass() {
+        return jobClass;
+    }
+
+    public JobModelFilter setJobClass(@Nullable String jobClass) {
+        this.jobClass = jobClass;
+        return this;
+    }
+
+    @Nullable
+    public JobState getJobState() {
+        return jobState;
+    }
+
+    public JobModelFilter setJobState(@Nullable JobState jobState) {
+        this.jobState = jobState;
+        return this;
+    }
+
+    /**
+     * @return sort by properties of {@link JobModel}, by default jobs are sorted by state and name
+     */
+    @Nullable
+    public Sort getSort() {
+        return sort;
+    }
+
+    public JobModelFilter setSort(@Nullable Sort sort) {
+        this.sort = sort;
+        return this;
+    }
+
+    public int getFirstResult() {
+        return firstResult;
+    }
+
+    public JobModelFilter setFirstResult(int firstResult) {
+        this.firstResult = firstResult;
+        return this;
+    }
+
+    /**
+     * @return maximum number of returned jobs, 0 means no limit
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public JobModelFilter setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+        return this;
+    }
+}
@@ -1,9 +1,12 @@
 package io.jmix.quartz.service;
 
 import com.google.common.base.Strings;
+import io.jmix.core.Sort;
 import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.entity.EntityValues;
 import io.jmix.quartz.exception.QuartzJobSaveException;
 import io.jmix.quartz.model.*;
+import io.jmix.quartz.util.QuartzJdbcJobStoreReader;
 import io.jmix.quartz.util.QuartzJobDetailsFinder;
 import org.apache.commons.collections4.CollectionUtils;
 import org.quartz.*;
@@ -16,7 +19,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
+import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
 import static org.quartz.CronScheduleBuilder.cronSchedule;
 import static org.quartz.SimpleScheduleBuilder.simpleSchedule;
 
@@ -34,6 +39,9 @@ public class QuartzService {
     @Autowired
     private QuartzJobDetailsFinder jobDetailsFinder;
 
+    @Autowired
+    private QuartzJdbcJobStoreReader jdbcJobStoreReader;
+
     @Autowired
     private UnconstrainedDataManager dataManager;
 
@@ -41,70 +49,155 @@ public class QuartzService {
      * Returns information about all configured quartz jobs with related triggers
      */
     public List<JobModel> getAllJobs() {
+        return loadJobs(new JobModelFilter());
+    }
+
+    /**
+     * Returns jobs matching the given filter, sorted and limited according to the filter.
+     * <p>
+     * With a JDBC job store, jobs, triggers and trigger states are read from the job store tables with a constant
+     * number of queries. Conditions on job properties stored in the tables are applied by the database. Sorting
+     * and paging are applied by the database too, unless jobs are filtered or sorted by a calculated property,
+     * e.g. by job state. Parameters are read only for the returned jobs.
+     *
+     * @param filter conditions, sorting and paging
+     * @return jobs with related triggers and parameters
+     */
+    public List<JobModel> loadJobs(JobModelFilter filter) {
+        List<JobModel> result = null;
+        if (isPageLoadedByJobStore(filter)) {
+            List<QuartzJdbcJobStoreReader.JobInfo> jobs = jdbcJobStoreReader.loadJobs(createJobQuery(filter)
+                    .setSort(filter.getSort())
+                    .setFirstResult(filter.getFirstResult())
+                    .setMaxResults(filter.getMaxResults()));
+            if (jobs != null) {
+                result = createJobModels(jobs);
+            }
+        }
+
+        if (result == null) {
+            List<JobModel> jobs = filterJobs(loadJobModels(filter), filter);
+            jobs.sort(createJobComparator(filter.getSort()));
+
+            int firstResult = Math.min(filter.getFirstResult(), jobs.size());
+            int lastResult = filter.getMaxResults() > 0
+                    ? Math.min(firstResult + filter.getMaxResults(), jobs.size())
+                    : jobs.size();
+            result = new ArrayList<>(jobs.subList(firstResult, lastResult));
+        }
+
+        for (JobModel jobModel : result) {
+            jobModel.setJobDataParameters(getDataParamsOfJob(JobKey.jobKey(jobModel.getJobName(), jobModel.getJobGroup())));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of jobs matching conditions of the given filter. With a JDBC job store, jobs are counted
+     * by the database unless they are filtered by a calculated property, e.g. by job state.
+     *
+     * @param filter conditions, sorting and paging settings are ignored
+     */
+    public int getJobsCount(JobModelFilter filter) {
+        if (filter.getJobState() == null && jdbcJobStoreReader.isSupported()) {
+            Integer count = jdbcJobStoreReader.countJobs(createJobQuery(filter));
+            if (count != null) {
+                return count;
+            }
+        }
+        return filterJobs(loadJobModels(filter), filter).size();
+    }
+
+    private boolean isPageLoadedByJobStore(JobModelFilter filter) {
+        Sort sort = filter.getSort();
+        return filter.getJobState() == null
+                // the default sort is by job state
+                && sort != null && !sort.getOrders().isEmpty()
+                && jdbcJobStoreReader.isSortSupported(sort)
+                && jdbcJobStoreReader.isSupported();
+    }
+
+    private QuartzJdbcJobStoreReader.JobQuery createJobQuery(JobModelFilter filter) {
+        return new QuartzJdbcJobStoreReader.JobQuery()
+                .setJobName(filter.getJobName())
+                .setJobGroup(filter.getJobGroup())
+                .setJobClassName(filter.getJobClass());
+    }
+
+    private List<JobModel> filterJobs(List<JobModel> jobs, JobModelFilter filter) {
+        return jobs.stream()
+                .filter(jobModel -> (Strings.isNullOrEmpty(filter.getJobName())
+                        || containsIgnoreCase(jobModel.getJobName(), filter.getJobName()))
+                        && (Strings.isNullOrEmpty(filter.getJobClass())
+                        || containsIgnoreCase(jobModel.getJobClass(), filter.getJobClass()))
+                        && (Strings.isNullOrEmpty(filter.getJobGroup())
+                        || containsIgnoreCase(jobModel.getJobGroup(), filter.getJobGroup()))
+                        && (filter.getJobState() == null
+                        || filter.getJobState().equals(jobModel.getJobState())))
+                .collect(Collectors.toList());
+    }
+
+    private Comparator<JobModel> createJobComparator(@Nullable Sort sort) {
+        if (sort == null || sort.getOrders().isEmpty()) {
+            return Comparator.comparing(JobModel::getJobState, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(JobModel::getJobName);
+        }
+        Comparator<JobModel> comparator = null;
+        for (Sort.Order order : sort.getOrders()) {
+            Comparator<JobModel> orderComparator = (jobModel1, jobModel2) -> compareValues(
+                    EntityValues.getValue(jobModel1, order.getProperty()),
+                    EntityValues.getValue(jobModel2, order.getProperty()));
+            if (order.getDirection() == Sort.Direction.DESC) {
+                orderComparator = orderComparator.reversed();
+            }
+            comparator = comparator == null ? orderComparator : comparator.thenComparing(orderComparator);
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int compareValues(@Nullable Object value1, @Nullable Object value2) {
+        if (value1 == null || value2 == null) {
+            // nulls last
+            return value1 == value2 ? 0 : (value1 == null ? 1 : -1);
+        }
+        return ((Comparable) value1).compareTo(value2);
+    }
+
+    /**
+     * Loads jobs matching string conditions of the filter, all jobs are loaded if the job store tables
+     * cannot be read.
+     */
+    private List<JobModel> loadJobModels(JobModelFilter filter) {
+        List<QuartzJdbcJobStoreReader.JobInfo> jobs = jdbcJobStoreReader.isSupported()
+                ? jdbcJobStoreReader.loadJobs(createJobQuery(filter))
+                : null;
+        if (jobs == null) {
+            jobs = new ArrayList<>();
+            try {
+                for (JobKey jobKey : scheduler.getJobKeys(GroupMatcher.anyJobGroup())) {
+                    jobs.add(loadJobInfo(jobKey));
+                }
+            } catch (SchedulerException e) {
+                log.error("Unable to fetch information about active jobs", e);
+                return new ArrayList<>();
+            }
+        }
+        return createJobModels(jobs);
+    }
+
+    private List<JobModel> createJobModels(List<QuartzJdbcJobStoreReader.JobInfo> jobs) {
         List<JobModel> result = new ArrayList<>();
         try {
-            List<JobKey> jobDetailsKeys = jobDetailsFinder.getJobDetailBeanKeys();
-
-            for (JobKey jobKey : scheduler.getJobKeys(GroupMatcher.anyJobGroup())) {
-                try {
-                    JobDetail jobDetail = scheduler.getJobDetail(jobKey);
-
-                    JobModel jobModel = dataManager.create(JobModel.class);
-                    jobModel.setJobName(jobKey.getName());
-                    jobModel.setJobGroup(jobKey.getGroup());
-                    jobModel.setJobDataParameters(getDataParamsOfJob(jobKey));
-
-                    jobModel.setJobClass(jobDetail.getJobClass().getName());
-                    jobModel.setDescription(jobDetail.getDescription());
-
-                    jobModel.setJobSource(jobDetailsKeys.contains(jobKey) ? JobSource.PREDEFINED : JobSource.USER_DEFINED);
-
-                    List<TriggerModel> triggerModels = new ArrayList<>();
-                    List<? extends Trigger> jobTriggers = scheduler.getTriggersOfJob(jobKey);
-                    if (!CollectionUtils.isEmpty(jobTriggers)) {
-                        boolean isActive = false;
-                        for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
-                            TriggerModel triggerModel = dataManager.create(TriggerModel.class);
-                            triggerModel.setTriggerName(trigger.getKey().getName());
-                            triggerModel.setTriggerGroup(trigger.getKey().getGroup());
-                            triggerModel.setScheduleType(trigger instanceof SimpleTrigger ? ScheduleType.SIMPLE : ScheduleType.CRON_EXPRESSION);
-                            /*
-                            Ignore startTime if it's in the past - during saving empty startTime will be set as 'now'.
-                            This in combination with validation prevents case when scheduler reproduces all executions
-                            from the startTime to the current moment after trigger is recreated (all triggers
-                            a created with startTime not earlier than 'now')
-                            */
-                            Date startTime = trigger.getStartTime();
-                            if (startTime.after(new Date())) {
-                                triggerModel.setStartDate(startTime);
-                            }
-                            triggerModel.setEndDate(trigger.getEndTime());
-                            triggerModel.setLastFireDate(trigger.getPreviousFireTime());
-                            triggerModel.setNextFireDate(trigger.getNextFireTime());
-                            triggerModel.setMisfireInstructionId(resolveMisfireInstructionId(trigger));
-
-                            if (trigger instanceof CronTrigger) {
-                                triggerModel.setCronExpression(((CronTrigger) trigger).getCronExpression());
-                            } else if (trigger instanceof SimpleTrigger simpleTrigger) {
-                                triggerModel.setRepeatCount(simpleTrigger.getRepeatCount());
-                                triggerModel.setRepeatInterval(simpleTrigger.getRepeatInterval());
-                            }
-
-                            triggerModels.add(triggerModel);
-                            if (scheduler.getTriggerState(trigger.getKey()) == Trigger.TriggerState.NORMAL
-                                    && scheduler.isStarted()
-                                    && !scheduler.isInStandbyMode()) {
-                                isActive = true;
-                            }
-                        }
-
-                        jobModel.setTriggers(triggerModels);
-                        jobModel.setJobState(isActive ? JobState.NORMAL : JobState.PAUSED);
-                    }
-
-                    result.add(jobModel);
-                } catch (SchedulerException e) {
-                    log.error("Unable to fetch information about the job: {}", jobKey, e);
+            Set<JobKey> jobDetailsKeys = new HashSet<>(jobDetailsFinder.getJobDetailBeanKeys());
+            boolean schedulerRunning = scheduler.isStarted() && !scheduler.isInStandbyMode();
+
+            for (QuartzJdbcJobStoreReader.JobInfo jobInfo : jobs) {
+                if (jobInfo != null && jobInfo.isIncomplete()) {
+                    jobInfo = loadJobInfo(jobInfo.getKey());
+                }
+                if (jobInfo != null) {
+                    result.add(createJobModel(jobInfo, jobDetailsKeys, schedulerRunning));
                 }
             }
         } catch (SchedulerException e) {
@@ -114,6 +207,82 @@ public class QuartzService {
         return result;
     }
 
+    @Nullable
+    private QuartzJdbcJobStoreReader.JobInfo loadJobInfo(JobKey jobKey) {
+        try {
+            JobDetail jobDetail = scheduler.getJobDetail(jobKey);
+            if (jobDetail == null) {
+                return null;
+            }
+            QuartzJdbcJobStoreReader.JobInfo jobInfo = new QuartzJdbcJobStoreReader.JobInfo(jobKey,
+                    jobDetail.getJobClass().getName(), jobDetail.getDescription());
+            for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
+                jobInfo.getTriggers().add(trigger);
+                jobInfo.getTriggerStates().put(trigger.getKey(), scheduler.getTriggerState(trigger.getKey()));
+            }
+            return jobInfo;
+        } catch (SchedulerException e) {
+            log.error("Unable to fetch information about the job: {}", jobKey, e);
+            return null;
+        }
+    }
+
+    private JobModel createJobModel(QuartzJdbcJobStoreReader.JobInfo jobInfo, Set<JobKey> jobDetailsKeys,
+                                    boolean schedulerRunning) {
+        JobKey jobKey = jobInfo.getKey();
+        JobModel jobModel = dataManager.create(JobModel.class);
+        jobModel.setJobName(jobKey.getName());
+        jobModel.setJobGroup(jobKey.getGroup());
+
+        jobModel.setJobClass(jobInfo.getJobClassName());
+        jobModel.setDescription(jobInfo.getDescription());
+
+        jobModel.setJobSource(jobDetailsKeys.contains(jobKey) ? JobSource.PREDEFINED : JobSource.USER_DEFINED);
+
+        List<TriggerModel> triggerModels = new ArrayList<>();
+        List<Trigger> jobTriggers = jobInfo.getTriggers();
+        if (!CollectionUtils.isEmpty(jobTriggers)) {
+            boolean isActive = false;
+            for (Trigger trigger : jobTriggers) {
+                TriggerModel triggerModel = dataManager.create(TriggerModel.class);
+                triggerModel.setTriggerName(trigger.getKey().getName());
+                triggerModel.setTriggerGroup(trigger.getKey().getGroup());
+                triggerModel.setScheduleType(trigger instanceof SimpleTrigger ? ScheduleType.SIMPLE : ScheduleType.CRON_EXPRESSION);
+                /*
+                Ignore startTime if it's in the past - during saving empty startTime will be set as 'now'.
+                This in combination with validation prevents case when scheduler reproduces all executions
+                from the startTime to the current moment after trigger is recreated (all triggers
+                a created with startTime not earlier than 'now')
+                */
+                Date startTime = trigger.getStartTime();
+                if (startTime.after(new Date())) {
+                    triggerModel.setStartDate(startTime);
+                }
+                triggerModel.setEndDate(trigger.getEndTime());
+                triggerModel.setLastFireDate(trigger.getPreviousFireTime());
+                triggerModel.setNextFireDate(trigger.getNextFireTime());
+                triggerModel.setMisfireInstructionId(resolveMisfireInstructionId(trigger));
+
+                if (trigger instanceof CronTrigger) {
+                    triggerModel.setCronExpression(((CronTrigger) trigger).getCronExpression());
+                } else if (trigger instanceof SimpleTrigger simpleTrigger) {
+                    triggerModel.setRepeatCount(simpleTrigger.getRepeatCount());
+                    triggerModel.setRepeatInterval(simpleTrigger.getRepeatInterval());
+                }
+
+                triggerModels.add(triggerModel);
+                if (jobInfo.getTriggerStates().get(trigger.getKey()) == Trigger.TriggerState.NORMAL
+                        && schedulerRunning) {
+                    isActive = true;
+                }
+            }
+
+            jobModel.setTriggers(triggerModels);
+            jobModel.setJobState(isActive ? JobState.NORMAL : JobState.PAUSED);
+        }
+        return jobModel;
+    }
+
     private String resolveMisfireInstructionId(Trigger trigger) {
         ScheduleType scheduleType = trigger instanceof SimpleTrigger
                 ? ScheduleType.SIMPLE
@@ -0,0 +1,430 @@
+package io.jmix.quartz.util;
+
+import io.jmix.core.Sort;
+import org.quartz.*;
+import org.quartz.impl.jdbcjobstore.Constants;
+import org.quartz.impl.jdbcjobstore.JobStoreSupport;
+import org.quartz.impl.triggers.CronTriggerImpl;
+import org.quartz.impl.triggers.SimpleTriggerImpl;
+import org.quartz.spi.OperableTrigger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.util.*;
+
+/**
+ * Reads jobs, their triggers and trigger states directly from the tables of the Quartz JDBC job store with a constant
+ * number of queries. Scheduler API requires several queries per job to obtain the same information.
+ */
+@Component("quartz_QuartzJdbcJobStoreReader")
+public class QuartzJdbcJobStoreReader {
+
+    private static final Logger log = LoggerFactory.getLogger(QuartzJdbcJobStoreReader.class);
+
+    @Autowired
+    private Scheduler scheduler;
+
+    @Autowired
+    private ObjectProvider<DataSource> dataSourceProvider;
+
+    /**
+     * Columns of the job details table by properties of {@link io.jmix.quartz.model.JobModel}.
+     */
+    protected static final Map<String, String> SORT_COLUMNS = Map.of(
+            "jobName", "JOB_NAME",
+            "jobGroup", "JOB_GROUP",
+            "jobClass", "JOB_CLASS_NAME");
+
+    @Value("${spring.quartz.properties.org.quartz.jobStore.tablePrefix:QRTZ_}")
+    private String tablePrefix;
+
+    /**
+     * Returns whether the scheduler keeps jobs in the database tables available for reading.
+     */
+    public boolean isSupported() {
+        try {
+            SchedulerMetaData metaData = scheduler.getMetaData();
+            return metaData.isJobStoreSupportsPersistence()
+                    && JobStoreSupport.class.isAssignableFrom(metaData.getJobStoreClass())
+                    && dataSourceProvider.getIfUnique() != null;
+        } catch (SchedulerException e) {
+            log.warn("Unable to fetch information about the job store", e);
+            return false;
+        }
+    }
+
+    /**
+     * Loads all jobs of the scheduler with their triggers.
+     *
+     * @return jobs or null if the job store tables cannot be read
+     */
+    @Nullable
+    public List<JobInfo> loadJobs() {
+        return loadJobs(new JobQuery());
+    }
+
+    /**
+     * Loads jobs matching conditions of the given query with their triggers. Conditions, sorting and paging are
+     * applied by the database, triggers are read only for the selected jobs.
+     *
+     * @return jobs or null if the job store tables cannot be read
+     */
+    @Nullable
+    public List<JobInfo> loadJobs(JobQuery query) {
+        try {
+            String schedulerName = scheduler.getSchedulerName();
+
+            List<Object> params = new ArrayList<>();
+            params.add(schedulerName);
+            String where = createWhereClause(query, "j", params);
+
+            JdbcTemplate jdbcTemplate = createJdbcTemplate();
+            boolean paged = query.getFirstResult() > 0 || query.getMaxResults() > 0;
+            if (query.getMaxResults() > 0) {
+                jdbcTemplate.setMaxRows(query.getFirstResult() + query.getMaxResults());
+            }
+
+            Map<JobKey, JobInfo> jobs = new LinkedHashMap<>();
+            int[] rowNumber = {0};
+            jdbcTemplate.query("select j.JOB_NAME, j.JOB_GROUP, j.DESCRIPTION, j.JOB_CLASS_NAME from "
+                            + tablePrefix + "JOB_DETAILS j where " + where + createOrderByClause(query.getSort()),
+                    rs -> {
+                        if (rowNumber[0]++ < query.getFirstResult()) {
+                            return;
+                        }
+                        JobKey jobKey = JobKey.jobKey(rs.getString("JOB_NAME"), rs.getString("JOB_GROUP"));
+                        jobs.put(jobKey, new JobInfo(jobKey, rs.getString("JOB_CLASS_NAME"), rs.getString("DESCRIPTION")));
+                    },
+                    params.toArray());
+
+            if (jobs.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            String triggersWhere;
+            if (paged) {
+                // only a page of jobs is selected, so the triggers are read by names of these jobs
+                Set<String> jobNames = new LinkedHashSet<>();
+                for (JobKey jobKey : jobs.keySet()) {
+                    jobNames.add(jobKey.getName());
+                }
+                params = new ArrayList<>();
+                params.add(schedulerName);
+                params.addAll(jobNames);
+                triggersWhere = "j.SCHED_NAME = ? and j.JOB_NAME in ("
+                        + String.join(", ", Collections.nCopies(jobNames.size(), "?")) + ")";
+            } else {
+                triggersWhere = where;
+            }
+
+            createJdbcTemplate().query("select t.TRIGGER_NAME, t.TRIGGER_GROUP, t.JOB_NAME, t.JOB_GROUP, t.TRIGGER_STATE, " +
+                            "t.TRIGGER_TYPE, t.START_TIME, t.END_TIME, t.PREV_FIRE_TIME, t.NEXT_FIRE_TIME, t.MISFIRE_INSTR, " +
+                            "c.CRON_EXPRESSION, c.TIME_ZONE_ID, s.REPEAT_COUNT, s.REPEAT_INTERVAL, s.TIMES_TRIGGERED " +
+                            "from " + tablePrefix + "TRIGGERS t " +
+                            "join " + tablePrefix + "JOB_DETAILS j on j.SCHED_NAME = t.SCHED_NAME " +
+                            "and j.JOB_NAME = t.JOB_NAME and j.JOB_GROUP = t.JOB_GROUP " +
+                            "left join " + tablePrefix + "CRON_TRIGGERS c on c.SCHED_NAME = t.SCHED_NAME " +
+                            "and c.TRIGGER_NAME = t.TRIGGER_NAME and c.TRIGGER_GROUP = t.TRIGGER_GROUP " +
+                            "left join " + tablePrefix + "SIMPLE_TRIGGERS s on s.SCHED_NAME = t.SCHED_NAME " +
+                            "and s.TRIGGER_NAME = t.TRIGGER_NAME and s.TRIGGER_GROUP = t.TRIGGER_GROUP " +
+                            "where " + triggersWhere,
+                    rs -> {
+                        JobInfo jobInfo = jobs.get(JobKey.jobKey(rs.getString("JOB_NAME"), rs.getString("JOB_GROUP")));
+                        if (jobInfo == null) {
+                            // the job was added after the jobs had been read or does not belong to the page
+                            return;
+                        }
+                        Trigger trigger = createTrigger(rs, jobInfo.getKey());
+                        if (trigger == null) {
+                            jobInfo.incomplete = true;
+                        } else {
+                            jobInfo.getTriggers().add(trigger);
+                            jobInfo.getTriggerStates().put(trigger.getKey(), getTriggerState(rs.getString("TRIGGER_STATE")));
+                        }
+                    },
+                    params.toArray());
+
+            return new ArrayList<>(jobs.values());
+        } catch (SchedulerException | DataAccessException e) {
+            log.warn("Unable to read jobs from the job store tables", e);
+            return null;
+        }
+    }
+
+    /**
+     * Counts jobs matching conditions of the given query, sorting and paging settings are ignored.
+     *
+     * @return number of jobs or null if the job store tables cannot be read
+     */
+    @Nullable
+    public Integer countJobs(JobQuery query) {
+        try {
+            List<Object> params = new ArrayList<>();
+            params.add(scheduler.getSchedulerName());
+            String where = createWhereClause(query, "j", params);
+            return createJdbcTemplate().queryForObject("select count(*) from " + tablePrefix + "JOB_DETAILS j where " + where,
+                    Integer.class, params.toArray());
+        } catch (SchedulerException | DataAccessException e) {
+            log.warn("Unable to count jobs in the job store tables", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether jobs can be sorted by the database according to the given sort.
+     */
+    public boolean isSortSupported(@Nullable Sort sort) {
+        if (sort == null) {
+            return true;
+        }
+        for (Sort.Order order : sort.getOrders()) {
+            if (!SORT_COLUMNS.containsKey(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected JdbcTemplate createJdbcTemplate() {
+        return new JdbcTemplate(dataSourceProvider.getIfUnique());
+    }
+
+    protected String createWhereClause(JobQuery query, String alias, List<Object> params) {
+        StringBuilder where = new StringBuilder(alias).append(".SCHED_NAME = ?");
+        appendContainsCondition(where, alias + ".JOB_NAME", query.getJobName(), params);
+        appendContainsCondition(where, alias + ".JOB_GROUP", query.getJobGroup(), params);
+        appendContainsCondition(where, alias + ".JOB_CLASS_NAME", query.getJobClassName(), params);
+        return where.toString();
+    }
+
+    protected void appendContainsCondition(StringBuilder where, String column, @Nullable String value,
+                                           List<Object> params) {
+        if (value != null && !value.isEmpty()) {
+            where.append(" and lower(").append(column).append(") like ? escape '!'");
+            params.add("%" + value.toLowerCase(Locale.ROOT)
+                    .replace("!", "!!")
+                    .replace("%", "!%")
+                    .replace("_", "!_") + "%");
+        }
+    }
+
+    protected String createOrderByClause(@Nullable Sort sort) {
+        List<String> columns = new ArrayList<>();
+        if (sort != null) {
+            for (Sort.Order order : sort.getOrders()) {
+                String column = SORT_COLUMNS.get(order.getProperty());
+                if (column == null) {
+                    throw new IllegalArgumentException("Jobs cannot be sorted by " + order.getProperty());
+                }
+                columns.add("j." + column + (order.getDirection() == Sort.Direction.DESC ? " desc" : ""));
+            }
+        }
+        // makes paging stable
+        columns.add("j.JOB_NAME");
+        columns.add("j.JOB_GROUP");
+        return " order by " + String.join(", ", columns);
+    }
+
+    /**
+     * Creates a trigger from the row in the same way as the job store does for cron and simple triggers.
+     *
+     * @return trigger or null if the trigger type is not supported
+     */
+    @Nullable
+    protected Trigger createTrigger(ResultSet rs, JobKey jobKey) throws SQLException {
+        String triggerType = rs.getString("TRIGGER_TYPE");
+        String cronExpression = rs.getString("CRON_EXPRESSION");
+        if (Constants.TTYPE_CRON.equals(triggerType) && cronExpression != null) {
+            CronTriggerImpl trigger = new CronTriggerImpl();
+            try {
+                trigger.setCronExpression(cronExpression);
+            } catch (ParseException e) {
+                return null;
+            }
+            String timeZoneId = rs.getString("TIME_ZONE_ID");
+            if (timeZoneId != null) {
+                trigger.setTimeZone(TimeZone.getTimeZone(timeZoneId));
+            }
+            return fillTrigger(trigger, rs, jobKey);
+        } else if (Constants.TTYPE_SIMPLE.equals(triggerType)) {
+            SimpleTriggerImpl trigger = new SimpleTriggerImpl();
+            trigger.setRepeatCount(rs.getInt("REPEAT_COUNT"));
+            trigger.setRepeatInterval(rs.getLong("REPEAT_INTERVAL"));
+            trigger.setTimesTriggered(rs.getInt("TIMES_TRIGGERED"));
+            return fillTrigger(trigger, rs, jobKey);
+        }
+        return null;
+    }
+
+    protected <T extends OperableTrigger> T fillTrigger(T trigger, ResultSet rs, JobKey jobKey)
+            throws SQLException {
+        trigger.setKey(TriggerKey.triggerKey(rs.getString("TRIGGER_NAME"), rs.getString("TRIGGER_GROUP")));
+        trigger.setJobKey(jobKey);
+        trigger.setMisfireInstruction(rs.getInt("MISFIRE_INSTR"));
+        trigger.setStartTime(new Date(rs.getLong("START_TIME")));
+        trigger.setEndTime(toDate(rs.getLong("END_TIME")));
+        trigger.setPreviousFireTime(toDate(rs.getLong("PREV_FIRE_TIME")));
+        trigger.setNextFireTime(toDate(rs.getLong("NEXT_FIRE_TIME")));
+        return trigger;
+    }
+
+    @Nullable
+    protected Date toDate(long time) {
+        return time > 0 ? new Date(time) : null;
+    }
+
+    /**
+     * Converts the stored state to the state returned by {@link Scheduler#getTriggerState(TriggerKey)}.
+     */
+    protected Trigger.TriggerState getTriggerState(String state) {
+        if (Constants.STATE_DELETED.equals(state)) {
+            return Trigger.TriggerState.NONE;
+        } else if (Constants.STATE_COMPLETE.equals(state)) {
+            return Trigger.TriggerState.COMPLETE;
+        } else if (Constants.STATE_PAUSED.equals(state) || Constants.STATE_PAUSED_BLOCKED.equals(state)) {
+            return Trigger.TriggerState.PAUSED;
+        } else if (Constants.STATE_ERROR.equals(state)) {
+            return Trigger.TriggerState.ERROR;
+        } else if (Constants.STATE_BLOCKED.equals(state)) {
+            return Trigger.TriggerState.BLOCKED;
+        }
+        return Trigger.TriggerState.NORMAL;
+    }
+
+    /**
+     * Job with its triggers and their states.
+     */
+    public static class JobInfo {
+
+        private final JobKey key;
+        private final String jobClassName;
+        private final String description;
+        private final List<Trigger> triggers = new ArrayList<>();
+        private final Map<TriggerKey, Trigger.TriggerState> triggerStates = new HashMap<>();
+        private boolean incomplete;
+
+        public JobInfo(JobKey key, String jobClassName, @Nullable String description) {
+            this.key = key;
+            this.jobClassName = jobClassName;
+            this.description = description;
+        }
+
+        public JobKey getKey() {
+            return key;
+        }
+
+        public String getJobClassName() {
+            return jobClassName;
+        }
+
+        @Nullable
+        public String getDescription() {
+            return description;
+        }
+
+        public List<Trigger> getTriggers() {
+            return triggers;
+        }
+
+        public Map<TriggerKey, Trigger.TriggerState> getTriggerStates() {
+            return triggerStates;
+        }
+
+        /**
+         * Returns whether some triggers of the job could not be read from the tables, e.g. triggers of
+         * types other than cron and simple, so the job should be read using the scheduler.
+         */
+        public boolean isIncomplete() {
+            return incomplete;
+        }
+    }
+
+    /**
+     * Conditions, sorting and paging of jobs read from the tables. String conditions are matched as
+     * case-insensitive substrings.
+     */
+    public static class JobQuery {
+
+        private String jobName;
+        private String jobGroup;
+        private String jobClassName;
+        private Sort sort;
+        private int firstResult;
+        private int maxResults;
+
+        @Nullable
+        public String getJobName() {
+            return jobName;
+        }
+
+        public JobQuery setJobName(@Nullable String jobName) {
+            this.jobName = jobName;
+            return this;
+        }
+
+        @Nullable
+        public String getJobGroup() {
+            return jobGroup;
+        }
+
+        public JobQuery setJobGroup(@Nullable String jobGroup) {
+            this.jobGroup = jobGroup;
+            return this;
+        }
+
+        @Nullable
+        public String getJobClassName() {
+            return jobClassName;
+        }
+
+        public JobQuery setJobClassName(@Nullable String jobClassName) {
+            this.jobClassName = jobClassName;
+            return this;
+        }
+
+        /**
+         * @return sort by properties of {@link io.jmix.quartz.model.JobModel}, see {@link #isSortSupported(Sort)}
+         */
+        @Nullable
+        public Sort getSort() {
+            return sort;
+        }
+
+        public JobQuery setSort(@Nullable Sort sort) {
+            this.sort = sort;
+            return this;
+        }
+
+        public int getFirstResult() {
+            return firstResult;
+        }
+
+        public JobQuery setFirstResult(int firstResult) {
+            this.firstResult = firstResult;
+            return this;
+        }
+
+        /**
+         * @return maximum number of returned jobs, 0 means no limit
+         */
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public JobQuery setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+            return this;
+        }
+    }
+}
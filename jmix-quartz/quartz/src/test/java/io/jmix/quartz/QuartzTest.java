@@ -1,11 +1,13 @@
 package io.jmix.quartz;
 
 import io.jmix.core.CoreConfiguration;
+import io.jmix.core.Sort;
 import io.jmix.core.UnconstrainedDataManager;
 import io.jmix.data.DataConfiguration;
 import io.jmix.eclipselink.EclipselinkConfiguration;
 import io.jmix.quartz.exception.QuartzJobSaveException;
 import io.jmix.quartz.model.*;
+import io.jmix.quartz.service.JobModelFilter;
 import io.jmix.quartz.service.QuartzService;
 import io.jmix.quartz.util.QuartzJobClassFinder;
 import io.jmix.quartz.util.QuartzJobDetailsFinder;
@@ -204,4 +206,49 @@ public class QuartzTest {
         Assertions.assertNull(testJobModel);
     }
 
+    @Test
+    public void testLoadJobsWithFilterAndPaging() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            JobDetail job = JobBuilder.newJob()
+                    .withIdentity("pagedJob" + i, "pagedJobGroup")
+                    .ofType(QuartTestApplication.MyQuartzJob.class)
+                    .usingJobData("index", String.valueOf(i))
+                    .storeDurably()
+                    .build();
+            scheduler.addJob(job, true);
+        }
+        scheduler.scheduleJob(TriggerBuilder.newTrigger()
+                .withIdentity("pagedCronTrigger", "pagedTriggerGroup")
+                .withSchedule(CronScheduleBuilder.cronSchedule("0 0 0 * * ?"))
+                .forJob("pagedJob0", "pagedJobGroup")
+                .build());
+
+        JobModelFilter filter = new JobModelFilter().setJobGroup("pagedjobgroup");
+        Assertions.assertEquals(5, quartzService.getJobsCount(filter));
+
+        List<JobModel> page = quartzService.loadJobs(filter
+                .setSort(Sort.by(Sort.Direction.DESC, "jobName"))
+                .setFirstResult(1)
+                .setMaxResults(2));
+        Assertions.assertEquals(2, page.size());
+        Assertions.assertEquals("pagedJob3", page.get(0).getJobName());
+        Assertions.assertEquals("pagedJob2", page.get(1).getJobName());
+        Assertions.assertEquals("3", page.get(0).getJobDataParameters().get(0).getValue());
+
+        List<JobModel> activeJobs = quartzService.loadJobs(new JobModelFilter()
+                .setJobGroup("pagedJobGroup")
+                .setJobState(JobState.NORMAL));
+        Assertions.assertEquals(1, activeJobs.size());
+        JobModel activeJob = activeJobs.get(0);
+        Assertions.assertEquals("pagedJob0", activeJob.getJobName());
+        Assertions.assertEquals(1, activeJob.getTriggers().size());
+        Assertions.assertEquals(ScheduleType.CRON_EXPRESSION, activeJob.getTriggers().get(0).getScheduleType());
+        Assertions.assertEquals("0 0 0 * * ?", activeJob.getTriggers().get(0).getCronExpression());
+        Assertions.assertNotNull(activeJob.getTriggers().get(0).getNextFireDate());
+
+        //cleanup
+        for (int i = 0; i < 5; i++) {
+            scheduler.deleteJob(JobKey.jobKey("pagedJob" + i, "pagedJobGroup"));
+        }
+    }
 }
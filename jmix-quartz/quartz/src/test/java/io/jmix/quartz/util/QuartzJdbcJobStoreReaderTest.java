@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.quartz.util;
+
+import io.jmix.core.CoreConfiguration;
+import io.jmix.core.Sort;
+import io.jmix.data.DataConfiguration;
+import io.jmix.eclipselink.EclipselinkConfiguration;
+import io.jmix.quartz.QuartTestApplication;
+import io.jmix.quartz.model.JobModel;
+import io.jmix.quartz.service.JobModelFilter;
+import io.jmix.quartz.service.QuartzService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.quartz.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(
+        classes = {
+                CoreConfiguration.class,
+                DataConfiguration.class,
+                EclipselinkConfiguration.class,
+                QuartTestApplication.class
+        }
+)
+@TestPropertySource(properties = {
+        // the scheduler of the RAM job store context is registered with the default name
+        "spring.quartz.scheduler-name=jdbcJobStoreScheduler",
+        "spring.quartz.job-store-type=jdbc",
+        "spring.quartz.jdbc.initialize-schema=always"
+})
+class QuartzJdbcJobStoreReaderTest {
+
+    private static final String JOB_GROUP = "readerJobGroup";
+
+    @Autowired
+    private Scheduler scheduler;
+
+    @Autowired
+    private QuartzJdbcJobStoreReader jdbcJobStoreReader;
+
+    @Autowired
+    private QuartzService quartzService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            scheduler.addJob(JobBuilder.newJob()
+                    .withIdentity("readerJob" + i, JOB_GROUP)
+                    .ofType(TestJob.class)
+                    .withDescription("Reader job " + i)
+                    .storeDurably()
+                    .build(), true);
+        }
+        scheduler.scheduleJob(TriggerBuilder.newTrigger()
+                .withIdentity("readerCronTrigger", JOB_GROUP)
+                .withSchedule(CronScheduleBuilder.cronSchedule("0 0 0 * * ?"))
+                .forJob("readerJob2", JOB_GROUP)
+                .build());
+        scheduler.scheduleJob(TriggerBuilder.newTrigger()
+                .withIdentity("readerSimpleTrigger", JOB_GROUP)
+                .startAt(new Date(System.currentTimeMillis() + 3_600_000))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                        .withIntervalInMinutes(10)
+                        .withRepeatCount(3))
+                .forJob("readerJob3", JOB_GROUP)
+                .build());
+        scheduler.pauseJob(JobKey.jobKey("readerJob3", JOB_GROUP));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            scheduler.deleteJob(JobKey.jobKey("readerJob" + i, JOB_GROUP));
+        }
+    }
+
+    @Test
+    void jobsAreReadAsByScheduler() throws Exception {
+        assertTrue(jdbcJobStoreReader.isSupported());
+
+        List<QuartzJdbcJobStoreReader.JobInfo> jobs = jdbcJobStoreReader.loadJobs(
+                new QuartzJdbcJobStoreReader.JobQuery().setJobGroup(JOB_GROUP));
+
+        assertNotNull(jobs);
+        assertEquals(5, jobs.size());
+        for (QuartzJdbcJobStoreReader.JobInfo jobInfo : jobs) {
+            JobDetail jobDetail = scheduler.getJobDetail(jobInfo.getKey());
+            assertEquals(jobDetail.getJobClass().getName(), jobInfo.getJobClassName());
+            assertEquals(jobDetail.getDescription(), jobInfo.getDescription());
+            assertFalse(jobInfo.isIncomplete());
+
+            List<? extends Trigger> triggers = scheduler.getTriggersOfJob(jobInfo.getKey());
+            assertEquals(triggers.size(), jobInfo.getTriggers().size());
+            for (Trigger trigger : triggers) {
+                Trigger readTrigger = jobInfo.getTriggers().stream()
+                        .filter(t -> t.getKey().equals(trigger.getKey()))
+                        .findFirst()
+                        .orElseThrow();
+                assertEquals(trigger.getClass(), readTrigger.getClass());
+                assertEquals(trigger.getStartTime(), readTrigger.getStartTime());
+                assertEquals(trigger.getNextFireTime(), readTrigger.getNextFireTime());
+                assertEquals(trigger.getMisfireInstruction(), readTrigger.getMisfireInstruction());
+                assertEquals(scheduler.getTriggerState(trigger.getKey()),
+                        jobInfo.getTriggerStates().get(trigger.getKey()));
+                if (trigger instanceof CronTrigger) {
+                    assertEquals(((CronTrigger) trigger).getCronExpression(),
+                            ((CronTrigger) readTrigger).getCronExpression());
+                } else {
+                    assertEquals(((SimpleTrigger) trigger).getRepeatCount(),
+                            ((SimpleTrigger) readTrigger).getRepeatCount());
+                    assertEquals(((SimpleTrigger) trigger).getRepeatInterval(),
+                            ((SimpleTrigger) readTrigger).getRepeatInterval());
+                }
+            }
+        }
+    }
+
+    @Test
+    void conditionsSortingAndPagingAreApplied() {
+        List<QuartzJdbcJobStoreReader.JobInfo> jobs = jdbcJobStoreReader.loadJobs(
+                new QuartzJdbcJobStoreReader.JobQuery()
+                        .setJobGroup("READERJOBGROUP")
+                        .setJobClassName("testjob")
+                        .setSort(Sort.by(Sort.Direction.DESC, "jobName"))
+                        .setFirstResult(1)
+                        .setMaxResults(2));
+
+        assertNotNull(jobs);
+        assertEquals(List.of("readerJob3", "readerJob2"),
+                jobs.stream().map(jobInfo -> jobInfo.getKey().getName()).collect(Collectors.toList()));
+        // triggers are read for the jobs of the page
+        assertEquals(1, jobs.get(0).getTriggers().size());
+        assertEquals(Trigger.TriggerState.PAUSED, jobs.get(0).getTriggerStates().values().iterator().next());
+        assertEquals(1, jobs.get(1).getTriggers().size());
+        assertEquals(Trigger.TriggerState.NORMAL, jobs.get(1).getTriggerStates().values().iterator().next());
+    }
+
+    @Test
+    void jobsAreCounted() {
+        assertEquals(5, jdbcJobStoreReader.countJobs(new QuartzJdbcJobStoreReader.JobQuery().setJobGroup(JOB_GROUP)));
+        assertEquals(1, jdbcJobStoreReader.countJobs(new QuartzJdbcJobStoreReader.JobQuery()
+                .setJobGroup(JOB_GROUP)
+                .setJobName("JOB4")));
+        // wildcard characters are matched literally
+        assertEquals(0, jdbcJobStoreReader.countJobs(new QuartzJdbcJobStoreReader.JobQuery()
+                .setJobGroup(JOB_GROUP)
+                .setJobName("reader_ob%")));
+    }
+
+    @Test
+    void serviceReadsPageFromTables() {
+        JobModelFilter filter = new JobModelFilter()
+                .setJobGroup("readerjobgroup")
+                .setJobName("job")
+                .setSort(Sort.by("jobName"))
+                .setFirstResult(2)
+                .setMaxResults(2);
+
+        assertEquals(5, quartzService.getJobsCount(filter));
+
+        List<JobModel> page = quartzService.loadJobs(filter);
+        assertEquals(List.of("readerJob2", "readerJob3"),
+                page.stream().map(JobModel::getJobName).collect(Collectors.toList()));
+        assertEquals("0 0 0 * * ?", page.get(0).getTriggers().get(0).getCronExpression());
+        assertEquals(Integer.valueOf(3), page.get(1).getTriggers().get(0).getRepeatCount());
+    }
+
+    public static class TestJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            //do nothing
+        }
+    }
+}
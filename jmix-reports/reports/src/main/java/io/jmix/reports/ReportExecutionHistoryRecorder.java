@@ -26,6 +26,15 @@ public interface ReportExecutionHistoryRecorder {
 
     ReportExecution startExecution(Report report, Map<String, Object> params);
 
+    /**
+     * Starts execution of a report that has been waiting in the execution queue.
+     *
+     * @param queueWaitTime time in milliseconds the report has been waiting before start
+     */
+    default ReportExecution startExecution(Report report, Map<String, Object> params, long queueWaitTime) {
+        return startExecution(report, params);
+    }
+
     void markAsSuccess(ReportExecution execution, ReportOutputDocument document);
 
     void markAsError(ReportExecution execution, Exception e);
@@ -42,6 +42,7 @@ public class ReportPrintHelper {
         inputOutputTypesMapping.put("html", Arrays.asList(HTML, PDF));
         inputOutputTypesMapping.put("ftl", Arrays.asList(HTML, PDF));
         inputOutputTypesMapping.put("csv", Arrays.asList(CSV));
+        inputOutputTypesMapping.put("jsonl", Arrays.asList(JSONL));
         inputOutputTypesMapping.put("jrxml", Arrays.asList(XLS, DOC, PDF, HTML, DOCX, XLSX, CSV));
         inputOutputTypesMapping.put("jasper", Arrays.asList(XLS, DOC, PDF, HTML, DOCX, XLSX, CSV));
 
@@ -52,6 +53,7 @@ public class ReportPrintHelper {
         mimeTypes.put(ReportOutputType.pdf, "application/pdf");
         mimeTypes.put(ReportOutputType.html, "text/html");
         mimeTypes.put(ReportOutputType.csv, "application/csv");
+        mimeTypes.put(ReportOutputType.jsonl, "application/jsonl");
     }
 
     @Nullable
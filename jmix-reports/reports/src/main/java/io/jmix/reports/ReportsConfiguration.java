@@ -18,6 +18,7 @@ package io.jmix.reports;
 
 import io.jmix.core.CoreProperties;
 import io.jmix.core.annotation.JmixModule;
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
 import io.jmix.data.DataConfiguration;
 import io.jmix.eclipselink.EclipselinkConfiguration;
 import io.jmix.reports.libintegration.*;
@@ -29,6 +30,7 @@ import io.jmix.reports.yarg.reporting.extraction.DefaultExtractionControllerFact
 import io.jmix.reports.yarg.reporting.extraction.DefaultPreprocessorFactory;
 import io.jmix.reports.yarg.reporting.extraction.ExtractionController;
 import io.jmix.reports.yarg.reporting.extraction.controller.CrossTabExtractionController;
+import io.jmix.reports.yarg.reporting.extraction.controller.DefaultExtractionController;
 import io.jmix.reports.yarg.reporting.extraction.preprocessor.SqlCrosstabPreprocessor;
 import io.jmix.reports.yarg.structure.BandOrientation;
 import io.jmix.reports.yarg.util.groovy.Scripting;
@@ -76,6 +78,7 @@ public class ReportsConfiguration {
         jmixReporting.setDataExtractor(dataExtractor);
         jmixReporting.setObjectToStringConverter(converter);
         jmixReporting.setScripting(scripting);
+        jmixReporting.setStreamingEnabled(reportsProperties.isStreamingOutputEnabled());
         return jmixReporting;
     }
 
@@ -102,6 +105,7 @@ public class ReportsConfiguration {
     public JmixSqlDataLoader sqlDataLoader(SqlParametersConverter converter) {
         JmixSqlDataLoader sqlDataLoader = new JmixSqlDataLoader(dataSource);
         sqlDataLoader.setParametersConverter(converter);
+        sqlDataLoader.setStreamingFetchSize(reportsProperties.getStreamingFetchSize());
         return sqlDataLoader;
     }
 
@@ -117,7 +121,9 @@ public class ReportsConfiguration {
 
     @Bean("report_JpqlDataLoader")
     public JpqlDataLoader jpqlDataLoader() {
-        return new JpqlDataLoader();
+        JpqlDataLoader jpqlDataLoader = new JpqlDataLoader();
+        jpqlDataLoader.setStreamingFetchSize(reportsProperties.getStreamingFetchSize());
+        return jpqlDataLoader;
     }
 
     @Bean("report_JsonDataLoader")
@@ -139,16 +145,25 @@ public class ReportsConfiguration {
     public JmixFormatterFactory formatterFactory(JmixInlinersProvider inlinersProvider,
                                                  JmixFieldFormatProvider fieldFormatProvider,
                                                  Scripting scripting,
-                                                 JmixOfficeIntegration officeIntegration) {
+                                                 JmixOfficeIntegration officeIntegration,
+                                                 JmixParsedTemplateCache templateCache) {
         JmixFormatterFactory formatterFactory = new JmixFormatterFactory();
         formatterFactory.setUseOfficeForDocumentConversion(reportsProperties.isUseOfficeForDocumentConversion());
         formatterFactory.setInlinersProvider(inlinersProvider);
         formatterFactory.setDefaultFormatProvider(fieldFormatProvider);
         formatterFactory.setOfficeIntegration(officeIntegration);
         formatterFactory.setScripting(scripting);
+        if (reportsProperties.getTemplateCacheSize() > 0) {
+            formatterFactory.setTemplateCache(templateCache);
+        }
         return formatterFactory;
     }
 
+    @Bean("report_ParsedTemplateCache")
+    public JmixParsedTemplateCache parsedTemplateCache(ClusterApplicationEventPublisher clusterApplicationEventPublisher) {
+        return new JmixParsedTemplateCache(reportsProperties.getTemplateCacheSize(), clusterApplicationEventPublisher);
+    }
+
     @Bean("report_InlinersProvider")
     public JmixInlinersProvider inlinersProvider(FileStorageContentInliner fileStorageContentInliner) {
         return new JmixInlinersProvider(fileStorageContentInliner);
@@ -181,7 +196,13 @@ public class ReportsConfiguration {
     public DefaultExtractionControllerFactory extractionControllerFactory(ReportLoaderFactory loaderFactory,
                                                                           ApplicationContext applicationContext,
                                                                           DefaultPreprocessorFactory defaultPreprocessorFactory) {
-        DefaultExtractionControllerFactory extractionControllerFactory = new DefaultExtractionControllerFactory(loaderFactory);
+        DefaultExtractionControllerFactory extractionControllerFactory = new DefaultExtractionControllerFactory(loaderFactory,
+                (controllerFactory, reportLoaderFactory) -> {
+                    DefaultExtractionController controller = new DefaultExtractionController(controllerFactory, reportLoaderFactory);
+                    controller.setBatchExtractionEnabled(reportsProperties.isBatchExtractionEnabled());
+                    controller.setBatchSize(reportsProperties.getBatchExtractionSize());
+                    return controller;
+                });
         Map<BandOrientation, ExtractionController> extractionControllers = new HashMap<>();
         extractionControllers.put(BandOrientation.CROSS, applicationContext.getBean(CrossTabExtractionController.class, extractionControllerFactory,
                 loaderFactory, defaultPreprocessorFactory));
@@ -16,9 +16,11 @@
 
 package io.jmix.reports;
 
+import jakarta.validation.constraints.Positive;
 import org.springframework.lang.Nullable;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
 
 import java.util.Collections;
 import java.util.List;
@@ -26,6 +28,7 @@ import java.util.List;
 /**
  * Reporting configuration interface.
  */
+@Validated
 @ConfigurationProperties(prefix = "jmix.reports")
 public class ReportsProperties {
 
@@ -144,6 +147,77 @@ public class ReportsProperties {
      */
     boolean formulasPostProcessingEvaluationEnabled;
 
+    /**
+     * Whether to execute a child band query once for a chunk of parent band rows instead of once per parent row.
+     * Applies to simple SQL and JPQL queries referencing a single parent band field in an equality condition,
+     * other queries are executed for each parent row.
+     */
+    boolean batchExtractionEnabled;
+
+    /**
+     * Maximum number of parent band rows for which a child band query is executed at once
+     * if {@link #batchExtractionEnabled} is true.
+     */
+    int batchExtractionSize;
+
+    /**
+     * Whether to render XLSX templates with the streaming formatter keeping only a window of rows in memory.
+     * Templates that cannot be streamed (vertical bands, charts, pivot tables, etc.) are rendered as usual.
+     */
+    boolean xlsxStreamingEnabled;
+
+    /**
+     * Number of rows kept in memory by the streaming XLSX formatter if {@link #xlsxStreamingEnabled} is true.
+     */
+    int xlsxStreamingRowWindowSize;
+
+    /**
+     * Maximum number of parsed templates (compiled HTML and Jasper templates, XLSX template documents)
+     * kept in memory to avoid parsing them on each report run. 0 disables the cache.
+     */
+    int templateCacheSize;
+
+    /**
+     * Maximum number of reports executed concurrently by the {@link io.jmix.reports.runner.ReportExecutionScheduler}.
+     * Must be at least 1.
+     */
+    @Positive
+    int executionConcurrencyLimit;
+
+    /**
+     * Maximum number of concurrent executions of the same report by the
+     * {@link io.jmix.reports.runner.ReportExecutionScheduler}. 0 means no limit.
+     */
+    int executionPerReportConcurrencyLimit;
+
+    /**
+     * Maximum number of report executions waiting in the scheduler queue. Further submissions are rejected.
+     */
+    int executionQueueCapacity;
+
+    /**
+     * Time in seconds to keep results of reports executed by the scheduler and return them for the same report,
+     * template, parameters and user. 0 disables the result cache.
+     */
+    int executionResultCacheTtlSec;
+
+    /**
+     * Maximum number of cached report results.
+     */
+    int executionResultCacheSize;
+
+    /**
+     * Whether to render CSV and JSON Lines reports consisting of a single band loaded by one SQL or JPQL query
+     * directly from the rows read by the data loader, without keeping all rows in memory.
+     */
+    boolean streamingOutputEnabled;
+
+    /**
+     * Number of rows fetched from the database at once when rows are streamed
+     * if {@link #streamingOutputEnabled} is true.
+     */
+    int streamingFetchSize;
+
     public ReportsProperties(@DefaultValue("/") String officePath,
                              @DefaultValue({"8100", "8101", "8102", "8103"}) List<Integer> officePorts,
                              @DefaultValue("20") int docFormatterTimeout,
@@ -166,7 +240,19 @@ public class ReportsProperties {
                              @DefaultValue("1000") int historyCleanupMaxItemsPerReport,
                              @DefaultValue("3") int countOfRetry,
                              @DefaultValue("false") boolean useOfficeForDocumentConversion,
-                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled) {
+                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled,
+                             @DefaultValue("false") boolean batchExtractionEnabled,
+                             @DefaultValue("500") int batchExtractionSize,
+                             @DefaultValue("false") boolean xlsxStreamingEnabled,
+                             @DefaultValue("100") int xlsxStreamingRowWindowSize,
+                             @DefaultValue("100") int templateCacheSize,
+                             @DefaultValue("10") int executionConcurrencyLimit,
+                             @DefaultValue("2") int executionPerReportConcurrencyLimit,
+                             @DefaultValue("1000") int executionQueueCapacity,
+                             @DefaultValue("0") int executionResultCacheTtlSec,
+                             @DefaultValue("100") int executionResultCacheSize,
+                             @DefaultValue("false") boolean streamingOutputEnabled,
+                             @DefaultValue("1000") int streamingFetchSize) {
         this.officePath = officePath;
         this.officePorts = officePorts;
         this.docFormatterTimeout = docFormatterTimeout;
@@ -190,6 +276,18 @@ public class ReportsProperties {
         this.countOfRetry = countOfRetry;
         this.useOfficeForDocumentConversion = useOfficeForDocumentConversion;
         this.formulasPostProcessingEvaluationEnabled = formulasPostProcessingEvaluationEnabled;
+        this.batchExtractionEnabled = batchExtractionEnabled;
+        this.batchExtractionSize = batchExtractionSize;
+        this.xlsxStreamingEnabled = xlsxStreamingEnabled;
+        this.xlsxStreamingRowWindowSize = xlsxStreamingRowWindowSize;
+        this.templateCacheSize = templateCacheSize;
+        this.executionConcurrencyLimit = executionConcurrencyLimit;
+        this.executionPerReportConcurrencyLimit = executionPerReportConcurrencyLimit;
+        this.executionQueueCapacity = executionQueueCapacity;
+        this.executionResultCacheTtlSec = executionResultCacheTtlSec;
+        this.executionResultCacheSize = executionResultCacheSize;
+        this.streamingOutputEnabled = streamingOutputEnabled;
+        this.streamingFetchSize = streamingFetchSize;
     }
 
     /**
@@ -343,4 +441,88 @@ public class ReportsProperties {
     public boolean isFormulasPostProcessingEvaluationEnabled() {
         return formulasPostProcessingEvaluationEnabled;
     }
-}
\ No newline at end of file
+
+    /**
+     * @see #batchExtractionEnabled
+     */
+    public boolean isBatchExtractionEnabled() {
+        return batchExtractionEnabled;
+    }
+
+    /**
+     * @see #batchExtractionSize
+     */
+    public int getBatchExtractionSize() {
+        return batchExtractionSize;
+    }
+
+    /**
+     * @see #xlsxStreamingEnabled
+     */
+    public boolean isXlsxStreamingEnabled() {
+        return xlsxStreamingEnabled;
+    }
+
+    /**
+     * @see #xlsxStreamingRowWindowSize
+     */
+    public int getXlsxStreamingRowWindowSize() {
+        return xlsxStreamingRowWindowSize;
+    }
+
+    /**
+     * @see #templateCacheSize
+     */
+    public int getTemplateCacheSize() {
+        return templateCacheSize;
+    }
+
+    /**
+     * @see #executionConcurrencyLimit
+     */
+    public int getExecutionConcurrencyLimit() {
+        return executionConcurrencyLimit;
+    }
+
+    /**
+     * @see #executionPerReportConcurrencyLimit
+     */
+    public int getExecutionPerReportConcurrencyLimit() {
+        return executionPerReportConcurrencyLimit;
+    }
+
+    /**
+     * @see #executionQueueCapacity
+     */
+    public int getExecutionQueueCapacity() {
+        return executionQueueCapacity;
+    }
+
+    /**
+     * @see #executionResultCacheTtlSec
+     */
+    public int getExecutionResultCacheTtlSec() {
+        return executionResultCacheTtlSec;
+    }
+
+    /**
+     * @see #executionResultCacheSize
+     */
+    public int getExecutionResultCacheSize() {
+        return executionResultCacheSize;
+    }
+
+    /**
+     * @see #streamingOutputEnabled
+     */
+    public boolean isStreamingOutputEnabled() {
+        return streamingOutputEnabled;
+    }
+
+    /**
+     * @see #streamingFetchSize
+     */
+    public int getStreamingFetchSize() {
+        return streamingFetchSize;
+    }
+}
@@ -71,6 +71,12 @@ public class ReportExecution {
     @Column(name = "FINISH_TIME")
     private Date finishTime;
 
+    /**
+     * Time in milliseconds the report has been waiting in the execution queue before start
+     */
+    @Column(name = "QUEUE_WAIT_TIME")
+    private Long queueWaitTime;
+
     @Column(name = "IS_SUCCESS")
     private Boolean success;
 
@@ -166,6 +172,14 @@ public class ReportExecution {
         this.finishTime = finishTime;
     }
 
+    public Long getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    public void setQueueWaitTime(Long queueWaitTime) {
+        this.queueWaitTime = queueWaitTime;
+    }
+
     public Boolean getSuccess() {
         return success;
     }
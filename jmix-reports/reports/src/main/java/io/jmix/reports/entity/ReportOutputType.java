@@ -31,7 +31,8 @@ public enum ReportOutputType implements EnumClass<Integer> {
     CHART(70, JmixReportOutputType.chart),
     CSV(80, JmixReportOutputType.csv),
     TABLE(90, JmixReportOutputType.table),
-    PIVOT_TABLE(100, JmixReportOutputType.pivot);
+    PIVOT_TABLE(100, JmixReportOutputType.pivot),
+    JSONL(110, JmixReportOutputType.jsonl);
 
     private Integer id;
 
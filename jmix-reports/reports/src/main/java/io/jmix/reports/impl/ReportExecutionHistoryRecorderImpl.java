@@ -34,6 +34,7 @@ import org.apache.commons.lang3.time.DateUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionTemplate;
 
@@ -72,6 +73,15 @@ public class ReportExecutionHistoryRecorderImpl implements ReportExecutionHistor
 
     @Override
     public ReportExecution startExecution(Report report, Map<String, Object> params) {
+        return startExecutionInternal(report, params, null);
+    }
+
+    @Override
+    public ReportExecution startExecution(Report report, Map<String, Object> params, long queueWaitTime) {
+        return startExecutionInternal(report, params, queueWaitTime);
+    }
+
+    protected ReportExecution startExecutionInternal(Report report, Map<String, Object> params, @Nullable Long queueWaitTime) {
         ReportExecution execution = metadata.create(ReportExecution.class);
 
         execution.setReport(report);
@@ -79,6 +89,7 @@ public class ReportExecutionHistoryRecorderImpl implements ReportExecutionHistor
         execution.setReportCode(report.getCode());
         execution.setUsername(currentAuthentication.getUser().getUsername());
         execution.setStartTime(timeSource.currentTimestamp());
+        execution.setQueueWaitTime(queueWaitTime);
         setParametersString(execution, params);
         handleNewReportEntity(execution);
 
@@ -159,7 +170,9 @@ public class ReportExecutionHistoryRecorderImpl implements ReportExecutionHistor
                 JmixReportOutputType.chart.getId(),
                 JmixReportOutputType.table.getId(),
                 JmixReportOutputType.pivot.getId());
-        return reportsProperties.isSaveOutputDocumentsToHistory() && !outputTypesWithoutDocument.contains(type.getId());
+        return reportsProperties.isSaveOutputDocumentsToHistory()
+                && document.getContent() != null
+                && !outputTypesWithoutDocument.contains(type.getId());
     }
 
     protected FileRef saveDocument(ReportOutputDocument document) throws FileStorageException {
@@ -20,6 +20,7 @@ import io.jmix.reports.yarg.formatters.factory.DefaultFormatterFactory;
 import io.jmix.reports.yarg.formatters.impl.DocxFormatter;
 import io.jmix.reports.yarg.formatters.impl.HtmlFormatter;
 import io.jmix.reports.yarg.formatters.impl.XlsxFormatter;
+import io.jmix.reports.yarg.formatters.impl.XlsxStreamingFormatter;
 import io.jmix.reports.ReportsProperties;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -65,6 +66,14 @@ public class JmixFormatterFactory extends DefaultFormatterFactory {
             xlsxFormatter.setDocumentConverter(documentConverter);
             xlsxFormatter.setScripting(scripting);
             xlsxFormatter.setFormulasPostProcessingEvaluationEnabled(reportsProperties.isFormulasPostProcessingEvaluationEnabled());
+            if (reportsProperties.isXlsxStreamingEnabled()) {
+                XlsxStreamingFormatter streamingFormatter = new XlsxStreamingFormatter(factoryInput);
+                streamingFormatter.setDefaultFormatProvider(defaultFormatProvider);
+                streamingFormatter.setScripting(scripting);
+                streamingFormatter.setRowAccessWindowSize(reportsProperties.getXlsxStreamingRowWindowSize());
+                streamingFormatter.setFallbackFormatter(xlsxFormatter);
+                return streamingFormatter;
+            }
             return xlsxFormatter;
         };
         formattersMap.put("xlsx", xlsxCreator);
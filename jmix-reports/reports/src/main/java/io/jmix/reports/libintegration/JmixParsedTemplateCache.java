@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.libintegration;
+
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
+import io.jmix.core.event.EntitySavingEvent;
+import io.jmix.reports.yarg.formatters.cache.DefaultParsedTemplateCache;
+import io.jmix.reports.yarg.structure.ReportTemplate;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Parsed template cache keyed by the template entity id. Templates are removed from the cache when saved, on other
+ * nodes of the cluster too.
+ */
+public class JmixParsedTemplateCache extends DefaultParsedTemplateCache {
+
+    protected final ClusterApplicationEventPublisher clusterApplicationEventPublisher;
+
+    public JmixParsedTemplateCache(long maximumSize, ClusterApplicationEventPublisher clusterApplicationEventPublisher) {
+        super(maximumSize);
+        this.clusterApplicationEventPublisher = clusterApplicationEventPublisher;
+    }
+
+    @Override
+    protected Object getTemplateKey(ReportTemplate template) {
+        if (template instanceof io.jmix.reports.entity.ReportTemplate) {
+            return ((io.jmix.reports.entity.ReportTemplate) template).getId();
+        }
+        return super.getTemplateKey(template);
+    }
+
+    /**
+     * Removes the template from the cache of this node and, after the transaction is committed, notifies other
+     * nodes. The notification is also received by this node, so a template parsed by a concurrent run
+     * before the commit is removed as well.
+     */
+    @EventListener
+    public void onTemplateSaving(EntitySavingEvent<io.jmix.reports.entity.ReportTemplate> event) {
+        UUID templateId = event.getEntity().getId();
+        invalidate(templateId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishTemplateChanged(templateId);
+                }
+            });
+        } else {
+            publishTemplateChanged(templateId);
+        }
+    }
+
+    @EventListener
+    public void onTemplateChanged(ReportTemplateChangedEvent event) {
+        invalidate(event.getTemplateId());
+    }
+
+    protected void publishTemplateChanged(UUID templateId) {
+        clusterApplicationEventPublisher.publish(new ReportTemplateChangedEvent(this, templateId));
+    }
+}
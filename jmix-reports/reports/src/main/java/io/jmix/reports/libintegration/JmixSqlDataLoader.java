@@ -38,7 +38,12 @@ public class JmixSqlDataLoader extends SqlDataLoader {
 
     @Override
     protected List runQuery(ReportQuery reportQuery, String queryString, Object[] params, ResultSetHandler<List> handler) throws SQLException {
-        QueryRunner runner = new QueryRunner(storeAwareLocator.getDataSource(StoreUtils.getStoreName(reportQuery)));
+        QueryRunner runner = new QueryRunner(getDataSource(reportQuery));
         return runner.query(queryString, params, handler);
     }
+
+    @Override
+    protected DataSource getDataSource(ReportQuery reportQuery) {
+        return storeAwareLocator.getDataSource(StoreUtils.getStoreName(reportQuery));
+    }
 }
@@ -18,9 +18,11 @@ package io.jmix.reports.libintegration;
 
 import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput;
 import io.jmix.reports.yarg.formatters.impl.XlsxFormatter;
+import org.docx4j.XmlUtils;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
+import org.xlsx4j.jaxb.Context;
 import org.xlsx4j.sml.Cell;
 
 @Component("report_JmixXlsxFormatter")
@@ -31,14 +33,12 @@ public class JmixXlsxFormatter extends XlsxFormatter {
         super(formatterFactoryInput);
     }
 
+    /**
+     * Returns a deep copy of the cell without the reference to its row. Template cells can be shared
+     * with concurrent report runs by the template cache, so the template cell itself is never modified.
+     */
     @Override
     protected Cell copyCell(Cell cell) {
-        Object parent = cell.getParent();
-        try {
-            cell.setParent(null);
-            return super.copyCell(cell);
-        } finally {
-            cell.setParent(parent);
-        }
+        return XmlUtils.deepCopy(cell, Context.jcSML);
     }
 }
@@ -17,15 +17,20 @@
 package io.jmix.reports.libintegration;
 
 import io.jmix.reports.yarg.exception.DataLoadingException;
+import io.jmix.reports.yarg.exception.ReportingException;
+import io.jmix.reports.yarg.loaders.BatchReportDataLoader;
 import io.jmix.reports.yarg.loaders.ReportDataLoader;
+import io.jmix.reports.yarg.loaders.StreamingReportDataLoader;
 import io.jmix.reports.yarg.loaders.impl.AbstractDbDataLoader;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import io.jmix.core.*;
 import io.jmix.data.StoreAwareLocator;
+import io.jmix.eclipselink.impl.JmixEclipseLinkQuery;
 import io.jmix.reports.app.EntityMap;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.persistence.config.QueryHints;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -35,12 +40,16 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
-public class JpqlDataLoader extends AbstractDbDataLoader implements ReportDataLoader {
+public class JpqlDataLoader extends AbstractDbDataLoader implements ReportDataLoader, BatchReportDataLoader,
+        StreamingReportDataLoader {
 
     @Autowired
     protected TransactionTemplate transaction;
@@ -54,6 +63,8 @@ public class JpqlDataLoader extends AbstractDbDataLoader implements ReportDataLo
     @Autowired
     protected StoreAwareLocator storeAwareLocator;
 
+    protected int streamingFetchSize = 1000;
+
     private static final String QUERY_END = "%%END%%";
     private static final String ALIAS_PATTERN = "as\\s+\"?([\\w|\\d|_|\\.]+)\"?\\s*";
     private static final Pattern OUTPUT_PARAMS_PATTERN =
@@ -103,6 +114,131 @@ public class JpqlDataLoader extends AbstractDbDataLoader implements ReportDataLo
         }
     }
 
+    /**
+     * Passes rows of the query result to the consumer as they are read by a database cursor, see
+     * {@link JmixEclipseLinkQuery#getResultStream()}. Streamed entities are detached from the persistence context
+     * after each chunk of {@link #getStreamingFetchSize()} rows to keep the memory consumption constant, other
+     * entities of the current transaction stay managed.
+     */
+    @Override
+    public void streamData(ReportQuery reportQuery, @Nullable BandData parentBand, Map<String, Object> params,
+                           Consumer<Map<String, Object>> rowConsumer) {
+        String storeName = StoreUtils.getStoreName(reportQuery);
+        String query = reportQuery.getScript();
+        if (StringUtils.isBlank(query)) {
+            return;
+        }
+        try {
+            if (Boolean.TRUE.equals(reportQuery.getProcessTemplate())) {
+                query = processQueryTemplate(query, parentBand, params);
+            }
+
+            List<OutputValue> outputParameters = parseQueryOutputParametersNames(query);
+
+            query = query.replaceAll("(?i)" + ALIAS_PATTERN + ",", ",");
+            query = query.replaceAll("(?i)" + ALIAS_PATTERN, " ");
+
+            String streamedQuery = query;
+            storeAwareLocator.getTransactionTemplate(storeName).executeWithoutResult(transactionStatus -> {
+                EntityManager entityManager = storeAwareLocator.getEntityManager(storeName);
+                Query select = insertParameters(trimQuery(streamedQuery), storeName, parentBand, params);
+                if (!(select instanceof JmixEclipseLinkQuery)) {
+                    // the query cannot read the result by a cursor, so it is loaded at once
+                    for (Object row : select.getResultList()) {
+                        rowConsumer.accept(toRow(row, outputParameters));
+                    }
+                    return;
+                }
+                if (streamingFetchSize > 0) {
+                    select.setHint(QueryHints.JDBC_FETCH_SIZE, streamingFetchSize);
+                }
+                List<Object> streamedEntities = new ArrayList<>();
+                try (Stream<?> stream = select.getResultStream()) {
+                    Iterator<?> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        Object row = iterator.next();
+                        rowConsumer.accept(toRow(row, outputParameters));
+                        if (row instanceof Entity) {
+                            streamedEntities.add(row);
+                        }
+                        if (streamingFetchSize > 0 && streamedEntities.size() >= streamingFetchSize) {
+                            streamedEntities.forEach(entityManager::detach);
+                            streamedEntities.clear();
+                        }
+                    }
+                }
+            });
+        } catch (ReportingException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for data set [%s]", reportQuery.getName()), e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public List<List<Map<String, Object>>> loadBatchData(ReportQuery reportQuery, List<BandData> parentBands,
+                                                         Map<String, Object> params) {
+        BatchQuery batchQuery = prepareBatchQuery(reportQuery, parentBands, params);
+        if (batchQuery == null) {
+            return null;
+        }
+        String query = batchQuery.getQuery();
+        List<OutputValue> outputParameters = parseQueryOutputParametersNames(query);
+        // queries selecting entities without aliases return entities instead of rows
+        if (outputParameters.size() < 2 || !BATCH_KEY_ALIAS.equals(outputParameters.get(0).getValueName())) {
+            return null;
+        }
+        if (!batchQuery.hasKeys()) {
+            return groupBatchRows(batchQuery, Collections.emptyList());
+        }
+
+        String storeName = StoreUtils.getStoreName(reportQuery);
+        try {
+            query = query.replaceAll("(?i)" + ALIAS_PATTERN + ",", ",");
+            query = query.replaceAll("(?i)" + ALIAS_PATTERN, " ");
+
+            List queryResult = executeQuery(null, batchQuery.getParams(), storeName, query);
+            if (queryResult == null) {
+                return null;
+            }
+            if (outputParameters.size() == 2) {
+                for (Object row : queryResult) {
+                    // a single selected entity is wrapped into EntityMap when loaded for one parent band
+                    if (((Object[]) row)[1] instanceof Entity) {
+                        return null;
+                    }
+                }
+            }
+            return groupBatchRows(batchQuery, fillOutputData(queryResult, outputParameters));
+        } catch (Throwable e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for data set [%s]", reportQuery.getName()), e);
+        }
+    }
+
+    protected Map<String, Object> toRow(Object row, List<OutputValue> outputParameters) {
+        return row instanceof Entity
+                ? new EntityMap((Entity) row, beanFactory)
+                : fillOutputRow(row, outputParameters);
+    }
+
+    public int getStreamingFetchSize() {
+        return streamingFetchSize;
+    }
+
+    /**
+     * Sets the number of rows fetched from the database at once when the data is streamed.
+     */
+    public void setStreamingFetchSize(int streamingFetchSize) {
+        this.streamingFetchSize = streamingFetchSize;
+    }
+
+    @Override
+    protected boolean isBatchNullKeySupported() {
+        // comparison with null parameter can be translated to "is null" by the persistence provider
+        return false;
+    }
+
     @Nullable
     protected List executeQuery(BandData parentBand, Map<String, Object> params, String storeName, String query) {
         return storeAwareLocator.getTransactionTemplate(storeName).execute(transactionStatus -> {
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.reports.libintegration;
+
+import io.jmix.core.cluster.ClusterApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Event published to all nodes of the cluster when a report template is saved. Nodes remove the parsed
+ * template from {@link JmixParsedTemplateCache}.
+ */
+public class ReportTemplateChangedEvent extends ClusterApplicationEvent {
+
+    private static final long serialVersionUID = 4470563178813356962L;
+
+    protected final UUID templateId;
+
+    public ReportTemplateChangedEvent(Object source, UUID templateId) {
+        super(source);
+        this.templateId = templateId;
+    }
+
+    /**
+     * @return id of the changed template
+     */
+    public UUID getTemplateId() {
+        return templateId;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportTemplateChangedEvent{" +
+                "templateId=" + templateId +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.runner;
+
+import io.jmix.core.FileRef;
+import io.jmix.core.FileStorage;
+import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs reports in background limiting the number of reports executed concurrently.
+ * <p>
+ * Reports exceeding the limits wait in a queue ordered by priority and submission time. The limits are set by
+ * {@link io.jmix.reports.ReportsProperties#getExecutionConcurrencyLimit()} for all reports and
+ * {@link io.jmix.reports.ReportsProperties#getExecutionPerReportConcurrencyLimit()} for each report.
+ * Reports are executed on behalf of the user who submitted them.
+ * <p>
+ * Cancelling the returned future removes the report from the queue or interrupts its execution.
+ */
+public interface ReportExecutionScheduler {
+
+    int DEFAULT_PRIORITY = 0;
+
+    /**
+     * Submits the report for execution with the default priority.
+     *
+     * @see #submit(ReportRunContext, int)
+     */
+    CompletableFuture<ReportOutputDocument> submit(ReportRunContext context);
+
+    /**
+     * Submits the report for execution. If result caching is enabled by
+     * {@link io.jmix.reports.ReportsProperties#getExecutionResultCacheTtlSec()}, a result of the same report
+     * executed by the same user with equal parameters is returned without running the report again.
+     *
+     * @param context  report run context
+     * @param priority reports with greater priority are executed first
+     * @return future completed with the report execution result
+     */
+    CompletableFuture<ReportOutputDocument> submit(ReportRunContext context, int priority);
+
+    /**
+     * Submits the report for execution writing the result to the file storage without keeping it in memory.
+     *
+     * @param context     report run context
+     * @param priority    reports with greater priority are executed first
+     * @param fileStorage file storage to save the result to
+     * @return future completed with the reference to the saved file
+     */
+    CompletableFuture<FileRef> submitToFileStorage(ReportRunContext context, int priority, FileStorage fileStorage);
+
+    /**
+     * @return number of reports waiting in the queue
+     */
+    int getQueueSize();
+
+    /**
+     * @return number of reports being executed
+     */
+    int getRunningCount();
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.runner.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.Entity;
+import io.jmix.core.FileRef;
+import io.jmix.core.FileStorage;
+import io.jmix.core.Id;
+import io.jmix.core.Metadata;
+import io.jmix.core.security.SecurityContextHelper;
+import io.jmix.reports.ReportsProperties;
+import io.jmix.reports.app.ParameterPrototype;
+import io.jmix.reports.entity.Report;
+import io.jmix.reports.entity.ReportTemplate;
+import io.jmix.reports.exception.ReportingException;
+import io.jmix.reports.runner.ReportExecutionScheduler;
+import io.jmix.reports.runner.ReportRunContext;
+import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component("report_ReportExecutionScheduler")
+public class ReportExecutionSchedulerImpl implements ReportExecutionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportExecutionSchedulerImpl.class);
+
+    protected final ReportRunnerImpl reportRunner;
+    protected final ReportsProperties reportsProperties;
+    protected final Metadata metadata;
+
+    protected final ExecutorService executor;
+    protected final Cache<ResultKey, ReportOutputDocument> resultCache;
+
+    protected final Object lock = new Object();
+    protected final NavigableSet<Task<?>> queue = new TreeSet<>(Comparator
+            .comparingInt((Task<?> task) -> -task.priority)
+            .thenComparingLong(task -> task.sequence));
+    protected final Map<UUID, Integer> runningByReport = new HashMap<>();
+    protected int runningCount;
+    protected final AtomicLong sequence = new AtomicLong();
+
+    public ReportExecutionSchedulerImpl(ReportRunnerImpl reportRunner, ReportsProperties reportsProperties, Metadata metadata) {
+        this.reportRunner = reportRunner;
+        this.reportsProperties = reportsProperties;
+        this.metadata = metadata;
+
+        int concurrencyLimit = reportsProperties.getExecutionConcurrencyLimit();
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(concurrencyLimit, concurrencyLimit,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("report-execution-%d").setDaemon(true).build());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.executor = threadPoolExecutor;
+
+        this.resultCache = reportsProperties.getExecutionResultCacheTtlSec() > 0
+                ? CacheBuilder.newBuilder()
+                .expireAfterWrite(reportsProperties.getExecutionResultCacheTtlSec(), TimeUnit.SECONDS)
+                .maximumSize(reportsProperties.getExecutionResultCacheSize())
+                .build()
+                : null;
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<ReportOutputDocument> submit(ReportRunContext context) {
+        return submit(context, DEFAULT_PRIORITY);
+    }
+
+    @Override
+    public CompletableFuture<ReportOutputDocument> submit(ReportRunContext context, int priority) {
+        reportRunner.prepareContext(context);
+
+        ResultKey resultKey = resultCache != null ? createResultKey(context) : null;
+        if (resultKey != null) {
+            ReportOutputDocument document = resultCache.getIfPresent(resultKey);
+            if (document != null) {
+                log.debug("Returning cached result of report {}", context.getReport().getName());
+                return CompletableFuture.completedFuture(document);
+            }
+        }
+
+        return enqueue(context, priority, queueWaitTime -> {
+            ReportOutputDocument document = reportRunner.run(context, null, queueWaitTime);
+            if (resultKey != null) {
+                resultCache.put(resultKey, document);
+            }
+            return document;
+        });
+    }
+
+    @Override
+    public CompletableFuture<FileRef> submitToFileStorage(ReportRunContext context, int priority, FileStorage fileStorage) {
+        reportRunner.prepareContext(context);
+
+        return enqueue(context, priority, queueWaitTime -> {
+            Path tempFile = Files.createTempFile("report", null);
+            try {
+                ReportOutputDocument document;
+                try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                    document = reportRunner.run(context, outputStream, queueWaitTime);
+                }
+                try (InputStream inputStream = Files.newInputStream(tempFile)) {
+                    return fileStorage.saveStream(document.getDocumentName(), inputStream);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        });
+    }
+
+    @Override
+    public int getQueueSize() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    @Override
+    public int getRunningCount() {
+        synchronized (lock) {
+            return runningCount;
+        }
+    }
+
+    protected <T> CompletableFuture<T> enqueue(ReportRunContext context, int priority, ReportAction<T> action) {
+        Task<T> task = new Task<>(context.getReport().getId(), priority, sequence.incrementAndGet(),
+                SecurityContextHelper.getAuthentication(), action);
+
+        synchronized (lock) {
+            if (queue.size() >= reportsProperties.getExecutionQueueCapacity()) {
+                task.future.completeExceptionally(new ReportingException(String.format(
+                        "Report [%s] cannot be executed: the execution queue is full", context.getReport().getName())));
+                return task.future;
+            }
+            queue.add(task);
+        }
+
+        task.future.whenComplete((result, throwable) -> {
+            if (task.future.isCancelled()) {
+                cancel(task);
+            }
+        });
+
+        dispatch();
+        return task.future;
+    }
+
+    /**
+     * Starts queued tasks while the concurrency limits allow.
+     */
+    protected void dispatch() {
+        synchronized (lock) {
+            Iterator<Task<?>> iterator = queue.iterator();
+            while (runningCount < reportsProperties.getExecutionConcurrencyLimit() && iterator.hasNext()) {
+                Task<?> task = iterator.next();
+                if (isReportLimitReached(task.reportId)) {
+                    continue;
+                }
+                iterator.remove();
+                runningCount++;
+                runningByReport.merge(task.reportId, 1, Integer::sum);
+                executor.execute(() -> execute(task));
+            }
+        }
+    }
+
+    protected boolean isReportLimitReached(UUID reportId) {
+        int limit = reportsProperties.getExecutionPerReportConcurrencyLimit();
+        return limit > 0 && runningByReport.getOrDefault(reportId, 0) >= limit;
+    }
+
+    protected <T> void execute(Task<T> task) {
+        long queueWaitTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - task.submitTime);
+        Authentication previousAuthentication = SecurityContextHelper.getAuthentication();
+        try {
+            if (!task.start()) {
+                return;
+            }
+            SecurityContextHelper.setAuthentication(task.authentication);
+            task.future.complete(task.action.run(queueWaitTime));
+        } catch (Throwable e) {
+            task.future.completeExceptionally(e);
+        } finally {
+            task.finish();
+            SecurityContextHelper.setAuthentication(previousAuthentication);
+            synchronized (lock) {
+                runningCount--;
+                runningByReport.computeIfPresent(task.reportId, (id, count) -> count > 1 ? count - 1 : null);
+            }
+            dispatch();
+        }
+    }
+
+    protected void cancel(Task<?> task) {
+        boolean removed;
+        synchronized (lock) {
+            removed = queue.remove(task);
+        }
+        if (!removed) {
+            task.interrupt();
+        }
+    }
+
+    /**
+     * @return key of the report result in the cache or null if the result should not be cached
+     */
+    @Nullable
+    protected ResultKey createResultKey(ReportRunContext context) {
+        Authentication authentication = SecurityContextHelper.getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+
+        Report report = context.getReport();
+        ReportTemplate template = context.getReportTemplate();
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(authentication.getName(), StandardCharsets.UTF_8);
+        hasher.putString(String.valueOf(report.getVersion()), StandardCharsets.UTF_8);
+        hasher.putString(template.getId() + "/" + template.getVersion(), StandardCharsets.UTF_8);
+        hasher.putString(String.valueOf(context.getOutputType()), StandardCharsets.UTF_8);
+        hasher.putString(String.valueOf(context.getOutputNamePattern()), StandardCharsets.UTF_8);
+        if (!putParameters(hasher, context.getParams())) {
+            return null;
+        }
+        return new ResultKey(report.getId(), hasher.hash());
+    }
+
+    /**
+     * @return false if some parameter value cannot be represented in the cache key
+     */
+    protected boolean putParameters(Hasher hasher, Map<String, Object> params) {
+        for (Map.Entry<String, Object> entry : new TreeMap<>(params).entrySet()) {
+            hasher.putString(entry.getKey(), StandardCharsets.UTF_8);
+            if (!putValue(hasher, entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean putValue(Hasher hasher, @Nullable Object value) {
+        if (value == null) {
+            hasher.putByte((byte) 0);
+        } else if (value instanceof ParameterPrototype) {
+            return false;
+        } else if (value instanceof Entity) {
+            hasher.putString(metadata.getClass(value).getName() + ":" + Id.of(value).getValue(), StandardCharsets.UTF_8);
+        } else if (value instanceof Collection) {
+            hasher.putInt(((Collection<?>) value).size());
+            for (Object item : (Collection<?>) value) {
+                if (!putValue(hasher, item)) {
+                    return false;
+                }
+            }
+        } else if (value instanceof Date) {
+            hasher.putLong(((Date) value).getTime());
+        } else {
+            hasher.putString(value.getClass().getName() + ":" + value, StandardCharsets.UTF_8);
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    protected interface ReportAction<T> {
+
+        T run(long queueWaitTime) throws Exception;
+    }
+
+    protected static class Task<T> {
+        protected final UUID reportId;
+        protected final int priority;
+        protected final long sequence;
+        protected final long submitTime = System.nanoTime();
+        protected final Authentication authentication;
+        protected final ReportAction<T> action;
+        protected final CompletableFuture<T> future = new CompletableFuture<>();
+
+        protected Thread thread;
+
+        protected Task(UUID reportId, int priority, long sequence, @Nullable Authentication authentication,
+                       ReportAction<T> action) {
+            this.reportId = reportId;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.authentication = authentication;
+            this.action = action;
+        }
+
+        protected synchronized boolean start() {
+            if (future.isDone()) {
+                return false;
+            }
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        protected synchronized void finish() {
+            thread = null;
+            // clear the interruption caused by a cancellation so that it does not affect the next task
+            Thread.interrupted();
+        }
+
+        protected synchronized void interrupt() {
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    protected static class ResultKey {
+        protected final UUID reportId;
+        protected final HashCode hash;
+
+        protected ResultKey(UUID reportId, HashCode hash) {
+            this.reportId = reportId;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ResultKey resultKey = (ResultKey) o;
+            return reportId.equals(resultKey.reportId) && hash.equals(resultKey.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(reportId, hash);
+        }
+    }
+}
@@ -45,9 +45,11 @@ import org.slf4j.MDC;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -77,15 +79,28 @@ public class ReportRunnerImpl implements ReportRunner {
 
     @Override
     public ReportOutputDocument run(ReportRunContext context) {
+        return run(context, null, null);
+    }
+
+    /**
+     * Runs the report optionally writing the result to the given stream.
+     *
+     * @param outputStream  stream to write the result to, if not null the content of the returned document is null
+     * @param queueWaitTime time in milliseconds the report has been waiting in the execution queue,
+     *                      recorded to the execution history
+     * @return report execution result
+     */
+    public ReportOutputDocument run(ReportRunContext context, @Nullable OutputStream outputStream, @Nullable Long queueWaitTime) {
         prepareContext(context);
         if (!reportsProperties.isHistoryRecordingEnabled()) {
-            return createReportDocumentInternal(context);
+            return createReportDocumentInternal(context, outputStream);
         }
 
-        ReportExecution reportExecution =
-                executionHistoryRecorder.startExecution(context.getReport(), context.getParams());
+        ReportExecution reportExecution = queueWaitTime != null
+                ? executionHistoryRecorder.startExecution(context.getReport(), context.getParams(), queueWaitTime)
+                : executionHistoryRecorder.startExecution(context.getReport(), context.getParams());
         try {
-            ReportOutputDocument document = createReportDocumentInternal(context);
+            ReportOutputDocument document = createReportDocumentInternal(context, outputStream);
             executionHistoryRecorder.markAsSuccess(reportExecution, document);
             return document;
         } catch (ReportCanceledException e) {
@@ -98,6 +113,10 @@ public class ReportRunnerImpl implements ReportRunner {
     }
 
     protected ReportOutputDocument createReportDocumentInternal(ReportRunContext context) {
+        return createReportDocumentInternal(context, null);
+    }
+
+    protected ReportOutputDocument createReportDocumentInternal(ReportRunContext context, @Nullable OutputStream outputStream) {
         Report report = context.getReport();
         ReportTemplate template = context.getReportTemplate();
         ReportOutputType outputType = context.getOutputType();
@@ -131,7 +150,10 @@ public class ReportRunnerImpl implements ReportRunner {
 
             io.jmix.reports.yarg.structure.ReportOutputType resultOutputType = (outputType != null) ? outputType.getOutputType() : template.getOutputType();
 
-            return reportingAPI.runReport(new RunParams(report).template(template).params(resultParams).output(resultOutputType).outputNamePattern(outputNamePattern));
+            RunParams runParams = new RunParams(report).template(template).params(resultParams).output(resultOutputType).outputNamePattern(outputNamePattern);
+            return outputStream != null
+                    ? reportingAPI.runReport(runParams, outputStream)
+                    : reportingAPI.runReport(runParams);
         } catch (NoFreePortsException nfe) {
             throw new NoOpenOfficeFreePortsException(nfe.getMessage());
         } catch (OpenOfficeException ooe) {
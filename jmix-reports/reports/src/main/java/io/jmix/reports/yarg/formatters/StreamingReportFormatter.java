@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.formatters;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Formatter that is able to write rows of a single band as they are loaded, without building the band tree.
+ */
+public interface StreamingReportFormatter extends ReportFormatter {
+
+    /**
+     * @return true if the template and the output type allow to render the document from a stream of rows
+     */
+    boolean isStreamingSupported();
+
+    /**
+     * Renders the document from rows of a single first level band.
+     *
+     * @param bandName  name of the band
+     * @param rowSource source pushing the band rows to the given consumer
+     */
+    void renderDocument(String bandName, RowSource rowSource);
+
+    @FunctionalInterface
+    interface RowSource {
+
+        void forEachRow(Consumer<Map<String, Object>> rowConsumer);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.formatters.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.jmix.reports.yarg.structure.ReportTemplate;
+import org.apache.commons.io.IOUtils;
+
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * {@link ParsedTemplateCache} keeping a limited number of parsed templates in memory.
+ * <p>
+ * Entries are keyed by the template key, the type of the parsed form and the hash of the template content,
+ * so a changed template is parsed again even if the cache has not been invalidated.
+ */
+public class DefaultParsedTemplateCache implements ParsedTemplateCache {
+
+    protected final Cache<CacheKey, Object> cache;
+
+    public DefaultParsedTemplateCache(long maximumSize) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public <T> T get(ReportTemplate template, Class<T> type, Parser<T> parser) throws Exception {
+        byte[] content;
+        try (InputStream inputStream = template.getDocumentContent()) {
+            content = IOUtils.toByteArray(inputStream);
+        }
+
+        CacheKey key = new CacheKey(getTemplateKey(template), type, Hashing.sha256().hashBytes(content));
+        try {
+            return type.cast(cache.get(key, () -> parser.parse(content)));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    @Override
+    public void invalidate(Object templateKey) {
+        cache.asMap().keySet().removeIf(key -> key.templateKey.equals(templateKey));
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return key identifying the template, passed to {@link #invalidate(Object)} when the template is changed
+     */
+    protected Object getTemplateKey(ReportTemplate template) {
+        return template.getCode() + "/" + template.getDocumentName();
+    }
+
+    protected static class CacheKey {
+        protected final Object templateKey;
+        protected final Class<?> type;
+        protected final HashCode contentHash;
+
+        protected CacheKey(Object templateKey, Class<?> type, HashCode contentHash) {
+            this.templateKey = templateKey;
+            this.type = type;
+            this.contentHash = contentHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CacheKey cacheKey = (CacheKey) o;
+            return templateKey.equals(cacheKey.templateKey)
+                    && type.equals(cacheKey.type)
+                    && contentHash.equals(cacheKey.contentHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(templateKey, type, contentHash);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.formatters.cache;
+
+import io.jmix.reports.yarg.structure.ReportTemplate;
+
+/**
+ * Cache of parsed report templates, so that formatters do not parse the same template content on each report run.
+ * <p>
+ * Parsed templates are shared between report runs, possibly executed concurrently,
+ * so formatters must not modify them.
+ */
+public interface ParsedTemplateCache {
+
+    /**
+     * Returns the parsed form of the template content, parsing it on cache miss.
+     *
+     * @param template report template
+     * @param type     type of the parsed form, templates parsed into different types are cached separately
+     * @param parser   function parsing the template content
+     * @return parsed template
+     * @throws Exception if the template cannot be parsed
+     */
+    <T> T get(ReportTemplate template, Class<T> type, Parser<T> parser) throws Exception;
+
+    /**
+     * Removes all parsed forms of the template with the given key.
+     */
+    void invalidate(Object templateKey);
+
+    /**
+     * Removes all cached templates.
+     */
+    void invalidateAll();
+
+    @FunctionalInterface
+    interface Parser<T> {
+
+        T parse(byte[] content) throws Exception;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.jmix.reports.yarg.formatters.factory;
 
+import io.jmix.reports.yarg.formatters.cache.ParsedTemplateCache;
 import io.jmix.reports.yarg.formatters.factory.inline.DefaultInlinersProvider;
 import io.jmix.reports.yarg.formatters.factory.inline.ReportInlinersProvider;
 import io.jmix.reports.yarg.formatters.impl.*;
@@ -50,6 +51,8 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
 
     protected boolean formulasPostProcessingEvaluationEnabled;
 
+    protected ParsedTemplateCache templateCache;
+
     public DefaultFormatterFactory() {
         htmlImportProcessor = new HtmlImportProcessorImpl();
         htmlToPdfConverterFactory = new HtmlToPdfConverterFactory();
@@ -102,6 +105,7 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
         formattersMap.put("xlsm", xlsxCreator);
 
         formattersMap.put("csv", CsvFormatter::new);
+        formattersMap.put("jsonl", JsonLinesFormatter::new);
 
         FormatterCreator jasperCreator = JasperFormatter::new;
         formattersMap.put("jasper", jasperCreator);
@@ -160,6 +164,13 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
         this.formulasPostProcessingEvaluationEnabled = formulasPostProcessingEvaluationEnabled;
     }
 
+    /**
+     * Sets the cache of parsed templates passed to the created formatters. Templates are parsed on each run if not set.
+     */
+    public void setTemplateCache(ParsedTemplateCache templateCache) {
+        this.templateCache = templateCache;
+    }
+
     public ReportFormatter createFormatter(FormatterFactoryInput factoryInput) {
         String templateExtension = factoryInput.templateExtension;
         BandData rootBand = factoryInput.rootBand;
@@ -174,6 +185,7 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
         ReportFormatter reportFormatter = formatterCreator.create(factoryInput);
         if (reportFormatter instanceof AbstractFormatter) {
             ((AbstractFormatter) reportFormatter).setContentInliners(new ArrayList<>(inlinersProvider.getContentInliners()));
+            ((AbstractFormatter) reportFormatter).setTemplateCache(templateCache);
         }
 
         return reportFormatter;
@@ -22,17 +22,20 @@ import io.jmix.reports.yarg.exception.ReportFormattingException;
 import io.jmix.reports.yarg.exception.ReportingException;
 import io.jmix.reports.yarg.exception.ReportingInterruptedException;
 import io.jmix.reports.yarg.formatters.ReportFormatter;
+import io.jmix.reports.yarg.formatters.cache.ParsedTemplateCache;
 import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportFieldFormat;
 import io.jmix.reports.yarg.structure.ReportOutputType;
 import io.jmix.reports.yarg.structure.ReportTemplate;
 import io.jmix.reports.yarg.util.groovy.Scripting;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.ConstructorUtils;
 
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
@@ -66,6 +69,7 @@ public abstract class AbstractFormatter implements ReportFormatter {
     protected Set<ReportOutputType> supportedOutputTypes = new HashSet<>();
     protected DefaultFormatProvider defaultFormatProvider;
     protected Scripting scripting = new DefaultScriptingImpl();
+    protected ParsedTemplateCache templateCache;
 
     /**
      * Chain of responsibility for content inliners
@@ -108,6 +112,23 @@ public abstract class AbstractFormatter implements ReportFormatter {
         this.defaultFormatProvider = defaultFormatProvider;
     }
 
+    public void setTemplateCache(ParsedTemplateCache templateCache) {
+        this.templateCache = templateCache;
+    }
+
+    /**
+     * Returns the parsed template content, taking it from the template cache if it is set.
+     * The returned object can be shared between report runs and must not be modified.
+     */
+    protected <T> T getParsedTemplate(Class<T> type, ParsedTemplateCache.Parser<T> parser) throws Exception {
+        if (templateCache != null) {
+            return templateCache.get(reportTemplate, type, parser);
+        }
+        try (InputStream inputStream = reportTemplate.getDocumentContent()) {
+            return parser.parse(IOUtils.toByteArray(inputStream));
+        }
+    }
+
     protected String unwrapParameterName(String nameWithAlias) {
         checkThreadInterrupted();
         Matcher matcher = UNIVERSAL_ALIAS_PATTERN.matcher(nameWithAlias);
@@ -19,6 +19,7 @@ package io.jmix.reports.yarg.formatters.impl;
 import com.opencsv.CSVWriter;
 import io.jmix.reports.yarg.exception.ReportFormattingException;
 import io.jmix.reports.yarg.exception.UnsupportedFormatException;
+import io.jmix.reports.yarg.formatters.StreamingReportFormatter;
 import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportOutputType;
@@ -32,7 +33,7 @@ import java.util.regex.Matcher;
 
 import static io.jmix.reports.yarg.formatters.impl.csv.SimpleSeparatorDetector.detectSeparator;
 
-public class CsvFormatter extends AbstractFormatter {
+public class CsvFormatter extends AbstractFormatter implements StreamingReportFormatter {
     protected char separator;
     protected String[] header;
     protected List<String> parametersToInsert = new ArrayList<>();
@@ -52,22 +53,41 @@ public class CsvFormatter extends AbstractFormatter {
         }
     }
 
+    @Override
+    public boolean isStreamingSupported() {
+        return ReportOutputType.csv.equals(outputType);
+    }
+
+    @Override
+    public void renderDocument(String bandName, RowSource rowSource) {
+        if (!isStreamingSupported()) {
+            throw new UnsupportedFormatException();
+        }
+        try {
+            CSVWriter writer = createCsvWriter(outputStream);
+            writer.writeNext(header);
+
+            rowSource.forEachRow(row -> {
+                if (!row.isEmpty()) {
+                    writer.writeNext(createEntries(bandName, row));
+                }
+            });
+
+            writer.close();
+        } catch (IOException e) {
+            throw new ReportFormattingException("Error while writing a csv document", e);
+        }
+    }
+
     protected void writeCsvDocument(BandData rootBand, OutputStream outputStream) {
         try {
             List<BandData> actualData = getActualData(rootBand);
-            CSVWriter writer = new CSVWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), separator,
-                    CSVWriter.DEFAULT_QUOTE_CHARACTER, CSVWriter.DEFAULT_ESCAPE_CHARACTER, CSVWriter.DEFAULT_LINE_END);
+            CSVWriter writer = createCsvWriter(outputStream);
 
             writer.writeNext(header);
 
             for (BandData row : actualData) {
-                String[] entries = new String[parametersToInsert.size()];
-                for (int i = 0; i < parametersToInsert.size(); i++) {
-                    String parameterName = parametersToInsert.get(i);
-                    String fullParameterName = row.getName() + "." + parameterName;
-                    entries[i] = formatValue(row.getData().get(parameterName), parameterName, fullParameterName);
-                }
-                writer.writeNext(entries);
+                writer.writeNext(createEntries(row.getName(), row.getData()));
             }
 
             writer.close();
@@ -76,6 +96,21 @@ public class CsvFormatter extends AbstractFormatter {
         }
     }
 
+    protected CSVWriter createCsvWriter(OutputStream outputStream) {
+        return new CSVWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), separator,
+                CSVWriter.DEFAULT_QUOTE_CHARACTER, CSVWriter.DEFAULT_ESCAPE_CHARACTER, CSVWriter.DEFAULT_LINE_END);
+    }
+
+    protected String[] createEntries(String bandName, Map<String, Object> data) {
+        String[] entries = new String[parametersToInsert.size()];
+        for (int i = 0; i < parametersToInsert.size(); i++) {
+            String parameterName = parametersToInsert.get(i);
+            String fullParameterName = bandName + "." + parameterName;
+            entries[i] = formatValue(data.get(parameterName), parameterName, fullParameterName);
+        }
+        return entries;
+    }
+
     protected List<BandData> getActualData(BandData rootBand) {
         List<BandData> resultData = new ArrayList<>();
         Map<String, List<BandData>> childrenBands = rootBand.getChildrenBands();
@@ -29,7 +29,6 @@ import io.jmix.reports.yarg.formatters.impl.pdf.ITextPdfConverter;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportOutputType;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -174,7 +173,7 @@ public class HtmlFormatter extends AbstractFormatter {
             Writer htmlWriter = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
 
             try {
-                htmlTemplate.process(templateModel, htmlWriter);
+                htmlTemplate.process(templateModel, htmlWriter, objectWrapper);
                 htmlWriter.close();
             } catch (TemplateException fmException) {
                 throw wrapWithReportingException("FreeMarkerException: " + fmException.getMessage());
@@ -213,17 +212,17 @@ public class HtmlFormatter extends AbstractFormatter {
 
     protected Template getFreemarkerTemplate() {
         try {
-            String templateContent = IOUtils.toString(reportTemplate.getDocumentContent(), StandardCharsets.UTF_8);
-            StringTemplateLoader stringLoader = new StringTemplateLoader();
-            stringLoader.putTemplate(reportTemplate.getDocumentName(), templateContent);
+            return getParsedTemplate(Template.class, content -> {
+                String templateContent = new String(content, StandardCharsets.UTF_8);
+                StringTemplateLoader stringLoader = new StringTemplateLoader();
+                stringLoader.putTemplate(reportTemplate.getDocumentName(), templateContent);
 
-            Configuration fmConfiguration = new Configuration();
-            fmConfiguration.setTemplateLoader(stringLoader);
-            fmConfiguration.setDefaultEncoding("UTF-8");
+                Configuration fmConfiguration = new Configuration();
+                fmConfiguration.setTemplateLoader(stringLoader);
+                fmConfiguration.setDefaultEncoding("UTF-8");
 
-            Template htmlTemplate = fmConfiguration.getTemplate(reportTemplate.getDocumentName());
-            htmlTemplate.setObjectWrapper(objectWrapper);
-            return htmlTemplate;
+                return fmConfiguration.getTemplate(reportTemplate.getDocumentName());
+            });
         } catch (Exception e) {
             throw wrapWithReportingException("An error occurred while creating freemarker template", e);
         }
@@ -231,10 +230,10 @@ public class HtmlFormatter extends AbstractFormatter {
 
     protected groovy.text.Template getGroovyTemplate() {
         try {
-            GStringTemplateEngine templateEngine = new GStringTemplateEngine();
-            String templateContent = IOUtils.toString(reportTemplate.getDocumentContent(), StandardCharsets.UTF_8);
-            groovy.text.Template htmlTemplate = templateEngine.createTemplate(templateContent);
-            return htmlTemplate;
+            return getParsedTemplate(groovy.text.Template.class, content -> {
+                GStringTemplateEngine templateEngine = new GStringTemplateEngine();
+                return templateEngine.createTemplate(new String(content, StandardCharsets.UTF_8));
+            });
         } catch (Exception e) {
             throw wrapWithReportingException("An error occurred while creating groovy template", e);
         }
@@ -32,6 +32,7 @@ import net.sf.jasperreports.engine.util.JRLoader;
 import net.sf.jasperreports.engine.xml.JRXmlLoader;
 import net.sf.jasperreports.export.*;
 
+import java.io.ByteArrayInputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -53,20 +54,27 @@ public class JasperFormatter extends AbstractFormatter {
         try {
             switch (getExtension(reportTemplate)) {
                 case JASPER_EXT:
-                    printReport((JasperReport) JRLoader.loadObject(reportTemplate.getDocumentContent()));
+                    printReport(getParsedTemplate(JasperReport.class,
+                            content -> (JasperReport) JRLoader.loadObject(new ByteArrayInputStream(content))));
                     break;
                 case JRXML_EXT:
-                    JasperDesign design = JRXmlLoader.load(reportTemplate.getDocumentContent());
-                    if (!design.getParametersMap().containsKey(CUBA_PARAM))
-                        design.addParameter(createJRParameter());
+                    printReport(getParsedTemplate(JasperReport.class, content -> {
+                        JasperDesign design = JRXmlLoader.load(new ByteArrayInputStream(content));
+                        if (!design.getParametersMap().containsKey(CUBA_PARAM))
+                            design.addParameter(createJRParameter());
 
-                    printReport(JasperCompileManager.compileReport(design));
+                        return JasperCompileManager.compileReport(design);
+                    }));
                     break;
                 default:
                     throw new ReportFormattingException("Error handling template extension");
             }
         } catch (JRException e) {
             throw new ReportFormattingException("Error formatting jasper report: " + e.getMessage(), e);
+        } catch (ReportFormattingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ReportFormattingException("Error loading jasper report: " + e.getMessage(), e);
         }
     }
 
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.formatters.impl;
+
+import com.google.gson.stream.JsonWriter;
+import io.jmix.reports.yarg.exception.ReportFormattingException;
+import io.jmix.reports.yarg.exception.UnsupportedFormatException;
+import io.jmix.reports.yarg.formatters.StreamingReportFormatter;
+import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput;
+import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportOutputType;
+import org.apache.commons.io.IOUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+
+/**
+ * Writes rows of the first level bands as <a href="https://jsonlines.org">JSON Lines</a>: a JSON object per line.
+ * <p>
+ * The template lists the fields to write as aliases, e.g. {@code {"name": ${name}, "total": ${total}}}.
+ * Object keys are the alias names, the rest of the template is ignored. If the template contains no aliases,
+ * all fields of a row are written. Numbers and booleans without a format are written as JSON literals,
+ * other values are formatted like in other formatters and written as strings.
+ */
+public class JsonLinesFormatter extends AbstractFormatter implements StreamingReportFormatter {
+
+    protected List<String> parametersToInsert = new ArrayList<>();
+
+    public JsonLinesFormatter(FormatterFactoryInput formatterFactoryInput) {
+        super(formatterFactoryInput);
+        supportedOutputTypes.add(ReportOutputType.jsonl);
+        readTemplateData();
+    }
+
+    @Override
+    public void renderDocument() {
+        if (!isStreamingSupported()) {
+            throw new UnsupportedFormatException();
+        }
+        try {
+            Writer writer = createWriter();
+            Map<String, List<BandData>> childrenBands = rootBand.getChildrenBands();
+            if (childrenBands != null) {
+                for (List<BandData> bands : childrenBands.values()) {
+                    for (BandData band : bands) {
+                        if (band.getData() != null && !band.getData().isEmpty()) {
+                            writeRow(writer, band.getName(), band.getData());
+                        }
+                    }
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new ReportFormattingException("Error while writing a JSON Lines document", e);
+        }
+    }
+
+    @Override
+    public boolean isStreamingSupported() {
+        return ReportOutputType.jsonl.equals(outputType);
+    }
+
+    @Override
+    public void renderDocument(String bandName, RowSource rowSource) {
+        if (!isStreamingSupported()) {
+            throw new UnsupportedFormatException();
+        }
+        try {
+            Writer writer = createWriter();
+            rowSource.forEachRow(row -> {
+                if (!row.isEmpty()) {
+                    try {
+                        writeRow(writer, bandName, row);
+                    } catch (IOException e) {
+                        throw new ReportFormattingException("Error while writing a JSON Lines document", e);
+                    }
+                }
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new ReportFormattingException("Error while writing a JSON Lines document", e);
+        }
+    }
+
+    protected Writer createWriter() {
+        return new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    protected void writeRow(Writer writer, String bandName, Map<String, Object> data) throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setSerializeNulls(true);
+        jsonWriter.beginObject();
+        Collection<String> parameterNames = parametersToInsert.isEmpty()
+                ? new TreeSet<>(data.keySet())
+                : parametersToInsert;
+        for (String parameterName : parameterNames) {
+            jsonWriter.name(parameterName);
+            writeValue(jsonWriter, data.get(parameterName), parameterName, bandName + "." + parameterName);
+        }
+        jsonWriter.endObject();
+        // the JSON writer is not closed as it would close the output stream
+        jsonWriter.flush();
+        writer.write('\n');
+    }
+
+    protected void writeValue(JsonWriter jsonWriter, Object value, String parameterName, String fullParameterName)
+            throws IOException {
+        if (value == null) {
+            jsonWriter.nullValue();
+        } else if (getFormatString(parameterName, fullParameterName) == null
+                && !Boolean.TRUE.equals(isGroovyScript(parameterName, fullParameterName))
+                && (value instanceof Number || value instanceof Boolean)) {
+            if (value instanceof Boolean) {
+                jsonWriter.value((Boolean) value);
+            } else {
+                jsonWriter.value((Number) value);
+            }
+        } else {
+            jsonWriter.value(formatValue(value, parameterName, fullParameterName));
+        }
+    }
+
+    protected void readTemplateData() {
+        checkThreadInterrupted();
+        try (InputStream documentContent = reportTemplate.getDocumentContent()) {
+            String template = IOUtils.toString(documentContent, StandardCharsets.UTF_8);
+            Matcher matcher = UNIVERSAL_ALIAS_PATTERN.matcher(template);
+            while (matcher.find()) {
+                String parameterName = unwrapParameterName(matcher.group());
+                if (!parametersToInsert.contains(parameterName)) {
+                    parametersToInsert.add(parameterName);
+                }
+            }
+        } catch (IOException e) {
+            throw new ReportFormattingException("Error while reading template data", e);
+        }
+    }
+}
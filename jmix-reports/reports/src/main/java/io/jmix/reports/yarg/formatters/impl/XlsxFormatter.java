@@ -221,7 +221,8 @@ public class XlsxFormatter extends AbstractFormatter {
 
     protected void init() {
         try {
-            template = Document.create(SpreadsheetMLPackage.load(reportTemplate.getDocumentContent()));
+            template = getParsedTemplate(Document.class,
+                    content -> Document.create(SpreadsheetMLPackage.load(new ByteArrayInputStream(content))));
             result = Document.create(SpreadsheetMLPackage.load(reportTemplate.getDocumentContent()));
             result.getWorkbook().getCalcPr().setCalcMode(STCalcMode.AUTO);
             result.getWorkbook().getCalcPr().setFullCalcOnLoad(true);
@@ -772,7 +773,7 @@ public class XlsxFormatter extends AbstractFormatter {
             Map<CellReference, Cell> cellsForOneRowRange = template.getCellsByRange(oneRowRange);
             List<Cell> templateCells = new ArrayList<>(cellsForOneRowRange.values());
             Row templateRow = !templateCells.isEmpty() ?
-                    (Row) templateCells.get(0).getParent() :
+                    getTemplateRow(templateCells.get(0)) :
                     resultSheetRows.get((int) (firstRow.getR() + i - 1));
 
             createFakeTemplateCellsForEmptyOnes(oneRowRange, cellsForOneRowRange, templateCells);
@@ -917,6 +918,14 @@ public class XlsxFormatter extends AbstractFormatter {
         return XmlCopyUtils.copyCell(cell, unmarshaller, marshaller);
     }
 
+    /**
+     * Template cells can be shared between concurrent report runs by the template cache,
+     * so neither this method nor {@link #copyCell(Cell)} may modify them.
+     */
+    protected Row getTemplateRow(Cell templateCell) {
+        return (Row) templateCell.getParent();
+    }
+
     protected Worksheet getWorksheet(Row newRow) {
         SheetData resultSheetData = (SheetData) newRow.getParent();
         return (Worksheet) resultSheetData.getParent();
@@ -0,0 +1,559 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.formatters.impl;
+
+import io.jmix.reports.yarg.exception.ReportingException;
+import io.jmix.reports.yarg.formatters.ReportFormatter;
+import io.jmix.reports.yarg.formatters.cache.ParsedTemplateCache;
+import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput;
+import io.jmix.reports.yarg.formatters.impl.inline.ContentInliner;
+import io.jmix.reports.yarg.formatters.impl.xlsx.hints.XslxHintProcessor;
+import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.BandOrientation;
+import io.jmix.reports.yarg.structure.ReportOutputType;
+import org.apache.commons.io.IOUtils;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.formula.FormulaParser;
+import org.apache.poi.ss.formula.FormulaRenderer;
+import org.apache.poi.ss.formula.FormulaType;
+import org.apache.poi.ss.formula.ptg.AreaPtg;
+import org.apache.poi.ss.formula.ptg.AreaPtgBase;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.formula.ptg.Pxg;
+import org.apache.poi.ss.formula.ptg.RefPtgBase;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.AreaReference;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFEvaluationWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFName;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * XLSX formatter that writes band rows directly to the sheet XML keeping only a window of recent rows in memory,
+ * so the memory consumption does not depend on the number of rows in the report.
+ * <p>
+ * Supports horizontal bands defined by named ranges that do not share rows with other bands, cell styles,
+ * row heights, merged regions inside band ranges and formulas. References to cells of the band itself are shifted
+ * together with the band, references to a band rendered earlier are expanded to all rows rendered for it.
+ * Formulas are not evaluated, the document is marked to be recalculated when opened.
+ * <p>
+ * Templates with constructs that cannot be written sequentially (vertical bands, charts, pivot tables, conditional
+ * formatting, hints, content inlining, etc.) are rendered by the fallback formatter if it is set,
+ * otherwise {@link ReportingException} is thrown.
+ */
+public class XlsxStreamingFormatter extends AbstractFormatter {
+
+    private static final Logger log = LoggerFactory.getLogger(XlsxStreamingFormatter.class);
+
+    protected int rowAccessWindowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+    protected ReportFormatter fallbackFormatter;
+
+    protected XSSFWorkbook template;
+    protected XSSFEvaluationWorkbook templateEvaluationWorkbook;
+    protected SXSSFWorkbook result;
+
+    protected Map<String, BandTemplate> bandTemplates = new LinkedHashMap<>();
+    protected Map<String, RenderedRows> renderedRowsForBandName = new HashMap<>();
+    protected Map<String, Integer> nextRowForSheet = new HashMap<>();
+
+    public XlsxStreamingFormatter(FormatterFactoryInput formatterFactoryInput) {
+        super(formatterFactoryInput);
+        supportedOutputTypes.add(ReportOutputType.xlsx);
+    }
+
+    /**
+     * Sets the number of rows kept in memory before they are flushed to the output.
+     */
+    public void setRowAccessWindowSize(int rowAccessWindowSize) {
+        this.rowAccessWindowSize = rowAccessWindowSize;
+    }
+
+    /**
+     * Sets the formatter used for templates that cannot be rendered in the streaming mode.
+     * It must be created for the same formatter factory input.
+     */
+    public void setFallbackFormatter(ReportFormatter fallbackFormatter) {
+        this.fallbackFormatter = fallbackFormatter;
+    }
+
+    @Override
+    public void setContentInliners(List<ContentInliner> contentInliners) {
+        super.setContentInliners(contentInliners);
+        if (fallbackFormatter instanceof AbstractFormatter) {
+            ((AbstractFormatter) fallbackFormatter).setContentInliners(contentInliners);
+        }
+    }
+
+    @Override
+    public void setTemplateCache(ParsedTemplateCache templateCache) {
+        super.setTemplateCache(templateCache);
+        if (fallbackFormatter instanceof AbstractFormatter) {
+            ((AbstractFormatter) fallbackFormatter).setTemplateCache(templateCache);
+        }
+    }
+
+    @Override
+    public void renderDocument() {
+        try (XSSFWorkbook templateWorkbook = loadTemplate(); XSSFWorkbook resultWorkbook = loadTemplate()) {
+            template = templateWorkbook;
+            templateEvaluationWorkbook = XSSFEvaluationWorkbook.create(template);
+            initBandTemplates();
+
+            String unsupportedConstruct = findUnsupportedConstruct();
+            if (unsupportedConstruct != null) {
+                renderWithFallbackFormatter(unsupportedConstruct);
+                return;
+            }
+
+            clearWorkbook(resultWorkbook);
+            result = new SXSSFWorkbook(resultWorkbook, rowAccessWindowSize);
+            try {
+                for (BandData childBand : rootBand.getChildrenList()) {
+                    checkThreadInterrupted();
+                    writeBand(childBand);
+                }
+                result.setForceFormulaRecalculation(true);
+                result.write(outputStream);
+                outputStream.flush();
+            } finally {
+                result.dispose();
+                IOUtils.closeQuietly(outputStream);
+            }
+        } catch (ReportingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw wrapWithReportingException("An error occurred while saving result report", e);
+        }
+    }
+
+    protected XSSFWorkbook loadTemplate() {
+        try {
+            return new XSSFWorkbook(reportTemplate.getDocumentContent());
+        } catch (Exception e) {
+            throw wrapWithReportingException(String.format("An error occurred while loading template [%s]", reportTemplate.getDocumentName()), e);
+        }
+    }
+
+    protected void renderWithFallbackFormatter(String unsupportedConstruct) {
+        if (fallbackFormatter == null) {
+            throw wrapWithReportingException("Template cannot be rendered by the streaming formatter: " + unsupportedConstruct);
+        }
+        log.info("Template [{}] cannot be rendered by the streaming formatter ({}), using {}",
+                reportTemplate.getDocumentName(), unsupportedConstruct, fallbackFormatter.getClass().getSimpleName());
+        if (fallbackFormatter instanceof AbstractFormatter) {
+            // createDocument() replaces the output stream after the fallback formatter has been created
+            ((AbstractFormatter) fallbackFormatter).outputStream = outputStream;
+        }
+        fallbackFormatter.renderDocument();
+    }
+
+    protected void initBandTemplates() {
+        XslxHintProcessor hintProcessor = new XslxHintProcessor();
+        for (XSSFName name : template.getAllNames()) {
+            if (name.isFunctionName() || name.getSheetIndex() != -1 || hintProcessor.isHintDefinedName(name.getNameName())) {
+                continue;
+            }
+            AreaReference area;
+            try {
+                area = new AreaReference(name.getRefersToFormula(), SpreadsheetVersion.EXCEL2007);
+            } catch (RuntimeException e) {
+                log.debug("Skipping defined name {} not referring to a range", name.getNameName());
+                continue;
+            }
+            if (area.getFirstCell().getSheetName() == null) {
+                continue;
+            }
+            BandTemplate bandTemplate = new BandTemplate(name.getNameName(), area.getFirstCell().getSheetName(),
+                    area.getFirstCell().getRow(), area.getLastCell().getRow(),
+                    area.getFirstCell().getCol(), area.getLastCell().getCol());
+            XSSFSheet sheet = template.getSheet(bandTemplate.sheetName);
+            if (sheet != null) {
+                for (CellRangeAddress region : sheet.getMergedRegions()) {
+                    if (bandTemplate.contains(region.getFirstRow(), region.getFirstColumn())
+                            && bandTemplate.contains(region.getLastRow(), region.getLastColumn())) {
+                        bandTemplate.mergedRegions.add(region);
+                    }
+                }
+            }
+            bandTemplates.put(bandTemplate.bandName, bandTemplate);
+        }
+    }
+
+    /**
+     * @return description of the first template construct that cannot be rendered in the streaming mode,
+     * or null if the template can be streamed
+     */
+    protected String findUnsupportedConstruct() {
+        if (outputType != ReportOutputType.xlsx) {
+            return "output type " + outputType;
+        }
+        if (bandTemplates.isEmpty()) {
+            return "no named ranges";
+        }
+        XslxHintProcessor hintProcessor = new XslxHintProcessor();
+        for (XSSFName name : template.getAllNames()) {
+            if (hintProcessor.isHintDefinedName(name.getNameName())) {
+                return "hint " + name.getNameName();
+            }
+        }
+        for (int i = 0; i < template.getNumberOfSheets(); i++) {
+            XSSFSheet sheet = template.getSheetAt(i);
+            String reason = findUnsupportedConstruct(sheet);
+            if (reason != null) {
+                return reason + " on sheet " + sheet.getSheetName();
+            }
+        }
+        for (BandTemplate bandTemplate : bandTemplates.values()) {
+            String reason = findUnsupportedConstruct(bandTemplate);
+            if (reason != null) {
+                return reason;
+            }
+        }
+        return findUnsupportedBand(rootBand);
+    }
+
+    protected String findUnsupportedConstruct(XSSFSheet sheet) {
+        if (UNIVERSAL_ALIAS_PATTERN.matcher(sheet.getSheetName()).find()) {
+            return "parameters in sheet name";
+        }
+        if (sheet.getHeader() != null && UNIVERSAL_ALIAS_PATTERN.matcher(sheet.getHeader().getCenter()
+                + sheet.getHeader().getLeft() + sheet.getHeader().getRight()).find()
+                || sheet.getFooter() != null && UNIVERSAL_ALIAS_PATTERN.matcher(sheet.getFooter().getCenter()
+                + sheet.getFooter().getLeft() + sheet.getFooter().getRight()).find()) {
+            return "parameters in header or footer";
+        }
+        if (sheet.getDrawingPatriarch() != null && !sheet.getDrawingPatriarch().getCharts().isEmpty()) {
+            return "charts";
+        }
+        if (!sheet.getPivotTables().isEmpty()) {
+            return "pivot tables";
+        }
+        if (!sheet.getTables().isEmpty()) {
+            return "tables";
+        }
+        if (sheet.getSheetConditionalFormatting().getNumConditionalFormattings() > 0) {
+            return "conditional formatting";
+        }
+        if (!sheet.getDataValidations().isEmpty()) {
+            return "data validation";
+        }
+        return null;
+    }
+
+    protected String findUnsupportedConstruct(BandTemplate bandTemplate) {
+        for (BandTemplate other : bandTemplates.values()) {
+            if (other != bandTemplate
+                    && other.sheetName.equals(bandTemplate.sheetName)
+                    && other.firstRow <= bandTemplate.lastRow && bandTemplate.firstRow <= other.lastRow) {
+                return String.format("bands %s and %s share rows", bandTemplate.bandName, other.bandName);
+            }
+        }
+
+        XSSFSheet sheet = template.getSheet(bandTemplate.sheetName);
+        if (sheet == null) {
+            return "named range " + bandTemplate.bandName + " refers to a missing sheet";
+        }
+        for (CellRangeAddress region : sheet.getMergedRegions()) {
+            if (!bandTemplate.mergedRegions.contains(region) && region.intersects(bandTemplate.toCellRangeAddress())) {
+                return "merged region " + region.formatAsString() + " crossing band " + bandTemplate.bandName;
+            }
+        }
+
+        for (int rowIndex = bandTemplate.firstRow; rowIndex <= bandTemplate.lastRow; rowIndex++) {
+            Row row = sheet.getRow(rowIndex);
+            if (row == null) {
+                continue;
+            }
+            for (int columnIndex = bandTemplate.firstColumn; columnIndex <= bandTemplate.lastColumn; columnIndex++) {
+                Cell cell = row.getCell(columnIndex);
+                if (cell == null || cell.getCellType() != CellType.STRING) {
+                    continue;
+                }
+                String value = cell.getStringCellValue();
+                if (UNIVERSAL_ALIAS_PATTERN.matcher(value).matches()) {
+                    String parameterName = unwrapParameterName(value);
+                    String formatString = getFormatString(parameterName, bandTemplate.bandName + "." + parameterName);
+                    if (getContentInlinerForFormat(formatString) != null) {
+                        return "content inlining for " + bandTemplate.bandName + "." + parameterName;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    protected String findUnsupportedBand(BandData band) {
+        for (BandData child : band.getChildrenList()) {
+            if (child.getOrientation() != BandOrientation.HORIZONTAL) {
+                return "vertical band " + child.getName();
+            }
+            String reason = findUnsupportedBand(child);
+            if (reason != null) {
+                return reason;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the template content from the workbook the result is written to, leaving sheets, styles,
+     * column settings and other names in place.
+     */
+    protected void clearWorkbook(XSSFWorkbook workbook) {
+        for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+            XSSFSheet sheet = workbook.getSheetAt(i);
+            List<Row> rows = new ArrayList<>();
+            sheet.rowIterator().forEachRemaining(rows::add);
+            for (Row row : rows) {
+                sheet.removeRow(row);
+            }
+            while (sheet.getNumMergedRegions() > 0) {
+                sheet.removeMergedRegion(0);
+            }
+            for (int rowBreak : sheet.getRowBreaks()) {
+                sheet.removeRowBreak(rowBreak);
+            }
+        }
+        for (String bandName : bandTemplates.keySet()) {
+            XSSFName name = workbook.getName(bandName);
+            if (name != null) {
+                workbook.removeName(name);
+            }
+        }
+    }
+
+    protected void writeBand(BandData band) {
+        BandTemplate bandTemplate = bandTemplates.get(band.getName());
+        if (bandTemplate == null) {
+            log.info("Could not find named range for band {}", band.getName());
+            return;
+        }
+
+        try {
+            XSSFSheet templateSheet = template.getSheet(bandTemplate.sheetName);
+            SXSSFSheet resultSheet = result.getSheet(bandTemplate.sheetName);
+
+            int firstRow = nextRowForSheet.getOrDefault(bandTemplate.sheetName, 0);
+            int height = bandTemplate.lastRow - bandTemplate.firstRow + 1;
+            if (firstRow + height > SpreadsheetVersion.EXCEL2007.getMaxRows()) {
+                throw wrapWithReportingException(String.format("Sheet [%s] exceeds the maximum number of rows while rendering band [%s]",
+                        bandTemplate.sheetName, band.getName()));
+            }
+            nextRowForSheet.put(bandTemplate.sheetName, firstRow + height);
+
+            int rowShift = firstRow - bandTemplate.firstRow;
+            for (int i = 0; i < height; i++) {
+                writeRow(band, bandTemplate, templateSheet, resultSheet, bandTemplate.firstRow + i, rowShift);
+            }
+            for (CellRangeAddress region : bandTemplate.mergedRegions) {
+                resultSheet.addMergedRegionUnsafe(new CellRangeAddress(region.getFirstRow() + rowShift,
+                        region.getLastRow() + rowShift, region.getFirstColumn(), region.getLastColumn()));
+            }
+
+            renderedRowsForBandName.computeIfAbsent(band.getName(), name -> new RenderedRows(firstRow)).lastRow = firstRow;
+        } catch (ReportingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw wrapWithReportingException(String.format("An error occurred while rendering band [%s]", band.getName()), e);
+        }
+
+        for (BandData child : band.getChildrenList()) {
+            writeBand(child);
+        }
+    }
+
+    protected void writeRow(BandData band, BandTemplate bandTemplate, XSSFSheet templateSheet, SXSSFSheet resultSheet,
+                            int templateRowIndex, int rowShift) {
+        int rowIndex = templateRowIndex + rowShift;
+        Row resultRow = resultSheet.createRow(rowIndex);
+        if (templateSheet.isRowBroken(templateRowIndex)) {
+            resultSheet.setRowBreak(rowIndex);
+        }
+
+        Row templateRow = templateSheet.getRow(templateRowIndex);
+        if (templateRow == null) {
+            return;
+        }
+        resultRow.setHeight(templateRow.getHeight());
+        if (templateRow.isFormatted() && templateRow.getRowStyle() != null) {
+            resultRow.setRowStyle(result.getCellStyleAt(templateRow.getRowStyle().getIndex()));
+        }
+        if (templateRow.getOutlineLevel() > 0) {
+            resultSheet.setRowOutlineLevel(rowIndex, templateRow.getOutlineLevel());
+        }
+
+        for (int columnIndex = bandTemplate.firstColumn; columnIndex <= bandTemplate.lastColumn; columnIndex++) {
+            Cell templateCell = templateRow.getCell(columnIndex);
+            if (templateCell == null) {
+                continue;
+            }
+            checkThreadInterrupted();
+            Cell resultCell = resultRow.createCell(columnIndex);
+            resultCell.setCellStyle(result.getCellStyleAt(templateCell.getCellStyle().getIndex()));
+            switch (templateCell.getCellType()) {
+                case STRING:
+                    updateCell(band, resultCell, templateCell.getStringCellValue());
+                    break;
+                case NUMERIC:
+                    resultCell.setCellValue(templateCell.getNumericCellValue());
+                    break;
+                case BOOLEAN:
+                    resultCell.setCellValue(templateCell.getBooleanCellValue());
+                    break;
+                case FORMULA:
+                    resultCell.setCellFormula(shiftFormula(templateCell, bandTemplate, rowShift));
+                    break;
+                case ERROR:
+                    resultCell.setCellErrorValue(templateCell.getErrorCellValue());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    protected void updateCell(BandData bandData, Cell cell, String cellValue) {
+        if (UNIVERSAL_ALIAS_PATTERN.matcher(cellValue).matches()) {
+            String parameterName = unwrapParameterName(cellValue);
+            String fullParameterName = bandData.getName() + "." + parameterName;
+            Object value = bandData.getData().get(parameterName);
+
+            if (value == null) {
+                return;
+            }
+
+            if (getFormatString(parameterName, fullParameterName) != null) {
+                cell.setCellValue(formatValue(value, parameterName, fullParameterName));
+            } else if (value instanceof Boolean) {
+                cell.setCellValue((Boolean) value);
+            } else if (value instanceof Number) {
+                cell.setCellValue(((Number) value).doubleValue());
+            } else if (value instanceof Date) {
+                cell.setCellValue((Date) value);
+            } else {
+                cell.setCellValue(formatValue(value, parameterName, fullParameterName));
+            }
+        } else {
+            cell.setCellValue(insertBandDataToString(bandData, cellValue));
+        }
+    }
+
+    /**
+     * Moves references to the band's own cells together with the band and expands references to a band
+     * rendered earlier on the same sheet to all rows rendered for that band. Other references are left as is.
+     */
+    protected String shiftFormula(Cell templateCell, BandTemplate bandTemplate, int rowShift) {
+        int sheetIndex = template.getSheetIndex(bandTemplate.sheetName);
+        Ptg[] ptgs = FormulaParser.parse(templateCell.getCellFormula(), templateEvaluationWorkbook,
+                FormulaType.CELL, sheetIndex, templateCell.getRowIndex());
+
+        for (int i = 0; i < ptgs.length; i++) {
+            Ptg ptg = ptgs[i];
+            if (ptg instanceof Pxg) {
+                continue;
+            }
+            if (ptg instanceof RefPtgBase) {
+                RefPtgBase ref = (RefPtgBase) ptg;
+                if (bandTemplate.contains(ref.getRow(), ref.getColumn())) {
+                    ref.setRow(ref.getRow() + rowShift);
+                } else {
+                    ptgs[i] = expandToRenderedRows(bandTemplate.sheetName, ref.getRow(), ref.getRow(),
+                            ref.getColumn(), ref.getColumn(), ref.isRowRelative(), ref.isColRelative(), ptg);
+                }
+            } else if (ptg instanceof AreaPtgBase) {
+                AreaPtgBase area = (AreaPtgBase) ptg;
+                if (bandTemplate.contains(area.getFirstRow(), area.getFirstColumn())
+                        && bandTemplate.contains(area.getLastRow(), area.getLastColumn())) {
+                    area.setFirstRow(area.getFirstRow() + rowShift);
+                    area.setLastRow(area.getLastRow() + rowShift);
+                } else {
+                    ptgs[i] = expandToRenderedRows(bandTemplate.sheetName, area.getFirstRow(), area.getLastRow(),
+                            area.getFirstColumn(), area.getLastColumn(), area.isFirstRowRelative(), area.isFirstColRelative(), ptg);
+                }
+            }
+        }
+        return FormulaRenderer.toFormulaString(templateEvaluationWorkbook, ptgs);
+    }
+
+    protected Ptg expandToRenderedRows(String sheetName, int firstRow, int lastRow, int firstColumn, int lastColumn,
+                                       boolean rowRelative, boolean columnRelative, Ptg ptg) {
+        for (BandTemplate referencedTemplate : bandTemplates.values()) {
+            if (referencedTemplate.sheetName.equals(sheetName)
+                    && referencedTemplate.contains(firstRow, firstColumn)
+                    && referencedTemplate.contains(lastRow, lastColumn)) {
+                RenderedRows renderedRows = renderedRowsForBandName.get(referencedTemplate.bandName);
+                if (renderedRows == null) {
+                    return ptg;
+                }
+                return new AreaPtg(renderedRows.firstRow + firstRow - referencedTemplate.firstRow,
+                        renderedRows.lastRow + lastRow - referencedTemplate.firstRow,
+                        firstColumn, lastColumn, rowRelative, rowRelative, columnRelative, columnRelative);
+            }
+        }
+        return ptg;
+    }
+
+    protected static class BandTemplate {
+        protected final String bandName;
+        protected final String sheetName;
+        protected final int firstRow;
+        protected final int lastRow;
+        protected final int firstColumn;
+        protected final int lastColumn;
+        protected final List<CellRangeAddress> mergedRegions = new ArrayList<>();
+
+        protected BandTemplate(String bandName, String sheetName, int firstRow, int lastRow, int firstColumn, int lastColumn) {
+            this.bandName = bandName;
+            this.sheetName = sheetName;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.firstColumn = firstColumn;
+            this.lastColumn = lastColumn;
+        }
+
+        protected boolean contains(int row, int column) {
+            return row >= firstRow && row <= lastRow && column >= firstColumn && column <= lastColumn;
+        }
+
+        protected CellRangeAddress toCellRangeAddress() {
+            return new CellRangeAddress(firstRow, lastRow, firstColumn, lastColumn);
+        }
+    }
+
+    /**
+     * First rows of the first and the last copies of a band range in the result sheet.
+     */
+    protected static class RenderedRows {
+        protected final int firstRow;
+        protected int lastRow;
+
+        protected RenderedRows(int firstRow) {
+            this.firstRow = firstRow;
+            this.lastRow = firstRow;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.loaders;
+
+import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportQuery;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data loader that is able to load rows of a child band for several parent bands with a single query.
+ */
+public interface BatchReportDataLoader extends ReportDataLoader {
+
+    /**
+     * Loads data for several parent bands at once. The result must be the same as calling
+     * {@link #loadData(ReportQuery, BandData, Map)} for each parent band in turn.
+     *
+     * @param reportQuery report query
+     * @param parentBands parent bands, all having the same name
+     * @param params      report parameters
+     * @return rows for each of the parent bands in the same order, or null if the query cannot be executed
+     * for several parent bands at once and {@link #loadData(ReportQuery, BandData, Map)} should be used instead
+     */
+    @Nullable
+    List<List<Map<String, Object>>> loadBatchData(ReportQuery reportQuery, List<BandData> parentBands,
+                                                  Map<String, Object> params);
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.loaders;
+
+import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportQuery;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Data loader that is able to pass rows to a consumer as they are read from the data source,
+ * without collecting all rows in memory.
+ */
+public interface StreamingReportDataLoader extends ReportDataLoader {
+
+    /**
+     * Loads data passing each row to the consumer. The rows must be the same as returned by
+     * {@link #loadData(ReportQuery, BandData, Map)}.
+     *
+     * @param reportQuery report query
+     * @param parentBand  parent band
+     * @param params      report parameters
+     * @param rowConsumer consumer of the loaded rows
+     */
+    void streamData(ReportQuery reportQuery, @Nullable BandData parentBand, Map<String, Object> params,
+                    Consumer<Map<String, Object>> rowConsumer);
+}
@@ -18,10 +18,13 @@ package io.jmix.reports.yarg.loaders.impl;
 
 import io.jmix.reports.yarg.exception.DataLoadingException;
 import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportQuery;
 import groovy.text.GStringTemplateEngine;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.Nullable;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -30,33 +33,48 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
 
     public static final Pattern COMMON_PARAM_PATTERN = Pattern.compile("\\$\\{(.+?)\\}");
 
+    /**
+     * Alias of the column added to a batch query to find out the parent band of each row.
+     */
+    protected static final String BATCH_KEY_ALIAS = "jmix_batch_key";
+
+    protected static final Pattern BATCH_SELECT_PATTERN = Pattern.compile("(?is)^\\s*select\\s+(distinct\\s+)?");
+    protected static final Pattern SELECT_KEYWORD_PATTERN = Pattern.compile("(?i)\\bselect\\b");
+    protected static final Pattern BATCH_UNSUPPORTED_PATTERN = Pattern.compile(
+            "(?i)\\b(group\\s+by|having|union|intersect|except|limit|offset|fetch|top|rownum|count|sum|avg|min|max)\\b");
+    protected static final String BATCH_COLUMN_REGEXP = "([A-Za-z_][\\w.]*)";
+
     protected List<Map<String, Object>> fillOutputData(List resList, List<OutputValue> parametersNames) {
         List<Map<String, Object>> outputData = new ArrayList<>();
 
         for (Object resultRecordObject : resList) {
-            Map<String, Object> outputValues = new HashMap<>();
-            if (resultRecordObject instanceof Object[]) {
-                Object[] resultRecord = (Object[]) resultRecordObject;
+            outputData.add(fillOutputRow(resultRecordObject, parametersNames));
+        }
+        return outputData;
+    }
 
-                if (resultRecord.length != parametersNames.size()) {
-                    throw new DataLoadingException(String.format("Please specify aliases for all output fields of the query.\nDetails: result set size [%d] does not match output fields count [%s]. Detected output fields %s", resultRecord.length, parametersNames.size(), parametersNames));
-                }
+    protected Map<String, Object> fillOutputRow(Object resultRecordObject, List<OutputValue> parametersNames) {
+        Map<String, Object> outputValues = new HashMap<>();
+        if (resultRecordObject instanceof Object[]) {
+            Object[] resultRecord = (Object[]) resultRecordObject;
 
-                for (Integer i = 0; i < resultRecord.length; i++) {
-                    OutputValue outputValue = parametersNames.get(i);
-                    Object value = resultRecord[i];
-                    putValue(outputValues, outputValue, value);
-                }
-            } else {
-                if (parametersNames.isEmpty()) {
-                    throw new DataLoadingException("Please specify aliases for all output fields of the query.\nDetails: result set size 1 does not match output fields count 0.");
-                }
-                OutputValue outputValue = parametersNames.get(0);
-                putValue(outputValues, outputValue, resultRecordObject);
+            if (resultRecord.length != parametersNames.size()) {
+                throw new DataLoadingException(String.format("Please specify aliases for all output fields of the query.\nDetails: result set size [%d] does not match output fields count [%s]. Detected output fields %s", resultRecord.length, parametersNames.size(), parametersNames));
+            }
+
+            for (Integer i = 0; i < resultRecord.length; i++) {
+                OutputValue outputValue = parametersNames.get(i);
+                Object value = resultRecord[i];
+                putValue(outputValues, outputValue, value);
             }
-            outputData.add(outputValues);
+        } else {
+            if (parametersNames.isEmpty()) {
+                throw new DataLoadingException("Please specify aliases for all output fields of the query.\nDetails: result set size 1 does not match output fields count 0.");
+            }
+            OutputValue outputValue = parametersNames.get(0);
+            putValue(outputValues, outputValue, resultRecordObject);
         }
-        return outputData;
+        return outputValues;
     }
 
     private void putValue(Map<String, Object> outputData, OutputValue outputValue, Object value) {
@@ -202,6 +220,195 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
         }
     }
 
+    /**
+     * Rewrites the query of a child band to load rows for several parent bands at once.
+     * <p>
+     * Only simple queries are supported: a single select without aggregation, grouping and row limits, where
+     * exactly one parameter differs between the parent bands and is used once in a {@code column = ${param}}
+     * condition. The condition is replaced with {@code column in (...)}, and the column is added to the select list
+     * with {@link #BATCH_KEY_ALIAS} alias to distribute the loaded rows between the parent bands.
+     * Rows of each parent band keep the order defined by the query.
+     *
+     * @return batch query or null if the query cannot be executed for several parent bands at once
+     */
+    @Nullable
+    protected BatchQuery prepareBatchQuery(ReportQuery reportQuery, List<BandData> parentBands,
+                                           @Nullable Map<String, Object> reportParams) {
+        String query = reportQuery.getScript();
+        if (StringUtils.isBlank(query) || Boolean.TRUE.equals(reportQuery.getProcessTemplate()) || parentBands.isEmpty()) {
+            return null;
+        }
+
+        Matcher selectMatcher = BATCH_SELECT_PATTERN.matcher(query);
+        if (!selectMatcher.find()
+                // the key column cannot be added before '*' in some databases
+                || query.substring(selectMatcher.end()).trim().startsWith("*")
+                || BATCH_UNSUPPORTED_PATTERN.matcher(query).find()
+                || countMatches(SELECT_KEYWORD_PATTERN, query) != 1) {
+            return null;
+        }
+
+        Map<String, Object> commonParams = reportParams != null ? reportParams : Collections.emptyMap();
+        List<Map<String, Object>> parentParams = new ArrayList<>(parentBands.size());
+        for (BandData parentBand : parentBands) {
+            Map<String, Object> currentParams = new HashMap<>(commonParams);
+            for (BandData band = parentBand; band != null; band = band.getParentBand()) {
+                addParentBandDataToParameters(band, currentParams);
+            }
+            parentParams.add(currentParams);
+        }
+
+        String keyParamName = null;
+        for (String paramName : findParameterNames(query)) {
+            Object firstValue = parentParams.get(0).get(paramName);
+            boolean varying = parentParams.stream()
+                    .anyMatch(currentParams -> !Objects.equals(currentParams.get(paramName), firstValue));
+            if (varying) {
+                if (keyParamName != null || commonParams.containsKey(paramName)) {
+                    return null;
+                }
+                keyParamName = paramName;
+            } else if (isEmptyParameterValue(firstValue) && !commonParams.containsKey(paramName)) {
+                // the batch query is prepared with all parameters as report parameters, so an empty value
+                // would remove the condition instead of comparing with null
+                return null;
+            }
+        }
+        if (keyParamName == null) {
+            return null;
+        }
+
+        String alias = "${" + keyParamName + "}";
+        if (StringUtils.countMatches(query, alias) != 1) {
+            return null;
+        }
+        String aliasRegexp = Pattern.quote(alias);
+        Matcher conditionMatcher = Pattern.compile("(?<![\\w.$])" + BATCH_COLUMN_REGEXP + "\\s*=\\s*" + aliasRegexp)
+                .matcher(query);
+        if (!conditionMatcher.find()) {
+            conditionMatcher = Pattern.compile(aliasRegexp + "\\s*=\\s*" + BATCH_COLUMN_REGEXP + "(?![\\w.(])")
+                    .matcher(query);
+            if (!conditionMatcher.find()) {
+                return null;
+            }
+        }
+        if (conditionMatcher.start() < selectMatcher.end()) {
+            return null;
+        }
+        String keyColumn = conditionMatcher.group(1);
+
+        List<Object> parentKeys = new ArrayList<>(parentBands.size());
+        Set<Object> keyValues = new LinkedHashSet<>();
+        for (Map<String, Object> currentParams : parentParams) {
+            Object key = currentParams.get(keyParamName);
+            if (key == null && !isBatchNullKeySupported()) {
+                return null;
+            }
+            parentKeys.add(key);
+            if (key != null) {
+                keyValues.add(convertParameter(key));
+            }
+        }
+
+        String batchQuery = query.substring(0, selectMatcher.end())
+                + keyColumn + " as " + BATCH_KEY_ALIAS + ", "
+                + query.substring(selectMatcher.end(), conditionMatcher.start())
+                + " " + keyColumn + " in " + alias + " "
+                + query.substring(conditionMatcher.end());
+
+        Map<String, Object> batchParams = new HashMap<>(parentParams.get(0));
+        batchParams.put(keyParamName, new ArrayList<>(keyValues));
+        return new BatchQuery(batchQuery, batchParams, parentKeys, !keyValues.isEmpty());
+    }
+
+    /**
+     * Distributes rows loaded by a batch query between the parent bands.
+     *
+     * @return rows for each parent band, or null if some rows cannot be matched to a parent band,
+     * e.g. because the database returns the key column with a type different from the parameter type
+     */
+    @Nullable
+    protected List<List<Map<String, Object>>> groupBatchRows(BatchQuery batchQuery, List<Map<String, Object>> rows) {
+        Map<Object, List<Map<String, Object>>> rowsByKey = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            Object key = removeBatchKey(row);
+            if (key == null) {
+                return null;
+            }
+            rowsByKey.computeIfAbsent(normalizeBatchKey(key), k -> new ArrayList<>()).add(row);
+        }
+
+        List<List<Map<String, Object>>> result = new ArrayList<>(batchQuery.getParentKeys().size());
+        Set<Object> usedKeys = new HashSet<>();
+        for (Object parentKey : batchQuery.getParentKeys()) {
+            Object normalizedKey = parentKey != null ? normalizeBatchKey(convertParameter(parentKey)) : null;
+            List<Map<String, Object>> keyRows = normalizedKey != null ? rowsByKey.get(normalizedKey) : null;
+            if (keyRows == null) {
+                result.add(new ArrayList<>());
+            } else if (usedKeys.add(normalizedKey)) {
+                result.add(keyRows);
+            } else {
+                // several parent bands with the same key must not share mutable rows
+                List<Map<String, Object>> copies = new ArrayList<>(keyRows.size());
+                for (Map<String, Object> row : keyRows) {
+                    copies.add(new HashMap<>(row));
+                }
+                result.add(copies);
+            }
+        }
+
+        if (usedKeys.size() != rowsByKey.size()) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * @return true if comparing a column with null parameter value selects no rows, so parent bands with null key
+     * can be included in a batch
+     */
+    protected boolean isBatchNullKeySupported() {
+        return true;
+    }
+
+    @Nullable
+    protected Object removeBatchKey(Map<String, Object> row) {
+        Object key = null;
+        Iterator<Map.Entry<String, Object>> iterator = row.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Object> entry = iterator.next();
+            if (BATCH_KEY_ALIAS.equalsIgnoreCase(entry.getKey())) {
+                key = entry.getValue();
+                iterator.remove();
+            }
+        }
+        return key;
+    }
+
+    protected Object normalizeBatchKey(Object key) {
+        if (key instanceof Number) {
+            try {
+                return new BigDecimal(key.toString()).stripTrailingZeros();
+            } catch (NumberFormatException e) {
+                return key.toString();
+            }
+        }
+        return key.toString();
+    }
+
+    protected boolean isEmptyParameterValue(@Nullable Object value) {
+        return value == null || (value instanceof Collection && ((Collection<?>) value).isEmpty());
+    }
+
+    protected int countMatches(Pattern pattern, String query) {
+        Matcher matcher = pattern.matcher(query);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
     protected HashSet<String> findParameterNames(String query) {
         HashSet<String> paramsStr = new LinkedHashSet<>();
         Matcher paramMatcher = COMMON_PARAM_PATTERN.matcher(query);
@@ -250,6 +457,45 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
         }
     }
 
+    protected static class BatchQuery {
+        private final String query;
+        private final Map<String, Object> params;
+        private final List<Object> parentKeys;
+        private final boolean hasKeys;
+
+        public BatchQuery(String query, Map<String, Object> params, List<Object> parentKeys, boolean hasKeys) {
+            this.query = query;
+            this.params = params;
+            this.parentKeys = parentKeys;
+            this.hasKeys = hasKeys;
+        }
+
+        /**
+         * @return rewritten query containing the key parameter bound to the list of keys of all parent bands
+         */
+        public String getQuery() {
+            return query;
+        }
+
+        public Map<String, Object> getParams() {
+            return params;
+        }
+
+        /**
+         * @return key of each parent band, may contain nulls
+         */
+        public List<Object> getParentKeys() {
+            return parentKeys;
+        }
+
+        /**
+         * @return false if all parent keys are null, so the query does not need to be executed
+         */
+        public boolean hasKeys() {
+            return hasKeys;
+        }
+    }
+
     protected static class QueryParameter {
         private Integer position;
         private Object value;
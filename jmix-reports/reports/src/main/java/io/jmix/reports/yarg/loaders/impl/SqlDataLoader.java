@@ -16,12 +16,17 @@
 
 package io.jmix.reports.yarg.loaders.impl;
 
+import io.jmix.reports.yarg.loaders.BatchReportDataLoader;
+import io.jmix.reports.yarg.loaders.StreamingReportDataLoader;
 import io.jmix.reports.yarg.util.db.QueryRunner;
 import io.jmix.reports.yarg.util.db.ResultSetHandler;
+import io.jmix.reports.yarg.util.db.StreamingQueryRunner;
 import io.jmix.reports.yarg.exception.DataLoadingException;
+import io.jmix.reports.yarg.exception.ReportingException;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.Nullable;
 
 import javax.sql.DataSource;
 import java.sql.ResultSet;
@@ -31,6 +36,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,10 +49,12 @@ import java.util.regex.Pattern;
  *
  * ${startDate} is alias of the input parameter, which will be passed to the query
  */
-public class SqlDataLoader extends AbstractDbDataLoader {
+public class SqlDataLoader extends AbstractDbDataLoader implements BatchReportDataLoader, StreamingReportDataLoader {
 
     private DataSource dataSource;
 
+    protected int streamingFetchSize = 1000;
+
     public SqlDataLoader(DataSource dataSource) {
         this.dataSource = dataSource;
     }
@@ -58,69 +66,153 @@ public class SqlDataLoader extends AbstractDbDataLoader {
             if (StringUtils.isBlank(query)) {
                 return Collections.emptyList();
             }
-            final List<OutputValue> outputValues = new ArrayList<>();
             if (Boolean.TRUE.equals(reportQuery.getProcessTemplate())) {
                 query = processQueryTemplate(query, parentBand, params);
             }
-            final QueryPack pack = prepareQuery(query, parentBand, params);
-
-            List<Object> resultingParams = new ArrayList<>();
-            QueryParameter[] queryParameters = pack.getParams();
-            for (QueryParameter queryParameter : queryParameters) {
-                if (queryParameter.isSingleValue()) {
-                    resultingParams.add(queryParameter.getValue());
-                } else {
-                    resultingParams.addAll(queryParameter.getMultipleValues());
-                }
-            }
-
-            List resList = runQuery(reportQuery, pack.getQuery(), resultingParams.toArray(), new ResultSetHandler<List>() {
-                @Override
-                public List handle(ResultSet rs) throws SQLException {
-                    List<Object[]> resList = new ArrayList<>();
-
-                    while (rs.next()) {
-                        ResultSetMetaData metaData = rs.getMetaData();
-                        if (outputValues.size() == 0) {
-                            for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
-                                String columnName = metaData.getColumnLabel(columnIndex);
-                                OutputValue outputValue = new OutputValue(columnName);
-                                setCaseSensitiveSynonym(columnName, outputValue);
-                                outputValues.add(outputValue);
-                            }
-                        }
-
-                        Object[] values = new Object[metaData.getColumnCount()];
-                        for (int columnIndex = 0; columnIndex < metaData.getColumnCount(); columnIndex++) {
-                            values[columnIndex] = convertOutputValue(rs.getObject(columnIndex + 1));
-                        }
-                        resList.add(values);
-                    }
+            return executeQuery(reportQuery, prepareQuery(query, parentBand, params));
+        } catch (DataLoadingException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for data set [%s]", reportQuery.getName()), e);
+        }
+    }
 
-                    return resList;
-                }
+    @Nullable
+    @Override
+    public List<List<Map<String, Object>>> loadBatchData(ReportQuery reportQuery, List<BandData> parentBands,
+                                                         Map<String, Object> params) {
+        BatchQuery batchQuery = prepareBatchQuery(reportQuery, parentBands, params);
+        if (batchQuery == null) {
+            return null;
+        }
+        try {
+            List<Map<String, Object>> rows = batchQuery.hasKeys()
+                    ? executeQuery(reportQuery, prepareQuery(batchQuery.getQuery(), null, batchQuery.getParams()))
+                    : Collections.emptyList();
+            return groupBatchRows(batchQuery, rows);
+        } catch (DataLoadingException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for data set [%s]", reportQuery.getName()), e);
+        }
+    }
 
-                private void setCaseSensitiveSynonym(String columnName, OutputValue outputValue) {
-                    Matcher matcher = Pattern.compile("(?i)as\\s*(" + columnName + ")").matcher(pack.getQuery());
-                    if (matcher.find()) {
-                        outputValue.setSynonym(matcher.group(1));
+    @Override
+    public void streamData(ReportQuery reportQuery, @Nullable BandData parentBand, Map<String, Object> params,
+                           Consumer<Map<String, Object>> rowConsumer) {
+        try {
+            String query = reportQuery.getScript();
+            if (StringUtils.isBlank(query)) {
+                return;
+            }
+            if (Boolean.TRUE.equals(reportQuery.getProcessTemplate())) {
+                query = processQueryTemplate(query, parentBand, params);
+            }
+            QueryPack pack = prepareQuery(query, parentBand, params);
+            runStreamingQuery(reportQuery, pack.getQuery(), getQueryParams(pack), rs -> {
+                List<OutputValue> outputValues = null;
+                while (rs.next()) {
+                    if (outputValues == null) {
+                        outputValues = createOutputValues(rs.getMetaData(), pack.getQuery());
                     }
+                    rowConsumer.accept(fillOutputRow(readRecord(rs), outputValues));
                 }
+                return null;
             });
-            return fillOutputData(resList, outputValues);
-        } catch (DataLoadingException e) {
+        } catch (ReportingException e) {
             throw e;
         } catch (Throwable e) {
             throw new DataLoadingException(String.format("An error occurred while loading data for data set [%s]", reportQuery.getName()), e);
         }
     }
 
+    protected List<Map<String, Object>> executeQuery(ReportQuery reportQuery, QueryPack pack) throws SQLException {
+        final List<OutputValue> outputValues = new ArrayList<>();
+
+        List resList = runQuery(reportQuery, pack.getQuery(), getQueryParams(pack), new ResultSetHandler<List>() {
+            @Override
+            public List handle(ResultSet rs) throws SQLException {
+                List<Object[]> resList = new ArrayList<>();
+
+                while (rs.next()) {
+                    if (outputValues.size() == 0) {
+                        outputValues.addAll(createOutputValues(rs.getMetaData(), pack.getQuery()));
+                    }
+                    resList.add(readRecord(rs));
+                }
+
+                return resList;
+            }
+        });
+        return fillOutputData(resList, outputValues);
+    }
+
+    protected Object[] getQueryParams(QueryPack pack) {
+        List<Object> resultingParams = new ArrayList<>();
+        QueryParameter[] queryParameters = pack.getParams();
+        for (QueryParameter queryParameter : queryParameters) {
+            if (queryParameter.isSingleValue()) {
+                resultingParams.add(queryParameter.getValue());
+            } else {
+                resultingParams.addAll(queryParameter.getMultipleValues());
+            }
+        }
+        return resultingParams.toArray();
+    }
+
+    protected List<OutputValue> createOutputValues(ResultSetMetaData metaData, String query) throws SQLException {
+        List<OutputValue> outputValues = new ArrayList<>();
+        for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
+            String columnName = metaData.getColumnLabel(columnIndex);
+            OutputValue outputValue = new OutputValue(columnName);
+            Matcher matcher = Pattern.compile("(?i)as\\s*(" + columnName + ")").matcher(query);
+            if (matcher.find()) {
+                outputValue.setSynonym(matcher.group(1));
+            }
+            outputValues.add(outputValue);
+        }
+        return outputValues;
+    }
+
+    protected Object[] readRecord(ResultSet rs) throws SQLException {
+        int columnCount = rs.getMetaData().getColumnCount();
+        Object[] values = new Object[columnCount];
+        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            values[columnIndex] = convertOutputValue(rs.getObject(columnIndex + 1));
+        }
+        return values;
+    }
+
     protected List runQuery(ReportQuery reportQuery, String queryString, Object[] params, ResultSetHandler<List> handler) throws SQLException {
         QueryRunner runner = new QueryRunner(getDataSource());
         return runner.query(queryString, params, handler);
     }
 
+    /**
+     * Executes the query reading the result set with a forward-only cursor.
+     */
+    protected void runStreamingQuery(ReportQuery reportQuery, String queryString, Object[] params,
+                                     ResultSetHandler<?> handler) throws SQLException {
+        QueryRunner runner = new StreamingQueryRunner(getDataSource(reportQuery), streamingFetchSize);
+        runner.query(queryString, params, handler);
+    }
+
     public DataSource getDataSource() {
         return dataSource;
     }
+
+    protected DataSource getDataSource(ReportQuery reportQuery) {
+        return getDataSource();
+    }
+
+    public int getStreamingFetchSize() {
+        return streamingFetchSize;
+    }
+
+    /**
+     * Sets the number of rows fetched from the database at once when the data is streamed.
+     */
+    public void setStreamingFetchSize(int streamingFetchSize) {
+        this.streamingFetchSize = streamingFetchSize;
+    }
 }
\ No newline at end of file
@@ -18,7 +18,11 @@ package io.jmix.reports.yarg.reporting;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.Report;
 
+import org.springframework.lang.Nullable;
+
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * This class should load data using ReportQuery objects, convert data onto BandData object and build BandData object tree (link children and parent bands)
@@ -32,4 +36,32 @@ public interface DataExtractor {
 
     default boolean getPutEmptyRowIfNoDataSelected() { return true; }
 
+    /**
+     * @return name of the only first level band of the report if its rows can be passed to a consumer
+     * by {@link #streamData(Report, Map, BandData, Consumer)}, null otherwise
+     */
+    @Nullable
+    default String getStreamingBandName(Report report) {
+        return null;
+    }
+
+    /**
+     * Loads data of the root band into the given root band and passes rows of the only first level band
+     * to the consumer as they are loaded, without building the band tree.
+     * <p>
+     * The default implementation extracts the whole band tree by {@link #extractData(Report, Map, BandData)}
+     * and then passes rows of the streaming band (or of all first level bands if there is no such band)
+     * to the consumer.
+     */
+    default void streamData(Report report, Map<String, Object> params, BandData rootBand,
+                            Consumer<Map<String, Object>> rowConsumer) {
+        extractData(report, params, rootBand);
+
+        String bandName = getStreamingBandName(report);
+        List<BandData> bands = bandName != null ? rootBand.getChildrenByName(bandName) : rootBand.getChildrenList();
+        for (BandData band : bands) {
+            rowConsumer.accept(band.getData());
+        }
+    }
+
 }
@@ -21,15 +21,19 @@ import io.jmix.reports.yarg.reporting.extraction.DefaultExtractionContextFactory
 import io.jmix.reports.yarg.reporting.extraction.DefaultExtractionControllerFactory;
 import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory;
 import io.jmix.reports.yarg.reporting.extraction.ExtractionContextFactory;
+import io.jmix.reports.yarg.reporting.extraction.ExtractionController;
 import io.jmix.reports.yarg.reporting.extraction.ExtractionControllerFactory;
+import io.jmix.reports.yarg.reporting.extraction.controller.DefaultExtractionController;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.Report;
 import io.jmix.reports.yarg.structure.ReportBand;
 import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.lang.Nullable;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -59,12 +63,7 @@ public class DataExtractorImpl implements DataExtractor {
     }
 
     public void extractData(Report report, Map<String, Object> params, BandData rootBand) {
-        List<Map<String, Object>> rootBandData = controllerFactory.defaultController().extractData(
-                contextFactory.context(report.getRootBand(), null, params)
-        );
-        if (CollectionUtils.isNotEmpty(rootBandData)) {
-            rootBand.getData().putAll(rootBandData.get(0));
-        }
+        extractRootData(report, params, rootBand);
 
         List<ReportBand> firstLevelBands = report.getRootBand().getChildren();
         if (firstLevelBands != null) {
@@ -76,6 +75,45 @@ public class DataExtractorImpl implements DataExtractor {
         }
     }
 
+    @Nullable
+    @Override
+    public String getStreamingBandName(Report report) {
+        List<ReportBand> firstLevelBands = report.getRootBand().getChildren();
+        if (firstLevelBands == null || firstLevelBands.size() != 1) {
+            return null;
+        }
+        ReportBand definition = firstLevelBands.get(0);
+        ExtractionController controller = controllerFactory.controllerBy(definition.getBandOrientation());
+        // bands of specific orientations (e.g. cross tabs) are extracted by their own controllers
+        if (controller == controllerFactory.defaultController()
+                && controller instanceof DefaultExtractionController
+                && ((DefaultExtractionController) controller).isStreamingSupported(
+                contextFactory.context(definition, null, EMPTY_MAP))) {
+            return definition.getName();
+        }
+        return null;
+    }
+
+    @Override
+    public void streamData(Report report, Map<String, Object> params, BandData rootBand,
+                           Consumer<Map<String, Object>> rowConsumer) {
+        extractRootData(report, params, rootBand);
+
+        ReportBand definition = report.getRootBand().getChildren().get(0);
+        ((DefaultExtractionController) controllerFactory.controllerBy(definition.getBandOrientation()))
+                .streamData(contextFactory.context(definition, rootBand, params), rowConsumer);
+        rootBand.getFirstLevelBandDefinitionNames().add(definition.getName());
+    }
+
+    protected void extractRootData(Report report, Map<String, Object> params, BandData rootBand) {
+        List<Map<String, Object>> rootBandData = controllerFactory.defaultController().extractData(
+                contextFactory.context(report.getRootBand(), null, params)
+        );
+        if (CollectionUtils.isNotEmpty(rootBandData)) {
+            rootBand.getData().putAll(rootBandData.get(0));
+        }
+    }
+
     public void setPutEmptyRowIfNoDataSelected(boolean putEmptyRowIfNoDataSelected) {
         this.putEmptyRowIfNoDataSelected = putEmptyRowIfNoDataSelected;
     }
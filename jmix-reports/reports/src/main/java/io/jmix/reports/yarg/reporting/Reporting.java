@@ -22,6 +22,7 @@ import io.jmix.reports.yarg.exception.ReportingException;
 import io.jmix.reports.yarg.exception.ReportingInterruptedException;
 import io.jmix.reports.yarg.exception.ValidationException;
 import io.jmix.reports.yarg.formatters.ReportFormatter;
+import io.jmix.reports.yarg.formatters.StreamingReportFormatter;
 import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput;
 import io.jmix.reports.yarg.formatters.factory.ReportFormatterFactory;
 import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory;
@@ -30,6 +31,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -49,6 +51,10 @@ public class Reporting implements ReportingAPI {
 
     protected ObjectToStringConverter objectToStringConverter = new ObjectToStringConverterImpl();
 
+    protected boolean streamingEnabled;
+
+    protected static final Pattern OUTPUT_NAME_BAND_PARAM_PATTERN = Pattern.compile("\\$\\{([A-z0-9_]+)\\.([A-z0-9_]+)\\}");
+
     protected Logger logger = LoggerFactory.getLogger(getClass());
 
     public void setFormatterFactory(ReportFormatterFactory formatterFactory) {
@@ -69,6 +75,18 @@ public class Reporting implements ReportingAPI {
         this.objectToStringConverter = objectToStringConverter;
     }
 
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    /**
+     * Sets whether reports with a single flat band are rendered by {@link StreamingReportFormatter}s from rows
+     * passed by the data loader one by one, without building the band tree in memory.
+     */
+    public void setStreamingEnabled(boolean streamingEnabled) {
+        this.streamingEnabled = streamingEnabled;
+    }
+
     @Override
     public ReportOutputDocument runReport(RunParams runParams, OutputStream outputStream) {
         Report report = runParams.report;
@@ -86,8 +104,13 @@ public class Reporting implements ReportingAPI {
             logReport("Started report [%s] with parameters [%s]", report, handledParams);
 
             ReportOutputType finalOutputType = (outputType != null) ? outputType : reportTemplate.getOutputType();
-            BandData rootBand = loadBandData(report, handledParams);
-            generateReport(report, reportTemplate, finalOutputType, outputStream, handledParams, rootBand);
+            BandData rootBand = streamingEnabled
+                    ? generateStreamingReport(runParams, finalOutputType, outputStream, handledParams)
+                    : null;
+            if (rootBand == null) {
+                rootBand = loadBandData(report, handledParams);
+                generateReport(report, reportTemplate, finalOutputType, outputStream, handledParams, rootBand);
+            }
 
             logReport("Finished report [%s] with parameters [%s]", report, handledParams);
 
@@ -132,13 +155,68 @@ public class Reporting implements ReportingAPI {
         }
     }
 
+    /**
+     * Renders the report passing rows of its only band from the data loader directly to the formatter.
+     *
+     * @return root band of the rendered report, or null if the report cannot be streamed and should be rendered
+     * from the band tree
+     */
+    @Nullable
+    protected BandData generateStreamingReport(RunParams runParams, ReportOutputType outputType,
+                                               OutputStream outputStream, Map<String, Object> handledParams) {
+        Report report = runParams.report;
+        ReportTemplate reportTemplate = runParams.reportTemplate;
+        if (reportTemplate.isCustom()) {
+            return null;
+        }
+        String bandName = dataExtractor.getStreamingBandName(report);
+        if (bandName == null || isBandUsedInOutputName(runParams)) {
+            return null;
+        }
+
+        BandData rootBand = createRootBand(report, handledParams);
+        String extension = StringUtils.substringAfterLast(reportTemplate.getDocumentName(), ".");
+        FormatterFactoryInput factoryInput = new FormatterFactoryInput(extension, rootBand, reportTemplate, outputType, outputStream);
+        ReportFormatter formatter = formatterFactory.createFormatter(factoryInput);
+        if (formatter instanceof StreamingReportFormatter
+                && ((StreamingReportFormatter) formatter).isStreamingSupported()) {
+            logger.debug("Streaming rows of band [{}] of report [{}]", bandName, report.getName());
+            ((StreamingReportFormatter) formatter).renderDocument(bandName,
+                    rowConsumer -> dataExtractor.streamData(report, handledParams, rootBand, rowConsumer));
+        } else {
+            // the formatter is already created, so render the document with it as usual
+            dataExtractor.extractData(report, handledParams, rootBand);
+            formatter.renderDocument();
+        }
+        return rootBand;
+    }
+
+    /**
+     * @return true if the output name pattern refers to a field of a band other than the root one
+     */
+    protected boolean isBandUsedInOutputName(RunParams runParams) {
+        String outputNamePattern = StringUtils.isNotEmpty(runParams.outputNamePattern)
+                ? runParams.outputNamePattern
+                : runParams.reportTemplate.getOutputNamePattern();
+        if (StringUtils.isBlank(outputNamePattern)) {
+            return false;
+        }
+        Matcher matcher = OUTPUT_NAME_BAND_PARAM_PATTERN.matcher(outputNamePattern);
+        return matcher.find() && !BandData.ROOT_BAND_NAME.equals(matcher.group(1));
+    }
+
     protected BandData loadBandData(Report report, Map<String, Object> handledParams) {
+        BandData rootBand = createRootBand(report, handledParams);
+
+        dataExtractor.extractData(report, handledParams, rootBand);
+        return rootBand;
+    }
+
+    protected BandData createRootBand(Report report, Map<String, Object> handledParams) {
         BandData rootBand = new BandData(BandData.ROOT_BAND_NAME);
         rootBand.setData(new HashMap<>(handledParams));
         rootBand.addReportFieldFormats(report.getReportFieldFormats());
         rootBand.setFirstLevelBandDefinitionNames(new HashSet<>());
-
-        dataExtractor.extractData(report, handledParams, rootBand);
         return rootBand;
     }
 
@@ -192,9 +270,8 @@ public class Reporting implements ReportingAPI {
             outputNamePattern = runParams.outputNamePattern;
         }
         String outputName = reportTemplate.getDocumentName();
-        Pattern pattern = Pattern.compile("\\$\\{([A-z0-9_]+)\\.([A-z0-9_]+)\\}");
         if (StringUtils.isNotBlank(outputNamePattern)) {
-            Matcher matcher = pattern.matcher(outputNamePattern);
+            Matcher matcher = OUTPUT_NAME_BAND_PARAM_PATTERN.matcher(outputNamePattern);
             if (matcher.find()) {
                 String bandName = matcher.group(1);
                 String paramName = matcher.group(2);
@@ -19,17 +19,22 @@ package io.jmix.reports.yarg.reporting.extraction.controller;
 import com.google.common.collect.Multimap;
 import io.jmix.reports.yarg.reporting.extraction.*;
 import io.jmix.reports.yarg.exception.DataLoadingException;
+import io.jmix.reports.yarg.exception.ReportingException;
 import io.jmix.reports.yarg.exception.ReportingInterruptedException;
 import io.jmix.reports.yarg.exception.ValidationException;
+import io.jmix.reports.yarg.loaders.BatchReportDataLoader;
 import io.jmix.reports.yarg.loaders.ReportDataLoader;
+import io.jmix.reports.yarg.loaders.StreamingReportDataLoader;
 import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportBand;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.Nullable;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -37,6 +42,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Default data extraction logic implementation
+ * <p>
+ * If {@link #setBatchExtractionEnabled(boolean) batch extraction} is enabled, child bands are extracted for
+ * chunks of parent rows: a child band query is executed once for a chunk if its data loader implements
+ * {@link BatchReportDataLoader} and supports the query, otherwise it is executed for each parent row as usual.
+ * <p>
+ * Rows of a band without children loaded by a single query of a {@link StreamingReportDataLoader} can be
+ * {@link #streamData(ExtractionContext, Consumer) streamed} without building bands.
  */
 public class DefaultExtractionController implements ExtractionController {
 
@@ -44,6 +56,9 @@ public class DefaultExtractionController implements ExtractionController {
     protected ExtractionControllerFactory controllerRegistry;
     protected PreprocessorFactory preprocessorFactory;
 
+    protected boolean batchExtractionEnabled;
+    protected int batchSize = 500;
+
     public DefaultExtractionController(ExtractionControllerFactory controllerRegistry, ReportLoaderFactory loaderFactory) {
         checkNotNull(controllerRegistry);
         checkNotNull(loaderFactory);
@@ -103,6 +118,50 @@ public class DefaultExtractionController implements ExtractionController {
         return result;
     }
 
+    /**
+     * @return true if rows of the context band can be passed to a consumer by {@link #streamData(ExtractionContext, Consumer)}
+     */
+    public boolean isStreamingSupported(ExtractionContext context) {
+        ReportBand band = context.getBand();
+        List<ReportQuery> reportQueries = band.getReportQueries();
+        if (CollectionUtils.isNotEmpty(band.getChildren())
+                || reportQueries == null || reportQueries.size() != 1) {
+            return false;
+        }
+        ReportQuery reportQuery = reportQueries.get(0);
+        if (!(preprocessorFactory instanceof DefaultPreprocessorFactory)
+                || ((DefaultPreprocessorFactory) preprocessorFactory).getPreprocessors().containsKey(reportQuery.getLoaderType())) {
+            // preprocessors may change the query depending on parameters
+            return false;
+        }
+        return loaderFactory.createDataLoader(reportQuery.getLoaderType()) instanceof StreamingReportDataLoader;
+    }
+
+    /**
+     * Passes rows of the context band to the consumer as they are loaded. Unlike {@link #extractData(ExtractionContext)},
+     * no empty row is passed if the query returns no data.
+     */
+    public void streamData(ExtractionContext context, Consumer<Map<String, Object>> rowConsumer) {
+        checkNotNull(context);
+
+        ReportQuery reportQuery = context.getBand().getReportQueries().get(0);
+        try {
+            StreamingReportDataLoader dataLoader =
+                    (StreamingReportDataLoader) loaderFactory.createDataLoader(reportQuery.getLoaderType());
+            dataLoader.streamData(reportQuery, context.getParentBandData(), new HashMap<>(context.getParams()), row -> {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new ReportingInterruptedException("Data extraction interrupted");
+                }
+                rowConsumer.accept(row);
+            });
+        } catch (ReportingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for band [%s] and query [%s].",
+                    context.getBand().getName(), reportQuery.getName()), e);
+        }
+    }
+
     public void setPreprocessorFactory(PreprocessorFactory preprocessorFactory) {
         checkNotNull(preprocessorFactory);
 
@@ -113,12 +172,176 @@ public class DefaultExtractionController implements ExtractionController {
         return preprocessorFactory;
     }
 
+    public boolean isBatchExtractionEnabled() {
+        return batchExtractionEnabled;
+    }
+
+    public void setBatchExtractionEnabled(boolean batchExtractionEnabled) {
+        this.batchExtractionEnabled = batchExtractionEnabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of parent rows for which a child band query is executed at once.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
     protected List<BandData> traverseData(ExtractionContext context, List<Map<String, Object>> outputData) {
+        if (batchExtractionEnabled) {
+            return wrapDataBatch(Collections.nCopies(outputData.size(), context), outputData);
+        }
         return outputData.stream()
                 .map(data-> wrapData(context, data))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Creates bands of the same definition and extracts their child bands for chunks of {@link #batchSize} bands.
+     *
+     * @param contexts extraction context of each row, the contexts differ only in parent band data
+     * @param data     band rows
+     */
+    protected List<BandData> wrapDataBatch(List<ExtractionContext> contexts, List<Map<String, Object>> data) {
+        List<BandData> result = new ArrayList<>(data.size());
+        for (int from = 0; from < data.size(); from += batchSize) {
+            int to = Math.min(data.size(), from + batchSize);
+
+            List<BandData> bands = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                ExtractionContext context = contexts.get(i);
+                BandData band = new BandData(context.getBand().getName(),
+                        context.getParentBandData(), context.getBand().getBandOrientation());
+                band.setData(data.get(i));
+                bands.add(band);
+            }
+
+            Collection<ReportBand> childrenBandDefinitions = contexts.get(from).getBand().getChildren();
+            if (childrenBandDefinitions != null) {
+                for (ReportBand childDefinition : childrenBandDefinitions) {
+                    List<ExtractionContext> childContexts = new ArrayList<>(bands.size());
+                    for (int i = 0; i < bands.size(); i++) {
+                        childContexts.add(contexts.get(from + i).withBand(childDefinition, bands.get(i)));
+                    }
+                    List<List<BandData>> childBands = extractBatch(childContexts);
+                    for (int i = 0; i < bands.size(); i++) {
+                        bands.get(i).addChildren(childBands.get(i));
+                    }
+                }
+            }
+            result.addAll(bands);
+        }
+        return result;
+    }
+
+    /**
+     * Extracts bands of the same definition for several parent bands.
+     *
+     * @return bands for each of the contexts
+     */
+    protected List<List<BandData>> extractBatch(List<ExtractionContext> contexts) {
+        ExtractionController controller = controllerRegistry.controllerBy(contexts.get(0).getBand().getBandOrientation());
+        List<List<Map<String, Object>>> batchData = controller == this ? extractDataBatch(contexts) : null;
+        if (batchData == null) {
+            return contexts.stream()
+                    .map(controller::extract)
+                    .collect(Collectors.toList());
+        }
+
+        List<ExtractionContext> rowContexts = new ArrayList<>();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < contexts.size(); i++) {
+            for (Map<String, Object> row : batchData.get(i)) {
+                rowContexts.add(contexts.get(i));
+                rows.add(row);
+            }
+        }
+        List<BandData> bands = wrapDataBatch(rowContexts, rows);
+
+        List<List<BandData>> result = new ArrayList<>(contexts.size());
+        int position = 0;
+        for (List<Map<String, Object>> parentRows : batchData) {
+            result.add(new ArrayList<>(bands.subList(position, position + parentRows.size())));
+            position += parentRows.size();
+        }
+        return result;
+    }
+
+    /**
+     * Loads rows of a band for several parent bands with a single query, producing the same result as
+     * {@link #extractData(ExtractionContext)} for each of the contexts.
+     *
+     * @return rows for each of the contexts, or null if the band cannot be extracted in batch
+     */
+    @Nullable
+    protected List<List<Map<String, Object>>> extractDataBatch(List<ExtractionContext> contexts) {
+        ExtractionContext firstContext = contexts.get(0);
+        List<ReportQuery> reportQueries = firstContext.getBand().getReportQueries();
+        if (contexts.size() < 2 || reportQueries == null || reportQueries.size() != 1) {
+            return null;
+        }
+
+        ReportQuery reportQuery = reportQueries.get(0);
+        if (!(preprocessorFactory instanceof DefaultPreprocessorFactory)
+                || ((DefaultPreprocessorFactory) preprocessorFactory).getPreprocessors().containsKey(reportQuery.getLoaderType())) {
+            // preprocessors may change the query depending on parameters
+            return null;
+        }
+
+        List<BandData> parentBands = new ArrayList<>(contexts.size());
+        for (ExtractionContext context : contexts) {
+            if (!firstContext.getParams().equals(context.getParams())) {
+                return null;
+            }
+            if (!isEmptyBand(context.getParentBandData())) {
+                parentBands.add(context.getParentBandData());
+            }
+        }
+
+        List<List<Map<String, Object>>> loadedData;
+        if (parentBands.isEmpty()) {
+            loadedData = Collections.emptyList();
+        } else {
+            try {
+                ReportDataLoader dataLoader = loaderFactory.createDataLoader(reportQuery.getLoaderType());
+                if (!(dataLoader instanceof BatchReportDataLoader)) {
+                    return null;
+                }
+                loadedData = ((BatchReportDataLoader) dataLoader).loadBatchData(reportQuery, parentBands,
+                        new HashMap<>(firstContext.getParams()));
+            } catch (ValidationException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new DataLoadingException(String.format("An error occurred while loading data for band [%s] and query [%s].",
+                        firstContext.getBand().getName(), reportQuery.getName()), e);
+            }
+            if (loadedData == null) {
+                return null;
+            }
+        }
+
+        Iterator<List<Map<String, Object>>> loadedIterator = loadedData.iterator();
+        List<List<Map<String, Object>>> result = new ArrayList<>(contexts.size());
+        for (ExtractionContext context : contexts) {
+            List<Map<String, Object>> rows = isEmptyBand(context.getParentBandData())
+                    ? Collections.emptyList()
+                    : loadedIterator.next();
+            if (context.putEmptyRowIfNoDataSelected() && CollectionUtils.isEmpty(rows)) {
+                rows = new ArrayList<>();
+                rows.add(Collections.emptyMap());
+            }
+            result.add(rows);
+        }
+        return result;
+    }
+
     protected BandData wrapData(ExtractionContext context, Map<String, Object> data) {
         BandData band = new BandData(context.getBand().getName(),
                 context.getParentBandData(), context.getBand().getBandOrientation());
@@ -33,6 +33,7 @@ public class ReportOutputType implements Serializable {
     public final static ReportOutputType html = new ReportOutputType("html");
     public final static ReportOutputType pdf = new ReportOutputType("pdf");
     public final static ReportOutputType csv = new ReportOutputType("csv");
+    public final static ReportOutputType jsonl = new ReportOutputType("jsonl");
     public final static ReportOutputType custom = new ReportOutputType("custom");
 
     protected static Map<String, ReportOutputType> values = new ConcurrentHashMap<String, ReportOutputType>();
@@ -44,6 +45,7 @@ public class ReportOutputType implements Serializable {
         values.put(html.id, html);
         values.put(pdf.id, pdf);
         values.put(csv.id, csv);
+        values.put(jsonl.id, jsonl);
         values.put(custom.id, custom);
         values.put(xlsx.id, xlsx);
     }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.util.db;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Query runner reading the result set with a forward-only cursor, fetching rows from the database
+ * in chunks of the given size instead of loading the whole result at once.
+ * <p>
+ * Some drivers (e.g. PostgreSQL) use a cursor only outside of the auto-commit mode, so the auto-commit is
+ * switched off while the query is executed with a connection retrieved from the data source.
+ */
+public class StreamingQueryRunner extends QueryRunner {
+
+    protected int fetchSize;
+
+    public StreamingQueryRunner(DataSource ds, int fetchSize) {
+        super(ds);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    protected PreparedStatement prepareStatement(Connection conn, String sql) throws SQLException {
+        PreparedStatement statement = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (fetchSize > 0) {
+            statement.setFetchSize(fetchSize);
+        }
+        return statement;
+    }
+
+    @Override
+    public <T> T query(String sql, Object[] params, ResultSetHandler<T> rsh) throws SQLException {
+        Connection conn = prepareConnection();
+        boolean autoCommit = conn.getAutoCommit();
+        try {
+            if (autoCommit) {
+                conn.setAutoCommit(false);
+            }
+            try {
+                return query(conn, sql, params, rsh);
+            } finally {
+                if (autoCommit) {
+                    // the query does not modify data, so the transaction is just finished
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+            }
+        } finally {
+            close(conn);
+        }
+    }
+}
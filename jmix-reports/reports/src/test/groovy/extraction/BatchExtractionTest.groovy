@@ -0,0 +1,169 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package extraction
+
+import io.jmix.reports.yarg.loaders.factory.impl.DefaultLoaderFactory
+import io.jmix.reports.yarg.loaders.impl.SqlDataLoader
+import io.jmix.reports.yarg.reporting.DataExtractorImpl
+import io.jmix.reports.yarg.reporting.extraction.DefaultExtractionControllerFactory
+import io.jmix.reports.yarg.reporting.extraction.controller.DefaultExtractionController
+import io.jmix.reports.yarg.structure.BandData
+import io.jmix.reports.yarg.structure.BandOrientation
+import io.jmix.reports.yarg.structure.Report
+import io.jmix.reports.yarg.structure.ReportBand
+import io.jmix.reports.yarg.structure.ReportQuery
+import io.jmix.reports.yarg.util.db.ResultSetHandler
+import org.apache.commons.dbcp2.BasicDataSource
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.sql.SQLException
+import java.util.function.BiFunction
+
+class BatchExtractionTest extends Specification {
+
+    @Shared
+    BasicDataSource dataSource
+
+    int queryCount
+
+    def setupSpec() {
+        dataSource = new BasicDataSource()
+        dataSource.setUrl('jdbc:hsqldb:mem:batch_extraction')
+        dataSource.setUsername('sa')
+        dataSource.setPassword('')
+
+        execute('create table CUSTOMER (ID integer primary key, NAME varchar(50))',
+                'create table ORDERS (ID integer primary key, CUSTOMER_ID integer, AMOUNT integer)',
+                'create table ITEM (ID integer primary key, ORDER_ID integer, NAME varchar(50))',
+                "insert into CUSTOMER values (1, 'Alice'), (2, 'Bob'), (3, 'Carol'), (4, 'Dave'), (5, 'Eve')",
+                'insert into ORDERS values (10, 1, 100), (11, 1, 110), (20, 2, 200), (30, 3, 300), (50, 5, 500), (51, 5, 510)',
+                "insert into ITEM values (1, 10, 'pen'), (2, 10, 'ink'), (3, 11, 'book'), (4, 30, 'cup'), (5, 51, 'lamp')")
+    }
+
+    def cleanupSpec() {
+        execute('drop table ITEM', 'drop table ORDERS', 'drop table CUSTOMER')
+        dataSource.close()
+    }
+
+    def "batch extraction produces the same bands with fewer queries"() {
+        def report = createReport()
+
+        when:
+        def perRowBands = extract(report, false)
+        def perRowQueryCount = queryCount
+
+        queryCount = 0
+        def batchBands = extract(report, true)
+        def batchQueryCount = queryCount
+
+        then:
+        dump(batchBands) == dump(perRowBands)
+        perRowQueryCount == 1 + 5 + 6
+        batchQueryCount == 1 + 3 + 4
+    }
+
+    def "queries not supported in batch are executed for each parent row"() {
+        def report = createReport('select count(*) as "id" from ORDERS o where o.CUSTOMER_ID = ${Customers.id}')
+
+        when:
+        def perRowBands = extract(report, false)
+        def perRowQueryCount = queryCount
+
+        queryCount = 0
+        def batchBands = extract(report, true)
+
+        then:
+        dump(batchBands) == dump(perRowBands)
+        queryCount == perRowQueryCount
+    }
+
+    private BandData extract(Report report, boolean batch) {
+        def dataLoader = new SqlDataLoader(dataSource) {
+            @Override
+            protected List runQuery(ReportQuery reportQuery, String queryString, Object[] params,
+                                    ResultSetHandler<List> handler) throws SQLException {
+                queryCount++
+                return super.runQuery(reportQuery, queryString, params, handler)
+            }
+        }
+        def loaderFactory = new DefaultLoaderFactory().setSqlDataLoader(dataLoader)
+
+        def controllerFactory = new DefaultExtractionControllerFactory(loaderFactory,
+                { factory, factoryLoaders ->
+                    def controller = new DefaultExtractionController(factory, factoryLoaders)
+                    controller.setBatchExtractionEnabled(batch)
+                    controller.setBatchSize(2)
+                    return controller
+                } as BiFunction)
+
+        def extractor = new DataExtractorImpl(loaderFactory)
+        extractor.setExtractionControllerFactory(controllerFactory)
+
+        def rootBand = new BandData(BandData.ROOT_BAND_NAME)
+        extractor.extractData(report, [:], rootBand)
+        return rootBand
+    }
+
+    private static Report createReport(String ordersQuery = 'select o.ID as "id", o.AMOUNT as "amount" from ORDERS o ' +
+            'where o.CUSTOMER_ID = ${Customers.id} order by o.ID') {
+        def root = new TestBand(name: BandData.ROOT_BAND_NAME)
+        def customers = new TestBand(name: 'Customers', parent: root,
+                reportQueries: [new TestQuery(name: 'customers',
+                        script: 'select c.ID as "id", c.NAME as "name" from CUSTOMER c order by c.ID')])
+        def orders = new TestBand(name: 'Orders', parent: customers,
+                reportQueries: [new TestQuery(name: 'orders', script: ordersQuery)])
+        def items = new TestBand(name: 'Items', parent: orders,
+                reportQueries: [new TestQuery(name: 'items',
+                        script: 'select i.NAME as "name" from ITEM i where ${Orders.id} = i.ORDER_ID order by i.ID')])
+        root.children << customers
+        customers.children << orders
+        orders.children << items
+
+        return [getRootBand: { root }, getName: { 'test' }] as Report
+    }
+
+    private static List dump(BandData band) {
+        return [band.name, band.data, band.childrenList.collect { dump(it) }]
+    }
+
+    private void execute(String... statements) {
+        def connection = dataSource.getConnection()
+        try {
+            statements.each { connection.createStatement().execute(it) }
+        } finally {
+            connection.close()
+        }
+    }
+
+    static class TestBand implements ReportBand {
+        String name
+        ReportBand parent
+        List<ReportBand> children = []
+        List<ReportQuery> reportQueries = []
+        BandOrientation bandOrientation = BandOrientation.HORIZONTAL
+    }
+
+    static class TestQuery implements ReportQuery {
+        String name
+        String script
+        String linkParameterName
+        String loaderType = DefaultLoaderFactory.SQL_DATA_LOADER
+        Boolean processTemplate = false
+        Map<String, Object> additionalParams = [:]
+    }
+}
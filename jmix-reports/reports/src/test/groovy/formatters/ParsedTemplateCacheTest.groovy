@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package formatters
+
+import io.jmix.reports.libintegration.JmixXlsxFormatter
+import io.jmix.reports.yarg.formatters.cache.DefaultParsedTemplateCache
+import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput
+import io.jmix.reports.yarg.structure.BandData
+import io.jmix.reports.yarg.structure.ReportOutputType
+import io.jmix.reports.yarg.structure.ReportTemplate
+import io.jmix.reports.yarg.util.docx4j.XmlCopyUtils
+import org.xlsx4j.jaxb.Context
+import org.xlsx4j.sml.Cell
+import org.xlsx4j.sml.Row
+import org.xlsx4j.sml.STCellType
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class ParsedTemplateCacheTest extends Specification {
+
+    def cache = new DefaultParsedTemplateCache(10)
+    int parseCount
+
+    def "template is parsed once for the same content"() {
+        def template = template('a')
+
+        when:
+        def first = cache.get(template, String, this.&parse)
+        def second = cache.get(template, String, this.&parse)
+
+        then:
+        first == 'parsed a'
+        second.is(first)
+        parseCount == 1
+    }
+
+    def "template is parsed again after content change or invalidation"() {
+        when:
+        cache.get(template('a'), String, this.&parse)
+        def changed = cache.get(template('b'), String, this.&parse)
+
+        then:
+        changed == 'parsed b'
+        parseCount == 2
+
+        when:
+        cache.invalidate('DEFAULT/report.html')
+        cache.get(template('b'), String, this.&parse)
+
+        then:
+        parseCount == 3
+    }
+
+    def "parsing errors are not cached"() {
+        when:
+        cache.get(template('a'), String, { throw new IOException('broken') })
+
+        then:
+        thrown(IOException)
+
+        when:
+        def parsed = cache.get(template('a'), String, this.&parse)
+
+        then:
+        parsed == 'parsed a'
+    }
+
+    def "cached template cells are not modified when copied to the result"() {
+        def row = new Row()
+        def templateCell = new Cell(r: 'A1', v: 'value', t: STCellType.STR)
+        templateCell.parent = row
+        row.c.add(templateCell)
+
+        def formatter = new JmixXlsxFormatter(new FormatterFactoryInput('xlsx', new BandData('Root'),
+                template('a'), ReportOutputType.xlsx, new ByteArrayOutputStream()))
+        formatter.marshaller = XmlCopyUtils.createMarshaller(Context.jcSML)
+        formatter.unmarshaller = XmlCopyUtils.createUnmarshaller(Context.jcSML)
+
+        when:
+        def copy = formatter.copyCell(templateCell)
+
+        then:
+        !copy.is(templateCell)
+        copy.r == 'A1'
+        copy.v == 'value'
+        templateCell.parent.is(row)
+    }
+
+    private String parse(byte[] content) {
+        parseCount++
+        return 'parsed ' + new String(content, StandardCharsets.UTF_8)
+    }
+
+    private static ReportTemplate template(String content) {
+        return [
+                getCode           : { 'DEFAULT' },
+                getDocumentName   : { 'report.html' },
+                getDocumentContent: { new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)) }
+        ] as ReportTemplate
+    }
+}
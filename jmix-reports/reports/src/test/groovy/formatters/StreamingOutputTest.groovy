@@ -0,0 +1,182 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package formatters
+
+import io.jmix.reports.yarg.formatters.factory.DefaultFormatterFactory
+import io.jmix.reports.yarg.loaders.factory.impl.DefaultLoaderFactory
+import io.jmix.reports.yarg.loaders.impl.SqlDataLoader
+import io.jmix.reports.yarg.reporting.DataExtractor
+import io.jmix.reports.yarg.reporting.Reporting
+import io.jmix.reports.yarg.reporting.RunParams
+import io.jmix.reports.yarg.structure.*
+import org.apache.commons.dbcp2.BasicDataSource
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.function.Consumer
+
+class StreamingOutputTest extends Specification {
+
+    @Shared
+    BasicDataSource dataSource
+
+    int loadDataCount
+
+    def setupSpec() {
+        dataSource = new BasicDataSource()
+        dataSource.setUrl('jdbc:hsqldb:mem:streaming_output')
+        dataSource.setUsername('sa')
+        dataSource.setPassword('')
+
+        def connection = dataSource.getConnection()
+        try {
+            connection.createStatement().execute('create table PRODUCT (ID integer primary key, NAME varchar(50), PRICE integer)')
+            connection.createStatement().execute("insert into PRODUCT values (1, 'pen', 10), (2, 'book', 25), (3, 'cup', 7)")
+        } finally {
+            connection.close()
+        }
+    }
+
+    def cleanupSpec() {
+        def connection = dataSource.getConnection()
+        try {
+            connection.createStatement().execute('drop table PRODUCT')
+        } finally {
+            connection.close()
+        }
+        dataSource.close()
+    }
+
+    def "streamed csv is the same as rendered from bands"() {
+        def template = template('products.csv', 'Name;Price\n${name};${price}', ReportOutputType.csv)
+
+        when:
+        def rendered = run(template, false)
+        def renderedLoadCount = loadDataCount
+
+        loadDataCount = 0
+        def streamed = run(template, true)
+
+        then:
+        streamed == rendered
+        streamed.readLines() == ['"Name";"Price"', '"pen";"10"', '"book";"25"', '"cup";"7"']
+        renderedLoadCount == 1
+        loadDataCount == 0
+    }
+
+    def "json lines are written for each row"() {
+        def template = template('products.jsonl', '{"name": ${name}, "price": ${price}}', ReportOutputType.jsonl)
+
+        when:
+        def rendered = run(template, false)
+        def streamed = run(template, true)
+
+        then:
+        streamed == rendered
+        streamed.readLines() == ['{"name":"pen","price":10}', '{"name":"book","price":25}', '{"name":"cup","price":7}']
+    }
+
+    def "data extractor without streaming support passes rows of extracted bands"() {
+        def extractor = new DataExtractor() {
+            @Override
+            void extractData(Report report, Map<String, Object> params, BandData rootBand) {
+                ['pen', 'book'].each { name ->
+                    def band = new BandData('Products', rootBand)
+                    band.setData([name: name])
+                    rootBand.addChild(band)
+                }
+                rootBand.addChild(new BandData('Other', rootBand))
+            }
+
+            @Override
+            String getStreamingBandName(Report report) {
+                return 'Products'
+            }
+        }
+        def rows = []
+
+        when:
+        extractor.streamData(null, [:], new BandData(BandData.ROOT_BAND_NAME), { rows << it } as Consumer)
+
+        then:
+        rows == [[name: 'pen'], [name: 'book']]
+    }
+
+    private String run(ReportTemplate template, boolean streaming) {
+        def dataLoader = new SqlDataLoader(dataSource) {
+            @Override
+            List<Map<String, Object>> loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params) {
+                loadDataCount++
+                return super.loadData(reportQuery, parentBand, params)
+            }
+        }
+
+        def reporting = new Reporting()
+        reporting.setFormatterFactory(new DefaultFormatterFactory())
+        reporting.setLoaderFactory(new DefaultLoaderFactory().setSqlDataLoader(dataLoader))
+        reporting.setStreamingEnabled(streaming)
+
+        def output = new ByteArrayOutputStream()
+        reporting.runReport(new RunParams(createReport(template)), output)
+        return new String(output.toByteArray(), StandardCharsets.UTF_8)
+    }
+
+    private static Report createReport(ReportTemplate template) {
+        def root = new TestBand(name: BandData.ROOT_BAND_NAME)
+        def products = new TestBand(name: 'Products', parent: root,
+                reportQueries: [new TestQuery(name: 'products',
+                        script: 'select p.NAME as "name", p.PRICE as "price" from PRODUCT p order by p.ID')])
+        root.children << products
+
+        return [
+                getRootBand         : { root },
+                getName             : { 'products' },
+                getReportTemplates  : { [(ReportTemplate.DEFAULT_TEMPLATE_CODE): template] },
+                getReportParameters : { [] },
+                getReportFieldFormats: { [] }
+        ] as Report
+    }
+
+    private static ReportTemplate template(String documentName, String content, ReportOutputType outputType) {
+        return [
+                getCode             : { ReportTemplate.DEFAULT_TEMPLATE_CODE },
+                getDocumentName     : { documentName },
+                getDocumentContent  : { new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)) },
+                getOutputType       : { outputType },
+                getOutputNamePattern: { null },
+                isCustom            : { false }
+        ] as ReportTemplate
+    }
+
+    static class TestBand implements ReportBand {
+        String name
+        ReportBand parent
+        List<ReportBand> children = []
+        List<ReportQuery> reportQueries = []
+        BandOrientation bandOrientation = BandOrientation.HORIZONTAL
+    }
+
+    static class TestQuery implements ReportQuery {
+        String name
+        String script
+        String linkParameterName
+        String loaderType = DefaultLoaderFactory.SQL_DATA_LOADER
+        Boolean processTemplate = false
+        Map<String, Object> additionalParams = [:]
+    }
+}
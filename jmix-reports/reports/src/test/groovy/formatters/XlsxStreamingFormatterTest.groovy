@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package formatters
+
+import io.jmix.reports.yarg.formatters.ReportFormatter
+import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput
+import io.jmix.reports.yarg.formatters.impl.XlsxStreamingFormatter
+import io.jmix.reports.yarg.structure.BandData
+import io.jmix.reports.yarg.structure.BandOrientation
+import io.jmix.reports.yarg.structure.ReportOutputType
+import io.jmix.reports.yarg.structure.ReportTemplate
+import org.apache.poi.ss.util.CellRangeAddress
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import spock.lang.Specification
+
+class XlsxStreamingFormatterTest extends Specification {
+
+    def "band rows are written with shifted formulas and merged regions"() {
+        def rootBand = new BandData(BandData.ROOT_BAND_NAME)
+        rootBand.addChild(band(rootBand, 'Header', [title: 'Orders']))
+        (1..250).each { rootBand.addChild(band(rootBand, 'Data', [name: 'order ' + it, amount: it])) }
+        rootBand.addChild(band(rootBand, 'Total', [:]))
+        def output = new ByteArrayOutputStream()
+
+        when:
+        def formatter = new XlsxStreamingFormatter(input(rootBand, output))
+        formatter.setRowAccessWindowSize(10)
+        formatter.renderDocument()
+
+        then:
+        def workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))
+        def sheet = workbook.getSheet('Report')
+        sheet.getRow(0).getCell(0).stringCellValue == 'Orders'
+        sheet.getRow(1).getCell(0).stringCellValue == 'order 1'
+        sheet.getRow(1).getCell(1).numericCellValue == 1
+        sheet.getRow(1).getCell(2).cellFormula == 'B2*2'
+        sheet.getRow(250).getCell(0).stringCellValue == 'order 250'
+        sheet.getRow(250).getCell(2).cellFormula == 'B251*2'
+        sheet.getRow(251).getCell(1).cellFormula == 'SUM(B2:B251)'
+        sheet.getMergedRegions().contains(CellRangeAddress.valueOf('A1:C1'))
+        workbook.getName('Data') == null
+        workbook.forceFormulaRecalculation
+    }
+
+    def "vertical bands are rendered by the fallback formatter"() {
+        def rootBand = new BandData(BandData.ROOT_BAND_NAME)
+        rootBand.addChild(band(rootBand, 'Header', [title: 'Orders'], BandOrientation.VERTICAL))
+        def fallbackFormatter = Mock(ReportFormatter)
+
+        when:
+        def formatter = new XlsxStreamingFormatter(input(rootBand, new ByteArrayOutputStream()))
+        formatter.setFallbackFormatter(fallbackFormatter)
+        formatter.renderDocument()
+
+        then:
+        1 * fallbackFormatter.renderDocument()
+    }
+
+    private static BandData band(BandData parent, String name, Map<String, Object> data,
+                                 BandOrientation orientation = BandOrientation.HORIZONTAL) {
+        def band = new BandData(name, parent, orientation)
+        band.setData(data)
+        return band
+    }
+
+    private static FormatterFactoryInput input(BandData rootBand, OutputStream output) {
+        byte[] content = createTemplate()
+        def template = [
+                getDocumentName   : { 'streaming.xlsx' },
+                getDocumentContent: { new ByteArrayInputStream(content) },
+                getOutputType     : { ReportOutputType.xlsx }
+        ] as ReportTemplate
+        return new FormatterFactoryInput('xlsx', rootBand, template, ReportOutputType.xlsx, output)
+    }
+
+    private static byte[] createTemplate() {
+        def workbook = new XSSFWorkbook()
+        def sheet = workbook.createSheet('Report')
+        sheet.createRow(0).createCell(0).setCellValue('${title}')
+        sheet.addMergedRegion(CellRangeAddress.valueOf('A1:C1'))
+
+        def dataRow = sheet.createRow(1)
+        dataRow.createCell(0).setCellValue('${name}')
+        dataRow.createCell(1).setCellValue('${amount}')
+        dataRow.createCell(2).setCellFormula('B2*2')
+
+        sheet.createRow(2).createCell(1).setCellFormula('SUM(B2)')
+
+        ['Header': 'Report!$A$1:$C$1', 'Data': 'Report!$A$2:$C$2', 'Total': 'Report!$A$3:$C$3'].each { name, range ->
+            def definedName = workbook.createName()
+            definedName.setNameName(name)
+            definedName.setRefersToFormula(range)
+        }
+
+        def output = new ByteArrayOutputStream()
+        workbook.write(output)
+        return output.toByteArray()
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package runner
+
+import io.jmix.core.security.SecurityContextHelper
+import io.jmix.reports.ReportsProperties
+import io.jmix.reports.entity.Report
+import io.jmix.reports.entity.ReportTemplate
+import io.jmix.reports.exception.ReportingException
+import io.jmix.reports.runner.ReportRunContext
+import io.jmix.reports.runner.impl.ReportExecutionSchedulerImpl
+import io.jmix.reports.runner.impl.ReportRunnerImpl
+import io.jmix.reports.yarg.reporting.ReportOutputDocument
+import io.jmix.reports.yarg.reporting.ReportOutputDocumentImpl
+import io.jmix.reports.yarg.structure.ReportOutputType
+import org.springframework.boot.context.properties.bind.Bindable
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class ReportExecutionSchedulerTest extends Specification {
+
+    TestReportRunner runner = new TestReportRunner()
+    ReportExecutionSchedulerImpl scheduler
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    Report reportA = report('A')
+    Report reportB = report('B')
+    Report reportC = report('C')
+
+    void cleanup() {
+        runner.release.countDown()
+        scheduler?.shutdown()
+        SecurityContextHelper.setAuthentication(null)
+    }
+
+    def "reports with greater priority are executed first"() {
+        scheduler = createScheduler(['execution-concurrency-limit': '1'])
+
+        when:
+        def first = scheduler.submit(context(reportA), 0)
+        def low = scheduler.submit(context(reportB), 0)
+        def high = scheduler.submit(context(reportC), 10)
+        runner.release.countDown()
+        [first, low, high]*.get(5, TimeUnit.SECONDS)
+
+        then:
+        runner.started == ['A', 'C', 'B']
+    }
+
+    def "concurrent executions of the same report are limited"() {
+        scheduler = createScheduler(['execution-concurrency-limit': '10', 'execution-per-report-concurrency-limit': '1'])
+
+        when:
+        def futures = [scheduler.submit(context(reportA)), scheduler.submit(context(reportA)),
+                       scheduler.submit(context(reportB))]
+
+        then:
+        conditions.eventually {
+            assert runner.started.sort(false) == ['A', 'B']
+        }
+        scheduler.runningCount == 2
+        scheduler.queueSize == 1
+
+        when:
+        runner.release.countDown()
+        futures*.get(5, TimeUnit.SECONDS)
+
+        then:
+        runner.started.sort(false) == ['A', 'A', 'B']
+        scheduler.queueSize == 0
+    }
+
+    def "cancelled reports are removed from the queue or interrupted"() {
+        scheduler = createScheduler(['execution-concurrency-limit': '1'])
+
+        when:
+        def running = scheduler.submit(context(reportA))
+        def queued = scheduler.submit(context(reportB))
+        conditions.eventually {
+            assert runner.started == ['A']
+        }
+        queued.cancel(true)
+
+        then:
+        scheduler.queueSize == 0
+
+        when:
+        running.cancel(true)
+
+        then:
+        conditions.eventually {
+            assert runner.interrupted == ['A']
+            assert scheduler.runningCount == 0
+        }
+
+        when:
+        running.get()
+
+        then:
+        thrown(CancellationException)
+        runner.started == ['A']
+    }
+
+    def "submissions beyond the queue capacity are rejected"() {
+        scheduler = createScheduler(['execution-concurrency-limit': '1', 'execution-queue-capacity': '1'])
+
+        when:
+        scheduler.submit(context(reportA))
+        scheduler.submit(context(reportB))
+        scheduler.submit(context(reportC)).get(5, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof ReportingException
+        scheduler.queueSize == 1
+    }
+
+    def "results are cached by report, parameters and user"() {
+        scheduler = createScheduler(['execution-result-cache-ttl-sec': '60'])
+        runner.release.countDown()
+        authenticate('admin')
+
+        when:
+        def first = scheduler.submit(context(reportA).addParam('year', 2024)).get(5, TimeUnit.SECONDS)
+        def second = scheduler.submit(context(reportA).addParam('year', 2024)).get(5, TimeUnit.SECONDS)
+
+        then:
+        second.is(first)
+        runner.started == ['A']
+
+        when:
+        scheduler.submit(context(reportA).addParam('year', 2025)).get(5, TimeUnit.SECONDS)
+        authenticate('user')
+        scheduler.submit(context(reportA).addParam('year', 2024)).get(5, TimeUnit.SECONDS)
+
+        then:
+        runner.started == ['A', 'A', 'A']
+    }
+
+    private ReportExecutionSchedulerImpl createScheduler(Map<String, String> properties) {
+        def source = new MapConfigurationPropertySource(properties.collectEntries { key, value ->
+            ["jmix.reports.$key".toString(), value]
+        })
+        def reportsProperties = new Binder(source).bindOrCreate('jmix.reports', Bindable.of(ReportsProperties))
+        return new ReportExecutionSchedulerImpl(runner, reportsProperties, null)
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHelper.setAuthentication(new UsernamePasswordAuthenticationToken(username, null, []))
+    }
+
+    private static Report report(String name) {
+        def report = new Report()
+        report.id = UUID.randomUUID()
+        report.name = name
+        report.version = 1
+        return report
+    }
+
+    private static ReportRunContext context(Report report) {
+        def template = new ReportTemplate()
+        template.id = UUID.nameUUIDFromBytes(report.name.bytes)
+        template.version = 1
+        return new ReportRunContext(report)
+                .setReportTemplate(template)
+                .setOutputType(io.jmix.reports.entity.ReportOutputType.XLSX)
+    }
+
+    static class TestReportRunner extends ReportRunnerImpl {
+
+        List<String> started = Collections.synchronizedList([])
+        List<String> interrupted = Collections.synchronizedList([])
+        CountDownLatch release = new CountDownLatch(1)
+
+        @Override
+        protected void prepareContext(ReportRunContext context) {
+        }
+
+        @Override
+        ReportOutputDocument run(ReportRunContext context, OutputStream outputStream, Long queueWaitTime) {
+            started << context.report.name
+            try {
+                release.await()
+            } catch (InterruptedException e) {
+                interrupted << context.report.name
+                throw e
+            }
+            return new ReportOutputDocumentImpl(null, new byte[0], context.report.name, ReportOutputType.xlsx)
+        }
+    }
+}
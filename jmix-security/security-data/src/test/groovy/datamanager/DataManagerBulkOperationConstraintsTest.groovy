@@ -0,0 +1,191 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package datamanager
+
+import io.jmix.core.BulkOperationContext
+import io.jmix.core.DataManager
+import io.jmix.core.LoadContext
+import io.jmix.core.Metadata
+import io.jmix.core.security.AccessDeniedException
+import io.jmix.core.security.InMemoryUserRepository
+import io.jmix.core.security.SecurityContextHelper
+import io.jmix.security.role.RoleGrantedAuthorityUtils
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.security.authentication.AuthenticationManager
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import org.springframework.security.core.Authentication
+import org.springframework.security.core.userdetails.User
+import org.springframework.security.core.userdetails.UserDetails
+import test_support.SecurityDataSpecification
+import test_support.entity.ManyToOneEntity
+import test_support.entity.OneToManyEntity
+import test_support.entity.TestOrder
+import test_support.repository.FirstRepository
+import test_support.role.TestBulkOperationRole
+import test_support.role.TestInMemoryRowLevelConstraintsRole
+import test_support.role.TestOrderFullAccessRole
+
+import javax.sql.DataSource
+
+class DataManagerBulkOperationConstraintsTest extends SecurityDataSpecification {
+
+    public static final String PASSWORD = "123"
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    FirstRepository firstRepository
+    @Autowired
+    AuthenticationManager authenticationManager
+    @Autowired
+    InMemoryUserRepository userRepository
+    @Autowired
+    Metadata metadata
+    @Autowired
+    DataSource dataSource
+    @Autowired
+    RoleGrantedAuthorityUtils roleGrantedAuthorityUtils
+
+    UserDetails jpqlUser, inMemoryUser
+    Authentication systemAuthentication
+
+    def setup() {
+        jpqlUser = User.builder()
+                .username("jpqlUser")
+                .password("{noop}$PASSWORD")
+                .authorities(
+                        roleGrantedAuthorityUtils.createResourceRoleGrantedAuthority(TestBulkOperationRole.NAME),
+                        roleGrantedAuthorityUtils.createRowLevelRoleGrantedAuthority(TestBulkOperationRole.NAME)
+                )
+                .build()
+        userRepository.addUser(jpqlUser)
+
+        inMemoryUser = User.builder()
+                .username("inMemoryUser")
+                .password("{noop}$PASSWORD")
+                .authorities(
+                        roleGrantedAuthorityUtils.createResourceRoleGrantedAuthority(TestOrderFullAccessRole.NAME),
+                        roleGrantedAuthorityUtils.createRowLevelRoleGrantedAuthority(TestInMemoryRowLevelConstraintsRole.NAME)
+                )
+                .build()
+        userRepository.addUser(inMemoryUser)
+
+        ['1', 'allowed_2', 'allowed_3', 'A-4-B'].each { number ->
+            def order = metadata.create(TestOrder)
+            order.number = number
+            dataManager.unconstrained().save(order)
+        }
+
+        ['allowed', 'denied'].each { name ->
+            def parent = metadata.create(OneToManyEntity)
+            parent.name = name
+            def child = metadata.create(ManyToOneEntity)
+            child.name = name + '_child'
+            child.oneToManyEntity = parent
+            dataManager.unconstrained().save(parent, child)
+        }
+
+        systemAuthentication = SecurityContextHelper.getAuthentication()
+    }
+
+    def cleanup() {
+        SecurityContextHelper.setAuthentication(systemAuthentication)
+        userRepository.removeUser(jpqlUser)
+        userRepository.removeUser(inMemoryUser)
+        def jdbcTemplate = new JdbcTemplate(dataSource)
+        jdbcTemplate.execute('delete from TEST_ORDER')
+        jdbcTemplate.execute('delete from TEST_MANY_TO_ONE_ENTITY')
+        jdbcTemplate.execute('delete from TEST_ONE_TO_MANY_ENTITY')
+    }
+
+    def "JPQL row-level constraint is added to the bulk statement"() {
+        authenticate('jpqlUser')
+
+        when:
+        def count = dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(TestOrder))
+                .setValue('number', 'allowed_updated'))
+
+        then:
+        count == 2
+        orderNumbers() == ['1', 'A-4-B', 'allowed_updated', 'allowed_updated']
+    }
+
+    def "JPQL row-level constraint with join is applied by id subquery"() {
+        authenticate('jpqlUser')
+
+        when:
+        def count = dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(ManyToOneEntity))
+                .setQuery(new LoadContext.Query('select e from test_ManyToOneEntity e where e.name like :name')
+                        .setParameter('name', '%_child'))
+                .setValue('name', 'updated'))
+
+        then:
+        count == 1
+        dataManager.unconstrained().load(ManyToOneEntity).all().list()*.name.sort() == ['denied_child', 'updated']
+    }
+
+    def "bulk operation is denied if the entity has in-memory constraints"() {
+        authenticate('inMemoryUser')
+
+        when:
+        dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(TestOrder)))
+
+        then:
+        thrown(AccessDeniedException)
+        orderNumbers().size() == 4
+    }
+
+    def "repository deletes all permitted entities in bulk"() {
+        authenticate('jpqlUser')
+
+        when:
+        def count = firstRepository.deleteAllInBulk()
+
+        then:
+        count == 2
+        orderNumbers() == ['1', 'A-4-B']
+    }
+
+    def "derived repository method annotated with BulkDelete applies constraints"() {
+        authenticate('jpqlUser')
+
+        when:
+        def count = firstRepository.deleteByNumberStartingWith('allowed_3')
+
+        then:
+        count == 1
+        orderNumbers() == ['1', 'A-4-B', 'allowed_2']
+
+        when:
+        count = firstRepository.deleteByNumberStartingWith('A-')
+
+        then:
+        count == 0
+        orderNumbers() == ['1', 'A-4-B', 'allowed_2']
+    }
+
+    protected List<String> orderNumbers() {
+        return dataManager.unconstrained().load(TestOrder).all().list()*.number.sort()
+    }
+
+    protected void authenticate(String username) {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(username, PASSWORD))
+        SecurityContextHelper.setAuthentication(authentication)
+    }
+}
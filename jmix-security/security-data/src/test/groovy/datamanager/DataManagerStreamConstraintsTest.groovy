@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package datamanager
+
+import io.jmix.core.DataManager
+import io.jmix.core.Metadata
+import io.jmix.core.security.InMemoryUserRepository
+import io.jmix.core.security.SecurityContextHelper
+import io.jmix.data.PersistenceHints
+import io.jmix.security.role.RoleGrantedAuthorityUtils
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.security.authentication.AuthenticationManager
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import org.springframework.security.core.Authentication
+import org.springframework.security.core.userdetails.User
+import org.springframework.security.core.userdetails.UserDetails
+import test_support.SecurityDataSpecification
+import test_support.entity.TestOrder
+import test_support.repository.FirstRepository
+import test_support.role.TestDataManagerReadQueryRole
+import test_support.role.TestInMemoryRowLevelConstraintsRole
+import test_support.role.TestOrderFullAccessRole
+
+import javax.sql.DataSource
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.stream.Collectors
+
+class DataManagerStreamConstraintsTest extends SecurityDataSpecification {
+
+    public static final String PASSWORD = "123"
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    FirstRepository firstRepository
+    @Autowired
+    AuthenticationManager authenticationManager
+    @Autowired
+    InMemoryUserRepository userRepository
+    @Autowired
+    Metadata metadata
+    @Autowired
+    DataSource dataSource
+    @Autowired
+    RoleGrantedAuthorityUtils roleGrantedAuthorityUtils
+
+    UserDetails jpqlUser, inMemoryUser
+    Authentication systemAuthentication
+
+    def setup() {
+        jpqlUser = User.builder()
+                .username("jpqlUser")
+                .password("{noop}$PASSWORD")
+                .authorities(
+                        roleGrantedAuthorityUtils.createResourceRoleGrantedAuthority(TestDataManagerReadQueryRole.NAME),
+                        roleGrantedAuthorityUtils.createRowLevelRoleGrantedAuthority(TestDataManagerReadQueryRole.NAME)
+                )
+                .build()
+        userRepository.addUser(jpqlUser)
+
+        inMemoryUser = User.builder()
+                .username("inMemoryUser")
+                .password("{noop}$PASSWORD")
+                .authorities(
+                        roleGrantedAuthorityUtils.createResourceRoleGrantedAuthority(TestOrderFullAccessRole.NAME),
+                        roleGrantedAuthorityUtils.createRowLevelRoleGrantedAuthority(TestInMemoryRowLevelConstraintsRole.NAME)
+                )
+                .build()
+        userRepository.addUser(inMemoryUser)
+
+        ['1', 'allowed_2', 'A-3-B', 'allowed_4', 'A-5-C', 'A-6-B'].each { number ->
+            def order = metadata.create(TestOrder)
+            order.number = number
+            dataManager.unconstrained().save(order)
+        }
+
+        systemAuthentication = SecurityContextHelper.getAuthentication()
+    }
+
+    def cleanup() {
+        SecurityContextHelper.setAuthentication(systemAuthentication)
+        userRepository.removeUser(jpqlUser)
+        userRepository.removeUser(inMemoryUser)
+        new JdbcTemplate(dataSource).execute('delete from TEST_ORDER')
+    }
+
+    def "stream applies JPQL row-level constraints"() {
+        authenticate('jpqlUser')
+
+        when:
+        def numbers = dataManager.load(TestOrder)
+                .query('select e from test_Order e order by e.number')
+                .hint(PersistenceHints.FETCH_SIZE, 1)
+                .stream()
+                .withCloseable { it.map { it.number }.collect(Collectors.toList()) }
+
+        then:
+        numbers == ['allowed_2', 'allowed_4']
+    }
+
+    def "stream applies in-memory row-level constraints to each portion"() {
+        authenticate('inMemoryUser')
+
+        when:
+        def numbers = dataManager.load(TestOrder)
+                .query('select e from test_Order e order by e.number')
+                .hint(PersistenceHints.FETCH_SIZE, 2)
+                .stream()
+                .withCloseable { it.map { it.number }.collect(Collectors.toList()) }
+
+        then:
+        numbers == ['A-3-B', 'A-6-B']
+    }
+
+    def "repository method returning stream applies constraints"() {
+        authenticate('jpqlUser')
+
+        when:
+        def numbers = firstRepository.streamByNumberNotNull()
+                .withCloseable { it.map { it.number }.sorted().collect(Collectors.toList()) }
+
+        then:
+        numbers == ['allowed_2', 'allowed_4']
+    }
+
+    def "stream cannot be consumed in another thread"() {
+        authenticate('jpqlUser')
+        def executor = Executors.newSingleThreadExecutor()
+        def stream = dataManager.load(TestOrder)
+                .query('select e from test_Order e')
+                .stream()
+        def iterator = stream.iterator()
+
+        when:
+        executor.submit({ iterator.hasNext() } as Callable<Boolean>).get()
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof IllegalStateException
+
+        when:
+        def numbers = iterator.collect { it.number }
+
+        then:
+        numbers.sort() == ['allowed_2', 'allowed_4']
+
+        cleanup:
+        stream.close()
+        executor.shutdown()
+    }
+
+    protected void authenticate(String username) {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(username, PASSWORD))
+        SecurityContextHelper.setAuthentication(authentication)
+    }
+}
@@ -18,6 +18,7 @@ package test_support.repository;
 
 import io.jmix.core.FetchPlan;
 import io.jmix.core.repository.ApplyConstraints;
+import io.jmix.core.repository.BulkDelete;
 import io.jmix.core.repository.JmixDataRepository;
 import org.springframework.lang.Nullable;
 import org.springframework.data.domain.Sort;
@@ -25,6 +26,7 @@ import test_support.entity.TestOrder;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface FirstRepository extends JmixDataRepository<TestOrder, UUID> {
 
@@ -40,6 +42,11 @@ public interface FirstRepository extends JmixDataRepository<TestOrder, UUID> {
 
     List<TestOrder> searchByNumberNotNull();
 
+    Stream<TestOrder> streamByNumberNotNull();
+
+    @BulkDelete
+    long deleteByNumberStartingWith(String prefix);
+
     @io.jmix.core.repository.FetchPlan("_instance_name")
     List<TestOrder> searchById(UUID id);
 }
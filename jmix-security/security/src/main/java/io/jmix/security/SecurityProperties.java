@@ -18,6 +18,10 @@ package io.jmix.security;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
 
 @ConfigurationProperties(prefix = "jmix.security")
 public class SecurityProperties {
@@ -32,11 +36,29 @@ public class SecurityProperties {
      */
     String defaultRowLevelRolePrefix;
 
+    /**
+     * Maximum number of cached resource or row-level roles in a cache partition, e.g. of a tenant. When the limit
+     * is reached, the least recently used roles of the partition are discarded, so roles of other partitions are
+     * not affected. 0 means no limit.
+     */
+    int rolesCachePartitionMaxSize;
+
+    /**
+     * Maximum numbers of cached roles for individual cache partitions by partition name. Override
+     * {@link #rolesCachePartitionMaxSize} for the given partitions.
+     */
+    Map<String, Integer> rolesCachePartitionMaxSizes;
+
     public SecurityProperties(
             @DefaultValue("true") boolean annotatedRolesHotDeployEnabled,
-            @DefaultValue("ROW_LEVEL_ROLE_") String defaultRowLevelRolePrefix) {
+            @DefaultValue("ROW_LEVEL_ROLE_") String defaultRowLevelRolePrefix,
+            @DefaultValue("0") int rolesCachePartitionMaxSize,
+            @Nullable Map<String, Integer> rolesCachePartitionMaxSizes) {
         this.annotatedRolesHotDeployEnabled = annotatedRolesHotDeployEnabled;
         this.defaultRowLevelRolePrefix = defaultRowLevelRolePrefix;
+        this.rolesCachePartitionMaxSize = rolesCachePartitionMaxSize;
+        this.rolesCachePartitionMaxSizes = rolesCachePartitionMaxSizes == null
+                ? Collections.emptyMap() : rolesCachePartitionMaxSizes;
     }
 
     /**
@@ -52,4 +74,26 @@ public class SecurityProperties {
     public String getDefaultRowLevelRolePrefix() {
         return defaultRowLevelRolePrefix;
     }
+
+    /**
+     * @see #rolesCachePartitionMaxSize
+     */
+    public int getRolesCachePartitionMaxSize() {
+        return rolesCachePartitionMaxSize;
+    }
+
+    /**
+     * @see #rolesCachePartitionMaxSizes
+     */
+    public Map<String, Integer> getRolesCachePartitionMaxSizes() {
+        return rolesCachePartitionMaxSizes;
+    }
+
+    /**
+     * Returns the maximum number of cached roles in the given cache partition, 0 means no limit.
+     */
+    public int getRolesCachePartitionMaxSize(String partition) {
+        Integer maxSize = rolesCachePartitionMaxSizes.get(partition);
+        return maxSize != null ? maxSize : rolesCachePartitionMaxSize;
+    }
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.security.impl.role;
+
+import io.jmix.core.CacheOperations;
+import io.jmix.core.CachePartitionProvider;
+import io.jmix.core.PartitionedCacheKey;
+import io.jmix.security.SecurityProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Roles cache divided into partitions by {@link CacheOperations#getCurrentPartition()}.
+ * <p>
+ * Each partition tracks its hits and misses and may be limited by
+ * {@link SecurityProperties#getRolesCachePartitionMaxSize(String)}, so the least recently used roles of a partition
+ * are discarded without affecting other partitions. Invalidation made in a partition other than the
+ * {@link CachePartitionProvider#DEFAULT_PARTITION} affects only roles of this partition and of the default one.
+ */
+public class PartitionedRoleCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedRoleCache.class);
+
+    protected final Cache cache;
+    protected final CacheOperations cacheOperations;
+    protected final SecurityProperties properties;
+    @Nullable
+    protected final MeterRegistry meterRegistry;
+
+    protected final ConcurrentMap<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    public PartitionedRoleCache(Cache cache,
+                                CacheOperations cacheOperations,
+                                SecurityProperties properties,
+                                @Nullable MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.cacheOperations = cacheOperations;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the role from the partition of the current user, loading it if it is not cached.
+     *
+     * @param roleCode   role code
+     * @param roleLoader loads the role in case of absence in cache
+     * @return cached or loaded role
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <R> R get(String roleCode, Callable<R> roleLoader) {
+        Partition partition = getPartition(cacheOperations.getCurrentPartition());
+        Object key = cacheOperations.getPartitionedKey(roleCode);
+
+        Cache.ValueWrapper wrapper = cache.get(key);
+        partition.recordAccess(key, wrapper != null);
+        if (wrapper != null) {
+            return (R) wrapper.get();
+        }
+
+        R role;
+        try {
+            role = roleLoader.call();
+        } catch (Exception e) {
+            throw new Cache.ValueRetrievalException(key, roleLoader, e);
+        }
+        cache.put(key, role);
+        for (Object evictedKey : partition.add(key)) {
+            log.debug("Discard role exceeding the size of partition '{}' of cache {}: {}",
+                    partition.name, cache.getName(), evictedKey);
+            cache.evictIfPresent(evictedKey);
+        }
+        return role;
+    }
+
+    /**
+     * Invalidates roles of the current partition and of the {@link CachePartitionProvider#DEFAULT_PARTITION}.
+     * If the current partition is the default one, or the cache cannot be iterated, all roles are invalidated.
+     */
+    public void invalidate() {
+        String currentPartition = cacheOperations.getCurrentPartition();
+        if (CachePartitionProvider.DEFAULT_PARTITION.equals(currentPartition)
+                || !cacheOperations.isIterableCache(cache)) {
+            log.debug("Invalidate all roles of cache {}", cache.getName());
+            invalidateAll();
+            return;
+        }
+
+        log.debug("Invalidate roles of partition '{}' of cache {}", currentPartition, cache.getName());
+        Set<Object> evicted = new HashSet<>();
+        for (Object key : cacheOperations.getKeys(cache)) {
+            String partition = getPartitionName(key);
+            if (currentPartition.equals(partition) || CachePartitionProvider.DEFAULT_PARTITION.equals(partition)) {
+                evicted.add(key);
+            }
+        }
+        for (Object key : evicted) {
+            cache.evictIfPresent(key);
+            Partition partition = partitions.get(getPartitionName(key));
+            if (partition != null) {
+                partition.remove(key);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+        partitions.values().forEach(Partition::clear);
+    }
+
+    protected String getPartitionName(Object key) {
+        return key instanceof PartitionedCacheKey
+                ? ((PartitionedCacheKey) key).getPartition()
+                : CachePartitionProvider.DEFAULT_PARTITION;
+    }
+
+    protected Partition getPartition(String name) {
+        return partitions.computeIfAbsent(name, this::createPartition);
+    }
+
+    protected Partition createPartition(String name) {
+        Partition partition = new Partition(name, properties.getRolesCachePartitionMaxSize(name));
+        if (meterRegistry != null) {
+            String tag = CachePartitionProvider.DEFAULT_PARTITION.equals(name) ? "default" : name;
+            partition.hitCounter = Counter.builder("cache.gets")
+                    .tags("cache", cache.getName(), "partition", tag, "result", "hit")
+                    .register(meterRegistry);
+            partition.missCounter = Counter.builder("cache.gets")
+                    .tags("cache", cache.getName(), "partition", tag, "result", "miss")
+                    .register(meterRegistry);
+            partition.evictionCounter = Counter.builder("cache.evictions")
+                    .tags("cache", cache.getName(), "partition", tag)
+                    .register(meterRegistry);
+        }
+        return partition;
+    }
+
+    /**
+     * Keeps statistics of a partition and, if the partition size is limited, its keys in the order of access.
+     */
+    protected static class Partition {
+
+        protected final String name;
+        protected final int maxSize;
+        protected final LinkedHashMap<Object, Boolean> keys = new LinkedHashMap<>(16, 0.75f, true);
+
+        protected final AtomicLong hitCount = new AtomicLong();
+        protected final AtomicLong missCount = new AtomicLong();
+        protected final AtomicLong evictionCount = new AtomicLong();
+        protected Counter hitCounter;
+        protected Counter missCounter;
+        protected Counter evictionCounter;
+
+        public Partition(String name, int maxSize) {
+            this.name = name;
+            this.maxSize = maxSize;
+        }
+
+        public void recordAccess(Object key, boolean hit) {
+            if (hit) {
+                hitCount.incrementAndGet();
+                if (hitCounter != null) {
+                    hitCounter.increment();
+                }
+                if (maxSize > 0) {
+                    synchronized (keys) {
+                        keys.get(key);
+                    }
+                }
+            } else {
+                missCount.incrementAndGet();
+                if (missCounter != null) {
+                    missCounter.increment();
+                }
+            }
+        }
+
+        /**
+         * Registers the cached role.
+         *
+         * @return keys of roles to be discarded as exceeding the partition size
+         */
+        public List<Object> add(Object key) {
+            if (maxSize <= 0) {
+                return Collections.emptyList();
+            }
+            List<Object> evicted = new ArrayList<>();
+            synchronized (keys) {
+                keys.put(key, Boolean.TRUE);
+                Iterator<Object> iterator = keys.keySet().iterator();
+                while (keys.size() > maxSize && iterator.hasNext()) {
+                    evicted.add(iterator.next());
+                    iterator.remove();
+                }
+            }
+            evictionCount.addAndGet(evicted.size());
+            if (evictionCounter != null && !evicted.isEmpty()) {
+                evictionCounter.increment(evicted.size());
+            }
+            return evicted;
+        }
+
+        public void remove(Object key) {
+            if (maxSize > 0) {
+                synchronized (keys) {
+                    keys.remove(key);
+                }
+            }
+        }
+
+        public void clear() {
+            synchronized (keys) {
+                keys.clear();
+            }
+        }
+    }
+}
@@ -17,10 +17,12 @@
 package io.jmix.security.impl.role;
 
 import io.jmix.core.CacheOperations;
+import io.jmix.security.SecurityProperties;
 import io.jmix.security.model.ResourcePolicy;
 import io.jmix.security.model.ResourceRole;
 import io.jmix.security.role.ResourceRoleProvider;
 import io.jmix.security.role.ResourceRoleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.Cache;
@@ -38,30 +40,39 @@ public class ResourceRoleRepositoryImpl implements ResourceRoleRepository {
 
     private final CacheOperations cacheOperations;
 
-    private Cache rolesCache;
+    private final SecurityProperties properties;
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private PartitionedRoleCache rolesCache;
 
     private final RoleRepositoryProviderUtils<ResourceRole> roleRepositoryProviderUtils;
 
     public ResourceRoleRepositoryImpl(CacheManager cacheManager,
                                       CacheOperations cacheOperations,
+                                      SecurityProperties properties,
+                                      ObjectProvider<MeterRegistry> meterRegistryProvider,
                                       Collection<ResourceRoleProvider> roleProviders,
                                       ObjectProvider<RoleRepositoryProviderUtils<ResourceRole>> roleRepositoryProviderUtilsProvider) {
         this.cacheManager = cacheManager;
         this.cacheOperations = cacheOperations;
+        this.properties = properties;
+        this.meterRegistryProvider = meterRegistryProvider;
         this.roleRepositoryProviderUtils = roleRepositoryProviderUtilsProvider.getObject(roleProviders);
     }
 
     @PostConstruct
     public void init() {
-        rolesCache = cacheManager.getCache(RESOURCE_ROLES_CACHE_NAME);
-        if (rolesCache == null) {
+        Cache cache = cacheManager.getCache(RESOURCE_ROLES_CACHE_NAME);
+        if (cache == null) {
             throw new IllegalStateException(String.format("Unable to find cache: %s", RESOURCE_ROLES_CACHE_NAME));
         }
+        rolesCache = new PartitionedRoleCache(cache, cacheOperations, properties, meterRegistryProvider.getIfUnique());
     }
 
     @Override
     public ResourceRole findRoleByCode(String roleCode) {
-        return cacheOperations.get(rolesCache, roleCode, () ->
+        return rolesCache.get(roleCode, () ->
                 roleRepositoryProviderUtils.findRoleByCodeExcludeVisited(roleCode,
                         new HashSet<>(),
                         (role, childRole) -> {
@@ -92,6 +103,6 @@ public class ResourceRoleRepositoryImpl implements ResourceRoleRepository {
 
     @Override
     public void invalidateCache() {
-        rolesCache.clear();
+        rolesCache.invalidate();
     }
 }
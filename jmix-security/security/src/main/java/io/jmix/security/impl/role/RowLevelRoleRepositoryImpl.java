@@ -17,10 +17,12 @@
 package io.jmix.security.impl.role;
 
 import io.jmix.core.CacheOperations;
+import io.jmix.security.SecurityProperties;
 import io.jmix.security.model.RowLevelPolicy;
 import io.jmix.security.model.RowLevelRole;
 import io.jmix.security.role.RowLevelRoleProvider;
 import io.jmix.security.role.RowLevelRoleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.Cache;
@@ -34,34 +36,43 @@ import java.util.HashSet;
 @Component("sec_RowLevelRoleRepository")
 public class RowLevelRoleRepositoryImpl implements RowLevelRoleRepository {
 
-    private Cache rolesCache;
+    private PartitionedRoleCache rolesCache;
 
     private final CacheManager cacheManager;
 
     private final CacheOperations cacheOperations;
 
+    private final SecurityProperties properties;
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
     private final RoleRepositoryProviderUtils<RowLevelRole> roleRepositoryProviderUtils;
 
     public RowLevelRoleRepositoryImpl(CacheManager cacheManager,
                                       CacheOperations cacheOperations,
+                                      SecurityProperties properties,
+                                      ObjectProvider<MeterRegistry> meterRegistryProvider,
                                       Collection<RowLevelRoleProvider> roleProviders,
                                       ObjectProvider<RoleRepositoryProviderUtils<RowLevelRole>> roleRepositoryProviderUtilsProvider) {
         this.cacheManager = cacheManager;
         this.cacheOperations = cacheOperations;
+        this.properties = properties;
+        this.meterRegistryProvider = meterRegistryProvider;
         this.roleRepositoryProviderUtils = roleRepositoryProviderUtilsProvider.getObject(roleProviders);
     }
 
     @PostConstruct
     public void init() {
-        rolesCache = cacheManager.getCache(ROW_LEVEL_ROLES_CACHE_NAME);
-        if (rolesCache == null) {
+        Cache cache = cacheManager.getCache(ROW_LEVEL_ROLES_CACHE_NAME);
+        if (cache == null) {
             throw new IllegalStateException(String.format("Unable to find cache: %s", ROW_LEVEL_ROLES_CACHE_NAME));
         }
+        rolesCache = new PartitionedRoleCache(cache, cacheOperations, properties, meterRegistryProvider.getIfUnique());
     }
 
     @Override
     public RowLevelRole findRoleByCode(String roleCode) {
-        return cacheOperations.get(rolesCache, roleCode,
+        return rolesCache.get(roleCode,
                 () -> roleRepositoryProviderUtils.findRoleByCodeExcludeVisited(roleCode,
                         new HashSet<>(),
                         (role, childRole) -> {
@@ -92,6 +103,6 @@ public class RowLevelRoleRepositoryImpl implements RowLevelRoleRepository {
 
     @Override
     public void invalidateCache() {
-        rolesCache.clear();
+        rolesCache.invalidate();
     }
 }
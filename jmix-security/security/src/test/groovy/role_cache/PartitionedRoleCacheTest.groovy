@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package role_cache
+
+import io.jmix.core.CacheOperations
+import io.jmix.core.CachePartitionProvider
+import io.jmix.security.SecurityProperties
+import io.jmix.security.impl.role.PartitionedRoleCache
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.cache.concurrent.ConcurrentMapCache
+import spock.lang.Specification
+
+class PartitionedRoleCacheTest extends Specification {
+
+    ConcurrentMapCache cache = new ConcurrentMapCache('test-roles')
+    TestCacheOperations cacheOperations = new TestCacheOperations()
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+
+    def "roles are cached per partition"() {
+        def roleCache = createRoleCache(0, [:])
+        int loadCount = 0
+
+        when:
+        cacheOperations.partition = 'tenant1'
+        def role1 = roleCache.get('role', { "tenant1 role ${++loadCount}".toString() })
+        roleCache.get('role', { "tenant1 role ${++loadCount}".toString() })
+        cacheOperations.partition = 'tenant2'
+        def role2 = roleCache.get('role', { "tenant2 role ${++loadCount}".toString() })
+
+        then:
+        role1 == 'tenant1 role 1'
+        role2 == 'tenant2 role 2'
+        loadCount == 2
+        gets('tenant1', 'hit') == 1
+        gets('tenant1', 'miss') == 1
+        gets('tenant2', 'miss') == 1
+    }
+
+    def "least recently used roles of a partition are discarded when the partition is full"() {
+        def roleCache = createRoleCache(0, ['tenant1': 2])
+
+        when:
+        cacheOperations.partition = 'tenant1'
+        roleCache.get('role1', { 'role1' })
+        roleCache.get('role2', { 'role2' })
+        roleCache.get('role1', { 'role1' })
+        roleCache.get('role3', { 'role3' })
+        cacheOperations.partition = 'tenant2'
+        (1..5).each { i -> roleCache.get("role$i".toString(), { "role$i".toString() }) }
+
+        then:
+        cache.nativeCache.keySet().findAll { it.partition == 'tenant1' }*.key as Set == ['role1', 'role3'] as Set
+        cache.nativeCache.keySet().findAll { it.partition == 'tenant2' }.size() == 5
+        meterRegistry.get('cache.evictions').tags('partition', 'tenant1').counter().count() == 1
+    }
+
+    def "invalidation in a partition keeps roles of other partitions"() {
+        def roleCache = createRoleCache(0, [:])
+        ['tenant1', 'tenant2', CachePartitionProvider.DEFAULT_PARTITION].each { partition ->
+            cacheOperations.partition = partition
+            roleCache.get('role', { 'role' })
+        }
+
+        when:
+        cacheOperations.partition = 'tenant1'
+        roleCache.invalidate()
+
+        then:
+        cache.nativeCache.keySet()*.toString() == ['tenant2/role']
+
+        when:
+        cacheOperations.partition = CachePartitionProvider.DEFAULT_PARTITION
+        roleCache.invalidate()
+
+        then:
+        cache.nativeCache.isEmpty()
+    }
+
+    PartitionedRoleCache createRoleCache(int maxSize, Map<String, Integer> maxSizes) {
+        def properties = new SecurityProperties(true, 'ROW_LEVEL_ROLE_', maxSize, maxSizes)
+        return new PartitionedRoleCache(cache, cacheOperations, properties, meterRegistry)
+    }
+
+    double gets(String partition, String result) {
+        return meterRegistry.get('cache.gets').tags('partition', partition, 'result', result).counter().count()
+    }
+
+    static class TestCacheOperations extends CacheOperations {
+
+        String partition = CachePartitionProvider.DEFAULT_PARTITION
+
+        @Override
+        String getCurrentPartition() {
+            return partition
+        }
+    }
+}